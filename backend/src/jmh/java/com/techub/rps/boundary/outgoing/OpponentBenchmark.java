@@ -0,0 +1,79 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one round of the predictive opponent (choose a hand, then learn the player's move)
+ * against the plain random opponent, spread over many players so model lookups miss the CPU caches.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=OpponentBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+public class OpponentBenchmark {
+
+    @Param({"1000", "100000"})
+    public int players;
+
+    @Param({"2"})
+    public int order;
+
+    private String[] usernames;
+    private Hand[] hands;
+    private SecureRandomHandAdapter random;
+    private MarkovHandAdapter markov;
+
+    @Setup
+    public void setUp() {
+        usernames = new String[players];
+        for (int i = 0; i < players; i++) {
+            usernames[i] = "player" + i;
+        }
+        hands = RuleSet.CLASSIC.getHands().toArray(Hand[]::new);
+        random = new SecureRandomHandAdapter(RuleSet.CLASSIC);
+        markov = new MarkovHandAdapter(RuleSet.CLASSIC, order, players, Duration.ofHours(1), 0.1);
+
+        // warm every model so the measurement covers predictions, not cold starts
+        for (String username : usernames) {
+            for (int i = 0; i < 16; i++) {
+                markov.observe(username, hands[i % hands.length]);
+            }
+        }
+    }
+
+    @Benchmark
+    public Hand randomOpponent() {
+        String username = nextUsername();
+        Hand hand = random.chooseHand(username);
+        random.observe(username, hands[ThreadLocalRandom.current().nextInt(hands.length)]);
+        return hand;
+    }
+
+    @Benchmark
+    public Hand markovOpponent() {
+        String username = nextUsername();
+        Hand hand = markov.chooseHand(username);
+        markov.observe(username, hands[ThreadLocalRandom.current().nextInt(hands.length)]);
+        return hand;
+    }
+
+    private String nextUsername() {
+        return usernames[ThreadLocalRandom.current().nextInt(players)];
+    }
+}
@@ -0,0 +1,66 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-thread buffered sampler with the single shared {@link SecureRandom} the
+ * adapter used before, which is kept here as the baseline.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=RandomHandBenchmark} and compare thread counts,
+ * e.g. {@code -Pjmh.threads=1} against the default of all available cores: the shared
+ * generator flattens out while the sampler keeps scaling. The seeded adapter of the load test
+ * profile is included to show what a non-cryptographic stream costs in comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+public class RandomHandBenchmark {
+
+    private SecureRandom sharedRandom;
+    private List<Hand> hands;
+    private SecureRandomHandAdapter adapter;
+    private SeededHandAdapter seeded;
+    private String[] usernames;
+
+    @Setup
+    public void setUp() {
+        sharedRandom = new SecureRandom();
+        hands = RuleSet.CLASSIC.getHands();
+        adapter = new SecureRandomHandAdapter(RuleSet.CLASSIC);
+        seeded = new SeededHandAdapter(RuleSet.CLASSIC, 42L, 10_000);
+        usernames = new String[1024];
+        for (int i = 0; i < usernames.length; i++) {
+            usernames[i] = "player" + i;
+        }
+    }
+
+    @Benchmark
+    public Hand sharedSecureRandom() {
+        return hands.get(sharedRandom.nextInt(hands.size()));
+    }
+
+    @Benchmark
+    public Hand bufferedSampler() {
+        return adapter.getRandomHand();
+    }
+
+    @Benchmark
+    public Hand seededSplitMix() {
+        return seeded.chooseHand(usernames[ThreadLocalRandom.current().nextInt(usernames.length)]);
+    }
+}
@@ -0,0 +1,122 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.RockPaperScissorsApplication;
+import com.techub.rps.boundary.outgoing.db.UserEntity;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registers users in bulk against a real PostgreSQL {@code users} table, once the way Hibernate
+ * had to with IDENTITY ids (one INSERT per row, reading the generated key back) and once
+ * through {@code saveAll} with the pooled sequence and JDBC batching.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=UserRegistrationBatchBenchmark} while the
+ * docker-compose database is up; override the target with {@code -Dbench.jdbc.url=...}.
+ * Scores are users registered per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserRegistrationBatchBenchmark {
+
+    private static final int USERS_PER_INVOCATION = 500;
+
+    @Param({"50", "500"})
+    public int usersPerTransaction;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private String prefix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RockPaperScissorsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("bench.jdbc.url",
+                                "jdbc:postgresql://localhost:5432/rockpaperscissors?reWriteBatchedInserts=true"),
+                        "logging.level.com.techub.rps=WARN")
+                .run();
+
+        userRepository = context.getBean(UserRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        prefix = "bench-reg-" + System.nanoTime() + "-";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", prefix + "%");
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_INVOCATION)
+    public void identityRowByRow() {
+        for (int done = 0; done < USERS_PER_INVOCATION; done += usersPerTransaction) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < usersPerTransaction; i++) {
+                    insertReturningKey(nextUsername());
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_INVOCATION)
+    public void pooledSequenceBatch() {
+        for (int done = 0; done < USERS_PER_INVOCATION; done += usersPerTransaction) {
+            List<UserEntity> users = new ArrayList<>(usersPerTransaction);
+            for (int i = 0; i < usersPerTransaction; i++) {
+                users.add(UserEntity.builder().username(nextUsername()).build());
+            }
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+        }
+    }
+
+    private void insertReturningKey(String username) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO users (username, created_at, updated_at) VALUES (?, ?, ?)",
+                    new String[]{"id"});
+            statement.setString(1, username);
+            statement.setTimestamp(2, now);
+            statement.setTimestamp(3, now);
+            return statement;
+        }, new GeneratedKeyHolder());
+    }
+
+    private String nextUsername() {
+        // usernames are limited to 50 characters
+        return prefix + sequence.incrementAndGet();
+    }
+}
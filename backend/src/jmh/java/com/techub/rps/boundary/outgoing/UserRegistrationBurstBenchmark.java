@@ -0,0 +1,142 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.RockPaperScissorsApplication;
+import com.techub.rps.boundary.outgoing.db.UserEntity;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsEntity;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sign-up burst against a real PostgreSQL: 16 threads registering users, a share of them with a
+ * name that is already taken. {@code checkThenInsert} replays what registration used to do, an
+ * existence check, the user insert and the statistics initialization (lookup by username, lookup
+ * by user id, insert) each in its own transaction. {@code transactional} is the jpa adapter,
+ * {@code singleStatement} the upsert adapter with its one INSERT ... ON CONFLICT round trip.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=UserRegistrationBurstBenchmark} while the
+ * docker-compose database is up; override the target with {@code -Dbench.jdbc.url=...}.
+ * Scores are registration attempts per second, taken names included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class UserRegistrationBurstBenchmark {
+
+    @Param({"0", "0.2"})
+    public double takenShare;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserStatisticsRepository statisticsRepository;
+    private JdbcTemplate jdbcTemplate;
+    private UserRegistrationAdapter jpaAdapter;
+    private UpsertUserRegistrationAdapter upsertAdapter;
+    private String prefix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RockPaperScissorsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("bench.jdbc.url",
+                                "jdbc:postgresql://localhost:5432/rockpaperscissors"),
+                        "spring.datasource.hikari.maximum-pool-size=16",
+                        "app.users.registration=upsert",
+                        "logging.level.com.techub.rps=WARN")
+                .run();
+
+        userRepository = context.getBean(UserRepository.class);
+        statisticsRepository = context.getBean(UserStatisticsRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        upsertAdapter = context.getBean(UpsertUserRegistrationAdapter.class);
+        // not a bean next to the upsert adapter
+        jpaAdapter = new UserRegistrationAdapter(userRepository, statisticsRepository,
+                context.getBean(UserIdCache.class), context.getBean(TransactionTemplate.class));
+        prefix = "bench-burst-" + System.nanoTime() + "-";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // user_statistics rows go with the users, ON DELETE CASCADE
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", prefix + "%");
+        context.close();
+    }
+
+    @Benchmark
+    public boolean checkThenInsert() {
+        String username = nextUsername();
+        if (userRepository.existsByUsername(username)) {
+            return false;
+        }
+        UserEntity user;
+        try {
+            user = userRepository.save(UserEntity.builder().username(username).build());
+        } catch (DataIntegrityViolationException ex) {
+            // taken between the check and the insert
+            return false;
+        }
+        Long userId = userRepository.findByUsername(username).orElseThrow().getId();
+        if (statisticsRepository.findByUserId(userId).isEmpty()) {
+            statisticsRepository.save(UserStatisticsEntity.builder()
+                    .userId(user.getId())
+                    .gamesPlayed(0)
+                    .wins(0)
+                    .losses(0)
+                    .draws(0)
+                    .build());
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean transactional() {
+        try {
+            return jpaAdapter.registerUser(nextUsername()).isPresent();
+        } catch (DataIntegrityViolationException ex) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean singleStatement() {
+        return upsertAdapter.registerUser(nextUsername()).isPresent();
+    }
+
+    /*
+     * A taken name is one handed out before, usually registered already; it may still be in
+     * flight on another thread, which is exactly the race the check-then-insert paths lose.
+     */
+    private String nextUsername() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long issued = sequence.get();
+        if (issued > 0 && random.nextDouble() < takenShare) {
+            return prefix + (1 + random.nextLong(issued));
+        }
+        // usernames are limited to 50 characters
+        return prefix + sequence.incrementAndGet();
+    }
+}
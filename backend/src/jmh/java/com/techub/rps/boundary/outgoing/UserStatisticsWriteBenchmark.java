@@ -0,0 +1,100 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.RockPaperScissorsApplication;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.ports.UserStatisticsPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPA read-modify-write statistics update with the single-statement upsert
+ * against a real PostgreSQL {@code user_statistics} table.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=UserStatisticsWriteBenchmark} while the
+ * docker-compose database is up; override the target with {@code -Dbench.jdbc.url=...}.
+ * {@code users = 1} makes every thread hit the same row, which is where the JPA path also
+ * starts losing increments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class UserStatisticsWriteBenchmark {
+
+    @Param({"1", "1000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private UserStatisticsPort jpaAdapter;
+    private UserStatisticsPort upsertAdapter;
+    private String[] usernames;
+    private Game game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RockPaperScissorsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "app.statistics.store=jpa",
+                        "spring.datasource.url=" + System.getProperty("bench.jdbc.url",
+                                "jdbc:postgresql://localhost:5432/rockpaperscissors"),
+                        "logging.level.com.techub.rps=WARN")
+                .run();
+
+        jpaAdapter = context.getBean(UserStatisticsAdapter.class);
+        upsertAdapter = new UpsertUserStatisticsAdapter(
+                context.getBean(UserRepository.class),
+                context.getBean(UserStatisticsRepository.class),
+                context.getBean(UserIdCache.class),
+                context.getBean(UserStatisticsUpsertRepository.class));
+
+        usernames = new String[users];
+        for (int i = 0; i < users; i++) {
+            usernames[i] = "bench-user-" + i;
+        }
+        game = Game.play(1L, Hand.ROCK, Hand.SCISSORS);
+
+        // create the rows up front, the JPA path cannot create the same user from two threads
+        for (String username : usernames) {
+            jpaAdapter.updateStatistics(username, game.getGameId(), game.getRecord());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void jpaReadModifyWrite() {
+        jpaAdapter.updateStatistics(nextUsername(), game.getGameId(), game.getRecord());
+    }
+
+    @Benchmark
+    public void atomicUpsert() {
+        upsertAdapter.updateStatistics(nextUsername(), game.getGameId(), game.getRecord());
+    }
+
+    private String nextUsername() {
+        return usernames[ThreadLocalRandom.current().nextInt(usernames.length)];
+    }
+}
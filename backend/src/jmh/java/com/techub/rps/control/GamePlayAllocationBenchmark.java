@@ -0,0 +1,92 @@
+package com.techub.rps.control;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.techub.rps.boundary.outgoing.MetricsHandler;
+import com.techub.rps.boundary.outgoing.SecureRandomHandAdapter;
+import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameIdGenerator;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.model.UserStatistics;
+import com.techub.rps.control.ports.GameHistoryPort;
+import com.techub.rps.control.ports.UserStatisticsPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per played round through {@link GameService} with the real hand source and
+ * metrics, and a statistics store that does nothing, so only the play path is measured.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=GamePlayAllocationBenchmark -Pjmh.profilers=gc};
+ * {@code gc.alloc.rate.norm} should show little more than the {@link Game} handed to the caller.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GamePlayAllocationBenchmark {
+
+    private static final String USERNAME = "bench-user";
+
+    private GameService gameService;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.techub.rps")).setLevel(Level.WARN);
+
+        gameService = new GameService(
+                new SecureRandomHandAdapter(RuleSet.CLASSIC),
+                new MetricsHandler(new SimpleMeterRegistry()),
+                new NoOpStatisticsPort(),
+                RuleSet.CLASSIC,
+                new GameIdGenerator(0),
+                new NoOpHistoryPort(),
+                new LeaderboardService(consumer -> { }, 10, 100));
+    }
+
+    @Benchmark
+    public Game play() {
+        return gameService.play(USERNAME, Hand.ROCK);
+    }
+
+    private static final class NoOpStatisticsPort implements UserStatisticsPort {
+
+        @Override
+        public void updateStatistics(String username, long gameId, long record) {
+        }
+
+        @Override
+        public void updateStatistics(String username, GameBatch batch) {
+        }
+
+        @Override
+        public void updateStatistics(String username, long record, String opponent, long opponentRecord, long gameId) {
+        }
+
+        @Override
+        public UserStatistics getStatistics(String username) {
+            return null;
+        }
+    }
+
+    private static final class NoOpHistoryPort implements GameHistoryPort {
+
+        @Override
+        public void recordGame(String username, long gameId, long record) {
+        }
+
+        @Override
+        public void recordBatch(String username, GameBatch batch) {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.techub.rps.control.leaderboard;
+
+import com.techub.rps.control.model.LeaderboardEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a leaderboard update while 7 threads play and one thread keeps reading the top 10,
+ * roughly what a busy node sees.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=LeaderboardBenchmark}. Scores are average times
+ * per operation; compare {@code play} across player counts to see the O(log n) growth.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LeaderboardBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int players;
+
+    private Leaderboard leaderboard;
+    private String[] usernames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        leaderboard = new Leaderboard(10);
+        usernames = new String[players];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < players; i++) {
+            usernames[i] = "player-" + i;
+            int games = random.nextInt(1, 500);
+            leaderboard.load(usernames[i], random.nextInt(games + 1), games);
+        }
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(7)
+    public void play() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        leaderboard.record(usernames[random.nextInt(players)], random.nextInt(3) == 0 ? 1 : 0, 1);
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(1)
+    public List<LeaderboardEntry> readTop10() {
+        return leaderboard.top(Ranking.WINS, 10);
+    }
+}
@@ -0,0 +1,67 @@
+package com.techub.rps.control.matchmaking;
+
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.PvpGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pairing throughput of the {@link Matchmaker} and the time a ticket spends from submission
+ * until it is paired or expired. Every operation is one player: it pairs with a waiting ticket,
+ * or queues and waits up to {@link #WAIT_TIMEOUT_MICROS} for the next player to pick it up.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=MatchmakerBenchmark}; the sample time mode
+ * reports the wait percentiles (p50, p90, p99, p99.9) next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+public class MatchmakerBenchmark {
+
+    private static final long WAIT_TIMEOUT_MICROS = 1_000;
+
+    private Matchmaker matchmaker;
+
+    @State(Scope.Thread)
+    public static class Player {
+        String username;
+
+        @Setup
+        public void setUp() {
+            username = Thread.currentThread().getName();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        matchmaker = new Matchmaker();
+    }
+
+    @Benchmark
+    public PvpGame pairOrExpire(Player player) throws InterruptedException, ExecutionException {
+        MatchTicket ticket = new MatchTicket(player.username, Hand.ROCK);
+        MatchTicket opponent = matchmaker.pairOrEnqueue(ticket);
+        if (opponent != null) {
+            PvpGame game = PvpGame.of(0L, 0L, player.username);
+            opponent.complete(game);
+            return game;
+        }
+
+        try {
+            return ticket.getResult().get(WAIT_TIMEOUT_MICROS, TimeUnit.MICROSECONDS);
+        } catch (TimeoutException ex) {
+            return matchmaker.expire(ticket) ? null : ticket.getResult().get();
+        }
+    }
+}
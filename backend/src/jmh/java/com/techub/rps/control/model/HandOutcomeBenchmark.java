@@ -0,0 +1,69 @@
+package com.techub.rps.control.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores random rounds with the outcome table and with the nested switch that
+ * {@code Hand.playAgainst} used before rule sets, which is kept here as the baseline.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=HandOutcomeBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandOutcomeBenchmark {
+
+    private static final int ROUNDS = 1024;
+
+    private final Hand[] players = new Hand[ROUNDS];
+    private final Hand[] opponents = new Hand[ROUNDS];
+
+    @Setup
+    public void setUp() {
+        Hand[] hands = RuleSet.CLASSIC.getHands().toArray(Hand[]::new);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < ROUNDS; i++) {
+            players[i] = hands[random.nextInt(hands.length)];
+            opponents[i] = hands[random.nextInt(hands.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void switchStatement(Blackhole blackhole) {
+        for (int i = 0; i < ROUNDS; i++) {
+            blackhole.consume(legacyPlay(players[i], opponents[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void outcomeTable(Blackhole blackhole) {
+        for (int i = 0; i < ROUNDS; i++) {
+            blackhole.consume(RuleSet.CLASSIC.play(players[i], opponents[i]));
+        }
+    }
+
+    private static GameResult legacyPlay(Hand player, Hand opponent) {
+        if (player == opponent) {
+            return GameResult.DRAW;
+        }
+        return switch (player) {
+            case ROCK -> opponent == Hand.SCISSORS ? GameResult.WIN : GameResult.LOSE;
+            case PAPER -> opponent == Hand.ROCK ? GameResult.WIN : GameResult.LOSE;
+            case SCISSORS -> opponent == Hand.PAPER ? GameResult.WIN : GameResult.LOSE;
+            default -> throw new IllegalArgumentException("Unknown hand: " + player);
+        };
+    }
+}
@@ -1,16 +1,24 @@
 package com.techub.rps.boundary.incoming;
 
 import com.techub.rps.boundary.incoming.api.GameApi;
+import com.techub.rps.boundary.incoming.dto.GameBatchResponse;
 import com.techub.rps.boundary.incoming.dto.GameResponse;
+import com.techub.rps.boundary.incoming.dto.LeaderboardRanking;
+import com.techub.rps.boundary.incoming.dto.LeaderboardResponse;
+import com.techub.rps.boundary.incoming.dto.PlayGameBatchRequest;
 import com.techub.rps.boundary.incoming.dto.PlayGameRequest;
 import com.techub.rps.boundary.incoming.dto.RegisterUserRequest;
 import com.techub.rps.boundary.incoming.dto.UserResponse;
 import com.techub.rps.boundary.incoming.dto.UserStatisticsResponse;
+import com.techub.rps.control.leaderboard.Ranking;
 import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameBatch;
 import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.LeaderboardEntry;
 import com.techub.rps.control.model.User;
 import com.techub.rps.control.model.UserStatistics;
 import com.techub.rps.control.GameService;
+import com.techub.rps.control.LeaderboardService;
 import com.techub.rps.control.StatisticsService;
 import com.techub.rps.control.UserRegistrationService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +27,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @Slf4j
@@ -28,6 +38,7 @@ public class GameApiController implements GameApi {
     private final GameMapper gameMapper;
     private final UserRegistrationService userRegistrationService;
     private final StatisticsService statisticsService;
+    private final LeaderboardService leaderboardService;
 
     @Override
     public ResponseEntity<GameResponse> playGame(PlayGameRequest request) {
@@ -41,6 +52,18 @@ public class GameApiController implements GameApi {
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    public ResponseEntity<GameBatchResponse> playGameBatch(PlayGameBatchRequest request) {
+        log.info("Received play game batch request for user: {} ({} hands)",
+                request.getUsername(), request.getPlayerHands().size());
+
+        List<Hand> playerHands = gameMapper.toDomainHands(request.getPlayerHands());
+        GameBatch batch = gameService.playBatch(request.getUsername(), playerHands);
+
+        GameBatchResponse response = gameMapper.toBatchDto(batch);
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<UserResponse> registerUser(RegisterUserRequest request) {
         log.info("Received register user request: {}", request);
@@ -60,4 +83,15 @@ public class GameApiController implements GameApi {
 
         return ResponseEntity.ok(response);
     }
+
+    @Override
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(LeaderboardRanking ranking, Integer limit) {
+        log.debug("Received get leaderboard request: {} (limit {})", ranking, limit);
+
+        Ranking domainRanking = gameMapper.toDomainRanking(ranking);
+        List<LeaderboardEntry> entries = leaderboardService.getLeaderboard(domainRanking, limit);
+
+        LeaderboardResponse response = gameMapper.toLeaderboardDto(domainRanking, entries);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,43 @@
+package com.techub.rps.boundary.incoming;
+
+import com.techub.rps.control.GameHistoryService;
+import com.techub.rps.control.model.HistoryQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Serves {@code getGameHistory} from {@code openapi.yaml}. The generated {@code HistoryApi}
+ * would have to return the whole page as one DTO, so this controller maps the path by hand and
+ * streams the page instead. The request is validated before the body is returned, so bad
+ * cursors and unknown users still get a proper error response.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class GameHistoryController {
+
+    private final GameHistoryService gameHistoryService;
+    private final GameMapper gameMapper;
+    private final GameHistoryResponseWriter responseWriter;
+
+    @GetMapping(value = "/api/v1/game/history/{username}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getGameHistory(
+            @PathVariable("username") String username,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false, defaultValue = "50") Integer limit) {
+        log.debug("Received get history request for user: {} (limit {})", username, limit);
+
+        HistoryQuery query = gameHistoryService.prepareQuery(username, gameMapper.toDomainCursor(cursor), limit);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> responseWriter.write(query, out));
+    }
+}
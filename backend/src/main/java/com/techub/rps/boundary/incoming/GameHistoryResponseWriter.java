@@ -0,0 +1,55 @@
+package com.techub.rps.boundary.incoming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techub.rps.control.GameHistoryService;
+import com.techub.rps.control.model.HistoryCursor;
+import com.techub.rps.control.model.HistoryQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one page of game history as a {@code GameHistoryResponse} straight to the response
+ * stream. Each round is serialized as soon as its row is fetched, so a page never exists as a
+ * list in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameHistoryResponseWriter {
+
+    private final ObjectMapper objectMapper;
+    private final GameMapper gameMapper;
+    private final GameHistoryService gameHistoryService;
+
+    public void write(HistoryQuery query, OutputStream out) throws IOException {
+        // the servlet container owns the stream, closing the generator only flushes it
+        try (JsonGenerator json = objectMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            json.writeStartObject();
+            json.writeStringField("username", query.getUsername());
+            json.writeArrayFieldStart("entries");
+
+            HistoryCursor next;
+            try {
+                next = gameHistoryService.streamPage(query, round -> {
+                    try {
+                        json.writeObject(gameMapper.toHistoryEntryDto(round));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                // the client went away, stop reading rows
+                throw ex.getCause();
+            }
+
+            json.writeEndArray();
+            json.writeStringField("nextCursor", next != null ? gameMapper.toCursorToken(next) : null);
+            json.writeNumberField("lostRounds", gameHistoryService.countLostRounds(query));
+            json.writeEndObject();
+        }
+    }
+}
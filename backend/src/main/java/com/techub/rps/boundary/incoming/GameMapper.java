@@ -1,15 +1,33 @@
 package com.techub.rps.boundary.incoming;
 
+import com.techub.rps.boundary.incoming.dto.GameBatchResponse;
+import com.techub.rps.boundary.incoming.dto.GameHistoryEntryResponse;
 import com.techub.rps.boundary.incoming.dto.GameResponse;
+import com.techub.rps.boundary.incoming.dto.LeaderboardEntryResponse;
+import com.techub.rps.boundary.incoming.dto.LeaderboardRanking;
+import com.techub.rps.boundary.incoming.dto.LeaderboardResponse;
+import com.techub.rps.boundary.incoming.dto.PvpGameResponse;
 import com.techub.rps.boundary.incoming.dto.UserResponse;
 import com.techub.rps.boundary.incoming.dto.UserStatisticsResponse;
+import com.techub.rps.control.exception.DomainException;
 import com.techub.rps.control.model.Game;
+import com.techub.rps.control.leaderboard.Ranking;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.HistoryCursor;
+import com.techub.rps.control.model.LeaderboardEntry;
+import com.techub.rps.control.model.PlayedRound;
+import com.techub.rps.control.model.PvpGame;
 import com.techub.rps.control.model.User;
 import com.techub.rps.control.model.UserStatistics;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 @Component
@@ -17,7 +35,7 @@ public class GameMapper {
 
     public GameResponse toDto(Game game) {
         GameResponse response = new GameResponse();
-        response.setGameId(UUID.fromString(game.getGameId()));
+        response.setGameId(toApiGameId(game.getGameId()));
         response.setPlayerHand(mapToDtoHand(game.getPlayerHand()));
         response.setComputerHand(mapToDtoHand(game.getComputerHand()));
         response.setResult(mapToDtoResult(game.getResult()));
@@ -25,6 +43,37 @@ public class GameMapper {
         return response;
     }
 
+    public GameBatchResponse toBatchDto(GameBatch batch) {
+        int size = batch.size();
+        List<com.techub.rps.boundary.incoming.dto.Hand> computerHands = new ArrayList<>(size);
+        List<com.techub.rps.boundary.incoming.dto.GameResult> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            computerHands.add(mapToDtoHand(batch.getComputerHands()[i]));
+            results.add(mapToDtoResult(batch.getResults()[i]));
+        }
+
+        GameBatchResponse response = new GameBatchResponse();
+        response.setGameId(toApiGameId(batch.getGameId()));
+        response.setComputerHands(computerHands);
+        response.setResults(results);
+        response.setWins(batch.getWins());
+        response.setLosses(batch.getLosses());
+        response.setDraws(batch.getDraws());
+        response.setTimestamp(convertToUtcOffsetDateTime(batch.getTimestamp()));
+        return response;
+    }
+
+    public PvpGameResponse toPvpDto(PvpGame game) {
+        PvpGameResponse response = new PvpGameResponse();
+        response.setGameId(toApiGameId(game.getGameId()));
+        response.setPlayerHand(mapToDtoHand(game.getPlayerHand()));
+        response.setOpponentHand(mapToDtoHand(game.getOpponentHand()));
+        response.setOpponent(game.getOpponent());
+        response.setResult(mapToDtoResult(game.getResult()));
+        response.setTimestamp(convertToUtcOffsetDateTime(game.getTimestamp()));
+        return response;
+    }
+
     public UserResponse toUserDto(User user) {
         UserResponse response = new UserResponse();
         response.setUsername(user.getUsername());
@@ -40,7 +89,7 @@ public class GameMapper {
         response.setLosses(stats.getLosses());
         response.setDraws(stats.getDraws());
         response.setLastGameId(stats.getLastGameId() != null
-                ? UUID.fromString(stats.getLastGameId())
+                ? toApiGameId(stats.getLastGameId())
                 : null);
         response.setLastGamePlayedAt(stats.getLastGamePlayedAt() != null
                 ? convertToUtcOffsetDateTime(stats.getLastGamePlayedAt())
@@ -48,11 +97,77 @@ public class GameMapper {
         return response;
     }
 
+    public LeaderboardResponse toLeaderboardDto(Ranking ranking, List<LeaderboardEntry> entries) {
+        List<LeaderboardEntryResponse> responses = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) {
+            LeaderboardEntryResponse response = new LeaderboardEntryResponse();
+            response.setRank(entry.getRank());
+            response.setUsername(entry.getUsername());
+            response.setWins(entry.getWins());
+            response.setGamesPlayed(entry.getGamesPlayed());
+            response.setWinRate(entry.getWinRate());
+            responses.add(response);
+        }
+
+        LeaderboardResponse response = new LeaderboardResponse();
+        response.setRanking(LeaderboardRanking.valueOf(ranking.name()));
+        response.setEntries(responses);
+        return response;
+    }
+
+    public Ranking toDomainRanking(LeaderboardRanking dtoRanking) {
+        return dtoRanking != null ? Ranking.valueOf(dtoRanking.name()) : Ranking.WINS;
+    }
+
+    public GameHistoryEntryResponse toHistoryEntryDto(PlayedRound round) {
+        GameHistoryEntryResponse response = new GameHistoryEntryResponse();
+        response.setGameId(toApiGameId(round.getGameId()));
+        response.setRound(round.getRound());
+        response.setPlayerHand(mapToDtoHand(round.getPlayerHand()));
+        response.setOpponentHand(mapToDtoHand(round.getOpponentHand()));
+        response.setResult(mapToDtoResult(round.getResult()));
+        response.setPlayedAt(convertToUtcOffsetDateTime(round.getPlayedAt()));
+        return response;
+    }
+
+    /**
+     * History cursors are opaque to clients: the key of the last round, URL-safe Base64 encoded.
+     */
+    public String toCursorToken(HistoryCursor cursor) {
+        String key = cursor.getPlayedAt().toEpochMilli() + ":" + cursor.getGameId() + ":" + cursor.getRound();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public HistoryCursor toDomainCursor(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 3) {
+                throw DomainException.invalidHistoryQuery("Invalid cursor: " + token);
+            }
+            return HistoryCursor.of(Instant.ofEpochMilli(Long.parseLong(parts[0])),
+                    Long.parseLong(parts[1]), Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw DomainException.invalidHistoryQuery("Invalid cursor: " + token);
+        }
+    }
+
     public com.techub.rps.control.model.Hand toDomainHand(
             com.techub.rps.boundary.incoming.dto.Hand dtoHand) {
         return com.techub.rps.control.model.Hand.valueOf(dtoHand.name());
     }
 
+    public List<com.techub.rps.control.model.Hand> toDomainHands(
+            List<com.techub.rps.boundary.incoming.dto.Hand> dtoHands) {
+        List<com.techub.rps.control.model.Hand> hands = new ArrayList<>(dtoHands.size());
+        for (com.techub.rps.boundary.incoming.dto.Hand dtoHand : dtoHands) {
+            hands.add(dtoHand != null ? toDomainHand(dtoHand) : null);
+        }
+        return hands;
+    }
+
     private com.techub.rps.boundary.incoming.dto.Hand mapToDtoHand(
             com.techub.rps.control.model.Hand domainHand) {
         return com.techub.rps.boundary.incoming.dto.Hand.valueOf(domainHand.name());
@@ -63,6 +178,14 @@ public class GameMapper {
         return com.techub.rps.boundary.incoming.dto.GameResult.valueOf(domainResult.name());
     }
 
+    /**
+     * Game ids are 64-bit numbers; the API keeps its UUID format by carrying the id in the most
+     * significant half, so the UUID strings still sort by creation time.
+     */
+    private UUID toApiGameId(long gameId) {
+        return new UUID(gameId, 0L);
+    }
+
     private OffsetDateTime convertToUtcOffsetDateTime(java.time.Instant timestamp) {
         return OffsetDateTime.ofInstant(timestamp, ZoneOffset.UTC);
     }
@@ -0,0 +1,38 @@
+package com.techub.rps.boundary.incoming;
+
+import com.techub.rps.boundary.outgoing.db.ConnectionPoolMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/poolholders} lists the pooled connections held right now, longest held
+ * first, with the port method and thread holding each one. Useful when the pool is exhausted
+ * and {@code db.pool.pending} climbs.
+ */
+@Component
+@Endpoint(id = "poolholders")
+@RequiredArgsConstructor
+public class PoolHoldersEndpoint {
+
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+
+    @ReadOperation
+    public Map<String, Object> holders() {
+        List<Holder> holders = connectionPoolMonitor.holders().stream()
+                .map(holder -> new Holder(holder.pool(), holder.operation(), holder.thread(),
+                        holder.acquiredAt(), holder.heldFor().toMillis()))
+                .toList();
+        return Map.of(
+                "count", holders.size(),
+                "holders", holders);
+    }
+
+    public record Holder(String pool, String operation, String thread, Instant acquiredAt, long heldMillis) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.techub.rps.boundary.incoming;
+
+import com.techub.rps.boundary.incoming.dto.PlayGameRequest;
+import com.techub.rps.boundary.incoming.dto.PvpGameResponse;
+import com.techub.rps.control.MatchService;
+import com.techub.rps.control.model.Hand;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serves {@code playPvpGame} from {@code openapi.yaml}. The generated {@code PvpApi} would
+ * have to return the game synchronously, so this controller maps the path by hand and returns
+ * the pending match instead; the servlet thread is released while the player waits for an
+ * opponent. Failures complete the future exceptionally and reach the exception handler as usual.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class PvpApiController {
+
+    private final MatchService matchService;
+    private final GameMapper gameMapper;
+
+    @PostMapping(value = "/api/v1/game/pvp/play",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<PvpGameResponse>> playPvpGame(
+            @Valid @RequestBody PlayGameRequest request) {
+        log.info("Received play PvP game request: {}", request);
+
+        Hand playerHand = gameMapper.toDomainHand(request.getPlayerHand());
+        return matchService.play(request.getUsername(), playerHand)
+                .thenApply(game -> ResponseEntity.ok(gameMapper.toPvpDto(game)));
+    }
+}
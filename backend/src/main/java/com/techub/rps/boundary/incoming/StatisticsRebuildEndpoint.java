@@ -0,0 +1,34 @@
+package com.techub.rps.boundary.incoming;
+
+import com.techub.rps.boundary.outgoing.StatisticsRebuildJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin trigger for rebuilding {@code user_statistics} from the game history.
+ * <p>
+ * {@code POST /actuator/statisticsrebuild} starts a rebuild in the background, or reports the one
+ * already running; {@code GET /actuator/statisticsrebuild} returns the progress of the current or
+ * last rebuild, including rounds scanned per second. Like every actuator endpoint it is only
+ * served on the management port, which must not be reachable from outside.
+ */
+@Component
+@Endpoint(id = "statisticsrebuild")
+@RequiredArgsConstructor
+public class StatisticsRebuildEndpoint {
+
+    private final StatisticsRebuildJob statisticsRebuildJob;
+
+    @ReadOperation
+    public StatisticsRebuildJob.Progress progress() {
+        return statisticsRebuildJob.progress();
+    }
+
+    @WriteOperation
+    public StatisticsRebuildJob.Progress start() {
+        return statisticsRebuildJob.start();
+    }
+}
@@ -0,0 +1,62 @@
+package com.techub.rps.boundary.incoming;
+
+import com.techub.rps.control.TournamentService;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.tournament.TournamentResult;
+import com.techub.rps.control.tournament.TournamentStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Actuator trigger for offline strategy tournaments.
+ * <p>
+ * {@code GET /actuator/tournament} lists the strategies, {@code POST /actuator/tournament} with
+ * {@code {"player": "FREQUENCY", "opponent": "CYCLE", "rounds": 100000000}} runs one and returns
+ * its counts and throughput. The request blocks until the tournament is finished.
+ */
+@Component
+@Endpoint(id = "tournament")
+@RequiredArgsConstructor
+public class TournamentEndpoint {
+
+    private static final long DEFAULT_ROUNDS = 10_000_000;
+
+    private final TournamentService tournamentService;
+
+    @ReadOperation
+    public Map<String, Object> strategies() {
+        return Map.of(
+                "ruleSet", tournamentService.getRuleSet(),
+                "strategies", Arrays.asList(TournamentStrategy.values()));
+    }
+
+    @WriteOperation
+    public TournamentResult run(String player, String opponent, @Nullable Long rounds, @Nullable Long seed) {
+        try {
+            return tournamentService.run(strategy(player), strategy(opponent),
+                    rounds != null ? rounds : DEFAULT_ROUNDS, seed);
+        } catch (DomainException ex) {
+            if (ex.getErrorType() == DomainException.ErrorType.CLIENT_ERROR) {
+                throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+            }
+            throw ex;
+        }
+    }
+
+    private static TournamentStrategy strategy(String name) {
+        try {
+            return TournamentStrategy.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException("Unknown strategy: " + name,
+                    "Unknown strategy, expected one of " + Arrays.toString(TournamentStrategy.values()));
+        }
+    }
+}
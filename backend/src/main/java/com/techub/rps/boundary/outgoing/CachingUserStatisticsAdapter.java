@@ -0,0 +1,98 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techub.rps.boundary.outgoing.db.ReplicaRoutingDataSource;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.UserStatistics;
+import com.techub.rps.control.ports.UserStatisticsPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Read-through cache in front of whichever statistics store is active. The client reloads the
+ * statistics after every game, so reads are served from memory and only the first read after a
+ * write goes to the store.
+ * <p>
+ * Writes evict the user's entry once they are committed (right away when no transaction is
+ * active), so a read never returns statistics older than the caller's own last game. Stores
+ * that write in the background can be briefly off while a flush is in progress; their flushes
+ * evict the users written, so such a value is not kept. Loads read from the primary even when
+ * read replicas are enabled: the first read after a game would otherwise often hit a replica
+ * that has not replayed it yet and keep that value until it expires. Concurrent reads of a cold
+ * key share a single load. Hits, misses, evictions and load times are published
+ * as the {@code cache.*} meters tagged {@code cache=statistics}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.statistics.cache.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CachingUserStatisticsAdapter implements UserStatisticsPort {
+
+    private final UserStatisticsAdapter delegate;
+    private final Cache<String, UserStatistics> statistics;
+
+    public CachingUserStatisticsAdapter(UserStatisticsAdapter delegate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.statistics.cache.max-size:10000}") long maxSize,
+                                        @Value("${app.statistics.cache.ttl:5m}") Duration ttl) {
+        this.delegate = delegate;
+        this.statistics = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, statistics, "statistics");
+        delegate.addFlushListener(statistics::invalidateAll);
+
+        log.info("Statistics cache enabled in front of {} (max size: {}, ttl: {})",
+                delegate.getClass().getSimpleName(), maxSize, ttl);
+    }
+
+    @Override
+    public void updateStatistics(String username, long gameId, long record) {
+        delegate.updateStatistics(username, gameId, record);
+        evictAfterCommit(username);
+    }
+
+    @Override
+    public void updateStatistics(String username, GameBatch batch) {
+        delegate.updateStatistics(username, batch);
+        evictAfterCommit(username);
+    }
+
+    @Override
+    public void updateStatistics(String username, long record, String opponent, long opponentRecord, long gameId) {
+        delegate.updateStatistics(username, record, opponent, opponentRecord, gameId);
+        evictAfterCommit(username);
+        evictAfterCommit(opponent);
+    }
+
+    @Override
+    public UserStatistics getStatistics(String username) {
+        return statistics.get(username,
+                key -> ReplicaRoutingDataSource.readFromPrimary(() -> delegate.getStatistics(key)));
+    }
+
+    private void evictAfterCommit(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    statistics.invalidate(username);
+                }
+            });
+        } else {
+            statistics.invalidate(username);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.GameHistoryEntry;
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.ports.GameHistoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous writer for {@code game_history}. The play path only appends the packed round to
+ * an in-memory queue; a single flusher thread drains it every {@code max-delay}, or as soon as
+ * {@code flush-size} rounds are pending, resolves the user ids through {@link UserIdCache} (one
+ * query for the misses) and writes the rows as one JDBC batch.
+ * <p>
+ * The queue is bounded by {@code capacity}: when the database falls behind, new rounds are
+ * dropped and counted instead of slowing down games. Rounds of users that are not in the
+ * database yet (their statistics may still be buffered), and rounds of a batch that failed to
+ * write, are retried with later flushes until they are older than {@code max-age}. A batch the
+ * database rejects is split until the offending rounds are found and dropped, so one bad row
+ * does not hold back the rest. Dropped rounds are written per user to
+ * {@code game_history_losses} with the next flush, so readers of the history can tell which
+ * users' history is incomplete.
+ */
+@Component
+@DependsOn("gameHistoryPartitionMaintainer")
+@Slf4j
+public class GameHistoryAdapter implements GameHistoryPort {
+
+    private final GameHistoryRepository historyRepository;
+    private final UserIdCache userIdCache;
+    private final int flushSize;
+    private final int capacity;
+    private final long maxAgeNanos;
+
+    private final ConcurrentLinkedQueue<GameHistoryEntry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Map<String, Long> lostRounds = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    private final Counter droppedRounds;
+    private final Timer flushTimer;
+    private final DistributionSummary flushRows;
+
+    public GameHistoryAdapter(GameHistoryRepository historyRepository,
+                              UserIdCache userIdCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.history.flush-size:1000}") int flushSize,
+                              @Value("${app.history.max-delay:500ms}") Duration maxDelay,
+                              @Value("${app.history.capacity:100000}") int capacity,
+                              @Value("${app.history.max-age:1m}") Duration maxAge) {
+        this.historyRepository = historyRepository;
+        this.userIdCache = userIdCache;
+        this.flushSize = flushSize;
+        this.capacity = capacity;
+        this.maxAgeNanos = maxAge.toNanos();
+
+        Gauge.builder("history.buffer.rounds", pending, AtomicInteger::get)
+                .description("Rounds waiting to be written to the game history")
+                .register(meterRegistry);
+        this.droppedRounds = Counter.builder("history.dropped")
+                .description("Rounds not written to the game history")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("history.flush.duration")
+                .description("Time to write one batch of game history")
+                .register(meterRegistry);
+        this.flushRows = DistributionSummary.builder("history.flush.rows")
+                .description("Rows written per game history flush")
+                .register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long delayMillis = maxDelay.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+
+        log.info("Game history enabled (flush size: {}, max delay: {}, capacity: {})", flushSize, maxDelay, capacity);
+    }
+
+    @Override
+    public void recordGame(String username, long gameId, long record) {
+        enqueue(new GameHistoryEntry(username, gameId, 0, record, System.nanoTime()));
+    }
+
+    @Override
+    public void recordBatch(String username, GameBatch batch) {
+        long millis = batch.getTimestamp().toEpochMilli();
+        long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            long record = GameRecord.pack(batch.getPlayerHands()[i], batch.getComputerHands()[i],
+                    batch.getResults()[i], millis);
+            enqueue(new GameHistoryEntry(username, batch.getGameId(), i, record, now));
+        }
+    }
+
+    /**
+     * Writes what is queued right now in batches of at most {@code flush-size} rows. Rounds
+     * queued during the flush, including retried ones, wait for the next flush. Only ever runs
+     * on the flusher thread or during shutdown.
+     */
+    synchronized void flush() {
+        flushRequested.set(false);
+
+        int remaining = pending.get();
+        while (remaining > 0) {
+            List<GameHistoryEntry> entries = new ArrayList<>(Math.min(remaining, flushSize));
+            GameHistoryEntry entry;
+            while (entries.size() < Math.min(remaining, flushSize) && (entry = queue.poll()) != null) {
+                entries.add(entry);
+            }
+            if (entries.isEmpty()) {
+                break;
+            }
+            pending.addAndGet(-entries.size());
+            remaining -= entries.size();
+
+            if (!write(entries)) {
+                break;
+            }
+        }
+        writeLosses();
+    }
+
+    private void writeLosses() {
+        if (lostRounds.isEmpty()) {
+            return;
+        }
+        Map<String, Long> losses = new HashMap<>();
+        for (String username : lostRounds.keySet()) {
+            Long rounds = lostRounds.remove(username);
+            if (rounds != null) {
+                losses.put(username, rounds);
+            }
+        }
+        try {
+            historyRepository.recordLosses(losses);
+        } catch (RuntimeException ex) {
+            log.error("Failed to record {} lost game history rounds, retrying with the next flush",
+                    losses.values().stream().mapToLong(Long::longValue).sum(), ex);
+            losses.forEach((username, rounds) -> lostRounds.merge(username, rounds, Long::sum));
+        }
+    }
+
+    private boolean write(List<GameHistoryEntry> entries) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Set<String> usernames = new HashSet<>();
+            for (GameHistoryEntry entry : entries) {
+                usernames.add(entry.username());
+            }
+            Map<String, Long> userIds = new HashMap<>(userIdCache.findCachedUserIds(usernames));
+            usernames.removeAll(userIds.keySet());
+            if (!usernames.isEmpty()) {
+                Map<String, Long> loaded = historyRepository.findUserIds(usernames);
+                userIdCache.putAll(loaded);
+                userIds.putAll(loaded);
+            }
+
+            List<GameHistoryEntry> writable = new ArrayList<>(entries.size());
+            long now = System.nanoTime();
+            for (GameHistoryEntry entry : entries) {
+                if (userIds.containsKey(entry.username())) {
+                    writable.add(entry);
+                } else if (now - entry.enqueuedNanos() < maxAgeNanos) {
+                    requeue(entry);
+                } else {
+                    log.warn("Dropping game history of unknown user: {}", entry.username());
+                    drop(entry);
+                }
+            }
+
+            return writable.isEmpty() || insert(writable, userIds);
+        } catch (RuntimeException ex) {
+            log.error("Failed to write {} rounds to the game history, keeping them queued", entries.size(), ex);
+            retryOrDrop(entries);
+            return false;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    /**
+     * Inserts the entries, halving a batch the database rejects until the offending rounds are
+     * isolated and dropped.
+     *
+     * @return {@code false} if the database could not be reached; the entries not written by
+     *         then are queued again
+     */
+    private boolean insert(List<GameHistoryEntry> entries, Map<String, Long> userIds) {
+        try {
+            historyRepository.insertAll(entries, userIds);
+            flushRows.record(entries.size());
+            log.debug("Wrote {} rounds to the game history", entries.size());
+            return true;
+        } catch (RuntimeException ex) {
+            if (!isRejectedData(ex)) {
+                log.error("Failed to write {} rounds to the game history, keeping them queued", entries.size(), ex);
+                retryOrDrop(entries);
+                return false;
+            }
+            if (entries.size() == 1) {
+                log.warn("Dropping game history round the database rejects for user: {}", entries.get(0).username(), ex);
+                drop(entries.get(0));
+                return true;
+            }
+            int half = entries.size() / 2;
+            if (!insert(entries.subList(0, half), userIds)) {
+                retryOrDrop(entries.subList(half, entries.size()));
+                return false;
+            }
+            return insert(entries.subList(half, entries.size()), userIds);
+        }
+    }
+
+    /*
+     * Data the database refuses to store, as opposed to a database that cannot be reached; only
+     * the former is worth splitting a batch for.
+     */
+    private static boolean isRejectedData(RuntimeException ex) {
+        return ex instanceof NonTransientDataAccessException
+                && !(ex instanceof NonTransientDataAccessResourceException);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Game history flusher did not stop in time");
+        }
+        flush();
+        log.info("Game history flushed on shutdown");
+    }
+
+    private void enqueue(GameHistoryEntry entry) {
+        int size = pending.incrementAndGet();
+        if (size > capacity) {
+            pending.decrementAndGet();
+            drop(entry);
+            return;
+        }
+        queue.offer(entry);
+
+        if (size >= flushSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private void requeue(GameHistoryEntry entry) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            drop(entry);
+            return;
+        }
+        queue.offer(entry);
+    }
+
+    private void retryOrDrop(List<GameHistoryEntry> entries) {
+        long now = System.nanoTime();
+        int expired = 0;
+        for (GameHistoryEntry entry : entries) {
+            if (now - entry.enqueuedNanos() < maxAgeNanos) {
+                requeue(entry);
+            } else {
+                drop(entry);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.warn("Dropped {} game history rounds that could not be written within {} ms",
+                    expired, TimeUnit.NANOSECONDS.toMillis(maxAgeNanos));
+        }
+    }
+
+    private void drop(GameHistoryEntry entry) {
+        droppedRounds.increment();
+        lostRounds.merge(entry.username(), 1L, Long::sum);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.error("Unexpected error while writing the game history", ex);
+        }
+    }
+}
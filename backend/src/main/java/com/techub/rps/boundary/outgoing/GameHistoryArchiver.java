@@ -0,0 +1,143 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.archive.HistoryArchive;
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves whole months of {@code game_history} older than {@code after-months} out of PostgreSQL
+ * into the {@link HistoryArchive}: the partition is streamed into a columnar segment, the row
+ * count is checked against the table and only then the partition is dropped, noting the month
+ * as archived in {@code game_history_dropped_months}. Runs on startup and every six hours, next
+ * to {@link GameHistoryPartitionMaintainer}; {@code after-months} has to stay below its
+ * {@code retention-months}, or months are dropped before they are archived.
+ * <p>
+ * Does nothing when the table is not partitioned, e.g. on H2. Segments are local files, so
+ * only one instance should have the archive enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "app.history.archive.enabled", havingValue = "true")
+@Slf4j
+public class GameHistoryArchiver {
+
+    private static final Hand[] HANDS = Hand.values();
+    private static final GameResult[] RESULTS = GameResult.values();
+
+    private final GameHistoryRepository historyRepository;
+    private final HistoryArchive historyArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final int afterMonths;
+    private final int fetchSize;
+    private final Clock clock;
+    private final Counter archivedRounds;
+    private final ScheduledExecutorService scheduler;
+
+    public GameHistoryArchiver(GameHistoryRepository historyRepository,
+                               HistoryArchive historyArchive,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.history.archive.after-months:3}") int afterMonths,
+                               @Value("${app.history.archive.fetch-size:10000}") int fetchSize) {
+        this(historyRepository, historyArchive, transactionTemplate, meterRegistry, afterMonths, fetchSize,
+                Clock.systemUTC());
+    }
+
+    GameHistoryArchiver(GameHistoryRepository historyRepository, HistoryArchive historyArchive,
+                        TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                        int afterMonths, int fetchSize, Clock clock) {
+        this.historyRepository = historyRepository;
+        this.historyArchive = historyArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.afterMonths = afterMonths;
+        this.fetchSize = fetchSize;
+        this.clock = clock;
+        this.archivedRounds = Counter.builder("history.archive.rounds")
+                .description("Game history rounds moved into the archive")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly, 0, 6, TimeUnit.HOURS);
+    }
+
+    void archive() {
+        if (!historyRepository.isPartitioned()) {
+            log.debug("game_history is not partitioned, skipping archival");
+            return;
+        }
+
+        YearMonth oldestKept = YearMonth.now(clock).minusMonths(afterMonths);
+        for (String partition : historyRepository.findPartitions()) {
+            YearMonth month = GameHistoryPartitionMaintainer.monthOf(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                archive(partition, month);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /*
+     * A segment left behind by a run that stopped before the drop is simply written again.
+     */
+    private void archive(String partition, YearMonth month) {
+        long rounds = transactionTemplate.execute(status -> historyArchive.write(month,
+                writer -> historyRepository.streamPartition(partition, fetchSize, rs -> {
+                    try {
+                        writer.add(rs.getLong(1), rs.getLong(2), rs.getShort(3),
+                                HANDS[rs.getShort(4)], HANDS[rs.getShort(5)], RESULTS[rs.getShort(6)],
+                                GameHistoryRepository.playedAt(rs, 7).toEpochMilli());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                })));
+
+        long stored = historyRepository.countPartition(partition);
+        if (stored != rounds) {
+            log.warn("Archived {} of {} rounds of {}, keeping the partition", rounds, stored, partition);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            historyRepository.recordDroppedMonth(month.atDay(1), true, rounds);
+            historyRepository.dropPartition(partition);
+        });
+        archivedRounds.increment(rounds);
+        log.info("Archived {} rounds of {} into {} bytes", rounds, partition, historyArchive.size(month));
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (Exception ex) {
+            log.error("Game history archival failed", ex);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the monthly partitions of {@code game_history} rolling on PostgreSQL: on startup and
+ * then every six hours it creates the partitions for the coming {@code months-ahead} months and
+ * drops whole partitions that are older than {@code retention-months}. Dropping a partition
+ * replaces a large {@code DELETE} with a catalog change.
+ * <p>
+ * A partition still there at the end of its retention was not archived. Its rounds are added
+ * per user to {@code game_history_losses} and the month to {@code game_history_dropped_months}
+ * in the same transaction as the drop, so the statistics rebuild knows whose history is
+ * incomplete.
+ * <p>
+ * The table has no default partition, so a round outside every partition cannot be written.
+ * The upcoming partitions are therefore created once while the bean is initialised, before
+ * {@link GameHistoryAdapter}, which depends on this bean, can write its first batch.
+ * <p>
+ * Does nothing when the table is not partitioned, e.g. on H2. Creating and dropping partitions
+ * is idempotent, so several instances can run it side by side.
+ */
+@Component
+@Slf4j
+public class GameHistoryPartitionMaintainer {
+
+    static final String PARTITION_PREFIX = "game_history_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final GameHistoryRepository historyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    public GameHistoryPartitionMaintainer(GameHistoryRepository historyRepository,
+                                          TransactionTemplate transactionTemplate,
+                                          @Value("${app.history.partitions.months-ahead:2}") int monthsAhead,
+                                          @Value("${app.history.partitions.retention-months:12}") int retentionMonths) {
+        this(historyRepository, transactionTemplate, monthsAhead, retentionMonths, Clock.systemUTC());
+    }
+
+    GameHistoryPartitionMaintainer(GameHistoryRepository historyRepository, TransactionTemplate transactionTemplate,
+                                   int monthsAhead, int retentionMonths, Clock clock) {
+        this.historyRepository = historyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::maintainQuietly, 0, 6, TimeUnit.HOURS);
+    }
+
+    @PostConstruct
+    void createPartitions() {
+        if (historyRepository.isPartitioned()) {
+            createUpcomingPartitions(YearMonth.now(clock));
+        }
+    }
+
+    void maintain() {
+        if (!historyRepository.isPartitioned()) {
+            log.debug("game_history is not partitioned, skipping partition maintenance");
+            return;
+        }
+
+        YearMonth current = YearMonth.now(clock);
+        createUpcomingPartitions(current);
+
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        List<String> partitions = historyRepository.findPartitions();
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                drop(partition, month);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void drop(String partition, YearMonth month) {
+        long rounds = transactionTemplate.execute(status -> {
+            long count = historyRepository.countPartition(partition);
+            historyRepository.recordPartitionLosses(partition);
+            historyRepository.recordDroppedMonth(month.atDay(1), false, count);
+            historyRepository.dropPartition(partition);
+            return count;
+        });
+        log.warn("Dropped game history partition {} with {} unarchived rounds (retention: {} months)",
+                partition, rounds, retentionMonths);
+    }
+
+    private void createUpcomingPartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            historyRepository.createPartition(partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1));
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(month);
+    }
+
+    /**
+     * Month of a partition created by this class or the migration, {@code null} for any other table.
+     */
+    static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (Exception ex) {
+            log.error("Game history partition maintenance failed", ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.HistoryCursor;
+import com.techub.rps.control.model.PlayedRound;
+import com.techub.rps.control.ports.GameHistoryQueryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read side of {@code game_history}. Rounds are written asynchronously by
+ * {@link GameHistoryAdapter}, so the newest rounds show up with a delay of up to
+ * {@code app.history.max-delay}.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameHistoryQueryAdapter implements GameHistoryQueryPort {
+
+    private static final Hand[] HANDS = Hand.values();
+    private static final GameResult[] RESULTS = GameResult.values();
+
+    private final GameHistoryRepository historyRepository;
+    private final UserIdCache userIdCache;
+
+    @Override
+    public boolean userExists(String username) {
+        return userIdCache.findUserId(username).isPresent();
+    }
+
+    /**
+     * PostgreSQL only honours the fetch size outside autocommit, hence the read-only transaction.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void findRounds(String username, HistoryCursor before, int limit, Consumer<PlayedRound> consumer) {
+        Optional<Long> userId = userIdCache.findUserId(username);
+        if (userId.isEmpty()) {
+            return;
+        }
+
+        historyRepository.findPage(userId.get(), before, limit, rs -> {
+            consumer.accept(PlayedRound.builder()
+                    .gameId(rs.getLong("game_id"))
+                    .round(rs.getShort("round_no"))
+                    .playerHand(HANDS[rs.getShort("player_hand")])
+                    .opponentHand(HANDS[rs.getShort("opponent_hand")])
+                    .result(RESULTS[rs.getShort("result")])
+                    .playedAt(GameHistoryRepository.playedAt(rs, "played_at"))
+                    .build());
+        });
+    }
+
+    @Override
+    public long countLostRounds(String username) {
+        return historyRepository.countLostRounds(username);
+    }
+}
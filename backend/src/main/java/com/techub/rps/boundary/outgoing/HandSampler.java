@@ -0,0 +1,77 @@
+package com.techub.rps.boundary.outgoing;
+
+import java.security.SecureRandom;
+
+/**
+ * Draws uniform values in {@code [0, radix)} from a buffered stream of random bytes.
+ * <p>
+ * Every accepted byte is read as {@code k} base-{@code radix} digits, where {@code radix^k} is
+ * the largest power that fits into a byte (5 hands per byte for 3 hands, 3 for 5 hands). Bytes
+ * at or above the largest multiple of {@code radix^k} are rejected, so every digit is exactly
+ * uniform. Not thread safe; {@link SecureRandomHandAdapter} keeps one sampler per thread.
+ */
+final class HandSampler {
+
+    static final int BUFFER_SIZE = 256;
+
+    private final SecureRandom random;
+    private final int radix;
+    private final int digitsPerByte;
+    private final int block;
+    private final int acceptLimit;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position = BUFFER_SIZE;
+    private int pending;
+    private int pendingDigits;
+
+    HandSampler(SecureRandom random, int radix) {
+        if (radix < 2 || radix > 256) {
+            throw new IllegalArgumentException("Radix must be between 2 and 256, got " + radix);
+        }
+        this.random = random;
+        this.radix = radix;
+
+        int digits = 0;
+        int power = 1;
+        while (power * radix <= 256) {
+            power *= radix;
+            digits++;
+        }
+        this.digitsPerByte = digits;
+        this.block = power;
+        this.acceptLimit = (256 / power) * power;
+    }
+
+    int next() {
+        if (pendingDigits == 0) {
+            pending = nextAcceptedByte() % block;
+            pendingDigits = digitsPerByte;
+        }
+        int digit = pending % radix;
+        pending /= radix;
+        pendingDigits--;
+        return digit;
+    }
+
+    int digitsPerByte() {
+        return digitsPerByte;
+    }
+
+    int acceptLimit() {
+        return acceptLimit;
+    }
+
+    private int nextAcceptedByte() {
+        while (true) {
+            if (position == BUFFER_SIZE) {
+                random.nextBytes(buffer);
+                position = 0;
+            }
+            int value = buffer[position++] & 0xFF;
+            if (value < acceptLimit) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.JournalCheckpointRepository;
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.boundary.outgoing.journal.GameJournal;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Journaled statistics store. A game is acknowledged once its delta is in the local
+ * {@link GameJournal}; a background projector applies the journal to the database in batches
+ * of upserts and saves the projected position in the same transaction. On startup everything
+ * after that checkpoint is replayed, so no acknowledged game is lost or counted twice.
+ * <p>
+ * Until an entry is projected its delta is kept in memory and added to what the database
+ * returns, as with the write-behind store.
+ */
+@Component
+@ConditionalOnProperty(name = "app.statistics.store", havingValue = "journal")
+@Slf4j
+public class JournalUserStatisticsAdapter extends UserStatisticsAdapter {
+
+    private final UserStatisticsUpsertRepository upsertRepository;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int nodeId;
+    private final int batchSize;
+
+    private final Map<String, StatisticsDelta> pending = new ConcurrentHashMap<>();
+    private final GameJournal journal;
+    private final ScheduledExecutorService projector;
+    private volatile long projectedPosition;
+
+    private final Counter appendedEntries;
+    private final Timer projectionTimer;
+
+    public JournalUserStatisticsAdapter(UserRepository userRepository,
+                                        UserStatisticsRepository statisticsRepository,
+                                        UserIdCache userIdCache,
+                                        UserStatisticsUpsertRepository upsertRepository,
+                                        JournalCheckpointRepository checkpointRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.statistics.journal.directory:data/journal}") Path directory,
+                                        @Value("${app.statistics.journal.segment-size:64MB}") DataSize segmentSize,
+                                        @Value("${app.statistics.journal.fsync:true}") boolean fsync,
+                                        @Value("${app.statistics.journal.projector.batch-size:1000}") int batchSize,
+                                        @Value("${app.statistics.journal.projector.interval:250ms}") Duration interval,
+                                        @Value("${app.game.node-id:0}") int nodeId) {
+        super(userRepository, statisticsRepository, userIdCache);
+        this.upsertRepository = upsertRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.nodeId = nodeId;
+        this.batchSize = batchSize;
+
+        this.projectedPosition = checkpointRepository.findPosition(nodeId);
+        this.journal = new GameJournal(directory, Math.toIntExact(segmentSize.toBytes()), fsync, projectedPosition,
+                delta -> pending.merge(delta.username(), delta, StatisticsDelta::plus));
+
+        Gauge.builder("statistics.journal.lag", this, adapter -> adapter.journal.durablePosition() - adapter.projectedPosition)
+                .description("Journal bytes not yet applied to the database")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.appendedEntries = Counter.builder("statistics.journal.appended")
+                .description("Entries appended to the game journal")
+                .register(meterRegistry);
+        this.projectionTimer = Timer.builder("statistics.journal.projection")
+                .description("Time to apply one batch of journal entries to the database")
+                .register(meterRegistry);
+
+        this.projector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-projector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        projector.scheduleWithFixedDelay(this::projectQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        log.info("Journaled statistics enabled (directory: {}, fsync: {}, checkpoint: {})",
+                directory, fsync, projectedPosition);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, long gameId, long record) {
+        append(StatisticsDelta.forGame(username, gameId, record));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, GameBatch batch) {
+        append(StatisticsDelta.forBatch(username, batch));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, long record, String opponent, long opponentRecord, long gameId) {
+        append(List.of(StatisticsDelta.forGame(username, gameId, record),
+                StatisticsDelta.forGame(opponent, gameId, opponentRecord)));
+    }
+
+    @Override
+    public UserStatistics getStatistics(String username) {
+        StatisticsDelta unprojected = pending.get(username);
+        if (unprojected == null) {
+            return super.getStatistics(username);
+        }
+
+        UserStatistics stored;
+        try {
+            stored = super.getStatistics(username);
+        } catch (DomainException ex) {
+            // first games of a new user are not in the database yet
+            stored = UserStatistics.builder()
+                    .username(username)
+                    .gamesPlayed(0)
+                    .wins(0)
+                    .losses(0)
+                    .draws(0)
+                    .build();
+        }
+
+        return UserStatistics.builder()
+                .username(username)
+                .gamesPlayed(stored.getGamesPlayed() + unprojected.gamesPlayed())
+                .wins(stored.getWins() + unprojected.wins())
+                .losses(stored.getLosses() + unprojected.losses())
+                .draws(stored.getDraws() + unprojected.draws())
+                .lastGameId(unprojected.lastGameId())
+                .lastGamePlayedAt(unprojected.lastGamePlayedAt())
+                .build();
+    }
+
+    /**
+     * Includes the entries replayed from the journal on startup until they are projected.
+     */
+    @Override
+    public synchronized void readWithPending(Consumer<Map<String, StatisticsDelta>> reader) {
+        reader.accept(new HashMap<>(pending));
+    }
+
+    /**
+     * Applies every durable entry that is not projected yet, at most {@code batch-size} entries
+     * per transaction. Only ever runs on the projector thread or during shutdown; a failed batch
+     * is retried from the same position with the next run.
+     */
+    synchronized void project() {
+        long durable = journal.durablePosition();
+        while (projectedPosition < durable) {
+            long from = projectedPosition;
+            long to = Math.min(durable, from + (long) batchSize * GameJournal.RECORD_SIZE);
+
+            Map<String, StatisticsDelta> batch = new HashMap<>();
+            journal.read(from, to, delta -> batch.merge(delta.username(), delta, StatisticsDelta::plus));
+
+            Timer.Sample sample = Timer.start();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    upsertRepository.upsertAll(new ArrayList<>(batch.values()));
+                    checkpointRepository.savePosition(nodeId, to);
+                });
+            } finally {
+                sample.stop(projectionTimer);
+            }
+
+            batch.values().forEach(this::unbuffer);
+            // a read between the commit and the unbuffer counted the batch twice, a cached copy must go
+            notifyFlushed(batch.keySet());
+            projectedPosition = to;
+            journal.releaseBefore(to);
+            log.debug("Projected journal entries up to position {} for {} users", to, batch.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        projector.shutdown();
+        if (!projector.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Journal projector did not stop in time");
+        }
+        try {
+            project();
+        } finally {
+            journal.close();
+        }
+        log.info("Game journal projected and closed at position {}", projectedPosition);
+    }
+
+    /*
+     * The delta is visible to reads before it is appended: once appended it may be projected
+     * and taken off again at any time, which must not happen to a delta that is not there yet.
+     * The journal only rejects an append before writing it, so a failed append takes the delta
+     * off again and the game can be retried without being counted twice.
+     */
+    private void append(StatisticsDelta delta) {
+        append(List.of(delta));
+    }
+
+    private void append(List<StatisticsDelta> deltas) {
+        deltas.forEach(delta -> pending.merge(delta.username(), delta, StatisticsDelta::plus));
+        try {
+            journal.append(deltas);
+        } catch (RuntimeException ex) {
+            deltas.forEach(this::unbuffer);
+            throw ex;
+        }
+        appendedEntries.increment(deltas.size());
+    }
+
+    private void unbuffer(StatisticsDelta delta) {
+        pending.computeIfPresent(delta.username(), (username, current) -> {
+            StatisticsDelta remaining = current.minus(delta);
+            return remaining.gamesPlayed() == 0 ? null : remaining;
+        });
+    }
+
+    private void projectQuietly() {
+        try {
+            project();
+        } catch (Exception ex) {
+            log.error("Failed to project the game journal, retrying from position {}", projectedPosition, ex);
+        }
+    }
+}
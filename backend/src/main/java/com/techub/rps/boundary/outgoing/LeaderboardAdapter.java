@@ -0,0 +1,86 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.control.model.UserStatistics;
+import com.techub.rps.control.ports.LeaderboardPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads the totals of all players for the leaderboard rebuild in one streamed query. Where the
+ * totals live depends on the {@link StatisticsLayout}: the single-row store keeps them on
+ * {@code users}, every other store in {@code user_statistics} plus the striped slots.
+ */
+@Component
+public class LeaderboardAdapter implements LeaderboardPort {
+
+    static final String SINGLE_ROW_SQL = """
+            SELECT username, wins, games_played
+            FROM users
+            WHERE games_played > 0
+            """;
+
+    static final String STATISTICS_SQL = """
+            SELECT u.username,
+                   s.wins + COALESCE(slots.wins, 0) AS wins,
+                   s.games_played + COALESCE(slots.games_played, 0) AS games_played
+            FROM user_statistics s
+            JOIN users u ON u.id = s.user_id
+            LEFT JOIN (
+                SELECT user_id, SUM(wins) AS wins, SUM(games_played) AS games_played
+                FROM user_statistics_slots
+                GROUP BY user_id
+            ) slots ON slots.user_id = s.user_id
+            """;
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserStatisticsAdapter statisticsStore;
+    private final String sql;
+
+    public LeaderboardAdapter(JdbcTemplate jdbcTemplate, StatisticsLayout statisticsLayout,
+                              UserStatisticsAdapter statisticsStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statisticsStore = statisticsStore;
+        this.sql = statisticsLayout.isSingleRow() ? SINGLE_ROW_SQL : STATISTICS_SQL;
+    }
+
+    /**
+     * PostgreSQL only honours the fetch size outside autocommit, hence the read-only transaction;
+     * rows are then streamed in chunks instead of being buffered all at once. Games the store
+     * has not written yet, like journal entries replayed on startup, are added on top.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void loadStandings(Consumer<UserStatistics> consumer) {
+        statisticsStore.readWithPending(pending -> {
+            Map<String, StatisticsDelta> unwritten = new HashMap<>(pending);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                String username = rs.getString("username");
+                StatisticsDelta delta = unwritten.remove(username);
+                consumer.accept(UserStatistics.builder()
+                        .username(username)
+                        .wins(rs.getInt("wins") + (delta != null ? delta.wins() : 0))
+                        .gamesPlayed(rs.getInt("games_played") + (delta != null ? delta.gamesPlayed() : 0))
+                        .build());
+            });
+            // users whose first games are not written yet
+            unwritten.values().forEach(delta -> consumer.accept(UserStatistics.builder()
+                    .username(delta.username())
+                    .wins(delta.wins())
+                    .gamesPlayed(delta.gamesPlayed())
+                    .build()));
+        });
+    }
+}
@@ -0,0 +1,159 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.ports.RandomHandProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Predictive opponent. Every player gets an order-k Markov model of their own move transitions,
+ * and the computer plays the hand with the best expected score against the predicted move.
+ * <p>
+ * A model is one {@code int[]} of {@code N^k * N} transition counts followed by the current
+ * context and the number of observed moves, so an update is one increment and a rolling
+ * context. Models live in a size-bounded Caffeine cache; evicted players simply start over.
+ * Concurrent rounds of the same player may lose an increment, which only makes the
+ * model slightly less sharp.
+ */
+@Component
+@ConditionalOnProperty(name = "app.game.opponent", havingValue = "markov")
+@Slf4j
+public class MarkovHandAdapter implements RandomHandProvider {
+
+    // a row is halved once one of its counts reaches this, so old habits fade out
+    private static final int MAX_COUNT = 64;
+
+    private final RandomHandProvider fallback;
+    private final Hand[] hands;
+    private final int[] indexByOrdinal;
+    private final int[] scores;
+    private final int order;
+    private final int contexts;
+    private final int contextSlot;
+    private final int movesSlot;
+    private final double exploration;
+
+    private final Cache<String, int[]> models;
+    private final Function<String, int[]> newModel;
+
+    public MarkovHandAdapter(RuleSet ruleSet,
+                             @Value("${app.game.markov.order:2}") int order,
+                             @Value("${app.game.markov.max-users:100000}") long maxUsers,
+                             @Value("${app.game.markov.idle-timeout:1h}") Duration idleTimeout,
+                             @Value("${app.game.markov.exploration:0.1}") double exploration) {
+        if (order < 1 || order > 4) {
+            throw new IllegalArgumentException("Markov order must be between 1 and 4, got " + order);
+        }
+        this.fallback = new SecureRandomHandAdapter(ruleSet);
+        this.hands = ruleSet.getHands().toArray(Hand[]::new);
+        this.order = order;
+        this.exploration = exploration;
+
+        int n = hands.length;
+        this.indexByOrdinal = new int[Hand.values().length];
+        Arrays.fill(indexByOrdinal, -1);
+        for (int i = 0; i < n; i++) {
+            indexByOrdinal[hands[i].ordinal()] = i;
+        }
+
+        // scores[mine * n + theirs]: +1 win, -1 loss, 0 draw
+        this.scores = new int[n * n];
+        for (int mine = 0; mine < n; mine++) {
+            for (int theirs = 0; theirs < n; theirs++) {
+                GameResult result = ruleSet.play(hands[mine], hands[theirs]);
+                scores[mine * n + theirs] = result == GameResult.WIN ? 1 : result == GameResult.LOSE ? -1 : 0;
+            }
+        }
+
+        int contextCount = 1;
+        for (int i = 0; i < order; i++) {
+            contextCount *= n;
+        }
+        this.contexts = contextCount;
+        this.contextSlot = contexts * n;
+        this.movesSlot = contextSlot + 1;
+        int modelSize = movesSlot + 1;
+        this.newModel = username -> new int[modelSize];
+
+        this.models = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTimeout)
+                .build();
+
+        log.info("Markov opponent enabled (order: {}, max users: {}, model size: {} ints)", order, maxUsers, modelSize);
+    }
+
+    @Override
+    public Hand getRandomHand() {
+        return fallback.getRandomHand();
+    }
+
+    @Override
+    public Hand chooseHand(String username) {
+        int[] model = models.getIfPresent(username);
+        if (model == null || model[movesSlot] < order
+                || (exploration > 0 && ThreadLocalRandom.current().nextDouble() < exploration)) {
+            return fallback.getRandomHand();
+        }
+
+        int n = hands.length;
+        int row = model[contextSlot] * n;
+        int best = -1;
+        long bestScore = 0;
+        for (int mine = 0; mine < n; mine++) {
+            long score = 0;
+            for (int theirs = 0; theirs < n; theirs++) {
+                score += (long) model[row + theirs] * scores[mine * n + theirs];
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = mine;
+            }
+        }
+
+        // nothing learnt for this context yet, or no hand with a positive expectation
+        return best < 0 ? fallback.getRandomHand() : hands[best];
+    }
+
+    @Override
+    public void observe(String username, Hand playerHand) {
+        int move = playerHand != null ? indexByOrdinal[playerHand.ordinal()] : -1;
+        if (move < 0) {
+            return;
+        }
+
+        int[] model = models.get(username, newModel);
+        int n = hands.length;
+        int context = model[contextSlot];
+
+        if (model[movesSlot] >= order) {
+            int cell = context * n + move;
+            if (++model[cell] >= MAX_COUNT) {
+                int row = context * n;
+                for (int i = 0; i < n; i++) {
+                    model[row + i] >>= 1;
+                }
+            }
+        } else {
+            model[movesSlot]++;
+        }
+
+        model[contextSlot] = (context * n + move) % contexts;
+    }
+
+    long modelCount() {
+        models.cleanUp();
+        return models.estimatedSize();
+    }
+}
@@ -1,6 +1,7 @@
 package com.techub.rps.boundary.outgoing;
 
-import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameRecord;
 import com.techub.rps.control.model.GameResult;
 import com.techub.rps.control.model.Hand;
 import com.techub.rps.control.ports.MetricsProvider;
@@ -10,17 +11,33 @@ import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Game metrics. Counters are looked up once per tag value and cached by ordinal, so recording
+ * a game does not go through a meter builder and its tag allocations.
+ */
 @Component
 @Slf4j
 public class MetricsHandler implements MetricsProvider {
 
+    private static final Hand[] HANDS = Hand.values();
+
     private final MeterRegistry meterRegistry;
     private final AtomicLong totalGames;
     private final AtomicLong totalWins;
     private final AtomicLong totalLosses;
     private final AtomicLong totalDraws;
+    private final Timer gameDuration;
+    private final Timer pairedWait;
+    private final Timer fallbackWait;
+    private final AtomicReferenceArray<Counter> resultCounters = new AtomicReferenceArray<>(GameResult.values().length);
+    private final AtomicReferenceArray<Counter> playerHandCounters = new AtomicReferenceArray<>(HANDS.length);
+    private final AtomicReferenceArray<Counter> computerHandCounters = new AtomicReferenceArray<>(HANDS.length);
+    private final AtomicReferenceArray<Counter> combinationCounters =
+            new AtomicReferenceArray<>(HANDS.length * HANDS.length);
 
     public MetricsHandler(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
@@ -28,36 +45,86 @@ public class MetricsHandler implements MetricsProvider {
         this.totalWins = meterRegistry.gauge("games.wins.total", new AtomicLong(0));
         this.totalLosses = meterRegistry.gauge("games.losses.total", new AtomicLong(0));
         this.totalDraws = meterRegistry.gauge("games.draws.total", new AtomicLong(0));
+        this.gameDuration = meterRegistry.timer("games.duration");
+        this.pairedWait = matchWaitTimer("player");
+        this.fallbackWait = matchWaitTimer("computer");
         log.info("GameMetricsService initialized with MeterRegistry");
     }
 
     @Override
-    public void recordGamePlayed(Game game) {
-        if (game == null) {
-            log.warn("Attempted to record metrics for null game");
+    public void recordGamePlayed(long record) {
+        Hand playerHand = GameRecord.playerHand(record);
+        Hand computerHand = GameRecord.computerHand(record);
+        GameResult result = GameRecord.result(record);
+
+        totalGames.incrementAndGet();
+        recordGameResult(result);
+        recordPlayerHandChoice(playerHand);
+        recordComputerHandChoice(computerHand);
+        recordHandCombination(playerHand, computerHand);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Recorded metrics for game - Result: {}, Player: {}, Computer: {}",
+                    result, playerHand, computerHand);
+        }
+    }
+
+    /**
+     * Records a whole batch with one counter increment per distinct tag value instead of one per round.
+     */
+    @Override
+    public void recordGamesPlayed(GameBatch batch) {
+        if (batch == null) {
+            log.warn("Attempted to record metrics for null game batch");
             return;
         }
 
-        totalGames.incrementAndGet();
-        recordGameResult(game.getResult());
-        recordPlayerHandChoice(game.getPlayerHand());
-        recordComputerHandChoice(game.getComputerHand());
-        recordHandCombination(game.getPlayerHand(), game.getComputerHand());
+        int[] playerCounts = new int[HANDS.length];
+        int[] computerCounts = new int[HANDS.length];
+        int[] combinationCounts = new int[HANDS.length * HANDS.length];
+        for (int i = 0; i < batch.size(); i++) {
+            int player = batch.getPlayerHands()[i].ordinal();
+            int computer = batch.getComputerHands()[i].ordinal();
+            playerCounts[player]++;
+            computerCounts[computer]++;
+            combinationCounts[player * HANDS.length + computer]++;
+        }
+
+        totalGames.addAndGet(batch.size());
+        recordGameResults(GameResult.WIN, batch.getWins());
+        recordGameResults(GameResult.LOSE, batch.getLosses());
+        recordGameResults(GameResult.DRAW, batch.getDraws());
+
+        for (Hand hand : HANDS) {
+            if (playerCounts[hand.ordinal()] > 0) {
+                playerHandCounter(hand).increment(playerCounts[hand.ordinal()]);
+            }
+            if (computerCounts[hand.ordinal()] > 0) {
+                computerHandCounter(hand).increment(computerCounts[hand.ordinal()]);
+            }
+        }
+        for (int i = 0; i < combinationCounts.length; i++) {
+            if (combinationCounts[i] > 0) {
+                combinationCounter(HANDS[i / HANDS.length], HANDS[i % HANDS.length]).increment(combinationCounts[i]);
+            }
+        }
 
-        log.debug("Recorded metrics for game: {} - Result: {}, Player: {}, Computer: {}",
-                game.getGameId(), game.getResult(), game.getPlayerHand(), game.getComputerHand());
+        log.debug("Recorded metrics for game batch: {} - Games: {}", batch.getGameId(), batch.size());
     }
 
     @Override
-    public Timer.Sample startTimer() {
-        return Timer.start(meterRegistry);
+    public long startTimer() {
+        return System.nanoTime();
     }
 
     @Override
-    public void stopTimer(Timer.Sample sample) {
-        if (sample != null) {
-            sample.stop(meterRegistry.timer("games.duration"));
-        }
+    public void stopTimer(long startNanos) {
+        gameDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordMatchWait(long waitNanos, boolean paired) {
+        (paired ? pairedWait : fallbackWait).record(waitNanos, TimeUnit.NANOSECONDS);
     }
 
     @Override
@@ -85,36 +152,91 @@ public class MetricsHandler implements MetricsProvider {
             case DRAW -> totalDraws.incrementAndGet();
         }
 
-        Counter.builder("games.played")
-                .tag("result", result.name())
-                .description("Total games played by result")
-                .register(meterRegistry)
-                .increment();
+        resultCounter(result).increment();
+    }
+
+    private void recordGameResults(GameResult result, int count) {
+        if (count == 0) {
+            return;
+        }
+        switch (result) {
+            case WIN -> totalWins.addAndGet(count);
+            case LOSE -> totalLosses.addAndGet(count);
+            case DRAW -> totalDraws.addAndGet(count);
+        }
+
+        resultCounter(result).increment(count);
     }
 
     private void recordPlayerHandChoice(Hand hand) {
-        Counter.builder("games.player.hand")
-                .tag("choice", hand.name())
-                .description("Player hand choices")
-                .register(meterRegistry)
-                .increment();
+        playerHandCounter(hand).increment();
     }
 
     private void recordComputerHandChoice(Hand hand) {
-        Counter.builder("games.computer.hand")
-                .tag("choice", hand.name())
-                .description("Computer hand choices")
-                .register(meterRegistry)
-                .increment();
+        computerHandCounter(hand).increment();
     }
 
     private void recordHandCombination(Hand playerHand, Hand computerHand) {
-        Counter.builder("games.combinations")
-                .tag("player", playerHand.name())
-                .tag("computer", computerHand.name())
-                .description("Hand combinations in games")
-                .register(meterRegistry)
-                .increment();
+        combinationCounter(playerHand, computerHand).increment();
+    }
+
+    private Timer matchWaitTimer(String opponent) {
+        return Timer.builder("games.pvp.wait")
+                .tag("opponent", opponent)
+                .description("Time a player-vs-player ticket waited for an opponent")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter resultCounter(GameResult result) {
+        Counter counter = resultCounters.get(result.ordinal());
+        if (counter == null) {
+            counter = Counter.builder("games.played")
+                    .tag("result", result.name())
+                    .description("Total games played by result")
+                    .register(meterRegistry);
+            resultCounters.set(result.ordinal(), counter);
+        }
+        return counter;
+    }
+
+    private Counter playerHandCounter(Hand hand) {
+        Counter counter = playerHandCounters.get(hand.ordinal());
+        if (counter == null) {
+            counter = handCounter("games.player.hand", "Player hand choices", hand);
+            playerHandCounters.set(hand.ordinal(), counter);
+        }
+        return counter;
+    }
+
+    private Counter computerHandCounter(Hand hand) {
+        Counter counter = computerHandCounters.get(hand.ordinal());
+        if (counter == null) {
+            counter = handCounter("games.computer.hand", "Computer hand choices", hand);
+            computerHandCounters.set(hand.ordinal(), counter);
+        }
+        return counter;
+    }
+
+    private Counter handCounter(String name, String description, Hand hand) {
+        return Counter.builder(name)
+                .tag("choice", hand.name())
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private Counter combinationCounter(Hand playerHand, Hand computerHand) {
+        int index = playerHand.ordinal() * HANDS.length + computerHand.ordinal();
+        Counter counter = combinationCounters.get(index);
+        if (counter == null) {
+            counter = Counter.builder("games.combinations")
+                    .tag("player", playerHand.name())
+                    .tag("computer", computerHand.name())
+                    .description("Hand combinations in games")
+                    .register(meterRegistry);
+            combinationCounters.set(index, counter);
+        }
+        return counter;
     }
 
     public long getTotalGames() {
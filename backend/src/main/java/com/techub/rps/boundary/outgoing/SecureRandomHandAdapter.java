@@ -2,36 +2,44 @@ package com.techub.rps.boundary.outgoing;
 
 import com.techub.rps.control.exception.DomainException;
 import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
 import com.techub.rps.control.ports.RandomHandProvider;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.util.List;
 
+/**
+ * Picks computer hands from per-thread DRBG instances, so request threads never contend on a
+ * shared generator. Each thread fills a byte buffer in bulk and {@link HandSampler} turns every
+ * byte into several unbiased hands.
+ */
 @Component
+@ConditionalOnProperty(name = "app.game.opponent", havingValue = "random", matchIfMissing = true)
 @Slf4j
 public class SecureRandomHandAdapter implements RandomHandProvider {
 
-    private final SecureRandom secureRandom;
-    private final List<Hand> availableHands;
+    private final Hand[] availableHands;
+    private final ThreadLocal<HandSampler> samplers;
 
-    public SecureRandomHandAdapter() {
-        this.secureRandom = new SecureRandom();
-        this.availableHands = Hand.getAllHands();
+    public SecureRandomHandAdapter(RuleSet ruleSet) {
+        this.availableHands = ruleSet.getHands().toArray(Hand[]::new);
 
-        if (availableHands.isEmpty()) {
+        if (availableHands.length == 0) {
             throw DomainException.randomGenerationError("No hands available for random selection");
         }
 
-        log.info("SecureRandomHandAdapter initialized with {} hands", availableHands.size());
+        this.samplers = ThreadLocal.withInitial(() -> new HandSampler(newGenerator(), availableHands.length));
+
+        log.info("SecureRandomHandAdapter initialized with {} hands", availableHands.length);
     }
 
     @Override
     public Hand getRandomHand() {
         try {
-            int randomIndex = secureRandom.nextInt(availableHands.size());
-            Hand selectedHand = availableHands.get(randomIndex);
+            Hand selectedHand = availableHands[samplers.get().next()];
             log.trace("Generated random hand: {}", selectedHand);
             return selectedHand;
         } catch (Exception ex) {
@@ -39,4 +47,13 @@ public class SecureRandomHandAdapter implements RandomHandProvider {
             throw DomainException.randomGenerationError("Failed to generate random hand", ex);
         }
     }
+
+    private static SecureRandom newGenerator() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException ex) {
+            log.warn("DRBG is not available, falling back to the default SecureRandom");
+            return new SecureRandom();
+        }
+    }
 }
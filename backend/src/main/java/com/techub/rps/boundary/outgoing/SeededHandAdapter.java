@@ -0,0 +1,92 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.ports.RandomHandProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reproducible computer hands for load tests and replays, enabled with the {@code seeded} profile.
+ * <p>
+ * Every player gets an own SplitMix64 stream keyed by the seed and the username, and the
+ * {@code n}-th round of a player always uses the {@code n}-th value of that stream. The games
+ * of a traffic script therefore come out identical between runs, however the requests of
+ * different players interleave, as long as each player's own rounds arrive in order.
+ * {@link #handFor} exposes the same function, so a harness or test can compute the expected
+ * hands up front.
+ * <p>
+ * Not suitable for production: anyone who knows the seed can predict every hand.
+ */
+@Component
+@ConditionalOnProperty(name = "app.game.opponent", havingValue = "seeded")
+@Slf4j
+public class SeededHandAdapter implements RandomHandProvider {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final String ANONYMOUS = "";
+
+    private final long seed;
+    private final Hand[] hands;
+    private final Cache<String, AtomicLong> rounds;
+
+    public SeededHandAdapter(RuleSet ruleSet,
+                             @Value("${app.game.seeded.seed:0}") long seed,
+                             @Value("${app.game.seeded.max-users:1000000}") long maxUsers) {
+        this.seed = seed;
+        this.hands = ruleSet.getHands().toArray(Hand[]::new);
+        if (hands.length == 0) {
+            throw DomainException.randomGenerationError("No hands available for random selection");
+        }
+        // an evicted player starts again at round zero, so the bound must exceed the players of a run
+        this.rounds = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+
+        log.warn("Computer hands are seeded (seed: {}) and fully predictable - do not use in production", seed);
+    }
+
+    @Override
+    public Hand getRandomHand() {
+        return chooseHand(ANONYMOUS);
+    }
+
+    @Override
+    public Hand chooseHand(String username) {
+        String key = username != null ? username : ANONYMOUS;
+        long round = rounds.get(key, k -> new AtomicLong()).getAndIncrement();
+        return handFor(seed, key, round, hands);
+    }
+
+    /**
+     * Hand played in the given zero-based round of a player, for a rule set's playable hands.
+     */
+    public static Hand handFor(long seed, String username, long round, Hand[] hands) {
+        long value = mix(streamKey(seed, username) + (round + 1) * GOLDEN_GAMMA);
+        // top 32 bits scaled to [0, n); the bias of n / 2^32 is far below anything a test can see
+        return hands[(int) (((value >>> 32) * hands.length) >>> 32)];
+    }
+
+    private static long streamKey(long seed, String username) {
+        // FNV-1a over the UTF-8 bytes, so keys do not depend on String.hashCode or the JVM
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : username.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return mix(seed ^ hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
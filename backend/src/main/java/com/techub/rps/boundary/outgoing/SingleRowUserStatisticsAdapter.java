@@ -0,0 +1,60 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserCountersRepository;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.UserStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the statistics on the {@code users} row (single-row layout), so a play is one UPDATE
+ * through the username index and a read is one SELECT; {@code user_statistics} is not used.
+ * {@link StatisticsLayout} copies the counters over on startup whenever the store is switched
+ * to or away from this one.
+ */
+@Component
+@ConditionalOnProperty(name = "app.statistics.store", havingValue = "single-row")
+@Slf4j
+public class SingleRowUserStatisticsAdapter extends UserStatisticsAdapter {
+
+    private final UserCountersRepository countersRepository;
+    private final UserIdCache userIdCache;
+
+    public SingleRowUserStatisticsAdapter(UserRepository userRepository,
+                                          UserStatisticsRepository statisticsRepository,
+                                          UserIdCache userIdCache,
+                                          UserCountersRepository countersRepository) {
+        super(userRepository, statisticsRepository, userIdCache);
+        this.countersRepository = countersRepository;
+        this.userIdCache = userIdCache;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, long gameId, long record) {
+        log.debug("Updating single-row statistics for user: {}", username);
+        countersRepository.apply(StatisticsDelta.forGame(username, gameId, record));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, GameBatch batch) {
+        log.info("Updating single-row statistics for {} games of user: {}", batch.size(), username);
+        countersRepository.apply(StatisticsDelta.forBatch(username, batch));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserStatistics getStatistics(String username) {
+        log.info("Getting statistics for user: {}", username);
+        return countersRepository.findByUsername(username)
+                .orElseThrow(() -> DomainException.userNotFound("User not found: " + username));
+    }
+}
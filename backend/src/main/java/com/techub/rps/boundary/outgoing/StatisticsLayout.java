@@ -0,0 +1,54 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsLayoutRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Where the live statistics counters are: on {@code users} for the single-row store, in
+ * {@code user_statistics} plus the striped slots for every other store. Only the active store
+ * writes its layout, so the other one goes stale.
+ * <p>
+ * On startup the layout is compared with the one recorded in {@code statistics_layout}; when
+ * {@code app.statistics.store} was switched between the two, the counters are copied over
+ * before anything reads them. Switch stores with all instances stopped: a write-behind or
+ * journal store writes out what it holds on shutdown, and all instances have to agree on the
+ * store. The first start only records the layout, since it cannot tell which one was live.
+ */
+@Component
+@Slf4j
+public class StatisticsLayout {
+
+    static final String USERS = "users";
+    static final String USER_STATISTICS = "user_statistics";
+
+    private final String liveTable;
+
+    public StatisticsLayout(StatisticsLayoutRepository layoutRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.statistics.store:jpa}") String store) {
+        this.liveTable = "single-row".equals(store) ? USERS : USER_STATISTICS;
+        transactionTemplate.executeWithoutResult(status -> synchronize(layoutRepository));
+    }
+
+    public boolean isSingleRow() {
+        return USERS.equals(liveTable);
+    }
+
+    private void synchronize(StatisticsLayoutRepository layoutRepository) {
+        String previous = layoutRepository.findLiveTable().orElse(null);
+        if (liveTable.equals(previous)) {
+            return;
+        }
+        if (previous == null) {
+            log.info("Recording {} as the live statistics table", liveTable);
+        } else {
+            int rows = isSingleRow() ? layoutRepository.copyToUsers() : layoutRepository.copyToStatistics();
+            log.warn("Statistics store switched from {} to {}, copied the counters of {} rows",
+                    previous, liveTable, rows);
+        }
+        layoutRepository.saveLiveTable(liveTable);
+    }
+}
@@ -0,0 +1,352 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.archive.HistoryArchive;
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import com.techub.rps.boundary.outgoing.db.RebuiltStatistics;
+import com.techub.rps.boundary.outgoing.db.StatisticsRebuildRepository;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.rebuild.UserTotals;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recomputes {@code user_statistics} from {@code game_history}, for when the counters have
+ * drifted. Triggered by an administrator, see {@code StatisticsRebuildEndpoint}.
+ * <p>
+ * The users are split into {@code buckets} by id. Up to {@code parallelism} buckets are
+ * rebuilt at a time, each on its own connection: its rounds are streamed through a server-side
+ * cursor and summed up in a {@link UserTotals}, then written back in batches of
+ * {@code batch-size} users. Only the totals of the buckets in progress are held in memory, never
+ * the rounds; more buckets mean less memory but more passes over the table.
+ * <p>
+ * Rounds played after {@code cutoff = start - history-lag} are added when a user is written
+ * instead of being scanned. The history is written asynchronously, so rounds that are still
+ * buffered when their user is written back are missing until the next rebuild; run it at a
+ * quiet time. Months moved to the {@link HistoryArchive} are read from there, each bucket
+ * picking its users; a month recorded as archived but missing from this instance's archive
+ * fails the rebuild.
+ * <p>
+ * Users whose history is incomplete keep their counters and are reported as skipped: those with
+ * rounds in {@code game_history_losses}, which includes months dropped at the end of their
+ * retention without archiving, and those registered before the history was recorded (see
+ * {@code game_history_coverage}). The job only runs with a store that keeps its counters in
+ * {@code user_statistics} and writes them in the request ({@code jpa}, {@code upsert},
+ * {@code striped}): the single-row store would not see the result, and the write-behind and
+ * journal stores would add their unwritten games on top of the rebuilt counters.
+ */
+@Component
+@Slf4j
+public class StatisticsRebuildJob {
+
+    public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+    /**
+     * Snapshot of the current or last rebuild.
+     */
+    public record Progress(State state, Instant startedAt, Instant cutoff, long elapsedMillis,
+                           int bucketsDone, int buckets, long roundsScanned, long usersWritten,
+                           long usersSkipped, long roundsPerSecond, String error) {
+    }
+
+    private static final GameResult[] RESULTS = GameResult.values();
+    private static final Set<String> REBUILDABLE_STORES = Set.of("jpa", "upsert", "striped");
+
+    private final StatisticsRebuildRepository rebuildRepository;
+    private final GameHistoryRepository historyRepository;
+    private final HistoryArchive historyArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int buckets;
+    private final int fetchSize;
+    private final int batchSize;
+    private final Duration historyLag;
+    private final Duration progressInterval;
+    private final String store;
+    private final Clock clock;
+    private final ExecutorService runner;
+
+    private volatile Run current;
+
+    public StatisticsRebuildJob(StatisticsRebuildRepository rebuildRepository,
+                                GameHistoryRepository historyRepository,
+                                HistoryArchive historyArchive,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.statistics.rebuild.parallelism:4}") int parallelism,
+                                @Value("${app.statistics.rebuild.buckets:4}") int buckets,
+                                @Value("${app.statistics.rebuild.fetch-size:10000}") int fetchSize,
+                                @Value("${app.statistics.rebuild.batch-size:5000}") int batchSize,
+                                @Value("${app.statistics.rebuild.history-lag:1m}") Duration historyLag,
+                                @Value("${app.statistics.rebuild.progress-interval:10s}") Duration progressInterval,
+                                @Value("${app.statistics.store:jpa}") String store) {
+        this(rebuildRepository,
+             historyRepository,
+             historyArchive,
+             transactionTemplate,
+             parallelism,
+             buckets,
+             fetchSize,
+             batchSize,
+             historyLag,
+             progressInterval,
+             store,
+             Clock.systemUTC());
+    }
+
+    StatisticsRebuildJob(StatisticsRebuildRepository rebuildRepository,
+                         GameHistoryRepository historyRepository,
+                         HistoryArchive historyArchive,
+                         TransactionTemplate transactionTemplate,
+                         int parallelism,
+                         int buckets,
+                         int fetchSize,
+                         int batchSize,
+                         Duration historyLag,
+                         Duration progressInterval,
+                         String store,
+                         Clock clock) {
+        this.rebuildRepository = rebuildRepository;
+        this.historyRepository = historyRepository;
+        this.historyArchive = historyArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = Math.max(1, parallelism);
+        this.buckets = Math.max(this.parallelism, buckets);
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+        this.historyLag = historyLag;
+        this.progressInterval = progressInterval;
+        this.store = store;
+        this.clock = clock;
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statistics-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a rebuild in the background unless one is running already. With a store the job
+     * cannot rebuild, the returned progress is failed right away.
+     *
+     * @return the progress of the started or the running rebuild
+     */
+    public synchronized Progress start() {
+        if (current != null && current.state == State.RUNNING) {
+            return current.progress(clock);
+        }
+        Instant startedAt = clock.instant();
+        Run run = new Run(startedAt, startedAt.minus(historyLag), buckets);
+        current = run;
+        if (refuse(run)) {
+            return run.progress(clock);
+        }
+        runner.execute(() -> execute(run));
+        return run.progress(clock);
+    }
+
+    public Progress progress() {
+        Run run = current;
+        if (run == null) {
+            return new Progress(State.IDLE, null, null, 0, 0, buckets, 0, 0, 0, 0, null);
+        }
+        return run.progress(clock);
+    }
+
+    /**
+     * Runs the rebuild on the calling thread and waits for it to finish.
+     */
+    Progress runNow() {
+        Instant startedAt = clock.instant();
+        Run run = new Run(startedAt, startedAt.minus(historyLag), buckets);
+        current = run;
+        if (!refuse(run)) {
+            execute(run);
+        }
+        return run.progress(clock);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private boolean refuse(Run run) {
+        String error = refusal();
+        if (error == null) {
+            return false;
+        }
+        log.warn("{}, rebuild refused", error);
+        run.finish(State.FAILED, error, clock);
+        return true;
+    }
+
+    private String refusal() {
+        if (!REBUILDABLE_STORES.contains(store)) {
+            return "Statistics cannot be rebuilt with the " + store + " store";
+        }
+        List<YearMonth> missing = new ArrayList<>(rebuildRepository.findArchivedMonths());
+        missing.removeAll(historyArchive.months());
+        if (!missing.isEmpty()) {
+            return "Game history of " + missing + " was archived outside this instance's archive";
+        }
+        return null;
+    }
+
+    private void execute(Run run) {
+        log.info("Rebuilding user statistics from game history before {} ({} buckets, parallelism {})",
+                run.cutoff, buckets, parallelism);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "statistics-rebuild-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<YearMonth> archivedMonths = archivedMonths();
+            Map<Long, String> lostHistory = rebuildRepository.findUsersWithLostHistory();
+            if (!lostHistory.isEmpty()) {
+                log.warn("Skipping {} users whose game history is incomplete, their counters are kept: {}",
+                        lostHistory.size(), lostHistory.values());
+            }
+            List<Future<?>> tasks = new ArrayList<>(buckets);
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                int next = bucket;
+                tasks.add(workers.submit(() -> rebuildBucket(run, next, archivedMonths, lostHistory.keySet())));
+            }
+            workers.shutdown();
+            while (!workers.awaitTermination(progressInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                logProgress(run.progress(clock));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            run.finish(State.COMPLETED, null, clock);
+            logProgress(run.progress(clock));
+        } catch (ExecutionException ex) {
+            log.error("User statistics rebuild failed", ex.getCause());
+            run.finish(State.FAILED, String.valueOf(ex.getCause().getMessage()), clock);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            run.finish(State.FAILED, "Interrupted", clock);
+        } catch (RuntimeException ex) {
+            log.error("User statistics rebuild failed", ex);
+            run.finish(State.FAILED, String.valueOf(ex.getMessage()), clock);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void rebuildBucket(Run run, int bucket, List<YearMonth> archivedMonths, Set<Long> skipped) {
+        UserTotals totals = new UserTotals(1024);
+        transactionTemplate.executeWithoutResult(status -> rebuildRepository.scan(buckets, bucket, run.cutoff,
+                fetchSize, rs -> {
+                    totals.add(rs.getLong(1), RESULTS[rs.getShort(3)], rs.getLong(2),
+                            GameHistoryRepository.playedAt(rs, 4).toEpochMilli());
+                    run.roundsScanned.increment();
+                }));
+        for (YearMonth month : archivedMonths) {
+            historyArchive.scan(month, (userId, gameId, round, playerHand, opponentHand, result, playedAt) -> {
+                if (userId % buckets == bucket) {
+                    totals.add(userId, result, gameId, playedAt);
+                    run.roundsScanned.increment();
+                }
+            });
+        }
+
+        List<RebuiltStatistics> batch = new ArrayList<>(Math.min(batchSize, totals.size()));
+        totals.forEach((userId, gamesPlayed, wins, losses, draws, lastGameId, lastGamePlayedAt) -> {
+            if (skipped.contains(userId)) {
+                run.usersSkipped.increment();
+                return;
+            }
+            batch.add(new RebuiltStatistics(userId, gamesPlayed, wins, losses, draws, lastGameId,
+                    Instant.ofEpochMilli(lastGamePlayedAt)));
+            if (batch.size() == batchSize) {
+                write(run, batch);
+            }
+        });
+        if (!batch.isEmpty()) {
+            write(run, batch);
+        }
+        run.bucketsDone.incrementAndGet();
+        log.debug("Rebuilt statistics of bucket {} ({} users)", bucket, totals.size());
+    }
+
+    /*
+     * A month that is archived and still in the database has not been dropped yet and is
+     * scanned there.
+     */
+    private List<YearMonth> archivedMonths() {
+        List<YearMonth> months = new ArrayList<>(historyArchive.months());
+        if (!months.isEmpty() && historyRepository.isPartitioned()) {
+            historyRepository.findPartitions().forEach(partition ->
+                    months.remove(GameHistoryPartitionMaintainer.monthOf(partition)));
+        }
+        return months;
+    }
+
+    private void write(Run run, List<RebuiltStatistics> batch) {
+        transactionTemplate.executeWithoutResult(status -> rebuildRepository.writeAll(batch, run.cutoff));
+        run.usersWritten.add(batch.size());
+        batch.clear();
+    }
+
+    private static void logProgress(Progress progress) {
+        log.info("User statistics rebuild {}: {}/{} buckets, {} rounds scanned, {} users written, {} skipped, {} rounds/s",
+                progress.state(), progress.bucketsDone(), progress.buckets(), progress.roundsScanned(),
+                progress.usersWritten(), progress.usersSkipped(), progress.roundsPerSecond());
+    }
+
+    private static final class Run {
+
+        private final Instant startedAt;
+        private final Instant cutoff;
+        private final int buckets;
+        private final AtomicInteger bucketsDone = new AtomicInteger();
+        private final LongAdder roundsScanned = new LongAdder();
+        private final LongAdder usersWritten = new LongAdder();
+        private final LongAdder usersSkipped = new LongAdder();
+        private volatile State state = State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Run(Instant startedAt, Instant cutoff, int buckets) {
+            this.startedAt = startedAt;
+            this.cutoff = cutoff;
+            this.buckets = buckets;
+        }
+
+        private void finish(State state, String error, Clock clock) {
+            this.finishedAt = clock.instant();
+            this.error = error;
+            this.state = state;
+        }
+
+        private Progress progress(Clock clock) {
+            Instant until = finishedAt != null ? finishedAt : clock.instant();
+            long elapsedMillis = Duration.between(startedAt, until).toMillis();
+            long rounds = roundsScanned.sum();
+            long perSecond = elapsedMillis > 0 ? rounds * 1000 / elapsedMillis : rounds;
+            return new Progress(state, startedAt, cutoff, elapsedMillis, bucketsDone.get(), buckets, rounds,
+                    usersWritten.sum(), usersSkipped.sum(), perSecond, error);
+        }
+    }
+}
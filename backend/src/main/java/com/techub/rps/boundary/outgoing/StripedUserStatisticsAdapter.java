@@ -0,0 +1,185 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsSlotRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Upsert store that spreads the writes of hot users over {@code slots} extra rows in
+ * {@code user_statistics_slots}, so their concurrent games stop queueing on one row lock.
+ * <p>
+ * Every node counts the writes per user in a {@code promote-window}; a user reaching
+ * {@code promote-writes} is promoted and its following writes go to the slot picked by the game
+ * id. Users that have not written for {@code hot-idle-timeout} go back to the single row. Reads
+ * always add whatever the slots hold on top of {@code user_statistics}, so promotion never
+ * moves counters and it does not matter which node promoted a user.
+ */
+@Component
+@ConditionalOnProperty(name = "app.statistics.store", havingValue = "striped")
+@Slf4j
+public class StripedUserStatisticsAdapter extends UpsertUserStatisticsAdapter {
+
+    private final UserStatisticsSlotRepository slotRepository;
+    private final UserIdCache userIdCache;
+    private final int slots;
+    private final int promoteWrites;
+    private final long promoteWindowNanos;
+
+    private final Cache<String, WriteRate> writeRates;
+    private final Cache<String, Boolean> hotUsers;
+    private final Counter promotions;
+
+    public StripedUserStatisticsAdapter(UserRepository userRepository,
+                                        UserStatisticsRepository statisticsRepository,
+                                        UserIdCache userIdCache,
+                                        UserStatisticsUpsertRepository upsertRepository,
+                                        UserStatisticsSlotRepository slotRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.statistics.striped.slots:8}") int slots,
+                                        @Value("${app.statistics.striped.promote-writes:50}") int promoteWrites,
+                                        @Value("${app.statistics.striped.promote-window:1s}") Duration promoteWindow,
+                                        @Value("${app.statistics.striped.hot-idle-timeout:10m}") Duration hotIdleTimeout) {
+        super(userRepository, statisticsRepository, userIdCache, upsertRepository);
+        this.slotRepository = slotRepository;
+        this.userIdCache = userIdCache;
+        this.slots = slots;
+        this.promoteWrites = promoteWrites;
+        this.promoteWindowNanos = promoteWindow.toNanos();
+
+        this.writeRates = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(promoteWindow.multipliedBy(2))
+                .build();
+        this.hotUsers = Caffeine.newBuilder()
+                .expireAfterAccess(hotIdleTimeout)
+                .build();
+
+        Gauge.builder("statistics.striped.hot.users", hotUsers, Cache::estimatedSize)
+                .description("Users whose statistics are currently written to striped slots")
+                .register(meterRegistry);
+        this.promotions = Counter.builder("statistics.striped.promotions")
+                .description("Users promoted to striped statistics")
+                .register(meterRegistry);
+
+        log.info("Striped statistics enabled ({} slots, promotion at {} writes per {})",
+                slots, promoteWrites, promoteWindow);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, long gameId, long record) {
+        StatisticsDelta delta = StatisticsDelta.forGame(username, gameId, record);
+        if (!writeToSlot(delta)) {
+            super.updateStatistics(username, gameId, record);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, GameBatch batch) {
+        StatisticsDelta delta = StatisticsDelta.forBatch(username, batch);
+        if (!writeToSlot(delta)) {
+            super.updateStatistics(username, batch);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserStatistics getStatistics(String username) {
+        UserStatistics stored = super.getStatistics(username);
+        Optional<Long> userId = userIdCache.findUserId(username);
+        if (userId.isEmpty()) {
+            return stored;
+        }
+        List<StatisticsDelta> slotRows = slotRepository.findByUserId(username, userId.get());
+        if (slotRows.isEmpty()) {
+            return stored;
+        }
+
+        StatisticsDelta total = new StatisticsDelta(username, stored.getGamesPlayed(), stored.getWins(),
+                stored.getLosses(), stored.getDraws(), stored.getLastGameId(), stored.getLastGamePlayedAt());
+        for (StatisticsDelta slotRow : slotRows) {
+            total = total.plus(slotRow);
+        }
+        return UserStatistics.builder()
+                .username(username)
+                .gamesPlayed(total.gamesPlayed())
+                .wins(total.wins())
+                .losses(total.losses())
+                .draws(total.draws())
+                .lastGameId(total.lastGameId())
+                .lastGamePlayedAt(total.lastGamePlayedAt())
+                .build();
+    }
+
+    /**
+     * Slot for a game; game ids are spread with a Fibonacci multiplier because their low bits
+     * carry the node id and per-millisecond sequence.
+     */
+    static int slotFor(long gameId, int slots) {
+        return Math.floorMod(Long.hashCode(gameId * 0x9E3779B97F4A7C15L), slots);
+    }
+
+    private boolean writeToSlot(StatisticsDelta delta) {
+        if (!isHot(delta.username())) {
+            return false;
+        }
+        // a hot user has written before, so its id is known; fall back to the single row otherwise
+        Optional<Long> userId = userIdCache.findUserId(delta.username());
+        if (userId.isEmpty()) {
+            return false;
+        }
+        slotRepository.upsert(userId.get(), slotFor(delta.lastGameId(), slots), delta);
+        return true;
+    }
+
+    private boolean isHot(String username) {
+        if (hotUsers.getIfPresent(username) != null) {
+            return true;
+        }
+        WriteRate rate = writeRates.get(username, key -> new WriteRate());
+        if (rate.record(System.nanoTime(), promoteWindowNanos) >= promoteWrites) {
+            hotUsers.put(username, Boolean.TRUE);
+            writeRates.invalidate(username);
+            promotions.increment();
+            log.info("Promoted user to striped statistics: {}", username);
+        }
+        return false;
+    }
+
+    /**
+     * Writes of one user in the current fixed window.
+     */
+    private static final class WriteRate {
+
+        private long windowStart = System.nanoTime();
+        private int writes;
+
+        synchronized int record(long now, long windowNanos) {
+            if (now - windowStart >= windowNanos) {
+                windowStart = now;
+                writes = 0;
+            }
+            return ++writes;
+        }
+    }
+}
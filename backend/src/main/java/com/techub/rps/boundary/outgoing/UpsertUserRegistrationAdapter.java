@@ -0,0 +1,38 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.UserRegistrationRepository;
+import com.techub.rps.control.model.User;
+import com.techub.rps.control.ports.UserRegistrationPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Registers a user with one INSERT ... ON CONFLICT DO NOTHING round trip, statistics included,
+ * instead of the existence check and the separate inserts of {@link UserRegistrationAdapter}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.users.registration", havingValue = "upsert")
+@RequiredArgsConstructor
+@Slf4j
+public class UpsertUserRegistrationAdapter implements UserRegistrationPort {
+
+    private final UserRegistrationRepository registrationRepository;
+    private final UserIdCache userIdCache;
+
+    @Override
+    public Optional<User> registerUser(String username) {
+        log.info("Registering user in database: {}", username);
+
+        return registrationRepository.register(username).map(entity -> {
+            userIdCache.put(entity.getUsername(), entity.getId());
+            return User.builder()
+                    .username(entity.getUsername())
+                    .createdAt(entity.getCreatedAt())
+                    .build();
+        });
+    }
+}
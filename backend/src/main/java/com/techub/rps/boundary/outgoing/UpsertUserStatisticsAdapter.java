@@ -0,0 +1,50 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.control.model.GameBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records every game with one atomic upsert instead of the JPA read-modify-write.
+ * Reads and initialization are inherited from {@link UserStatisticsAdapter}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.statistics.store", havingValue = "upsert")
+@Slf4j
+public class UpsertUserStatisticsAdapter extends UserStatisticsAdapter {
+
+    private final UserStatisticsUpsertRepository upsertRepository;
+
+    public UpsertUserStatisticsAdapter(UserRepository userRepository,
+                                       UserStatisticsRepository statisticsRepository,
+                                       UserIdCache userIdCache,
+                                       UserStatisticsUpsertRepository upsertRepository) {
+        super(userRepository, statisticsRepository, userIdCache);
+        this.upsertRepository = upsertRepository;
+    }
+
+    /**
+     * A single statement is atomic on its own, so no surrounding transaction (and no extra
+     * COMMIT round trip) is opened here.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, long gameId, long record) {
+        log.debug("Upserting statistics for user: {}", username);
+        upsertRepository.upsert(StatisticsDelta.forGame(username, gameId, record));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, GameBatch batch) {
+        log.info("Upserting statistics for {} games of user: {}", batch.size(), username);
+        upsertRepository.upsert(StatisticsDelta.forBatch(username, batch));
+    }
+}
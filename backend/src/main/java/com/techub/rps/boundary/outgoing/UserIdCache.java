@@ -0,0 +1,94 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techub.rps.boundary.outgoing.db.UserEntity;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded username to {@code users.id} cache. A user's id never changes once the row
+ * exists, so entries never go stale and only need to be evicted for space. Missing users are
+ * not cached, so a user created by another node is found on the next lookup.
+ * <p>
+ * Hits, misses and evictions are published as the {@code cache.*} meters tagged {@code cache=users.id}.
+ */
+@Component
+@Slf4j
+public class UserIdCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> ids;
+
+    public UserIdCache(UserRepository userRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.users.id-cache.max-size:100000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.ids = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ids, "users.id");
+
+        log.info("User id cache enabled (max size: {})", maxSize);
+    }
+
+    public Optional<Long> findUserId(String username) {
+        Long id = ids.getIfPresent(username);
+        if (id != null) {
+            return Optional.of(id);
+        }
+
+        Optional<Long> stored = userRepository.findByUsername(username).map(UserEntity::getId);
+        stored.ifPresent(userId -> ids.put(username, userId));
+        return stored;
+    }
+
+    /**
+     * Whether the user is known to exist without asking the database.
+     */
+    public boolean contains(String username) {
+        return ids.getIfPresent(username) != null;
+    }
+
+    /**
+     * Cached ids of the given users; users that are not cached are simply absent from the result.
+     */
+    public Map<String, Long> findCachedUserIds(Collection<String> usernames) {
+        return ids.getAllPresent(usernames);
+    }
+
+    /**
+     * Caches the id of a user that was just created. Inside a transaction the entry is only added
+     * once the transaction commits, so a rolled back user never ends up in the cache.
+     */
+    public void put(String username, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.put(username, userId);
+                }
+            });
+        } else {
+            ids.put(username, userId);
+        }
+    }
+
+    public void putAll(Map<String, Long> userIds) {
+        ids.putAll(userIds);
+    }
+}
@@ -2,37 +2,71 @@ package com.techub.rps.boundary.outgoing;
 
 import com.techub.rps.boundary.outgoing.db.UserEntity;
 import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsEntity;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
 import com.techub.rps.control.model.User;
 import com.techub.rps.control.ports.UserRegistrationPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Optional;
+
+/**
+ * Registration through Hibernate: an existence check, then the user and its statistics in one
+ * transaction. A concurrent registration of the same name between the check and the insert is
+ * rejected by the unique constraint and reported as an existing user. The insert is flushed
+ * right away and the transaction is run here, so the violation surfaces before this method
+ * returns rather than at a commit further up.
+ */
 @Component
+@ConditionalOnProperty(name = "app.users.registration", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class UserRegistrationAdapter implements UserRegistrationPort {
 
     private final UserRepository userRepository;
+    private final UserStatisticsRepository statisticsRepository;
+    private final UserIdCache userIdCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    public User registerUser(String username) {
-        log.info("Registering user in database: {}", username);
+    public Optional<User> registerUser(String username) {
+        if (userIdCache.contains(username) || userRepository.existsByUsername(username)) {
+            return Optional.empty();
+        }
 
-        UserEntity userEntity = UserEntity.builder()
-                .username(username)
-                .build();
+        log.info("Registering user in database: {}", username);
 
-        UserEntity savedEntity = userRepository.save(userEntity);
+        UserEntity savedEntity;
+        try {
+            savedEntity = transactionTemplate.execute(status -> insert(username));
+        } catch (DataIntegrityViolationException ex) {
+            log.info("User {} was registered concurrently", username);
+            return Optional.empty();
+        }
+        userIdCache.put(savedEntity.getUsername(), savedEntity.getId());
 
-        return User.builder()
+        return Optional.of(User.builder()
                 .username(savedEntity.getUsername())
                 .createdAt(savedEntity.getCreatedAt())
-                .build();
+                .build());
     }
 
-    @Override
-    public boolean usernameExists(String username) {
-        return userRepository.existsByUsername(username);
+    private UserEntity insert(String username) {
+        UserEntity savedEntity = userRepository.saveAndFlush(UserEntity.builder()
+                .username(username)
+                .build());
+        statisticsRepository.save(UserStatisticsEntity.builder()
+                .userId(savedEntity.getId())
+                .gamesPlayed(0)
+                .wins(0)
+                .losses(0)
+                .draws(0)
+                .build());
+        return savedEntity;
     }
 }
@@ -1,82 +1,133 @@
 package com.techub.rps.boundary.outgoing;
 
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
 import com.techub.rps.boundary.outgoing.db.UserEntity;
 import com.techub.rps.boundary.outgoing.db.UserStatisticsEntity;
 import com.techub.rps.boundary.outgoing.db.UserRepository;
 import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
 import com.techub.rps.control.exception.DomainException;
-import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameRecord;
 import com.techub.rps.control.model.GameResult;
 import com.techub.rps.control.model.UserStatistics;
 import com.techub.rps.control.ports.UserStatisticsPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
 @Component
+@ConditionalOnProperty(name = "app.statistics.store", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class UserStatisticsAdapter implements UserStatisticsPort {
 
     private final UserRepository userRepository;
     private final UserStatisticsRepository statisticsRepository;
+    private final UserIdCache userIdCache;
+    private final List<Consumer<Collection<String>>> flushListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a callback for stores that write games in the background: it gets the users
+     * whose games were just written, or put back after a failed write, once the database has
+     * them. Reads of those users may have been off while the write was in progress.
+     */
+    public void addFlushListener(Consumer<Collection<String>> listener) {
+        flushListeners.add(listener);
+    }
+
+    protected void notifyFlushed(Collection<String> usernames) {
+        flushListeners.forEach(listener -> listener.accept(usernames));
+    }
+
+    /**
+     * Runs {@code reader} with the games this store has acknowledged but not written to the
+     * database yet, per user. Stores that write in the background do not commit a write while
+     * it runs, so a database read inside sees each game either stored or pending, never both.
+     */
+    public void readWithPending(Consumer<Map<String, StatisticsDelta>> reader) {
+        reader.accept(Map.of());
+    }
 
     @Override
     @Transactional
-    public void updateStatistics(String username, Game game) {
-        log.info("Updating statistics for user: {}", username);
+    public void updateStatistics(String username, long gameId, long record) {
+        log.debug("Updating statistics for user: {}", username);
 
-        UserEntity user = userRepository.findByUsername(username)
+        Long userId = userIdCache.findUserId(username)
                 .orElseGet(() -> createNewUser(username));
 
-        UserStatisticsEntity stats = statisticsRepository.findByUserId(user.getId())
-                .orElseGet(() -> createNewStatistics(user.getId()));
+        UserStatisticsEntity stats = statisticsRepository.findByUserId(userId)
+                .orElseGet(() -> createNewStatistics(userId));
 
-        updateStatisticsWithGameResult(stats, game);
+        updateStatisticsWithGameResult(stats, gameId, record);
         statisticsRepository.save(stats);
 
-        log.info("Statistics updated for user: {}", username);
+        log.debug("Statistics updated for user: {}", username);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public UserStatistics getStatistics(String username) {
-        log.info("Getting statistics for user: {}", username);
+    @Transactional
+    public void updateStatistics(String username, GameBatch batch) {
+        log.info("Updating statistics for {} games of user: {}", batch.size(), username);
 
-        UserEntity user = userRepository.findByUsername(username)
-                .orElseThrow(() -> DomainException.userNotFound("User not found: " + username));
+        Long userId = userIdCache.findUserId(username)
+                .orElseGet(() -> createNewUser(username));
 
-        UserStatisticsEntity stats = statisticsRepository.findByUserId(user.getId())
-                .orElseThrow(() -> DomainException.userNotFound("Statistics not found for user: " + username));
+        UserStatisticsEntity stats = statisticsRepository.findByUserId(userId)
+                .orElseGet(() -> createNewStatistics(userId));
 
-        return mapToDomain(username, stats);
+        stats.setGamesPlayed(stats.getGamesPlayed() + batch.size());
+        stats.setWins(stats.getWins() + batch.getWins());
+        stats.setLosses(stats.getLosses() + batch.getLosses());
+        stats.setDraws(stats.getDraws() + batch.getDraws());
+        stats.setLastGameId(batch.getGameId());
+        stats.setLastGamePlayedAt(batch.getTimestamp());
+        statisticsRepository.save(stats);
+
+        log.info("Statistics updated for user: {}", username);
     }
 
+    /**
+     * Both rounds in one transaction; stores whose writes join a surrounding transaction get the
+     * all-or-nothing behaviour for free.
+     */
     @Override
     @Transactional
-    public void initializeStatistics(String username) {
-        log.info("Initializing statistics for user: {}", username);
+    public void updateStatistics(String username, long record, String opponent, long opponentRecord, long gameId) {
+        updateStatistics(username, gameId, record);
+        updateStatistics(opponent, gameId, opponentRecord);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserStatistics getStatistics(String username) {
+        log.info("Getting statistics for user: {}", username);
 
-        UserEntity user = userRepository.findByUsername(username)
+        Long userId = userIdCache.findUserId(username)
                 .orElseThrow(() -> DomainException.userNotFound("User not found: " + username));
 
-        if (statisticsRepository.findByUserId(user.getId()).isPresent()) {
-            log.info("Statistics already exist for user: {}", username);
-            return;
-        }
+        UserStatisticsEntity stats = statisticsRepository.findByUserId(userId)
+                .orElseThrow(() -> DomainException.userNotFound("Statistics not found for user: " + username));
 
-        UserStatisticsEntity stats = createNewStatistics(user.getId());
-        statisticsRepository.save(stats);
-        log.info("Statistics initialized for user: {}", username);
+        return mapToDomain(username, stats);
     }
 
-    private UserEntity createNewUser(String username) {
+    private Long createNewUser(String username) {
         log.info("Creating new user: {}", username);
         UserEntity user = UserEntity.builder()
                 .username(username)
                 .build();
-        return userRepository.save(user);
+        Long userId = userRepository.save(user).getId();
+        userIdCache.put(username, userId);
+        return userId;
     }
 
     private UserStatisticsEntity createNewStatistics(Long userId) {
@@ -90,19 +141,20 @@ public class UserStatisticsAdapter implements UserStatisticsPort {
                 .build();
     }
 
-    private void updateStatisticsWithGameResult(UserStatisticsEntity stats, Game game) {
+    private void updateStatisticsWithGameResult(UserStatisticsEntity stats, long gameId, long record) {
+        GameResult result = GameRecord.result(record);
         stats.setGamesPlayed(stats.getGamesPlayed() + 1);
 
-        if (game.getResult() == GameResult.WIN) {
+        if (result == GameResult.WIN) {
             stats.setWins(stats.getWins() + 1);
-        } else if (game.getResult() == GameResult.LOSE) {
+        } else if (result == GameResult.LOSE) {
             stats.setLosses(stats.getLosses() + 1);
-        } else if (game.getResult() == GameResult.DRAW) {
+        } else if (result == GameResult.DRAW) {
             stats.setDraws(stats.getDraws() + 1);
         }
 
-        stats.setLastGameId(game.getGameId());
-        stats.setLastGamePlayedAt(game.getTimestamp());
+        stats.setLastGameId(gameId);
+        stats.setLastGamePlayedAt(GameRecord.timestamp(record));
     }
 
     private UserStatistics mapToDomain(String username, UserStatisticsEntity stats) {
@@ -0,0 +1,339 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind statistics store. Games are summed per user in memory and written as one
+ * JDBC batch of upserts when either {@code flush-size} games are pending or {@code max-delay}
+ * has passed, so a hot user costs one row write per flush instead of one per game.
+ * Reads are served from the database with the still pending delta added on top; while a flush
+ * is being written its deltas are in neither, so reads briefly fall short until it commits.
+ * <p>
+ * A batch the database rejects for its data is retried row by row, so one bad row does not hold
+ * back the others; a user whose row fails {@code max-row-attempts} flushes in a row has its
+ * delta dropped and logged. Any other failure keeps the whole batch for the next flush. Once the
+ * oldest unwritten game is older than {@code max-unwritten}, new games are refused until the
+ * backlog is written, so acknowledged games never wait longer than that for the database.
+ */
+@Component
+@ConditionalOnProperty(name = "app.statistics.store", havingValue = "write-behind")
+@Slf4j
+public class WriteBehindUserStatisticsAdapter extends UserStatisticsAdapter {
+
+    private final UserStatisticsUpsertRepository upsertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushSize;
+    private final long maxUnwrittenMillis;
+    private final int maxRowAttempts;
+    private final Clock clock;
+
+    private final Map<String, StatisticsDelta> buffer = new ConcurrentHashMap<>();
+    // when the oldest game in a user's buffered delta was buffered, only changed together with buffer
+    private final Map<String, Long> bufferedSince = new ConcurrentHashMap<>();
+    private final Map<String, Integer> rowFailures = new HashMap<>();
+    private volatile long oldestUnwritten = NONE;
+    private final AtomicInteger pendingGames = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final Timer flushTimer;
+    private final DistributionSummary flushRows;
+    private final Counter droppedGames;
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    public WriteBehindUserStatisticsAdapter(UserRepository userRepository,
+                                            UserStatisticsRepository statisticsRepository,
+                                            UserIdCache userIdCache,
+                                            UserStatisticsUpsertRepository upsertRepository,
+                                            TransactionTemplate transactionTemplate,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${app.statistics.write-behind.flush-size:500}") int flushSize,
+                                            @Value("${app.statistics.write-behind.max-delay:250ms}") Duration maxDelay,
+                                            @Value("${app.statistics.write-behind.max-unwritten:30s}") Duration maxUnwritten,
+                                            @Value("${app.statistics.write-behind.max-row-attempts:3}") int maxRowAttempts) {
+        this(userRepository, statisticsRepository, userIdCache, upsertRepository, transactionTemplate, meterRegistry,
+                flushSize, maxDelay, maxUnwritten, maxRowAttempts, Clock.systemUTC());
+    }
+
+    WriteBehindUserStatisticsAdapter(UserRepository userRepository,
+                                     UserStatisticsRepository statisticsRepository,
+                                     UserIdCache userIdCache,
+                                     UserStatisticsUpsertRepository upsertRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry,
+                                     int flushSize,
+                                     Duration maxDelay,
+                                     Duration maxUnwritten,
+                                     int maxRowAttempts,
+                                     Clock clock) {
+        super(userRepository, statisticsRepository, userIdCache);
+        this.upsertRepository = upsertRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushSize = flushSize;
+        this.maxUnwrittenMillis = maxUnwritten.toMillis();
+        this.maxRowAttempts = maxRowAttempts;
+        this.clock = clock;
+
+        Gauge.builder("statistics.buffer.users", buffer, Map::size)
+                .description("Users with statistics waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("statistics.buffer.games", pendingGames, AtomicInteger::get)
+                .description("Games waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("statistics.flush.duration")
+                .description("Time to write one batch of buffered statistics")
+                .register(meterRegistry);
+        this.flushRows = DistributionSummary.builder("statistics.flush.rows")
+                .description("Rows written per statistics flush")
+                .register(meterRegistry);
+        Gauge.builder("statistics.buffer.oldest.age", this, WriteBehindUserStatisticsAdapter::oldestUnwrittenSeconds)
+                .description("Age of the oldest game not written to the database yet")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.droppedGames = Counter.builder("statistics.flush.dropped")
+                .description("Games dropped because the database kept rejecting their user's row")
+                .register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statistics-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long delayMillis = maxDelay.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+
+        log.info("Write-behind statistics enabled (flush size: {}, max delay: {}, max unwritten: {})",
+                flushSize, maxDelay, maxUnwritten);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, long gameId, long record) {
+        checkBacklog();
+        buffer(StatisticsDelta.forGame(username, gameId, record));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, GameBatch batch) {
+        checkBacklog();
+        buffer(StatisticsDelta.forBatch(username, batch));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateStatistics(String username, long record, String opponent, long opponentRecord, long gameId) {
+        checkBacklog();
+        buffer(StatisticsDelta.forGame(username, gameId, record));
+        buffer(StatisticsDelta.forGame(opponent, gameId, opponentRecord));
+    }
+
+    @Override
+    public UserStatistics getStatistics(String username) {
+        StatisticsDelta pending = buffer.get(username);
+        if (pending == null) {
+            return super.getStatistics(username);
+        }
+
+        UserStatistics stored;
+        try {
+            stored = super.getStatistics(username);
+        } catch (DomainException ex) {
+            // first games of a new user are not in the database yet
+            stored = UserStatistics.builder()
+                    .username(username)
+                    .gamesPlayed(0)
+                    .wins(0)
+                    .losses(0)
+                    .draws(0)
+                    .build();
+        }
+
+        return UserStatistics.builder()
+                .username(username)
+                .gamesPlayed(stored.getGamesPlayed() + pending.gamesPlayed())
+                .wins(stored.getWins() + pending.wins())
+                .losses(stored.getLosses() + pending.losses())
+                .draws(stored.getDraws() + pending.draws())
+                .lastGameId(pending.lastGameId())
+                .lastGamePlayedAt(pending.lastGamePlayedAt())
+                .build();
+    }
+
+    @Override
+    public synchronized void readWithPending(Consumer<Map<String, StatisticsDelta>> reader) {
+        reader.accept(new HashMap<>(buffer));
+    }
+
+    /**
+     * Writes everything buffered so far. Only ever runs on the flusher thread or during shutdown.
+     * What could not be written is merged back into the buffer and retried with the next flush.
+     */
+    synchronized void flush() {
+        flushRequested.set(false);
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        List<StatisticsDelta> batch = new ArrayList<>(buffer.size());
+        Map<String, Long> since = new HashMap<>();
+        for (String username : buffer.keySet()) {
+            buffer.computeIfPresent(username, (key, delta) -> {
+                batch.add(delta);
+                since.put(key, bufferedSince.remove(key));
+                pendingGames.addAndGet(-delta.gamesPlayed());
+                return null;
+            });
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            write(batch);
+            rowFailures.keySet().removeAll(since.keySet());
+            log.debug("Flushed statistics for {} users", batch.size());
+        } catch (RuntimeException ex) {
+            if (isRejectedData(ex)) {
+                log.warn("Database rejected a statistics batch of {} users, writing them one by one", batch.size(), ex);
+                writeRowByRow(batch, since);
+            } else {
+                log.error("Failed to flush statistics for {} users, keeping them buffered", batch.size(), ex);
+                batch.forEach(delta -> rebuffer(delta, since.get(delta.username())));
+            }
+        } finally {
+            sample.stop(flushTimer);
+            oldestUnwritten = bufferedSince.values().stream().mapToLong(Long::longValue).min().orElse(NONE);
+        }
+        // reads during the write saw the delta neither buffered nor stored
+        notifyFlushed(batch.stream().map(StatisticsDelta::username).toList());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Statistics flusher did not stop in time");
+        }
+        flush();
+        log.info("Write-behind statistics flushed on shutdown");
+    }
+
+    private void checkBacklog() {
+        long oldest = oldestUnwritten;
+        long now = clock.millis();
+        if (oldest != NONE && now - oldest > maxUnwrittenMillis) {
+            throw new IllegalStateException("Statistics could not be written for " + (now - oldest)
+                    + " ms, not accepting games until the backlog is written");
+        }
+    }
+
+    private void buffer(StatisticsDelta delta) {
+        long now = clock.millis();
+        buffer.compute(delta.username(), (username, current) -> {
+            if (current == null) {
+                bufferedSince.put(username, now);
+                return delta;
+            }
+            return current.plus(delta);
+        });
+
+        if (pendingGames.addAndGet(delta.gamesPlayed()) >= flushSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private void writeRowByRow(List<StatisticsDelta> batch, Map<String, Long> since) {
+        for (int i = 0; i < batch.size(); i++) {
+            StatisticsDelta delta = batch.get(i);
+            try {
+                write(List.of(delta));
+                rowFailures.remove(delta.username());
+            } catch (RuntimeException ex) {
+                if (!isRejectedData(ex)) {
+                    log.error("Failed to write statistics row by row, keeping {} users buffered", batch.size() - i, ex);
+                    batch.subList(i, batch.size()).forEach(rest -> rebuffer(rest, since.get(rest.username())));
+                    return;
+                }
+                int failures = rowFailures.merge(delta.username(), 1, Integer::sum);
+                if (failures >= maxRowAttempts) {
+                    rowFailures.remove(delta.username());
+                    droppedGames.increment(delta.gamesPlayed());
+                    log.error("Dropping statistics of {} after {} rejected writes: {}", delta.username(), failures, delta, ex);
+                } else {
+                    rebuffer(delta, since.get(delta.username()));
+                }
+            }
+        }
+    }
+
+    private void write(List<StatisticsDelta> rows) {
+        transactionTemplate.executeWithoutResult(status -> upsertRepository.upsertAll(rows));
+        flushRows.record(rows.size());
+    }
+
+    private void rebuffer(StatisticsDelta delta, Long since) {
+        long bufferedAt = since != null ? since : clock.millis();
+        buffer.compute(delta.username(), (username, current) -> {
+            bufferedSince.merge(username, bufferedAt, Math::min);
+            return current == null ? delta : delta.plus(current);
+        });
+        pendingGames.addAndGet(delta.gamesPlayed());
+    }
+
+    /*
+     * Data the database refuses to store, as opposed to a database that cannot be reached; only
+     * the former is worth splitting a batch for.
+     */
+    private static boolean isRejectedData(RuntimeException ex) {
+        return ex instanceof NonTransientDataAccessException
+                && !(ex instanceof NonTransientDataAccessResourceException);
+    }
+
+    private double oldestUnwrittenSeconds() {
+        long oldest = oldestUnwritten;
+        return oldest == NONE ? 0 : Math.max(0, clock.millis() - oldest) / 1000.0;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.error("Unexpected error while flushing statistics", ex);
+        }
+    }
+}
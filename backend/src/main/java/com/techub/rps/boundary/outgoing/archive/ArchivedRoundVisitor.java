@@ -0,0 +1,17 @@
+package com.techub.rps.boundary.outgoing.archive;
+
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+
+/**
+ * Receives archived rounds one at a time, without a row object per round.
+ */
+@FunctionalInterface
+public interface ArchivedRoundVisitor {
+
+    /**
+     * @param playedAt epoch millis
+     */
+    void accept(long userId, long gameId, int round, Hand playerHand, Hand opponentHand,
+                GameResult result, long playedAt);
+}
@@ -0,0 +1,171 @@
+package com.techub.rps.boundary.outgoing.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Archived game history on local disk: one columnar segment per month, named
+ * {@code history-YYYY-MM.seg} (see {@link HistorySegmentWriter}), written by
+ * {@code GameHistoryArchiver}. This is also the reader API for analytics over archived rounds.
+ * <p>
+ * A segment is written to a temporary file, forced to disk and then moved into place, so a
+ * month is either archived completely or not at all.
+ */
+@Component
+@Slf4j
+public class HistoryArchive {
+
+    /**
+     * Writes the rounds of one month.
+     */
+    @FunctionalInterface
+    public interface SegmentSource {
+        void writeTo(HistorySegmentWriter writer) throws IOException;
+    }
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String PREFIX = "history-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+
+    public HistoryArchive(@Value("${app.history.archive.directory:data/history-archive}") Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Archived months, oldest first.
+     */
+    public List<YearMonth> months() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<YearMonth> months = new ArrayList<>();
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .forEach(name -> {
+                        try {
+                            months.add(YearMonth.parse(name.substring(PREFIX.length(), name.length() - SUFFIX.length()), MONTH));
+                        } catch (DateTimeParseException ex) {
+                            log.debug("Ignoring {} in the history archive", name);
+                        }
+                    });
+            months.sort(null);
+            return months;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot list history archive " + directory, ex);
+        }
+    }
+
+    public boolean contains(YearMonth month) {
+        return Files.exists(path(month));
+    }
+
+    /**
+     * Size of a month's segment on disk in bytes.
+     */
+    public long size(YearMonth month) {
+        try {
+            return Files.size(path(month));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read history segment of " + month, ex);
+        }
+    }
+
+    /**
+     * Archives one month, replacing an earlier segment of the same month. The segment and its
+     * directory entry are on disk when this returns.
+     *
+     * @return the number of rounds written
+     */
+    public long write(YearMonth month, SegmentSource source) {
+        Path target = path(month);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            long rows;
+            try (OutputStream out = Files.newOutputStream(temporary);
+                 HistorySegmentWriter writer = new HistorySegmentWriter(out)) {
+                source.writeTo(writer);
+                rows = writer.rowsWritten();
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // the rename is only durable once the directory entry is, the caller drops the partition next
+            try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                channel.force(true);
+            }
+            return rows;
+        } catch (IOException ex) {
+            deleteQuietly(temporary);
+            throw new UncheckedIOException("Cannot archive game history of " + month, ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(temporary);
+            throw ex;
+        }
+    }
+
+    /**
+     * Hands every archived round of {@code month} to {@code visitor}.
+     *
+     * @return the number of rounds read, 0 when the month is not archived
+     */
+    public long scan(YearMonth month, ArchivedRoundVisitor visitor) {
+        if (!contains(month)) {
+            return 0;
+        }
+        try (InputStream in = Files.newInputStream(path(month))) {
+            return HistorySegmentReader.scan(in, visitor);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read history segment of " + month, ex);
+        }
+    }
+
+    /**
+     * Hands every archived round from {@code from} to {@code to} (both inclusive) to
+     * {@code visitor}, month by month.
+     *
+     * @return the number of rounds read
+     */
+    public long scan(YearMonth from, YearMonth to, ArchivedRoundVisitor visitor) {
+        long rounds = 0;
+        for (YearMonth month : months()) {
+            if (!month.isBefore(from) && !month.isAfter(to)) {
+                rounds += scan(month, visitor);
+            }
+        }
+        return rounds;
+    }
+
+    private Path path(YearMonth month) {
+        return directory.resolve(PREFIX + MONTH.format(month) + SUFFIX);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Cannot delete {}", path, ex);
+        }
+    }
+}
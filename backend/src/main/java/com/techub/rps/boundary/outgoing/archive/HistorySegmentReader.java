@@ -0,0 +1,177 @@
+package com.techub.rps.boundary.outgoing.archive;
+
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a history segment written by {@link HistorySegmentWriter}.
+ * <p>
+ * Layout: a header ({@code int} magic, {@code short} version, one byte each for the bits per hand
+ * and per result), then blocks of {@code int} rows, {@code int} raw length, {@code int} deflated
+ * length, {@code int} CRC32C of the raw bytes and the deflated columns. A block of 0 rows ends the
+ * segment and is followed by the total row count as a {@code long}.
+ * <p>
+ * A segment is only valid as a whole: a wrong checksum or a missing trailer is an
+ * {@link IOException}, never a short read.
+ */
+public final class HistorySegmentReader {
+
+    private static final Hand[] HANDS = Hand.values();
+    private static final GameResult[] RESULTS = GameResult.values();
+
+    private HistorySegmentReader() {
+    }
+
+    /**
+     * Hands every round of the segment to {@code visitor}, in the order they were written.
+     *
+     * @return the number of rounds read
+     */
+    public static long scan(InputStream source, ArchivedRoundVisitor visitor) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source, 1 << 16));
+        if (in.readInt() != HistorySegmentWriter.MAGIC) {
+            throw new IOException("Not a history segment");
+        }
+        short version = in.readShort();
+        if (version != HistorySegmentWriter.VERSION) {
+            throw new IOException("Unsupported history segment version " + version);
+        }
+        int handBits = in.readUnsignedByte();
+        int resultBits = in.readUnsignedByte();
+
+        Inflater inflater = new Inflater();
+        try {
+            long total = 0;
+            Block block = new Block();
+            int rows;
+            while ((rows = in.readInt()) > 0) {
+                block.read(in, inflater, rows);
+                block.visit(handBits, resultBits, visitor);
+                total += rows;
+            }
+            long expected = in.readLong();
+            if (expected != total) {
+                throw new IOException("History segment holds " + total + " rounds, trailer says " + expected);
+            }
+            return total;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class Block {
+
+        private byte[] compressed = new byte[0];
+        private byte[] raw = new byte[0];
+        private int length;
+        private int position;
+        private int rows;
+
+        private void read(DataInputStream in, Inflater inflater, int rows) throws IOException {
+            int rawLength = in.readInt();
+            int compressedLength = in.readInt();
+            int checksum = in.readInt();
+            if (compressed.length < compressedLength) {
+                compressed = new byte[compressedLength];
+            }
+            if (raw.length < rawLength) {
+                raw = new byte[rawLength];
+            }
+            in.readFully(compressed, 0, compressedLength);
+
+            inflater.reset();
+            inflater.setInput(compressed, 0, compressedLength);
+            try {
+                if (inflater.inflate(raw, 0, rawLength) != rawLength || !inflater.finished()) {
+                    throw new IOException("Truncated history segment block");
+                }
+            } catch (DataFormatException ex) {
+                throw new IOException("Corrupt history segment block", ex);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(raw, 0, rawLength);
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("History segment block fails its checksum");
+            }
+            this.rows = rows;
+            this.length = rawLength;
+            this.position = 0;
+        }
+
+        private void visit(int handBits, int resultBits, ArchivedRoundVisitor visitor) throws IOException {
+            long[] userIds = readDeltas();
+            long[] gameIds = readDeltas();
+            int[] rounds = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                rounds[i] = (int) readVarLong();
+            }
+            long[] playedAts = readDeltas();
+            int[] playerHands = readBits(handBits, HANDS.length);
+            int[] opponentHands = readBits(handBits, HANDS.length);
+            int[] results = readBits(resultBits, RESULTS.length);
+
+            for (int i = 0; i < rows; i++) {
+                visitor.accept(userIds[i], gameIds[i], rounds[i], HANDS[playerHands[i]],
+                        HANDS[opponentHands[i]], RESULTS[results[i]], playedAts[i]);
+            }
+        }
+
+        private long[] readDeltas() throws IOException {
+            long[] column = new long[rows];
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                long zigzag = readVarLong();
+                previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                column[i] = previous;
+            }
+            return column;
+        }
+
+        private int[] readBits(int bits, int values) throws IOException {
+            int[] column = new int[rows];
+            int mask = (1 << bits) - 1;
+            long buffer = 0;
+            int buffered = 0;
+            for (int i = 0; i < rows; i++) {
+                while (buffered < bits) {
+                    buffer |= (long) (next() & 0xFF) << buffered;
+                    buffered += 8;
+                }
+                column[i] = (int) (buffer & mask);
+                if (column[i] >= values) {
+                    throw new IOException("Unknown constant " + column[i] + " in history segment");
+                }
+                buffer >>>= bits;
+                buffered -= bits;
+            }
+            return column;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = next();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in history segment");
+        }
+
+        private byte next() throws IOException {
+            if (position >= length) {
+                throw new IOException("History segment block ends early");
+            }
+            return raw[position++];
+        }
+    }
+}
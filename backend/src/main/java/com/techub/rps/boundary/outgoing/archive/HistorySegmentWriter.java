@@ -0,0 +1,173 @@
+package com.techub.rps.boundary.outgoing.archive;
+
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+/**
+ * Writes rounds into one columnar history segment, see {@link HistorySegmentReader} for the layout.
+ * <p>
+ * Rounds are collected in blocks of {@value #BLOCK_ROWS}. Within a block every column is stored on
+ * its own: user ids, game ids and timestamps as zig-zag varint deltas to the previous row, round
+ * numbers as varints, and hands and results as their enum ordinals bit-packed to the fewest bits
+ * that hold every constant. The block is then deflated as a whole. Rows sorted by user and time,
+ * as the archiver writes them, make most deltas a single byte.
+ */
+public final class HistorySegmentWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x52505348; // "RPSH"
+    static final short VERSION = 1;
+    static final int BLOCK_ROWS = 65_536;
+    static final int HAND_BITS = bitsFor(Hand.values().length);
+    static final int RESULT_BITS = bitsFor(GameResult.values().length);
+
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+    private final long[] userIds = new long[BLOCK_ROWS];
+    private final long[] gameIds = new long[BLOCK_ROWS];
+    private final int[] rounds = new int[BLOCK_ROWS];
+    private final int[] playerHands = new int[BLOCK_ROWS];
+    private final int[] opponentHands = new int[BLOCK_ROWS];
+    private final int[] results = new int[BLOCK_ROWS];
+    private final long[] playedAts = new long[BLOCK_ROWS];
+    private int rows;
+    private long totalRows;
+
+    private byte[] raw = new byte[BLOCK_ROWS * 16];
+    private int rawLength;
+    private byte[] compressed = new byte[BLOCK_ROWS * 16];
+
+    public HistorySegmentWriter(OutputStream target) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(target, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(HAND_BITS);
+        out.writeByte(RESULT_BITS);
+    }
+
+    public void add(long userId, long gameId, int round, Hand playerHand, Hand opponentHand,
+                    GameResult result, long playedAt) throws IOException {
+        userIds[rows] = userId;
+        gameIds[rows] = gameId;
+        rounds[rows] = round;
+        playerHands[rows] = playerHand.ordinal();
+        opponentHands[rows] = opponentHand.ordinal();
+        results[rows] = result.ordinal();
+        playedAts[rows] = playedAt;
+        if (++rows == BLOCK_ROWS) {
+            writeBlock();
+        }
+    }
+
+    public long rowsWritten() {
+        return totalRows + rows;
+    }
+
+    /**
+     * Writes the last block and the trailer, then closes the target.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                writeBlock();
+            }
+            out.writeInt(0);
+            out.writeLong(totalRows);
+            out.flush();
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        rawLength = 0;
+        writeDeltas(userIds);
+        writeDeltas(gameIds);
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(rounds[i]);
+        }
+        writeDeltas(playedAts);
+        writeBits(playerHands, HAND_BITS);
+        writeBits(opponentHands, HAND_BITS);
+        writeBits(results, RESULT_BITS);
+
+        CRC32C crc = new CRC32C();
+        crc.update(raw, 0, rawLength);
+
+        deflater.reset();
+        deflater.setInput(raw, 0, rawLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        out.writeInt(rows);
+        out.writeInt(rawLength);
+        out.writeInt(compressedLength);
+        out.writeInt((int) crc.getValue());
+        out.write(compressed, 0, compressedLength);
+
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private void writeDeltas(long[] column) {
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            long delta = column[i] - previous;
+            writeVarLong((delta << 1) ^ (delta >> 63));
+            previous = column[i];
+        }
+    }
+
+    private void writeBits(int[] column, int bits) {
+        ensureCapacity((rows * bits + 7) / 8);
+        long buffer = 0;
+        int buffered = 0;
+        for (int i = 0; i < rows; i++) {
+            buffer |= (long) column[i] << buffered;
+            buffered += bits;
+            while (buffered >= 8) {
+                raw[rawLength++] = (byte) buffer;
+                buffer >>>= 8;
+                buffered -= 8;
+            }
+        }
+        if (buffered > 0) {
+            raw[rawLength++] = (byte) buffer;
+        }
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            raw[rawLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        raw[rawLength++] = (byte) value;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (rawLength + bytes > raw.length) {
+            raw = Arrays.copyOf(raw, Math.max(raw.length * 2, rawLength + bytes));
+        }
+    }
+
+    static int bitsFor(int values) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(values - 1));
+    }
+}
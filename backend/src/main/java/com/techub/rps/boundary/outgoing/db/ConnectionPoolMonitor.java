@@ -0,0 +1,165 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Attributes connection pool usage to the port method that needed the connection. The
+ * operation is set per thread around port calls (see {@code ConnectionPoolMetricsConfig})
+ * and every connection handed out by an {@link InstrumentedDataSource} is measured under it:
+ * <ul>
+ *     <li>{@code db.pool.acquire}: time spent waiting for the pool, including failed waits</li>
+ *     <li>{@code db.pool.hold}: time from getting the connection until it is closed</li>
+ *     <li>{@code db.pool.active} / {@code db.pool.pending}: connections held / threads waiting</li>
+ * </ul>
+ * All are tagged with {@code pool} and {@code operation}; connections taken outside a port
+ * call, such as the background flushes, count as {@value #UNTAGGED}.
+ */
+@Component
+public class ConnectionPoolMonitor {
+
+    public static final String UNTAGGED = "other";
+
+    private static final ThreadLocal<String> OPERATION = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+    private final Map<Long, Holder> holders = new ConcurrentHashMap<>();
+    private final AtomicLong nextHolderId = new AtomicLong();
+
+    public ConnectionPoolMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Tags connections taken by this thread with {@code operation} until {@link #exit} is called.
+     * A nested port call keeps the outer operation.
+     *
+     * @return the token to pass to {@link #exit}
+     */
+    public static String enter(String operation) {
+        String outer = OPERATION.get();
+        if (outer == null) {
+            OPERATION.set(operation);
+        }
+        return outer;
+    }
+
+    public static void exit(String outer) {
+        if (outer == null) {
+            OPERATION.remove();
+        }
+    }
+
+    public static String currentOperation() {
+        String operation = OPERATION.get();
+        return operation != null ? operation : UNTAGGED;
+    }
+
+    /**
+     * Connections currently held, longest held first.
+     */
+    public List<Holder> holders() {
+        return holders.values().stream()
+                .sorted(Comparator.comparing(Holder::acquiredAt))
+                .toList();
+    }
+
+    Connection track(String pool, ConnectionSource source) throws SQLException {
+        String operation = currentOperation();
+        OperationMeters operationMeters = meters.computeIfAbsent(pool + '\u0000' + operation,
+                key -> new OperationMeters(pool, operation));
+
+        operationMeters.pending.incrementAndGet();
+        long startNanos = System.nanoTime();
+        Connection connection;
+        try {
+            connection = source.getConnection();
+        } finally {
+            operationMeters.pending.decrementAndGet();
+            operationMeters.acquire.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        long id = nextHolderId.incrementAndGet();
+        long acquiredNanos = System.nanoTime();
+        operationMeters.active.incrementAndGet();
+        holders.put(id, new Holder(pool, operation, Thread.currentThread().getName(), Instant.now()));
+
+        boolean[] released = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && !released[0]) {
+                        released[0] = true;
+                        holders.remove(id);
+                        operationMeters.active.decrementAndGet();
+                        operationMeters.hold.record(System.nanoTime() - acquiredNanos, TimeUnit.NANOSECONDS);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection getConnection() throws SQLException;
+    }
+
+    public record Holder(String pool, String operation, String thread, Instant acquiredAt) {
+
+        public Duration heldFor() {
+            return Duration.between(acquiredAt, Instant.now());
+        }
+    }
+
+    private class OperationMeters {
+
+        final Timer acquire;
+        final Timer hold;
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger pending = new AtomicInteger();
+
+        OperationMeters(String pool, String operation) {
+            this.acquire = Timer.builder("db.pool.acquire")
+                    .description("Time spent waiting for a pooled connection")
+                    .tag("pool", pool)
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.hold = Timer.builder("db.pool.hold")
+                    .description("Time a pooled connection is held before it is returned")
+                    .tag("pool", pool)
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            Gauge.builder("db.pool.active", active, AtomicInteger::get)
+                    .description("Pooled connections currently held")
+                    .tag("pool", pool)
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            Gauge.builder("db.pool.pending", pending, AtomicInteger::get)
+                    .description("Threads currently waiting for a pooled connection")
+                    .tag("pool", pool)
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.techub.rps.boundary.outgoing.db;
+
+/**
+ * One buffered row of {@code game_history}. The hands, result and time stay packed in the
+ * {@link com.techub.rps.control.model.GameRecord} until the row is written.
+ *
+ * @param round position of the round within a batch, 0 for single games
+ */
+public record GameHistoryEntry(String username, long gameId, int round, long record, long enqueuedNanos) {
+}
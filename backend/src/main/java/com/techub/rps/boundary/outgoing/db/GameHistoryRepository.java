@@ -0,0 +1,283 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.HistoryCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to {@code game_history}. Hands and results are stored as their enum
+ * ordinals in {@code SMALLINT} columns.
+ * <p>
+ * On PostgreSQL the table is range-partitioned by month on {@code played_at}, one partition
+ * per month named {@code game_history_YYYY_MM}; the partition statements are PostgreSQL only.
+ * <p>
+ * {@code played_at} is a {@code TIMESTAMP} without time zone that holds UTC, the zone the
+ * partitions are laid out in. It is always bound and read through {@link #toPlayedAt} and
+ * {@link #playedAt}: a plain {@link java.sql.Timestamp} would be stored in the JVM's zone.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameHistoryRepository {
+
+    static final String INSERT_SQL = """
+            INSERT INTO game_history (user_id, game_id, round_no, player_hand, opponent_hand, result, played_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    static final String FIRST_PAGE_SQL = """
+            SELECT game_id, round_no, player_hand, opponent_hand, result, played_at
+            FROM game_history
+            WHERE user_id = ?
+            ORDER BY played_at DESC, game_id DESC, round_no DESC
+            LIMIT ?
+            """;
+
+    // the row comparison keeps the seek predicate a single range on the keyset index
+    static final String NEXT_PAGE_SQL = """
+            SELECT game_id, round_no, player_hand, opponent_hand, result, played_at
+            FROM game_history
+            WHERE user_id = ? AND (played_at, game_id, round_no) < (?, ?, ?)
+            ORDER BY played_at DESC, game_id DESC, round_no DESC
+            LIMIT ?
+            """;
+
+    static final String PARTITIONS_SQL = """
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = 'game_history'
+            """;
+
+    static final String IS_PARTITIONED_SQL = """
+            SELECT COUNT(*) FROM pg_partitioned_table
+            JOIN pg_class ON pg_class.oid = pg_partitioned_table.partrelid
+            WHERE pg_class.relname = 'game_history'
+            """;
+
+    /*
+     * The exact reverse of the keyset index (user_id, played_at DESC, game_id DESC, round_no DESC),
+     * so the partition is read with a backward index scan instead of a sort. Users come in
+     * descending id order, each user's rounds oldest first.
+     */
+    static final String PARTITION_ROUNDS_SQL = """
+            SELECT user_id, game_id, round_no, player_hand, opponent_hand, result, played_at
+            FROM %s
+            ORDER BY user_id DESC, played_at, game_id, round_no
+            """;
+
+    static final String UPDATE_LOSSES_SQL = """
+            UPDATE game_history_losses SET rounds = rounds + ?, last_lost_at = CURRENT_TIMESTAMP
+            WHERE username = ?
+            """;
+
+    static final String INSERT_LOSSES_SQL = "INSERT INTO game_history_losses (username, rounds) VALUES (?, ?)";
+
+    static final String PARTITION_LOSSES_SQL = """
+            INSERT INTO game_history_losses (username, rounds)
+            SELECT u.username, COUNT(*)
+            FROM %s h
+            JOIN users u ON u.id = h.user_id
+            GROUP BY u.username
+            ON CONFLICT (username) DO UPDATE SET
+                rounds = game_history_losses.rounds + EXCLUDED.rounds,
+                last_lost_at = CURRENT_TIMESTAMP
+            """;
+
+    static final String DROPPED_MONTH_SQL = """
+            INSERT INTO game_history_dropped_months (month, archived, rounds) VALUES (?, ?, ?)
+            ON CONFLICT (month) DO NOTHING
+            """;
+
+    private static final int PAGE_FETCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public static LocalDateTime toPlayedAt(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    public static Instant playedAt(ResultSet rs, int column) throws SQLException {
+        return rs.getObject(column, LocalDateTime.class).toInstant(ZoneOffset.UTC);
+    }
+
+    public static Instant playedAt(ResultSet rs, String column) throws SQLException {
+        return rs.getObject(column, LocalDateTime.class).toInstant(ZoneOffset.UTC);
+    }
+
+    public Map<String, Long> findUserIds(Collection<String> usernames) {
+        Map<String, Long> ids = new HashMap<>(usernames.size() * 2);
+        namedJdbcTemplate.query("SELECT id, username FROM users WHERE username IN (:usernames)",
+                new MapSqlParameterSource("usernames", usernames),
+                rs -> {
+                    ids.put(rs.getString("username"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    /**
+     * Writes the entries as one JDBC batch. Every entry must have its user id in {@code userIds}.
+     * The batch is written all or nothing, so a failed batch can be retried without duplicates.
+     */
+    @Transactional
+    public void insertAll(List<GameHistoryEntry> entries, Map<String, Long> userIds) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                GameHistoryEntry entry = entries.get(i);
+                long record = entry.record();
+                ps.setLong(1, userIds.get(entry.username()));
+                ps.setLong(2, entry.gameId());
+                ps.setShort(3, (short) entry.round());
+                ps.setShort(4, (short) GameRecord.playerHand(record).ordinal());
+                ps.setShort(5, (short) GameRecord.computerHand(record).ordinal());
+                ps.setShort(6, (short) GameRecord.result(record).ordinal());
+                ps.setObject(7, toPlayedAt(Instant.ofEpochMilli(GameRecord.epochMillis(record))));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    /**
+     * Adds dropped rounds to {@code game_history_losses}. Several nodes may record the same user,
+     * so an insert that loses against a concurrent one falls back to the update.
+     */
+    public void recordLosses(Map<String, Long> lostRounds) {
+        lostRounds.forEach((username, rounds) -> {
+            if (jdbcTemplate.update(UPDATE_LOSSES_SQL, rounds, username) > 0) {
+                return;
+            }
+            try {
+                jdbcTemplate.update(INSERT_LOSSES_SQL, username, rounds);
+            } catch (DuplicateKeyException ex) {
+                jdbcTemplate.update(UPDATE_LOSSES_SQL, rounds, username);
+            }
+        });
+    }
+
+    /**
+     * @return the user's rounds missing from the history, 0 when none were ever dropped
+     */
+    public long countLostRounds(String username) {
+        List<Long> rounds = jdbcTemplate.queryForList(
+                "SELECT rounds FROM game_history_losses WHERE username = ?", Long.class, username);
+        return rounds.isEmpty() ? 0 : rounds.get(0);
+    }
+
+    /**
+     * Reads one page of a user's rounds, newest first, starting right after {@code before} or at
+     * the newest round when it is {@code null}. Both statements walk
+     * {@code idx_game_history_user_keyset} from the seek position, so a deep page costs the same
+     * as the first one. Rows are handed to {@code handler} as they are fetched.
+     */
+    public void findPage(long userId, HistoryCursor before, int limit, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement;
+            if (before == null) {
+                statement = connection.prepareStatement(FIRST_PAGE_SQL);
+                statement.setLong(1, userId);
+                statement.setInt(2, limit);
+            } else {
+                statement = connection.prepareStatement(NEXT_PAGE_SQL);
+                statement.setLong(1, userId);
+                statement.setObject(2, toPlayedAt(before.getPlayedAt()));
+                statement.setLong(3, before.getGameId());
+                statement.setShort(4, (short) before.getRound());
+                statement.setInt(5, limit);
+            }
+            statement.setFetchSize(Math.min(limit, PAGE_FETCH_SIZE));
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Whether {@code game_history} is a partitioned PostgreSQL table; {@code false} on other databases.
+     */
+    public boolean isPartitioned() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+        Long count = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Long.class);
+        return count != null && count > 0;
+    }
+
+    public List<String> findPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+    }
+
+    public void createPartition(String name, LocalDate from, LocalDate to) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF game_history FOR VALUES FROM ('%s') TO ('%s')",
+                name, from, to));
+    }
+
+    /**
+     * Streams every round of a partition grouped by user, each user's rounds in the order they
+     * were played. Has to run inside a transaction: PostgreSQL only reads through a cursor,
+     * {@code fetchSize} rows at a time, when auto-commit is off.
+     */
+    public void streamPartition(String name, int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(String.format(PARTITION_ROUNDS_SQL, name));
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, handler);
+    }
+
+    public long countPartition(String name) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + name, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Adds every round of the partition to {@code game_history_losses} under its user, before the
+     * partition is dropped without being archived.
+     */
+    public void recordPartitionLosses(String name) {
+        jdbcTemplate.update(String.format(PARTITION_LOSSES_SQL, name));
+    }
+
+    /**
+     * Notes in {@code game_history_dropped_months} that a month is no longer in the table. A month
+     * recorded by another instance already is left as it is.
+     */
+    public void recordDroppedMonth(LocalDate month, boolean archived, long rounds) {
+        jdbcTemplate.update(DROPPED_MONTH_SQL, month, archived, rounds);
+    }
+
+    /**
+     * Detaches and drops a whole partition, which takes the same time however many rows it holds.
+     */
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("ALTER TABLE game_history DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+    }
+}
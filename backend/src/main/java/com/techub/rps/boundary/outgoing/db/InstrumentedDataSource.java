@@ -0,0 +1,34 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps a connection pool so that {@link ConnectionPoolMonitor} sees every connection it hands
+ * out. It has to wrap the pool itself: behind a lazy or routing proxy the wait for the pool
+ * would not be visible.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final String pool;
+    private final ConnectionPoolMonitor monitor;
+
+    public InstrumentedDataSource(DataSource pool, String poolName, ConnectionPoolMonitor monitor) {
+        super(pool);
+        this.pool = poolName;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitor.track(pool, () -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitor.track(pool, () -> obtainTargetDataSource().getConnection(username, password));
+    }
+}
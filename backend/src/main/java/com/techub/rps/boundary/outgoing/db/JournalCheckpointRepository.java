@@ -0,0 +1,43 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Projection checkpoints of the game journal, one row per node.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JournalCheckpointRepository {
+
+    static final String SELECT_SQL = "SELECT position FROM journal_checkpoint WHERE node_id = ?";
+
+    static final String UPDATE_SQL = """
+            UPDATE journal_checkpoint SET position = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE node_id = ?
+            """;
+
+    static final String INSERT_SQL = "INSERT INTO journal_checkpoint (node_id, position) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the saved position, or 0 when this node has never projected anything
+     */
+    public long findPosition(int nodeId) {
+        List<Long> positions = jdbcTemplate.queryForList(SELECT_SQL, Long.class, nodeId);
+        return positions.isEmpty() ? 0 : positions.get(0);
+    }
+
+    /**
+     * Only the node's own projector writes its row, so update-then-insert cannot race.
+     */
+    public void savePosition(int nodeId, long position) {
+        if (jdbcTemplate.update(UPDATE_SQL, position, nodeId) == 0) {
+            jdbcTemplate.update(INSERT_SQL, nodeId, position);
+        }
+    }
+}
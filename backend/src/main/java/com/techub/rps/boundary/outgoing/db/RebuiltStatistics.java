@@ -0,0 +1,17 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import java.time.Instant;
+
+/**
+ * Counters of one user as recomputed from {@code game_history}, see {@link StatisticsRebuildRepository}.
+ */
+public record RebuiltStatistics(
+        long userId,
+        int gamesPlayed,
+        int wins,
+        int losses,
+        int draws,
+        long lastGameId,
+        Instant lastGamePlayedAt
+) {
+}
@@ -0,0 +1,258 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections of read-only transactions to a replica and everything else to the primary.
+ * It has to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which only asks for a connection once the transaction's read-only flag has been set.
+ * <p>
+ * Every {@code check-interval} each replica reports its replication lag through
+ * {@code lagQuery}. A replica further behind than {@code maxLag}, or one whose check failed,
+ * gets no reads until a later check passes. A read that cannot get a replica connection falls
+ * back to the primary. Available replicas take turns. A lag query that returns NULL counts as
+ * an unknown, and therefore too large, lag.
+ * <p>
+ * Reads that must see the caller's own writes run inside {@link #readFromPrimary}, which sends
+ * them to the primary even in a read-only transaction.
+ * <p>
+ * Connection acquire and usage times are timed per target ({@code primary}, {@code replica-0},
+ * ...), which shows how much read traffic the replicas take off the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = ThreadLocal.withInitial(() -> false);
+
+    private final Target primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter noReplicaFallbacks;
+    private final Counter connectFallbacks;
+    private final ScheduledExecutorService checker;
+
+    /**
+     * @param replicas replica data sources by target name, in the order they take turns
+     */
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    String lagQuery,
+                                    Duration maxLag,
+                                    Duration checkInterval,
+                                    MeterRegistry meterRegistry) {
+        this.primary = new Target(PRIMARY, primary, meterRegistry);
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, meterRegistry)));
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.noReplicaFallbacks = fallbackCounter(meterRegistry, "no-replica");
+        this.connectFallbacks = fallbackCounter(meterRegistry, "connect-failed");
+
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // replicas take reads from their first passed check on, a replica that is down must not block the startup
+        long intervalMillis = checkInterval.toMillis();
+        checker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        log.info("Routing read-only transactions to {} replicas (max lag: {})", replicas.size(), maxLag);
+    }
+
+    /**
+     * Runs {@code read} with every connection it opens on the current thread going to the primary.
+     * Has no effect on a connection the surrounding transaction already holds.
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        boolean outer = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(true);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_ONLY.set(outer);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !PRIMARY_ONLY.get()) {
+            Replica replica = chooseReplica();
+            if (replica != null) {
+                try {
+                    return replica.connect();
+                } catch (SQLException ex) {
+                    replica.available = false;
+                    connectFallbacks.increment();
+                    log.warn("Replica {} refused a connection, reading from the primary", replica.name, ex);
+                }
+            }
+        }
+        return primary.connect();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Targets are configured with their own credentials");
+    }
+
+    /**
+     * Refreshes the lag and availability of every replica. Runs on the checker thread.
+     */
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                double lag = 0;
+                if (rs.next()) {
+                    lag = rs.getDouble(1);
+                    if (rs.wasNull()) {
+                        lag = Double.POSITIVE_INFINITY;
+                    }
+                }
+                replica.lagSeconds = lag;
+                boolean available = lag <= maxLagSeconds;
+                if (available != replica.available) {
+                    log.info("Replica {} is {} (lag: {}s)", replica.name, available ? "available" : "too far behind", lag);
+                }
+                replica.available = available;
+            } catch (SQLException | RuntimeException ex) {
+                if (replica.available) {
+                    log.warn("Lag check of replica {} failed, reading from the primary", replica.name, ex);
+                }
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            DataSource dataSource = replica.dataSource instanceof DelegatingDataSource delegating
+                    ? delegating.getTargetDataSource()
+                    : replica.dataSource;
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Replica chooseReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica;
+            }
+        }
+        noReplicaFallbacks.increment();
+        return null;
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("datasource.routing.fallbacks")
+                .description("Read-only connections that went to the primary instead of a replica")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static class Target {
+
+        final String name;
+        final DataSource dataSource;
+        final Timer acquireTimer;
+        final Timer usageTimer;
+
+        Target(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.acquireTimer = Timer.builder("datasource.routing.acquire")
+                    .description("Time to get a connection from a routing target")
+                    .tag("target", name)
+                    .register(meterRegistry);
+            this.usageTimer = Timer.builder("datasource.routing.usage")
+                    .description("Time a connection of a routing target is held, roughly one transaction")
+                    .tag("target", name)
+                    .register(meterRegistry);
+        }
+
+        Connection connect() throws SQLException {
+            long startNanos = System.nanoTime();
+            Connection connection = dataSource.getConnection();
+            long acquiredNanos = System.nanoTime();
+            acquireTimer.record(acquiredNanos - startNanos, TimeUnit.NANOSECONDS);
+            return timeUsage(connection, acquiredNanos);
+        }
+
+        private Connection timeUsage(Connection connection, long acquiredNanos) {
+            boolean[] closed = new boolean[1];
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && !closed[0]) {
+                            closed[0] = true;
+                            usageTimer.record(System.nanoTime() - acquiredNanos, TimeUnit.NANOSECONDS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    });
+        }
+    }
+
+    private static class Replica extends Target {
+
+        volatile boolean available;
+        volatile double lagSeconds = Double.NaN;
+
+        Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            super(name, dataSource, meterRegistry);
+            Gauge.builder("datasource.replica.lag", this, replica -> replica.lagSeconds)
+                    .description("Replication lag reported by the last check, NaN when it failed")
+                    .baseUnit("seconds")
+                    .tag("target", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", this, replica -> replica.available ? 1 : 0)
+                    .description("Whether the replica currently takes read-only transactions")
+                    .tag("target", name)
+                    .register(meterRegistry);
+        }
+    }
+}
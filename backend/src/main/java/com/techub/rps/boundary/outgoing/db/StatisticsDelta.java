@@ -0,0 +1,77 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+
+import java.time.Instant;
+
+/**
+ * Counter increments for a single user, applied atomically on top of the stored statistics row.
+ */
+public record StatisticsDelta(
+        String username,
+        int gamesPlayed,
+        int wins,
+        int losses,
+        int draws,
+        Long lastGameId,
+        Instant lastGamePlayedAt
+) {
+
+    public static StatisticsDelta forGame(String username, long gameId, long record) {
+        GameResult result = GameRecord.result(record);
+        return new StatisticsDelta(
+                username,
+                1,
+                result == GameResult.WIN ? 1 : 0,
+                result == GameResult.LOSE ? 1 : 0,
+                result == GameResult.DRAW ? 1 : 0,
+                gameId,
+                GameRecord.timestamp(record));
+    }
+
+    public static StatisticsDelta forBatch(String username, GameBatch batch) {
+        return new StatisticsDelta(
+                username,
+                batch.size(),
+                batch.getWins(),
+                batch.getLosses(),
+                batch.getDraws(),
+                batch.getGameId(),
+                batch.getTimestamp());
+    }
+
+    /**
+     * Combines two deltas of the same user; the last game is taken from whichever delta is newer.
+     * Games of the same millisecond are ordered by their time-ordered ids.
+     */
+    public StatisticsDelta plus(StatisticsDelta other) {
+        boolean otherIsNewer = lastGamePlayedAt == null
+                || (other.lastGamePlayedAt != null && other.lastGamePlayedAt.isAfter(lastGamePlayedAt))
+                || (other.lastGamePlayedAt != null && other.lastGamePlayedAt.equals(lastGamePlayedAt)
+                        && other.lastGameId != null && lastGameId != null && other.lastGameId > lastGameId);
+        return new StatisticsDelta(
+                username,
+                gamesPlayed + other.gamesPlayed,
+                wins + other.wins,
+                losses + other.losses,
+                draws + other.draws,
+                otherIsNewer ? other.lastGameId : lastGameId,
+                otherIsNewer ? other.lastGamePlayedAt : lastGamePlayedAt);
+    }
+
+    /**
+     * Removes counters that have already been applied elsewhere; the last game stays as it is.
+     */
+    public StatisticsDelta minus(StatisticsDelta other) {
+        return new StatisticsDelta(
+                username,
+                gamesPlayed - other.gamesPlayed,
+                wins - other.wins,
+                losses - other.losses,
+                draws - other.draws,
+                lastGameId,
+                lastGamePlayedAt);
+    }
+}
@@ -0,0 +1,106 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The recorded statistics layout and the statements that move the counters between
+ * {@code user_statistics} (plus the striped slots) and the counters on {@code users}.
+ * Only meant to run inside one transaction while the application starts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatisticsLayoutRepository {
+
+    // the row lock keeps two nodes starting at the same time from copying twice
+    static final String SELECT_SQL = "SELECT live_table FROM statistics_layout WHERE id = 1 FOR UPDATE";
+
+    static final String UPDATE_SQL = """
+            UPDATE statistics_layout SET live_table = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE id = 1
+            """;
+
+    static final String INSERT_SQL = "INSERT INTO statistics_layout (id, live_table) VALUES (1, ?)";
+
+    static final String CLEAR_USERS_SQL = """
+            UPDATE users
+            SET games_played = 0, wins = 0, losses = 0, draws = 0, last_game_id = NULL, last_game_played_at = NULL
+            WHERE NOT EXISTS (SELECT 1 FROM user_statistics s WHERE s.user_id = users.id)
+            """;
+
+    // game ids sort by creation time, so the largest id of the rows is the last game
+    static final String COPY_TO_USERS_SQL = """
+            UPDATE users
+            SET (games_played, wins, losses, draws, last_game_id, last_game_played_at) = (
+                SELECT SUM(c.games_played), SUM(c.wins), SUM(c.losses), SUM(c.draws),
+                       MAX(c.last_game_id), MAX(c.last_game_played_at)
+                FROM (
+                    SELECT user_id, games_played, wins, losses, draws, last_game_id, last_game_played_at
+                    FROM user_statistics
+                    UNION ALL
+                    SELECT user_id, games_played, wins, losses, draws, last_game_id, last_game_played_at
+                    FROM user_statistics_slots
+                ) c
+                WHERE c.user_id = users.id
+            )
+            WHERE EXISTS (SELECT 1 FROM user_statistics s WHERE s.user_id = users.id)
+            """;
+
+    static final String COPY_TO_STATISTICS_SQL = """
+            UPDATE user_statistics
+            SET (games_played, wins, losses, draws, last_game_id, last_game_played_at, updated_at) = (
+                SELECT u.games_played, u.wins, u.losses, u.draws, u.last_game_id, u.last_game_played_at,
+                       CURRENT_TIMESTAMP
+                FROM users u
+                WHERE u.id = user_statistics.user_id
+            )
+            """;
+
+    static final String INSERT_STATISTICS_SQL = """
+            INSERT INTO user_statistics (user_id, games_played, wins, losses, draws, last_game_id, last_game_played_at)
+            SELECT u.id, u.games_played, u.wins, u.losses, u.draws, u.last_game_id, u.last_game_played_at
+            FROM users u
+            WHERE u.games_played > 0
+              AND NOT EXISTS (SELECT 1 FROM user_statistics s WHERE s.user_id = u.id)
+            """;
+
+    static final String DELETE_SLOTS_SQL = "DELETE FROM user_statistics_slots";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<String> findLiveTable() {
+        List<String> tables = jdbcTemplate.queryForList(SELECT_SQL, String.class);
+        return tables.stream().findFirst();
+    }
+
+    public void saveLiveTable(String table) {
+        if (jdbcTemplate.update(UPDATE_SQL, table) == 0) {
+            jdbcTemplate.update(INSERT_SQL, table);
+        }
+    }
+
+    /**
+     * Sets the counters on {@code users} to the totals of {@code user_statistics} and its slots.
+     *
+     * @return the number of users updated
+     */
+    public int copyToUsers() {
+        return jdbcTemplate.update(CLEAR_USERS_SQL) + jdbcTemplate.update(COPY_TO_USERS_SQL);
+    }
+
+    /**
+     * Sets {@code user_statistics} to the counters on {@code users}. The slots are folded into
+     * those counters already and are cleared.
+     *
+     * @return the number of statistics rows updated or created
+     */
+    public int copyToStatistics() {
+        int updated = jdbcTemplate.update(COPY_TO_STATISTICS_SQL) + jdbcTemplate.update(INSERT_STATISTICS_SQL);
+        jdbcTemplate.update(DELETE_SLOTS_SQL);
+        return updated;
+    }
+}
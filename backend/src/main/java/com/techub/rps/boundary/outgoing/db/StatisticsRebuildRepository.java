@@ -0,0 +1,167 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import com.techub.rps.control.model.GameResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes {@code user_statistics} from {@code game_history}.
+ * <p>
+ * The history is read in buckets of users ({@code user_id % buckets}), so that several
+ * connections can scan it side by side without ever seeing the same user. The write statement
+ * uses INSERT ... ON CONFLICT and is PostgreSQL only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatisticsRebuildRepository {
+
+    static final String SCAN_SQL = """
+            SELECT user_id, game_id, result, played_at
+            FROM game_history
+            WHERE played_at < ? AND MOD(user_id, ?) = ?
+            """;
+
+    /*
+     * Rounds played since the cutoff are not part of the rebuilt counters; they are counted here,
+     * at the moment the row is written, with a short range scan on the keyset index. The last game
+     * only moves forward, a newer one written in the meantime is kept.
+     */
+    static final String WRITE_SQL = """
+            INSERT INTO user_statistics (user_id, games_played, wins, losses, draws,
+                                         last_game_id, last_game_played_at)
+            SELECT ?,
+                   ? + COUNT(*),
+                   ? + COUNT(*) FILTER (WHERE result = ?),
+                   ? + COUNT(*) FILTER (WHERE result = ?),
+                   ? + COUNT(*) FILTER (WHERE result = ?),
+                   ?, CAST(? AS TIMESTAMP)
+            FROM game_history
+            WHERE user_id = ? AND played_at >= ?
+            ON CONFLICT (user_id) DO UPDATE SET
+                games_played = EXCLUDED.games_played,
+                wins = EXCLUDED.wins,
+                losses = EXCLUDED.losses,
+                draws = EXCLUDED.draws,
+                last_game_id = CASE WHEN user_statistics.last_game_played_at > EXCLUDED.last_game_played_at
+                                    THEN user_statistics.last_game_id ELSE EXCLUDED.last_game_id END,
+                last_game_played_at = GREATEST(user_statistics.last_game_played_at, EXCLUDED.last_game_played_at),
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    /*
+     * Users whose rounds were dropped, also with whole months at the end of their retention, and
+     * users that may have played before the history was introduced.
+     */
+    static final String LOST_HISTORY_SQL = """
+            SELECT u.id, u.username
+            FROM game_history_losses l
+            JOIN users u ON u.username = l.username
+            UNION
+            SELECT u.id, u.username
+            FROM users u
+            JOIN game_history_coverage c ON u.created_at < c.started_at
+            """;
+
+    static final String ARCHIVED_MONTHS_SQL = "SELECT month FROM game_history_dropped_months WHERE archived";
+
+    // slot rows of the striped store only hold rounds that are in the rebuilt counters as well
+    static final String DELETE_SLOTS_SQL = "DELETE FROM user_statistics_slots WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every round of the bucket played before {@code cutoff}, in no particular order.
+     * Has to run inside a transaction: PostgreSQL only reads through a cursor, {@code fetchSize}
+     * rows at a time, when auto-commit is off.
+     */
+    public void scan(int buckets, int bucket, Instant cutoff, int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+            statement.setObject(1, GameHistoryRepository.toPlayedAt(cutoff));
+            statement.setInt(2, buckets);
+            statement.setInt(3, bucket);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Ids and names of the users whose game history misses rounds: rounds that were dropped
+     * instead of written or with an unarchived month (see {@code game_history_losses}), and
+     * games of users registered before the history started (see {@code game_history_coverage}).
+     * Their history cannot be trusted for a rebuild.
+     */
+    public Map<Long, String> findUsersWithLostHistory() {
+        Map<Long, String> users = new HashMap<>();
+        jdbcTemplate.query(LOST_HISTORY_SQL, rs -> {
+            users.put(rs.getLong(1), rs.getString(2));
+        });
+        return users;
+    }
+
+    /**
+     * Months that were moved into the history archive and dropped from the table, on whichever
+     * instance keeps the archive.
+     */
+    public List<YearMonth> findArchivedMonths() {
+        return jdbcTemplate.queryForList(ARCHIVED_MONTHS_SQL, LocalDate.class).stream()
+                .map(YearMonth::from)
+                .toList();
+    }
+
+    /**
+     * Replaces the counters of the given users with the rebuilt ones plus whatever they played
+     * since {@code cutoff}, as two JDBC batches.
+     */
+    public void writeAll(List<RebuiltStatistics> rows, Instant cutoff) {
+        LocalDateTime since = GameHistoryRepository.toPlayedAt(cutoff);
+        jdbcTemplate.batchUpdate(WRITE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                RebuiltStatistics row = rows.get(i);
+                ps.setLong(1, row.userId());
+                ps.setInt(2, row.gamesPlayed());
+                ps.setInt(3, row.wins());
+                ps.setShort(4, (short) GameResult.WIN.ordinal());
+                ps.setInt(5, row.losses());
+                ps.setShort(6, (short) GameResult.LOSE.ordinal());
+                ps.setInt(7, row.draws());
+                ps.setShort(8, (short) GameResult.DRAW.ordinal());
+                ps.setLong(9, row.lastGameId());
+                ps.setTimestamp(10, Timestamp.from(row.lastGamePlayedAt()));
+                ps.setLong(11, row.userId());
+                ps.setObject(12, since);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        jdbcTemplate.batchUpdate(DELETE_SLOTS_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, rows.get(i).userId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import com.techub.rps.control.model.UserStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+/**
+ * Statistics counters stored on the {@code users} row itself (single-row layout). Every
+ * statement addresses the row through the unique username index only.
+ * <p>
+ * The insert fallback uses INSERT ... ON CONFLICT and is PostgreSQL only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserCountersRepository {
+
+    static final String UPDATE_SQL = """
+            UPDATE users SET
+                games_played = games_played + :gamesPlayed,
+                wins = wins + :wins,
+                losses = losses + :losses,
+                draws = draws + :draws,
+                last_game_id = :lastGameId,
+                last_game_played_at = :lastGamePlayedAt,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE username = :username
+            """;
+
+    /*
+     * Only reached for the first game of an unknown user, so the id sequence is not touched by
+     * regular plays. DO UPDATE covers a concurrent first game of the same user.
+     */
+    static final String INSERT_SQL = """
+            INSERT INTO users (username, games_played, wins, losses, draws, last_game_id, last_game_played_at)
+            VALUES (:username, :gamesPlayed, :wins, :losses, :draws, :lastGameId, :lastGamePlayedAt)
+            ON CONFLICT (username) DO UPDATE SET
+                games_played = users.games_played + EXCLUDED.games_played,
+                wins = users.wins + EXCLUDED.wins,
+                losses = users.losses + EXCLUDED.losses,
+                draws = users.draws + EXCLUDED.draws,
+                last_game_id = EXCLUDED.last_game_id,
+                last_game_played_at = EXCLUDED.last_game_played_at,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    static final String SELECT_SQL = """
+            SELECT username, games_played, wins, losses, draws, last_game_id, last_game_played_at
+            FROM users
+            WHERE username = :username
+            """;
+
+    private static final RowMapper<UserStatistics> STATISTICS_MAPPER = (rs, rowNum) -> {
+        Timestamp lastGamePlayedAt = rs.getTimestamp("last_game_played_at");
+        return UserStatistics.builder()
+                .username(rs.getString("username"))
+                .gamesPlayed(rs.getInt("games_played"))
+                .wins(rs.getInt("wins"))
+                .losses(rs.getInt("losses"))
+                .draws(rs.getInt("draws"))
+                .lastGameId(rs.getObject("last_game_id", Long.class))
+                .lastGamePlayedAt(lastGamePlayedAt != null ? lastGamePlayedAt.toInstant() : null)
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the delta to the user's counters, creating the user on its first game.
+     */
+    public void apply(StatisticsDelta delta) {
+        MapSqlParameterSource parameters = toParameters(delta);
+        if (jdbcTemplate.update(UPDATE_SQL, parameters) == 0) {
+            jdbcTemplate.update(INSERT_SQL, parameters);
+        }
+    }
+
+    public Optional<UserStatistics> findByUsername(String username) {
+        return jdbcTemplate.query(SELECT_SQL, new MapSqlParameterSource("username", username), STATISTICS_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    private MapSqlParameterSource toParameters(StatisticsDelta delta) {
+        return new MapSqlParameterSource()
+                .addValue("username", delta.username())
+                .addValue("gamesPlayed", delta.gamesPlayed())
+                .addValue("wins", delta.wins())
+                .addValue("losses", delta.losses())
+                .addValue("draws", delta.draws())
+                .addValue("lastGameId", delta.lastGameId())
+                .addValue("lastGamePlayedAt", delta.lastGamePlayedAt() != null
+                        ? Timestamp.from(delta.lastGamePlayedAt())
+                        : null);
+    }
+}
@@ -15,13 +15,34 @@ import java.time.Instant;
 @AllArgsConstructor
 public class UserEntity {
 
+    // matches INCREMENT BY in V5
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "username", nullable = false, unique = true, length = 50)
     private String username;
 
+    // counters of the single-row statistics layout, written by UserCountersRepository only
+    @Column(name = "games_played", insertable = false, updatable = false)
+    private Integer gamesPlayed;
+
+    @Column(name = "wins", insertable = false, updatable = false)
+    private Integer wins;
+
+    @Column(name = "losses", insertable = false, updatable = false)
+    private Integer losses;
+
+    @Column(name = "draws", insertable = false, updatable = false)
+    private Integer draws;
+
+    @Column(name = "last_game_id", insertable = false, updatable = false)
+    private Long lastGameId;
+
+    @Column(name = "last_game_played_at", insertable = false, updatable = false)
+    private Instant lastGamePlayedAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -0,0 +1,49 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PostgreSQL specific registration. Creates the user and its zeroed statistics row with a single
+ * statement; a taken username is reported by the empty result instead of a check beforehand, so
+ * concurrent sign-ups with the same name cannot both pass.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserRegistrationRepository {
+
+    /*
+     * The statistics insert reads the id from RETURNING, the row inserted by the sibling CTE is
+     * not visible to it otherwise. The counters take their column defaults.
+     */
+    static final String REGISTER_SQL = """
+            WITH created AS (
+                INSERT INTO users (username) VALUES (?)
+                ON CONFLICT (username) DO NOTHING
+                RETURNING id, username, created_at
+            ), statistics AS (
+                INSERT INTO user_statistics (user_id)
+                SELECT id FROM created
+                ON CONFLICT (user_id) DO NOTHING
+            )
+            SELECT id, username, created_at FROM created
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the created user, or empty when the username is already taken
+     */
+    public Optional<UserEntity> register(String username) {
+        List<UserEntity> created = jdbcTemplate.query(REGISTER_SQL, (rs, rowNum) -> UserEntity.builder()
+                .id(rs.getLong("id"))
+                .username(rs.getString("username"))
+                .createdAt(rs.getTimestamp("created_at").toInstant())
+                .build(), username);
+        return created.stream().findFirst();
+    }
+}
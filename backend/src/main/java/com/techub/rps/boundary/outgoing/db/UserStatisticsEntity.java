@@ -15,8 +15,10 @@ import java.time.Instant;
 @AllArgsConstructor
 public class UserStatisticsEntity {
 
+    // matches INCREMENT BY in V5
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_statistics_id_seq")
+    @SequenceGenerator(name = "user_statistics_id_seq", sequenceName = "user_statistics_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false, unique = true)
@@ -34,8 +36,8 @@ public class UserStatisticsEntity {
     @Column(name = "draws", nullable = false)
     private Integer draws;
 
-    @Column(name = "last_game_id", length = 36)
-    private String lastGameId;
+    @Column(name = "last_game_id")
+    private Long lastGameId;
 
     @Column(name = "last_game_played_at")
     private Instant lastGamePlayedAt;
@@ -0,0 +1,71 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Striped counter rows of hot users in {@code user_statistics_slots}, keyed by user id and slot.
+ * The upsert is PostgreSQL only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserStatisticsSlotRepository {
+
+    static final String UPSERT_SQL = """
+            INSERT INTO user_statistics_slots (user_id, slot, games_played, wins, losses, draws,
+                                               last_game_id, last_game_played_at)
+            VALUES (:userId, :slot, :gamesPlayed, :wins, :losses, :draws, :lastGameId, :lastGamePlayedAt)
+            ON CONFLICT (user_id, slot) DO UPDATE SET
+                games_played = user_statistics_slots.games_played + EXCLUDED.games_played,
+                wins = user_statistics_slots.wins + EXCLUDED.wins,
+                losses = user_statistics_slots.losses + EXCLUDED.losses,
+                draws = user_statistics_slots.draws + EXCLUDED.draws,
+                last_game_id = EXCLUDED.last_game_id,
+                last_game_played_at = EXCLUDED.last_game_played_at,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    static final String SELECT_SQL = """
+            SELECT games_played, wins, losses, draws, last_game_id, last_game_played_at
+            FROM user_statistics_slots
+            WHERE user_id = :userId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public int upsert(long userId, int slot, StatisticsDelta delta) {
+        return jdbcTemplate.update(UPSERT_SQL, new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("slot", slot)
+                .addValue("gamesPlayed", delta.gamesPlayed())
+                .addValue("wins", delta.wins())
+                .addValue("losses", delta.losses())
+                .addValue("draws", delta.draws())
+                .addValue("lastGameId", delta.lastGameId())
+                .addValue("lastGamePlayedAt", delta.lastGamePlayedAt() != null
+                        ? Timestamp.from(delta.lastGamePlayedAt())
+                        : null));
+    }
+
+    /**
+     * All slots of the user as deltas, to be added on top of the {@code user_statistics} row.
+     */
+    public List<StatisticsDelta> findByUserId(String username, long userId) {
+        return jdbcTemplate.query(SELECT_SQL, new MapSqlParameterSource("userId", userId), (rs, rowNum) -> {
+            Timestamp lastGamePlayedAt = rs.getTimestamp("last_game_played_at");
+            return new StatisticsDelta(
+                    username,
+                    rs.getInt("games_played"),
+                    rs.getInt("wins"),
+                    rs.getInt("losses"),
+                    rs.getInt("draws"),
+                    rs.getObject("last_game_id", Long.class),
+                    lastGamePlayedAt != null ? lastGamePlayedAt.toInstant() : null);
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * PostgreSQL specific write path for user statistics.
+ * Applies a {@link StatisticsDelta} with a single INSERT ... ON CONFLICT DO UPDATE statement,
+ * creating the user row on the first game, so counters stay correct under concurrent plays.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserStatisticsUpsertRepository {
+
+    /*
+     * The users insert only runs when the lookup finds nothing. If a concurrent request creates
+     * the same user in between, DO UPDATE (instead of DO NOTHING) still returns the committed id.
+     */
+    static final String UPSERT_SQL = """
+            WITH existing AS (
+                SELECT id FROM users WHERE username = :username
+            ), created AS (
+                INSERT INTO users (username)
+                SELECT :username WHERE NOT EXISTS (SELECT 1 FROM existing)
+                ON CONFLICT (username) DO UPDATE SET updated_at = users.updated_at
+                RETURNING id
+            )
+            INSERT INTO user_statistics (user_id, games_played, wins, losses, draws,
+                                         last_game_id, last_game_played_at)
+            SELECT id, :gamesPlayed, :wins, :losses, :draws, :lastGameId, :lastGamePlayedAt
+            FROM (SELECT id FROM existing UNION ALL SELECT id FROM created) player
+            LIMIT 1
+            ON CONFLICT (user_id) DO UPDATE SET
+                games_played = user_statistics.games_played + EXCLUDED.games_played,
+                wins = user_statistics.wins + EXCLUDED.wins,
+                losses = user_statistics.losses + EXCLUDED.losses,
+                draws = user_statistics.draws + EXCLUDED.draws,
+                last_game_id = EXCLUDED.last_game_id,
+                last_game_played_at = EXCLUDED.last_game_played_at,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public int upsert(StatisticsDelta delta) {
+        return jdbcTemplate.update(UPSERT_SQL, toParameters(delta));
+    }
+
+    /**
+     * Applies all deltas as one JDBC batch. Rows are written in username order so that
+     * concurrent batches from several nodes lock them in the same order.
+     */
+    public int[] upsertAll(List<StatisticsDelta> deltas) {
+        SqlParameterSource[] batch = deltas.stream()
+                .sorted(Comparator.comparing(StatisticsDelta::username))
+                .map(this::toParameters)
+                .toArray(SqlParameterSource[]::new);
+        return jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    private MapSqlParameterSource toParameters(StatisticsDelta delta) {
+        return new MapSqlParameterSource()
+                .addValue("username", delta.username())
+                .addValue("gamesPlayed", delta.gamesPlayed())
+                .addValue("wins", delta.wins())
+                .addValue("losses", delta.losses())
+                .addValue("draws", delta.draws())
+                .addValue("lastGameId", delta.lastGameId())
+                .addValue("lastGamePlayedAt", delta.lastGamePlayedAt() != null
+                        ? Timestamp.from(delta.lastGamePlayedAt())
+                        : null);
+    }
+}
@@ -0,0 +1,528 @@
+package com.techub.rps.boundary.outgoing.journal;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of statistics deltas in memory-mapped segment files.
+ * <p>
+ * Every entry is a fixed {@value #RECORD_SIZE} byte record, so an entry is addressed by its byte
+ * position in the journal and never spans two segments. Positions keep growing across segments
+ * and restarts; segment {@code n} holds positions {@code [n * segmentSize, (n + 1) * segmentSize)}
+ * in the file {@code journal-<n>.seg}. A record starts with a CRC32C over the rest of it and
+ * repeats its own position, so a torn or stale slot is recognised as the end of the journal.
+ * <p>
+ * With {@code fsync} on, {@link #append} returns only after the record has been forced to disk.
+ * A single committer thread forces whatever was appended since its last run, so concurrent
+ * appenders share one {@code msync} (group commit). With {@code fsync} off an append is a plain
+ * memory write: it survives a crash of the process, but not of the machine. New segment files
+ * are filled with zeros up front, so a full disk shows up as an error here rather than as a
+ * crash on a later write to the mapping; with {@code fsync} on they are also forced to disk,
+ * together with their directory entry, before the first record goes into them. The committer
+ * allocates the next segment while the current one fills up, off the append path.
+ * <p>
+ * A failed force is retried with a growing pause. After {@value #MAX_COMMIT_FAILURES} failures
+ * in a row, new appends are rejected before anything is written, until a force succeeds again.
+ * An entry that is already written cannot be taken back, so its appender does not fail: when
+ * the forces keep failing, or the entry is not durable within ten seconds, the append returns
+ * with the entry accepted but not yet durable. It becomes durable, and is projected, once a
+ * later force succeeds; failing the append instead would make a retry count the game twice.
+ */
+@Slf4j
+public class GameJournal implements AutoCloseable {
+
+    public static final int RECORD_SIZE = 256;
+
+    private static final int CRC_OFFSET = 0;
+    private static final int POSITION_OFFSET = 4;
+    private static final int GAME_ID_OFFSET = 12;
+    private static final int PLAYED_AT_OFFSET = 20;
+    private static final int GAMES_OFFSET = 28;
+    private static final int WINS_OFFSET = 32;
+    private static final int LOSSES_OFFSET = 36;
+    private static final int DRAWS_OFFSET = 40;
+    private static final int USERNAME_LENGTH_OFFSET = 44;
+    private static final int USERNAME_OFFSET = 46;
+    private static final int MAX_USERNAME_BYTES = RECORD_SIZE - USERNAME_OFFSET;
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int MAX_COMMIT_FAILURES = 5;
+    private static final Duration COMMIT_TIMEOUT = Duration.ofSeconds(10);
+    private static final long MIN_RETRY_MILLIS = 10;
+    private static final long MAX_RETRY_MILLIS = 1000;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final Map<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition appended = commitLock.newCondition();
+    private final Condition committed = commitLock.newCondition();
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final Object segmentLock = new Object();
+
+    private long nextPosition;
+    private volatile long writtenPosition;
+    private volatile long durablePosition;
+    private volatile RuntimeException commitFailure;
+    private long failedPosition;
+    private volatile boolean running = true;
+    private final Thread committer;
+
+    /**
+     * Opens the journal and replays every entry from {@code checkpoint} on to {@code replay}.
+     * Appends continue after the last intact entry; anything behind it is cleared.
+     *
+     * @param segmentSize bytes per segment file, rounded down to whole records
+     */
+    public GameJournal(Path directory, int segmentSize, boolean fsync, long checkpoint,
+                       Consumer<StatisticsDelta> replay) {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("A segment must hold at least one record");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+        this.fsync = fsync;
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create journal directory " + directory, ex);
+        }
+        long end = recover(checkpoint, replay);
+        this.nextPosition = end;
+        this.writtenPosition = end;
+        this.durablePosition = end;
+
+        if (fsync) {
+            committer = new Thread(this::commitLoop, "journal-committer");
+            committer.setDaemon(true);
+            committer.start();
+        } else {
+            committer = null;
+        }
+        log.info("Game journal opened in {} at position {} (fsync: {})", directory, end, fsync);
+    }
+
+    /**
+     * Appends one entry and, with fsync on, waits until it is on disk.
+     *
+     * @return the position right after the entry
+     */
+    public long append(StatisticsDelta delta) {
+        return append(List.of(delta));
+    }
+
+    /**
+     * Appends the entries back to back and, with fsync on, waits until all of them are on disk.
+     * They become durable together: no commit covers only some of them.
+     *
+     * @return the position right after the last entry
+     * @throws IllegalStateException if the journal cannot take entries right now; nothing has
+     *                               been written then
+     */
+    public long append(List<StatisticsDelta> deltas) {
+        List<byte[]> usernames = new ArrayList<>(deltas.size());
+        for (StatisticsDelta delta : deltas) {
+            byte[] username = delta.username().getBytes(StandardCharsets.UTF_8);
+            if (username.length > MAX_USERNAME_BYTES) {
+                throw new IllegalArgumentException("Username too long for the journal: " + delta.username());
+            }
+            usernames.add(username);
+        }
+
+        long end;
+        appendLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            RuntimeException failure = commitFailure;
+            if (failure != null) {
+                throw new IllegalStateException("Journal cannot be forced to disk", failure);
+            }
+            long start = nextPosition;
+            end = start + (long) deltas.size() * RECORD_SIZE;
+            // map every segment first, so a failure cannot leave some of the records behind
+            for (long index = start / segmentSize; index <= (end - 1) / segmentSize; index++) {
+                segment(index);
+            }
+            long position = start;
+            for (int i = 0; i < deltas.size(); i++) {
+                encode(position, deltas.get(i), usernames.get(i));
+                segment(position / segmentSize).put((int) (position % segmentSize), scratch);
+                position += RECORD_SIZE;
+            }
+            nextPosition = end;
+            writtenPosition = end;
+            if (!fsync) {
+                durablePosition = end;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (fsync && !awaitDurable(end)) {
+            log.warn("Journal entries up to position {} accepted before they were forced to disk", end);
+        }
+        return end;
+    }
+
+    /**
+     * Position up to which entries are durable and may be projected.
+     */
+    public long durablePosition() {
+        return durablePosition;
+    }
+
+    /**
+     * Reads the entries in {@code [from, to)}.
+     */
+    public void read(long from, long to, Consumer<StatisticsDelta> consumer) {
+        byte[] record = new byte[RECORD_SIZE];
+        for (long position = from; position < to; position += RECORD_SIZE) {
+            segment(position / segmentSize).get((int) (position % segmentSize), record);
+            StatisticsDelta delta = decode(position, record);
+            if (delta == null) {
+                throw new IllegalStateException("Corrupt journal entry at position " + position);
+            }
+            consumer.accept(delta);
+        }
+    }
+
+    /**
+     * Deletes the segment files that only hold entries before {@code position}.
+     */
+    public void releaseBefore(long position) {
+        long firstKept = position / segmentSize;
+        for (Long index : List.copyOf(segments.keySet())) {
+            if (index < firstKept) {
+                segments.remove(index);
+                deleteSegment(index);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        if (committer != null) {
+            committer.interrupt();
+            committer.join(TimeUnit.SECONDS.toMillis(10));
+            force(durablePosition, writtenPosition);
+            durablePosition = writtenPosition;
+        }
+        segments.clear();
+    }
+
+    private long recover(long checkpoint, Consumer<StatisticsDelta> replay) {
+        long position = checkpoint - checkpoint % RECORD_SIZE;
+        long firstIndex = position / segmentSize;
+        for (long index : existingSegments()) {
+            if (index < firstIndex) {
+                deleteSegment(index);
+            }
+        }
+
+        byte[] record = new byte[RECORD_SIZE];
+        int replayed = 0;
+        while (true) {
+            long index = position / segmentSize;
+            if (!Files.exists(segmentPath(index))) {
+                break;
+            }
+            segment(index).get((int) (position % segmentSize), record);
+            StatisticsDelta delta = decode(position, record);
+            if (delta == null) {
+                break;
+            }
+            replay.accept(delta);
+            replayed++;
+            position += RECORD_SIZE;
+        }
+
+        // slots behind the end may hold the remains of appends that were never acknowledged
+        long endIndex = position / segmentSize;
+        if (Files.exists(segmentPath(endIndex))) {
+            MappedByteBuffer segment = segment(endIndex);
+            byte[] zeros = new byte[RECORD_SIZE];
+            for (int offset = (int) (position % segmentSize); offset < segmentSize; offset += RECORD_SIZE) {
+                segment.put(offset, zeros);
+            }
+            segment.force();
+        }
+        for (long index : existingSegments()) {
+            if (index > endIndex) {
+                deleteSegment(index);
+            }
+        }
+
+        if (replayed > 0) {
+            log.info("Replayed {} journal entries from position {}", replayed, checkpoint);
+        }
+        return position;
+    }
+
+    /**
+     * @return {@code false} if the wait ended before the entries were durable: the forces keep
+     *         failing, the commit timed out, the journal is closing, or the thread was interrupted
+     */
+    private boolean awaitDurable(long end) {
+        commitLock.lock();
+        try {
+            appended.signal();
+            long deadline = System.nanoTime() + COMMIT_TIMEOUT.toNanos();
+            while (durablePosition < end) {
+                if (!running
+                        || (commitFailure != null && end <= failedPosition)
+                        || System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                committed.await(100, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void commitLoop() {
+        int failures = 0;
+        while (running) {
+            long to = durablePosition;
+            try {
+                commitLock.lock();
+                try {
+                    while (running && writtenPosition == durablePosition) {
+                        appended.await(100, TimeUnit.MILLISECONDS);
+                    }
+                } finally {
+                    commitLock.unlock();
+                }
+
+                // appends that arrive while this force runs are picked up by the next one
+                long from = durablePosition;
+                to = writtenPosition;
+                force(from, to);
+
+                commitLock.lock();
+                try {
+                    durablePosition = to;
+                    commitFailure = null;
+                    committed.signalAll();
+                } finally {
+                    commitLock.unlock();
+                }
+                if (failures > 0) {
+                    log.info("Journal forced to disk again after {} failed attempts", failures);
+                    failures = 0;
+                }
+                prepareSegment(to / segmentSize + 1);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                failures++;
+                log.error("Failed to force the journal to disk (attempt {})", failures, ex);
+                if (failures >= MAX_COMMIT_FAILURES) {
+                    failWaiters(ex, to);
+                }
+                try {
+                    Thread.sleep(retryDelayMillis(failures));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fails the appenders waiting for entries up to {@code to}; later appends wait for the next attempt.
+     */
+    private void failWaiters(RuntimeException cause, long to) {
+        commitLock.lock();
+        try {
+            commitFailure = cause;
+            failedPosition = to;
+            committed.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void prepareSegment(long index) {
+        if (segments.containsKey(index)) {
+            return;
+        }
+        try {
+            segment(index);
+        } catch (RuntimeException ex) {
+            log.warn("Cannot allocate journal segment {} ahead of time, the next append will retry", index, ex);
+        }
+    }
+
+    private static long retryDelayMillis(int failures) {
+        return Math.min(MIN_RETRY_MILLIS << Math.min(failures - 1, 20), MAX_RETRY_MILLIS);
+    }
+
+    /**
+     * Forces the records in {@code [from, to)} to disk. Package-private so tests can fail it.
+     */
+    void force(long from, long to) {
+        long position = from;
+        while (position < to) {
+            long index = position / segmentSize;
+            int offset = (int) (position % segmentSize);
+            int length = (int) Math.min(to - position, segmentSize - offset);
+            MappedByteBuffer segment = segments.get(index);
+            if (segment != null) {
+                segment.force(offset, length);
+            }
+            position += length;
+        }
+    }
+
+    private void encode(long position, StatisticsDelta delta, byte[] username) {
+        ByteBuffer buffer = ByteBuffer.wrap(scratch);
+        buffer.putLong(POSITION_OFFSET, position);
+        buffer.putLong(GAME_ID_OFFSET, delta.lastGameId() != null ? delta.lastGameId() : NONE);
+        buffer.putLong(PLAYED_AT_OFFSET, delta.lastGamePlayedAt() != null ? delta.lastGamePlayedAt().toEpochMilli() : NONE);
+        buffer.putInt(GAMES_OFFSET, delta.gamesPlayed());
+        buffer.putInt(WINS_OFFSET, delta.wins());
+        buffer.putInt(LOSSES_OFFSET, delta.losses());
+        buffer.putInt(DRAWS_OFFSET, delta.draws());
+        buffer.putShort(USERNAME_LENGTH_OFFSET, (short) username.length);
+        buffer.put(USERNAME_OFFSET, username);
+        buffer.put(USERNAME_OFFSET + username.length, new byte[MAX_USERNAME_BYTES - username.length]);
+        buffer.putInt(CRC_OFFSET, checksum(scratch));
+    }
+
+    private static StatisticsDelta decode(long position, byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        int usernameLength = buffer.getShort(USERNAME_LENGTH_OFFSET);
+        if (buffer.getInt(CRC_OFFSET) != checksum(record)
+                || buffer.getLong(POSITION_OFFSET) != position
+                || usernameLength <= 0 || usernameLength > MAX_USERNAME_BYTES) {
+            return null;
+        }
+        long gameId = buffer.getLong(GAME_ID_OFFSET);
+        long playedAt = buffer.getLong(PLAYED_AT_OFFSET);
+        return new StatisticsDelta(
+                new String(record, USERNAME_OFFSET, usernameLength, StandardCharsets.UTF_8),
+                buffer.getInt(GAMES_OFFSET),
+                buffer.getInt(WINS_OFFSET),
+                buffer.getInt(LOSSES_OFFSET),
+                buffer.getInt(DRAWS_OFFSET),
+                gameId != NONE ? gameId : null,
+                playedAt != NONE ? Instant.ofEpochMilli(playedAt) : null);
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record, POSITION_OFFSET, RECORD_SIZE - POSITION_OFFSET);
+        return (int) crc.getValue();
+    }
+
+    private MappedByteBuffer segment(long index) {
+        MappedByteBuffer segment = segments.get(index);
+        if (segment != null) {
+            return segment;
+        }
+        // the map may run computeIfAbsent's function more than once; a segment is created only once
+        synchronized (segmentLock) {
+            return segments.computeIfAbsent(index, this::mapSegment);
+        }
+    }
+
+    private MappedByteBuffer mapSegment(long index) {
+        Path path = segmentPath(index);
+        try {
+            if (!Files.exists(path)) {
+                createSegment(path);
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot map journal segment " + index, ex);
+        }
+    }
+
+    /*
+     * Written under a temporary name and renamed once complete, so recovery never finds a
+     * half-allocated segment.
+     */
+    private void createSegment(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer zeros = ByteBuffer.allocate(Math.min(segmentSize, 1 << 20));
+            long written = 0;
+            while (written < segmentSize) {
+                zeros.clear().limit((int) Math.min(zeros.capacity(), segmentSize - written));
+                written += channel.write(zeros, written);
+            }
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        if (fsync) {
+            try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                directoryChannel.force(true);
+            }
+        }
+    }
+
+    private List<Long> existingSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Long> indexes = new ArrayList<>();
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("journal-") && name.endsWith(".seg"))
+                    .forEach(name -> indexes.add(Long.parseLong(name.substring(8, name.length() - 4))));
+            return indexes;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot list journal directory " + directory, ex);
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("journal-%012d.seg", index));
+    }
+
+    private void deleteSegment(long index) {
+        try {
+            Files.deleteIfExists(segmentPath(index));
+        } catch (IOException ex) {
+            log.warn("Cannot delete journal segment {}", index, ex);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.techub.rps.config;
+
+import com.techub.rps.boundary.outgoing.db.ConnectionPoolMonitor;
+import com.techub.rps.boundary.outgoing.db.InstrumentedDataSource;
+import com.techub.rps.boundary.outgoing.db.ReplicaRoutingDataSource;
+import com.techub.rps.control.ports.UserRegistrationPort;
+import com.techub.rps.control.ports.UserStatisticsPort;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Wires up {@link ConnectionPoolMonitor}: the data source the application uses hands out the
+ * primary pool's connections through an {@link InstrumentedDataSource}, and calls to the
+ * statistics and registration ports tag the connections they take with the port method name.
+ * <p>
+ * The primary pool is defined here instead of by Spring Boot, so that it stays a plain
+ * {@link HikariDataSource} bean for the pool metrics while only the data source handed out is
+ * wrapped. With read replicas, {@link ReadReplicaConfig} wraps it inside its routing data source.
+ */
+@Configuration
+public class ConnectionPoolMetricsConfig {
+
+    private static final List<Class<?>> TAGGED_PORTS = List.of(UserStatisticsPort.class, UserRegistrationPort.class);
+
+    /**
+     * The advisor has to run before the transaction interceptor, which takes the connection
+     * when the transaction starts. It is an infrastructure bean so that the proxy creator set up
+     * for {@code @Transactional} picks it up as well.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor poolOperationAdvisor() {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(@NonNull Method method, @NonNull Class<?> targetClass) {
+                return TAGGED_PORTS.stream().anyMatch(port -> port.isAssignableFrom(targetClass) && declares(port, method));
+            }
+        };
+        MethodInterceptor interceptor = invocation -> {
+            String outer = ConnectionPoolMonitor.enter(invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                ConnectionPoolMonitor.exit(outer);
+            }
+        };
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 ConnectionPoolMonitor connectionPoolMonitor) {
+        return new InstrumentedDataSource(primaryDataSource, primaryDataSource.getPoolName(), connectionPoolMonitor);
+    }
+
+    private static boolean declares(Class<?> port, Method method) {
+        try {
+            port.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+}
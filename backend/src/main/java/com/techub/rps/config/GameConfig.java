@@ -0,0 +1,50 @@
+package com.techub.rps.config;
+
+import com.techub.rps.control.model.GameIdGenerator;
+import com.techub.rps.control.model.RuleSet;
+import io.swagger.v3.oas.models.media.Schema;
+import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.customizers.OpenApiCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class GameConfig {
+
+    @Bean
+    public RuleSet ruleSet(@Value("${app.game.rule-set:CLASSIC}") RuleSet ruleSet) {
+        log.info("Playing with the {} rule set: {}", ruleSet, ruleSet.getHands());
+        return ruleSet;
+    }
+
+    /**
+     * Every instance that writes to the same database needs its own node id.
+     */
+    @Bean
+    public GameIdGenerator gameIdGenerator(@Value("${app.game.node-id:0}") int nodeId) {
+        log.info("Generating game ids for node {}", nodeId);
+        return new GameIdGenerator(nodeId);
+    }
+
+    /**
+     * The OpenAPI {@code Hand} enum lists every known hand; the published document only
+     * advertises the ones the active rule set accepts.
+     */
+    @Bean
+    public OpenApiCustomizer ruleSetHandsCustomizer(RuleSet ruleSet) {
+        return openApi -> {
+            if (openApi.getComponents() == null || openApi.getComponents().getSchemas() == null) {
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            Schema<Object> handSchema = openApi.getComponents().getSchemas().get("Hand");
+            if (handSchema != null) {
+                handSchema.setEnum(ruleSet.getHands().stream()
+                        .<Object>map(Enum::name)
+                        .toList());
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.techub.rps.config;
+
+import com.techub.rps.boundary.outgoing.db.ConnectionPoolMonitor;
+import com.techub.rps.boundary.outgoing.db.InstrumentedDataSource;
+import com.techub.rps.boundary.outgoing.db.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas for read-only transactions, enabled with {@code app.datasource.replicas.enabled}.
+ * <p>
+ * The primary pool, defined in {@link ConnectionPoolMetricsConfig}, is still configured through
+ * {@code spring.datasource}; each URL in {@code app.datasource.replicas.urls} gets its own
+ * smaller pool. Every pool is wrapped in an {@link InstrumentedDataSource} inside the routing
+ * data source only. The data source everyone uses is the lazy proxy around
+ * {@link ReplicaRoutingDataSource}. Flyway migrations and all read-write transactions go to
+ * the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    /**
+     * Lag in seconds as seen by a PostgreSQL standby. A standby that streams from the primary and
+     * has replayed everything it received counts as current even when the primary has been idle
+     * for a while. A standby whose WAL receiver is not streaming cannot tell how far behind it is,
+     * so it reports an infinite lag until it reconnects.
+     */
+    static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 'Infinity'::float8
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::float8, 'Infinity'::float8)
+            END
+            """;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            ConnectionPoolMonitor connectionPoolMonitor,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${app.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replicas.max-lag:5s}") Duration maxLag,
+            @Value("${app.datasource.replicas.check-interval:1s}") Duration checkInterval) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + i;
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // a replica that is down must not keep the application from starting
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(name, new InstrumentedDataSource(replica, name, connectionPoolMonitor));
+        }
+
+        DataSource primary = new InstrumentedDataSource(primaryDataSource, primaryDataSource.getPoolName(),
+                connectionPoolMonitor);
+        return new ReplicaRoutingDataSource(primary, replicas,
+                lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery,
+                maxLag, checkInterval, meterRegistry);
+    }
+
+    /**
+     * Defaults are set up front so that the proxy does not borrow a connection just to read them.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+}
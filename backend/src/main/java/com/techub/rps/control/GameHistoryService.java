@@ -0,0 +1,78 @@
+package com.techub.rps.control;
+
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.HistoryCursor;
+import com.techub.rps.control.model.HistoryQuery;
+import com.techub.rps.control.model.PlayedRound;
+import com.techub.rps.control.ports.GameHistoryQueryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * Pages through a user's game history with a seek cursor, newest round first. Reading a page
+ * is split in two so that callers streaming the rounds can reject a bad request before they
+ * start writing the response.
+ */
+@Service
+@Slf4j
+public class GameHistoryService {
+
+    private final GameHistoryQueryPort gameHistoryQueryPort;
+    private final int maxPageSize;
+
+    public GameHistoryService(GameHistoryQueryPort gameHistoryQueryPort,
+                              @Value("${app.history.max-page-size:500}") int maxPageSize) {
+        this.gameHistoryQueryPort = gameHistoryQueryPort;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Validates a page request.
+     *
+     * @param before the cursor returned with the previous page, {@code null} for the first page
+     */
+    public HistoryQuery prepareQuery(String username, HistoryCursor before, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw DomainException.invalidHistoryQuery(
+                    String.format("Limit must be between 1 and %d", maxPageSize));
+        }
+        if (!gameHistoryQueryPort.userExists(username)) {
+            throw DomainException.userNotFound("User not found: " + username);
+        }
+        return HistoryQuery.builder()
+                .username(username)
+                .before(before)
+                .limit(limit)
+                .build();
+    }
+
+    /**
+     * Streams one page to {@code consumer}.
+     *
+     * @return the cursor of the next page, or {@code null} when this page was the last one
+     */
+    public HistoryCursor streamPage(HistoryQuery query, Consumer<PlayedRound> consumer) {
+        log.debug("Reading {} rounds of history for user: {}", query.getLimit(), query.getUsername());
+
+        int[] count = new int[1];
+        PlayedRound[] last = new PlayedRound[1];
+        gameHistoryQueryPort.findRounds(query.getUsername(), query.getBefore(), query.getLimit(), round -> {
+            consumer.accept(round);
+            count[0]++;
+            last[0] = round;
+        });
+
+        // a full page may be followed by an empty one, which is cheaper than reading one row ahead
+        return count[0] == query.getLimit() ? HistoryCursor.after(last[0]) : null;
+    }
+
+    /**
+     * @return how many of the user's rounds are missing from the history, 0 when it is complete
+     */
+    public long countLostRounds(HistoryQuery query) {
+        return gameHistoryQueryPort.countLostRounds(query.getUsername());
+    }
+}
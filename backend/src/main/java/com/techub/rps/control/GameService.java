@@ -2,67 +2,138 @@ package com.techub.rps.control;
 
 import com.techub.rps.control.exception.DomainException;
 import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameIdGenerator;
+import com.techub.rps.control.model.GameRecord;
 import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.ports.GameHistoryPort;
 import com.techub.rps.control.ports.MetricsProvider;
 import com.techub.rps.control.ports.RandomHandProvider;
 import com.techub.rps.control.ports.UserStatisticsPort;
-import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GameService {
 
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final RandomHandProvider randomHandProvider;
     private final MetricsProvider metricsPort;
     private final UserStatisticsPort userStatisticsPort;
+    private final RuleSet ruleSet;
+    private final GameIdGenerator gameIdGenerator;
+    private final GameHistoryPort gameHistoryPort;
+    private final LeaderboardService leaderboardService;
 
+    /**
+     * Plays one round. Everything up to the returned {@link Game} works on the packed
+     * {@link GameRecord}, so the round itself allocates nothing.
+     */
     public Game play(String username, Hand playerHand) {
-        Timer.Sample timer = metricsPort.startTimer();
+        long startNanos = metricsPort.startTimer();
 
         try {
             validateUsername(username);
             validatePlayerHand(playerHand);
 
-            log.info("Playing game with username: {}, player hand: {}", username, playerHand);
+            log.debug("Playing game with username: {}, player hand: {}", username, playerHand);
 
-            Hand computerHand = randomHandProvider.getRandomHand();
+            Hand computerHand = randomHandProvider.chooseHand(username);
             log.debug("Computer chose: {}", computerHand);
 
-            Game game = Game.play(playerHand, computerHand);
+            long gameId = gameIdGenerator.nextId();
+            long record = GameRecord.play(ruleSet, playerHand, computerHand, System.currentTimeMillis());
 
-            userStatisticsPort.updateStatistics(username, game);
-            metricsPort.recordGamePlayed(game);
+            randomHandProvider.observe(username, playerHand);
+            userStatisticsPort.updateStatistics(username, gameId, record);
+            gameHistoryPort.recordGame(username, gameId, record);
+            leaderboardService.recordGame(username, record);
+            metricsPort.recordGamePlayed(record);
 
-            log.info("Game result - ID: {}, Username: {}, Player: {}, Computer: {}, Result: {}",
-                    game.getGameId(), username, game.getPlayerHand(), game.getComputerHand(), game.getResult());
+            if (log.isInfoEnabled()) {
+                log.info("Game result - ID: {}, Username: {}, Player: {}, Computer: {}, Result: {}",
+                        gameId, username, playerHand, computerHand, GameRecord.result(record));
+            }
 
-            return game;
+            return Game.of(gameId, record);
         } catch (DomainException ex) {
-            if (ex.getErrorType() == DomainException.ErrorType.CLIENT_ERROR) {
-                String errorMetric = switch (ex.getErrorCode()) {
-                    case "INVALID_HAND" -> "invalid_hand";
-                    case "INVALID_USERNAME" -> "invalid_username";
-                    default -> "client_error";
-                };
-                metricsPort.recordError(errorMetric);
-            } else {
-                metricsPort.recordError("game_error");
-            }
+            recordDomainError(ex);
             throw ex;
         } catch (Exception ex) {
             metricsPort.recordError("game_error");
             log.error("Failed to play game", ex);
             throw DomainException.gameError("Failed to play game: " + ex.getMessage(), ex);
         } finally {
-            metricsPort.stopTimer(timer);
+            metricsPort.stopTimer(startNanos);
+        }
+    }
+
+    /**
+     * Plays all rounds for one user and records them with a single statistics write.
+     */
+    public GameBatch playBatch(String username, List<Hand> playerHands) {
+        long startNanos = metricsPort.startTimer();
+
+        try {
+            validateUsername(username);
+            validatePlayerHands(playerHands);
+
+            int rounds = playerHands.size();
+            log.info("Playing batch of {} games with username: {}", rounds, username);
+
+            Hand[] computerHands = new Hand[rounds];
+            for (int i = 0; i < rounds; i++) {
+                computerHands[i] = randomHandProvider.chooseHand(username);
+                randomHandProvider.observe(username, playerHands.get(i));
+            }
+
+            GameBatch batch = GameBatch.play(gameIdGenerator.nextId(), ruleSet,
+                    playerHands.toArray(Hand[]::new), computerHands);
+
+            userStatisticsPort.updateStatistics(username, batch);
+            gameHistoryPort.recordBatch(username, batch);
+            leaderboardService.recordBatch(username, batch);
+            metricsPort.recordGamesPlayed(batch);
+
+            log.info("Batch result - ID: {}, Username: {}, Games: {}, Wins: {}, Losses: {}, Draws: {}",
+                    batch.getGameId(), username, batch.size(), batch.getWins(), batch.getLosses(), batch.getDraws());
+
+            return batch;
+        } catch (DomainException ex) {
+            recordDomainError(ex);
+            throw ex;
+        } catch (Exception ex) {
+            metricsPort.recordError("game_error");
+            log.error("Failed to play game batch", ex);
+            throw DomainException.gameError("Failed to play game batch: " + ex.getMessage(), ex);
+        } finally {
+            metricsPort.stopTimer(startNanos);
+        }
+    }
+
+    private void recordDomainError(DomainException ex) {
+        if (ex.getErrorType() == DomainException.ErrorType.CLIENT_ERROR) {
+            String errorMetric = switch (ex.getErrorCode()) {
+                case "INVALID_HAND" -> "invalid_hand";
+                case "INVALID_USERNAME" -> "invalid_username";
+                case "INVALID_BATCH" -> "invalid_batch";
+                default -> "client_error";
+            };
+            metricsPort.recordError(errorMetric);
+        } else {
+            metricsPort.recordError("game_error");
         }
     }
 
-    private void validateUsername(String username) {
+    static void validateUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
             throw DomainException.invalidUsername("Username cannot be null or empty");
         }
@@ -76,4 +147,17 @@ public class GameService {
             throw DomainException.invalidHand("Player hand cannot be null");
         }
     }
+
+    private void validatePlayerHands(List<Hand> playerHands) {
+        if (playerHands == null || playerHands.isEmpty()) {
+            throw DomainException.invalidBatch("At least one player hand is required");
+        }
+        if (playerHands.size() > MAX_BATCH_SIZE) {
+            throw DomainException.invalidBatch(
+                    String.format("A batch can contain at most %d hands", MAX_BATCH_SIZE));
+        }
+        if (playerHands.stream().anyMatch(Objects::isNull)) {
+            throw DomainException.invalidHand("Player hand cannot be null");
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.techub.rps.control;
+
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.leaderboard.Leaderboard;
+import com.techub.rps.control.leaderboard.Ranking;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.LeaderboardEntry;
+import com.techub.rps.control.ports.LeaderboardPort;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serves the leaderboard from memory. The ranking is rebuilt from the statistics store at
+ * startup, including games it has not written yet, and then kept current by the game
+ * services, which report every round right after updating the statistics.
+ * <p>
+ * Each instance only sees its own games after startup, so with several instances a board lags
+ * behind the others' games until the next restart.
+ */
+@Service
+@Slf4j
+public class LeaderboardService {
+
+    private final LeaderboardPort leaderboardPort;
+    private final Leaderboard leaderboard;
+    private final int maxLimit;
+
+    public LeaderboardService(LeaderboardPort leaderboardPort,
+                              @Value("${app.leaderboard.min-games:10}") int minGames,
+                              @Value("${app.leaderboard.max-limit:100}") int maxLimit) {
+        this.leaderboardPort = leaderboardPort;
+        this.leaderboard = new Leaderboard(minGames);
+        this.maxLimit = maxLimit;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long startNanos = System.nanoTime();
+        try {
+            leaderboard.clear();
+            leaderboardPort.loadStandings(stats ->
+                    leaderboard.load(stats.getUsername(), stats.getWins(), stats.getGamesPlayed()));
+            log.info("Leaderboard rebuilt with {} players in {} ms",
+                    leaderboard.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException ex) {
+            // the board fills up again with new games, not worth failing the startup for
+            log.error("Failed to rebuild the leaderboard, starting empty", ex);
+        }
+    }
+
+    public void recordGame(String username, long record) {
+        leaderboard.record(username, GameRecord.result(record) == GameResult.WIN ? 1 : 0, 1);
+    }
+
+    public void recordBatch(String username, GameBatch batch) {
+        leaderboard.record(username, batch.getWins(), batch.size());
+    }
+
+    public List<LeaderboardEntry> getLeaderboard(Ranking ranking, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw DomainException.invalidLeaderboard(
+                    String.format("Limit must be between 1 and %d", maxLimit));
+        }
+        return leaderboard.top(ranking == null ? Ranking.WINS : ranking, limit);
+    }
+}
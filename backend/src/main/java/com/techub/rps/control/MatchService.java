@@ -0,0 +1,204 @@
+package com.techub.rps.control;
+
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.matchmaking.MatchTicket;
+import com.techub.rps.control.matchmaking.Matchmaker;
+import com.techub.rps.control.model.GameIdGenerator;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.PvpGame;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.ports.GameHistoryPort;
+import com.techub.rps.control.ports.MetricsProvider;
+import com.techub.rps.control.ports.RandomHandProvider;
+import com.techub.rps.control.ports.UserStatisticsPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Player-vs-player rounds. A player either pairs with the oldest waiting player right away and
+ * plays the round on the spot, or waits up to {@code app.pvp.wait-timeout} to be picked up.
+ * Players nobody picks up play against the computer instead.
+ * <p>
+ * The round is scored once; both players' statistics are updated from the same game id and
+ * record, the waiting player's copy mirrored to their side, in a single write so neither player
+ * keeps a round the other lost. Waiting holds no thread: {@link #play} returns the pending game,
+ * and the timeout runs on a small scheduler, which also plays the computer rounds.
+ */
+@Service
+@Slf4j
+public class MatchService {
+
+    private final Matchmaker matchmaker = new Matchmaker();
+    private final RandomHandProvider randomHandProvider;
+    private final MetricsProvider metricsPort;
+    private final UserStatisticsPort userStatisticsPort;
+    private final RuleSet ruleSet;
+    private final GameIdGenerator gameIdGenerator;
+    private final GameHistoryPort gameHistoryPort;
+    private final LeaderboardService leaderboardService;
+    private final long waitTimeoutNanos;
+    private final ScheduledThreadPoolExecutor timeouts;
+
+    public MatchService(RandomHandProvider randomHandProvider,
+                        MetricsProvider metricsPort,
+                        UserStatisticsPort userStatisticsPort,
+                        RuleSet ruleSet,
+                        GameIdGenerator gameIdGenerator,
+                        GameHistoryPort gameHistoryPort,
+                        LeaderboardService leaderboardService,
+                        @Value("${app.pvp.wait-timeout:2s}") Duration waitTimeout,
+                        @Value("${app.pvp.fallback-threads:4}") int fallbackThreads) {
+        this.randomHandProvider = randomHandProvider;
+        this.metricsPort = metricsPort;
+        this.userStatisticsPort = userStatisticsPort;
+        this.ruleSet = ruleSet;
+        this.gameIdGenerator = gameIdGenerator;
+        this.gameHistoryPort = gameHistoryPort;
+        this.leaderboardService = leaderboardService;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.timeouts = new ScheduledThreadPoolExecutor(fallbackThreads, runnable -> {
+            Thread thread = new Thread(runnable, "pvp-timeout-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // most waits end with a pairing, so their timeouts are cancelled rather than run
+        this.timeouts.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Submits the player's hand. Invalid requests are rejected right away; everything else
+     * completes the returned future, with the game or with a {@link DomainException}.
+     */
+    public CompletableFuture<PvpGame> play(String username, Hand playerHand) {
+        long startNanos = metricsPort.startTimer();
+
+        CompletableFuture<PvpGame> game;
+        try {
+            GameService.validateUsername(username);
+            validatePlayerHand(playerHand);
+
+            MatchTicket ticket = new MatchTicket(username, playerHand);
+            MatchTicket opponent = matchmaker.pairOrEnqueue(ticket);
+            game = opponent != null ? CompletableFuture.completedFuture(playRound(opponent, ticket)) : await(ticket);
+        } catch (RuntimeException ex) {
+            metricsPort.stopTimer(startNanos);
+            throw failure(ex);
+        }
+
+        return game.handle((result, ex) -> {
+            metricsPort.stopTimer(startNanos);
+            if (ex != null) {
+                throw failure(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            }
+            return result;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeouts.shutdownNow();
+    }
+
+    private RuntimeException failure(Throwable ex) {
+        if (ex instanceof DomainException domainException) {
+            metricsPort.recordError(domainException.getErrorType() == DomainException.ErrorType.CLIENT_ERROR
+                    ? "pvp_client_error"
+                    : "pvp_error");
+            return domainException;
+        }
+        metricsPort.recordError("pvp_error");
+        log.error("Failed to play player-vs-player game", ex);
+        return DomainException.gameError("Failed to play game: " + ex.getMessage(), ex);
+    }
+
+    private PvpGame playRound(MatchTicket waiting, MatchTicket arriving) {
+        try {
+            long gameId = gameIdGenerator.nextId();
+            long record = GameRecord.play(ruleSet, arriving.getHand(), waiting.getHand(), System.currentTimeMillis());
+            long mirrored = GameRecord.mirror(record);
+
+            userStatisticsPort.updateStatistics(arriving.getUsername(), record, waiting.getUsername(), mirrored, gameId);
+            gameHistoryPort.recordGame(arriving.getUsername(), gameId, record);
+            gameHistoryPort.recordGame(waiting.getUsername(), gameId, mirrored);
+            leaderboardService.recordGame(arriving.getUsername(), record);
+            leaderboardService.recordGame(waiting.getUsername(), mirrored);
+            metricsPort.recordGamePlayed(record);
+            metricsPort.recordMatchWait(System.nanoTime() - waiting.getCreatedNanos(), true);
+
+            if (log.isInfoEnabled()) {
+                log.info("PvP result - ID: {}, {} ({}) vs {} ({}): {}", gameId,
+                        arriving.getUsername(), arriving.getHand(), waiting.getUsername(), waiting.getHand(),
+                        GameRecord.result(record));
+            }
+
+            waiting.complete(PvpGame.of(gameId, mirrored, arriving.getUsername()));
+            return PvpGame.of(gameId, record, waiting.getUsername());
+        } catch (RuntimeException ex) {
+            waiting.fail(ex);
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<PvpGame> await(MatchTicket ticket) {
+        ScheduledFuture<?> timeout;
+        try {
+            timeout = timeouts.schedule(() -> expire(ticket), waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ex) {
+            matchmaker.expire(ticket);
+            throw DomainException.gameError("Player-vs-player games are shutting down", ex);
+        }
+        ticket.getResult().whenComplete((game, ex) -> timeout.cancel(false));
+        return ticket.getResult();
+    }
+
+    private void expire(MatchTicket ticket) {
+        if (!matchmaker.expire(ticket)) {
+            // paired between the timeout and the expiry; the opponent is completing the result
+            return;
+        }
+        try {
+            ticket.complete(playComputer(ticket));
+        } catch (RuntimeException ex) {
+            ticket.fail(ex);
+        }
+    }
+
+    private PvpGame playComputer(MatchTicket ticket) {
+        Hand computerHand = randomHandProvider.chooseHand(ticket.getUsername());
+        long gameId = gameIdGenerator.nextId();
+        long record = GameRecord.play(ruleSet, ticket.getHand(), computerHand, System.currentTimeMillis());
+
+        userStatisticsPort.updateStatistics(ticket.getUsername(), gameId, record);
+        gameHistoryPort.recordGame(ticket.getUsername(), gameId, record);
+        leaderboardService.recordGame(ticket.getUsername(), record);
+        metricsPort.recordGamePlayed(record);
+        metricsPort.recordMatchWait(System.nanoTime() - ticket.getCreatedNanos(), false);
+
+        log.debug("No opponent for {} within the wait timeout, played against the computer", ticket.getUsername());
+        return PvpGame.of(gameId, record, null);
+    }
+
+    private void validatePlayerHand(Hand playerHand) {
+        if (playerHand == null) {
+            throw DomainException.invalidHand("Player hand cannot be null");
+        }
+        // checked before queueing, so an opponent never gets paired with an unplayable hand
+        if (!ruleSet.contains(playerHand)) {
+            throw DomainException.invalidHand(
+                    String.format("Hand %s is not available in the %s rule set", playerHand, ruleSet));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.techub.rps.control;
+
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.tournament.Tournament;
+import com.techub.rps.control.tournament.TournamentResult;
+import com.techub.rps.control.tournament.TournamentStrategy;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs offline strategy tournaments on a dedicated {@link ForkJoinPool}, so a long simulation
+ * never competes with the common pool. Only one tournament runs at a time.
+ */
+@Service
+@Slf4j
+public class TournamentService {
+
+    private final RuleSet ruleSet;
+    private final long maxRounds;
+    private final ForkJoinPool pool;
+    private final Tournament tournament;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public TournamentService(RuleSet ruleSet,
+                             @Value("${app.tournament.parallelism:0}") int parallelism,
+                             @Value("${app.tournament.max-rounds:10000000000}") long maxRounds) {
+        this.ruleSet = ruleSet;
+        this.maxRounds = maxRounds;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.tournament = new Tournament(pool, ruleSet);
+    }
+
+    /**
+     * Plays {@code rounds} rounds of {@code player} against {@code opponent}. A {@code null} seed
+     * picks a random one; it is part of the result so the run can be repeated.
+     */
+    public TournamentResult run(TournamentStrategy player, TournamentStrategy opponent, long rounds, Long seed) {
+        if (player == null || opponent == null) {
+            throw DomainException.invalidTournament("Both strategies are required");
+        }
+        if (rounds < 1 || rounds > maxRounds) {
+            throw DomainException.invalidTournament("Rounds must be between 1 and " + maxRounds + ", got " + rounds);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw DomainException.tournamentInProgress("Another tournament is still running");
+        }
+
+        try {
+            long actualSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+            log.info("Starting tournament: {} vs {}, {} rounds on {} threads (seed: {})",
+                    player, opponent, rounds, pool.getParallelism(), actualSeed);
+
+            TournamentResult result = tournament.run(player, opponent, rounds, actualSeed);
+
+            log.info("Tournament finished: {} vs {} - wins: {}, losses: {}, draws: {} in {} ms "
+                            + "({} rounds/s, {} rounds/s per core)",
+                    player, opponent, result.wins(), result.losses(), result.draws(),
+                    result.elapsed().toMillis(),
+                    String.format("%.0f", result.roundsPerSecond()),
+                    String.format("%.0f", result.roundsPerSecondPerCore()));
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -3,7 +3,6 @@ package com.techub.rps.control;
 import com.techub.rps.control.exception.DomainException;
 import com.techub.rps.control.model.User;
 import com.techub.rps.control.ports.UserRegistrationPort;
-import com.techub.rps.control.ports.UserStatisticsPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,20 +13,17 @@ import org.springframework.stereotype.Service;
 public class UserRegistrationService {
 
     private final UserRegistrationPort userRegistrationPort;
-    private final UserStatisticsPort userStatisticsPort;
 
     public User registerUser(String username) {
         log.info("Registering user: {}", username);
 
         validateUsername(username);
 
-        if (userRegistrationPort.usernameExists(username)) {
-            log.warn("Username already exists: {}", username);
-            throw DomainException.invalidUsername("Username already exists: " + username);
-        }
-
-        User user = userRegistrationPort.registerUser(username);
-        userStatisticsPort.initializeStatistics(username);
+        User user = userRegistrationPort.registerUser(username)
+                .orElseThrow(() -> {
+                    log.warn("Username already exists: {}", username);
+                    return DomainException.invalidUsername("Username already exists: " + username);
+                });
         log.info("User registered successfully: {}", username);
 
         return user;
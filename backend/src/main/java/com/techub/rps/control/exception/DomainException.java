@@ -25,6 +25,26 @@ public class DomainException extends RuntimeException {
     }
 
 
+    public static DomainException invalidBatch(String message) {
+        return new DomainException("INVALID_BATCH", message, ErrorType.CLIENT_ERROR);
+    }
+
+    public static DomainException invalidTournament(String message) {
+        return new DomainException("INVALID_TOURNAMENT", message, ErrorType.CLIENT_ERROR);
+    }
+
+    public static DomainException tournamentInProgress(String message) {
+        return new DomainException("TOURNAMENT_IN_PROGRESS", message, ErrorType.CLIENT_ERROR);
+    }
+
+    public static DomainException invalidLeaderboard(String message) {
+        return new DomainException("INVALID_LEADERBOARD", message, ErrorType.CLIENT_ERROR);
+    }
+
+    public static DomainException invalidHistoryQuery(String message) {
+        return new DomainException("INVALID_HISTORY_QUERY", message, ErrorType.CLIENT_ERROR);
+    }
+
     public static DomainException gameError(String message, Throwable cause) {
         return new DomainException("GAME_ERROR", message, cause, ErrorType.SERVER_ERROR);
     }
@@ -0,0 +1,125 @@
+package com.techub.rps.control.leaderboard;
+
+import com.techub.rps.control.model.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory ranking of every player, kept in two {@link ConcurrentSkipListSet}s (one per
+ * {@link Ranking}). Standings are immutable; an update replaces a player's standing in both sets,
+ * which is O(log n), and reading the top k is O(log n + k) without any locking.
+ * <p>
+ * Updates of the same player are serialized through {@link ConcurrentHashMap#compute}. The new
+ * standing is inserted before the old one is removed, so a concurrent reader may briefly see a
+ * player twice (the duplicate is skipped) but never misses one.
+ */
+public final class Leaderboard {
+
+    private static final Comparator<Standing> BY_WINS = Comparator
+            .comparingInt(Standing::wins).reversed()
+            .thenComparingInt(Standing::gamesPlayed)
+            .thenComparing(Standing::username);
+
+    // compares wins / gamesPlayed exactly by cross-multiplying. Both orders cover every field, so
+    // two standings only compare equal when they are equal; the sets rely on that in replace()
+    private static final Comparator<Standing> BY_WIN_RATE = ((Comparator<Standing>) (a, b) -> Long.compare(
+            (long) b.wins() * a.gamesPlayed(), (long) a.wins() * b.gamesPlayed()))
+            .thenComparing(Comparator.comparingInt(Standing::wins).reversed())
+            .thenComparing(Comparator.comparingInt(Standing::gamesPlayed).reversed())
+            .thenComparing(Standing::username);
+
+    private final int minGamesForWinRate;
+    private final ConcurrentHashMap<String, Standing> standings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Standing> byWins = new ConcurrentSkipListSet<>(BY_WINS);
+    private final ConcurrentSkipListSet<Standing> byWinRate = new ConcurrentSkipListSet<>(BY_WIN_RATE);
+
+    /**
+     * @param minGamesForWinRate games a player needs before showing up in the {@link Ranking#WIN_RATE}
+     *                           ranking, so one lucky round does not top it
+     */
+    public Leaderboard(int minGamesForWinRate) {
+        this.minGamesForWinRate = Math.max(1, minGamesForWinRate);
+    }
+
+    /**
+     * Adds the outcome of new games to the player's standing.
+     */
+    public void record(String username, int wins, int gamesPlayed) {
+        standings.compute(username, (name, current) -> current == null
+                ? replace(null, new Standing(name, wins, gamesPlayed))
+                : replace(current, new Standing(name, current.wins() + wins, current.gamesPlayed() + gamesPlayed)));
+    }
+
+    /**
+     * Sets the player's standing to the stored totals, used when rebuilding from the database.
+     */
+    public void load(String username, int wins, int gamesPlayed) {
+        standings.compute(username, (name, current) -> replace(current, new Standing(name, wins, gamesPlayed)));
+    }
+
+    public void clear() {
+        standings.clear();
+        byWins.clear();
+        byWinRate.clear();
+    }
+
+    /**
+     * The first {@code limit} players of the ranking, ranked from 1.
+     */
+    public List<LeaderboardEntry> top(Ranking ranking, int limit) {
+        ConcurrentSkipListSet<Standing> ranked = ranking == Ranking.WIN_RATE ? byWinRate : byWins;
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, 128));
+        Set<String> seen = new HashSet<>();
+        for (Standing standing : ranked) {
+            if (entries.size() == limit) {
+                break;
+            }
+            if (!seen.add(standing.username())) {
+                continue;
+            }
+            entries.add(LeaderboardEntry.builder()
+                    .rank(entries.size() + 1)
+                    .username(standing.username())
+                    .wins(standing.wins())
+                    .gamesPlayed(standing.gamesPlayed())
+                    .winRate(standing.winRate())
+                    .build());
+        }
+        return entries;
+    }
+
+    /**
+     * Number of ranked players.
+     */
+    public int size() {
+        return standings.size();
+    }
+
+    private Standing replace(Standing current, Standing next) {
+        if (next.equals(current)) {
+            return current;
+        }
+        byWins.add(next);
+        if (next.gamesPlayed() >= minGamesForWinRate) {
+            byWinRate.add(next);
+        }
+        if (current != null) {
+            byWins.remove(current);
+            byWinRate.remove(current);
+        }
+        return next;
+    }
+
+    private record Standing(String username, int wins, int gamesPlayed) {
+
+        double winRate() {
+            return gamesPlayed == 0 ? 0.0 : (double) wins / gamesPlayed;
+        }
+    }
+}
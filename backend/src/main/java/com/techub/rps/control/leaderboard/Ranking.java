@@ -0,0 +1,13 @@
+package com.techub.rps.control.leaderboard;
+
+/**
+ * Orders in which the leaderboard can be read.
+ */
+public enum Ranking {
+
+    /** Most wins first; fewer games played breaks ties. */
+    WINS,
+
+    /** Highest share of wins first, among players with enough games; more wins breaks ties. */
+    WIN_RATE
+}
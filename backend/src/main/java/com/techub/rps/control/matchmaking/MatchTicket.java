@@ -0,0 +1,59 @@
+package com.techub.rps.control.matchmaking;
+
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.PvpGame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A player's submitted hand while it waits in the {@link Matchmaker}. A ticket is claimed
+ * exactly once, either by the player that pairs with it or by its own timeout, so the two
+ * can never both happen.
+ */
+public final class MatchTicket {
+
+    private final String username;
+    private final Hand hand;
+    private final long createdNanos;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final CompletableFuture<PvpGame> result = new CompletableFuture<>();
+
+    public MatchTicket(String username, Hand hand) {
+        this.username = username;
+        this.hand = hand;
+        this.createdNanos = System.nanoTime();
+    }
+
+    boolean claim() {
+        return !claimed.get() && claimed.compareAndSet(false, true);
+    }
+
+    boolean isClaimed() {
+        return claimed.get();
+    }
+
+    public void complete(PvpGame game) {
+        result.complete(game);
+    }
+
+    public void fail(Throwable cause) {
+        result.completeExceptionally(cause);
+    }
+
+    public CompletableFuture<PvpGame> getResult() {
+        return result;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Hand getHand() {
+        return hand;
+    }
+
+    public long getCreatedNanos() {
+        return createdNanos;
+    }
+}
@@ -0,0 +1,85 @@
+package com.techub.rps.control.matchmaking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Lock-free pairing of waiting players. Arriving tickets take the oldest waiting ticket from a
+ * {@link ConcurrentLinkedDeque} and claim it with a CAS; tickets that were claimed by their
+ * timeout in the meantime are simply dropped. Only when no claimable ticket is left does the
+ * arriving ticket queue up itself. The player's own earlier tickets are passed over and put
+ * back at the head, so they keep their place in line.
+ * <p>
+ * Two players that arrive at an empty queue at the same instant may both queue up and wait
+ * for the next arrival, as may a player arriving while another one's own tickets are briefly
+ * out of the queue; under real traffic that next arrival is microseconds away.
+ */
+public final class Matchmaker {
+
+    private final ConcurrentLinkedDeque<MatchTicket> waiting = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Pairs the ticket with the oldest waiting one, or queues it.
+     *
+     * @return the claimed opponent ticket, or {@code null} if the ticket now waits in the queue
+     */
+    public MatchTicket pairOrEnqueue(MatchTicket ticket) {
+        List<MatchTicket> own = null;
+        MatchTicket opponent = null;
+        MatchTicket candidate;
+        while ((candidate = waiting.poll()) != null) {
+            if (candidate.getUsername().equals(ticket.getUsername())) {
+                // nobody plays against themselves; the earlier ticket keeps waiting
+                if (own == null) {
+                    own = new ArrayList<>();
+                }
+                own.add(candidate);
+            } else if (candidate.claim()) {
+                opponent = candidate;
+                break;
+            }
+        }
+        if (own != null) {
+            for (int i = own.size() - 1; i >= 0; i--) {
+                if (!own.get(i).isClaimed()) {
+                    waiting.offerFirst(own.get(i));
+                }
+            }
+        }
+        if (opponent == null) {
+            waiting.offer(ticket);
+        }
+        return opponent;
+    }
+
+    /**
+     * Claims a waiting ticket for its timeout.
+     *
+     * @return {@code false} if an opponent claimed the ticket first, whose result is then on its way
+     */
+    public boolean expire(MatchTicket ticket) {
+        if (!ticket.claim()) {
+            return false;
+        }
+        // timeouts mostly happen while the queue is short, so the linear removal stays cheap
+        waiting.remove(ticket);
+        return true;
+    }
+
+    /**
+     * Queues the ticket without pairing it, the way two players arriving at the same instant can
+     * end up queued behind each other. For tests.
+     */
+    void enqueue(MatchTicket ticket) {
+        waiting.offer(ticket);
+    }
+
+    /**
+     * Number of queued tickets, including ones already claimed but not yet dropped. Linear in
+     * the queue length; meant for tests and diagnostics.
+     */
+    public int queued() {
+        return waiting.size();
+    }
+}
@@ -1,37 +1,40 @@
 package com.techub.rps.control.model;
 
-import com.techub.rps.control.exception.DomainException;
-import lombok.Builder;
 import lombok.Value;
 
 import java.time.Instant;
-import java.util.UUID;
 
-@Value
-@Builder
+/**
+ * A single round as handed out of the domain. Internally a round travels as its id plus a
+ * packed {@link GameRecord}; this holder is only created where an object is actually needed,
+ * such as the API response.
+ */
+@Value(staticConstructor = "of")
 public class Game {
-    String gameId;
-    Hand playerHand;
-    Hand computerHand;
-    GameResult result;
-    Instant timestamp;
-
-    public static Game play(Hand playerHand, Hand computerHand) {
-        if (playerHand == null) {
-            throw DomainException.invalidHand("Player hand cannot be null");
-        }
-        if (computerHand == null) {
-            throw DomainException.invalidHand("Computer hand cannot be null");
-        }
-
-        GameResult result = playerHand.playAgainst(computerHand);
-
-        return Game.builder()
-                .gameId(UUID.randomUUID().toString())
-                .playerHand(playerHand)
-                .computerHand(computerHand)
-                .result(result)
-                .timestamp(Instant.now())
-                .build();
+    long gameId;
+    long record;
+
+    public static Game play(long gameId, Hand playerHand, Hand computerHand) {
+        return play(gameId, RuleSet.CLASSIC, playerHand, computerHand);
+    }
+
+    public static Game play(long gameId, RuleSet ruleSet, Hand playerHand, Hand computerHand) {
+        return of(gameId, GameRecord.play(ruleSet, playerHand, computerHand, System.currentTimeMillis()));
+    }
+
+    public Hand getPlayerHand() {
+        return GameRecord.playerHand(record);
+    }
+
+    public Hand getComputerHand() {
+        return GameRecord.computerHand(record);
+    }
+
+    public GameResult getResult() {
+        return GameRecord.result(record);
+    }
+
+    public Instant getTimestamp() {
+        return GameRecord.timestamp(record);
     }
 }
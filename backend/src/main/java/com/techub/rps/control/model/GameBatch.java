@@ -0,0 +1,69 @@
+package com.techub.rps.control.model;
+
+import com.techub.rps.control.exception.DomainException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Several rounds played by one user in a single request. Rounds are kept as parallel arrays and
+ * the totals are counted while scoring, so the whole batch is recorded as one statistics delta.
+ * The batch has one id, which becomes the user's last game id.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GameBatch {
+    private final long gameId;
+    private final Hand[] playerHands;
+    private final Hand[] computerHands;
+    private final GameResult[] results;
+    private final int wins;
+    private final int losses;
+    private final int draws;
+    private final Instant timestamp;
+
+    public static GameBatch play(long gameId, RuleSet ruleSet, Hand[] playerHands, Hand[] computerHands) {
+        if (playerHands == null || playerHands.length == 0) {
+            throw DomainException.invalidBatch("At least one player hand is required");
+        }
+        if (computerHands == null || computerHands.length != playerHands.length) {
+            throw DomainException.randomGenerationError("Expected one computer hand per round");
+        }
+
+        GameResult[] results = new GameResult[playerHands.length];
+        int wins = 0;
+        int losses = 0;
+        int draws = 0;
+
+        for (int i = 0; i < playerHands.length; i++) {
+            Hand playerHand = playerHands[i];
+            Hand computerHand = computerHands[i];
+            if (playerHand == null || !ruleSet.contains(playerHand)) {
+                throw DomainException.invalidHand(
+                        String.format("Hand %s at round %d is not available in the %s rule set", playerHand, i, ruleSet));
+            }
+            if (computerHand == null || !ruleSet.contains(computerHand)) {
+                throw DomainException.randomGenerationError(
+                        String.format("Computer hand %s at round %d is not available in the %s rule set",
+                                computerHand, i, ruleSet));
+            }
+
+            GameResult result = ruleSet.play(playerHand, computerHand);
+            results[i] = result;
+            switch (result) {
+                case WIN -> wins++;
+                case LOSE -> losses++;
+                case DRAW -> draws++;
+            }
+        }
+
+        return new GameBatch(gameId, playerHands, computerHands, results,
+                wins, losses, draws, Instant.now());
+    }
+
+    public int size() {
+        return results.length;
+    }
+}
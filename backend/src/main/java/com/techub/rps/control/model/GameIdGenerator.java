@@ -0,0 +1,63 @@
+package com.techub.rps.control.model;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style 64-bit game ids: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of
+ * node id and a 12 bit sequence. Ids are unique across nodes without coordination as long as
+ * every node has its own id, and they sort by creation time.
+ * <p>
+ * Timestamp and sequence are advanced together in one {@code AtomicLong}. When the sequence of a
+ * millisecond is used up, or the clock moves backwards, the generator keeps counting on the last
+ * timestamp instead of blocking, so ids stay strictly increasing per node.
+ */
+public final class GameIdGenerator {
+
+    public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long EPOCH_MILLIS = EPOCH.toEpochMilli();
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong lastState = new AtomicLong();
+
+    public GameIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    GameIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    String.format("Node id must be between 0 and %d, got %d", MAX_NODE_ID, nodeId));
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        long candidate = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = lastState.get();
+            next = Math.max(candidate, last + 1);
+        } while (!lastState.compareAndSet(last, next));
+
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    public static Instant timestampOf(long gameId) {
+        return Instant.ofEpochMilli((gameId >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    public static int nodeIdOf(long gameId) {
+        return (int) ((gameId >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
@@ -0,0 +1,93 @@
+package com.techub.rps.control.model;
+
+import com.techub.rps.control.exception.DomainException;
+
+import java.time.Instant;
+
+/**
+ * A played round packed into one {@code long}, so the play path can pass games around
+ * without allocating:
+ * <pre>
+ *   bits 0-2   player hand ordinal
+ *   bits 3-5   computer hand ordinal
+ *   bits 6-7   result ordinal
+ *   bits 8-63  epoch milliseconds
+ * </pre>
+ */
+public final class GameRecord {
+
+    private static final Hand[] HANDS = Hand.values();
+    private static final GameResult[] RESULTS = GameResult.values();
+
+    private static final int HAND_BITS = 3;
+    private static final int RESULT_BITS = 2;
+    private static final int COMPUTER_SHIFT = HAND_BITS;
+    private static final int RESULT_SHIFT = 2 * HAND_BITS;
+    private static final int TIME_SHIFT = RESULT_SHIFT + RESULT_BITS;
+    private static final long HAND_MASK = (1L << HAND_BITS) - 1;
+    private static final long RESULT_MASK = (1L << RESULT_BITS) - 1;
+
+    private GameRecord() {
+    }
+
+    /**
+     * Validates both hands against the rule set and scores the round.
+     */
+    public static long play(RuleSet ruleSet, Hand playerHand, Hand computerHand, long epochMillis) {
+        if (playerHand == null) {
+            throw DomainException.invalidHand("Player hand cannot be null");
+        }
+        if (computerHand == null) {
+            throw DomainException.invalidHand("Computer hand cannot be null");
+        }
+        if (!ruleSet.contains(playerHand)) {
+            throw DomainException.invalidHand(
+                    String.format("Hand %s is not available in the %s rule set", playerHand, ruleSet));
+        }
+        if (!ruleSet.contains(computerHand)) {
+            throw DomainException.randomGenerationError(
+                    String.format("Computer hand %s is not available in the %s rule set", computerHand, ruleSet));
+        }
+
+        return pack(playerHand, computerHand, ruleSet.play(playerHand, computerHand), epochMillis);
+    }
+
+    public static long pack(Hand playerHand, Hand computerHand, GameResult result, long epochMillis) {
+        return epochMillis << TIME_SHIFT
+                | (long) result.ordinal() << RESULT_SHIFT
+                | (long) computerHand.ordinal() << COMPUTER_SHIFT
+                | playerHand.ordinal();
+    }
+
+    /**
+     * The same round seen from the other side: hands swapped and the result inverted.
+     */
+    public static long mirror(long record) {
+        GameResult mirrored = switch (result(record)) {
+            case WIN -> GameResult.LOSE;
+            case LOSE -> GameResult.WIN;
+            case DRAW -> GameResult.DRAW;
+        };
+        return pack(computerHand(record), playerHand(record), mirrored, epochMillis(record));
+    }
+
+    public static Hand playerHand(long record) {
+        return HANDS[(int) (record & HAND_MASK)];
+    }
+
+    public static Hand computerHand(long record) {
+        return HANDS[(int) ((record >>> COMPUTER_SHIFT) & HAND_MASK)];
+    }
+
+    public static GameResult result(long record) {
+        return RESULTS[(int) ((record >>> RESULT_SHIFT) & RESULT_MASK)];
+    }
+
+    public static long epochMillis(long record) {
+        return record >>> TIME_SHIFT;
+    }
+
+    public static Instant timestamp(long record) {
+        return Instant.ofEpochMilli(epochMillis(record));
+    }
+}
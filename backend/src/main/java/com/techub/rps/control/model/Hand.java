@@ -3,24 +3,26 @@ package com.techub.rps.control.model;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Every hand known to the game. Which of them can actually be played is decided by the
+ * active {@link RuleSet}.
+ */
 public enum Hand {
     ROCK,
     PAPER,
-    SCISSORS;
+    SCISSORS,
+    LIZARD,
+    SPOCK;
 
     public static List<Hand> getAllHands() {
         return Arrays.asList(values());
     }
 
+    /**
+     * Scores this hand against the full hand vocabulary. {@link RuleSet#LIZARD_SPOCK} extends
+     * {@link RuleSet#CLASSIC} without changing any classic outcome, so its table covers every pair.
+     */
     public GameResult playAgainst(Hand opponent) {
-        if (this == opponent) {
-            return GameResult.DRAW;
-        }
-
-        return switch (this) {
-            case ROCK -> opponent == SCISSORS ? GameResult.WIN : GameResult.LOSE;
-            case PAPER -> opponent == ROCK ? GameResult.WIN : GameResult.LOSE;
-            case SCISSORS -> opponent == PAPER ? GameResult.WIN : GameResult.LOSE;
-        };
+        return RuleSet.LIZARD_SPOCK.play(this, opponent);
     }
 }
@@ -0,0 +1,20 @@
+package com.techub.rps.control.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Position in a user's game history: the key of the last round of a page. The next page starts
+ * right after it in (played at, game id, round) order, newest first.
+ */
+@Value(staticConstructor = "of")
+public class HistoryCursor {
+    Instant playedAt;
+    long gameId;
+    int round;
+
+    public static HistoryCursor after(PlayedRound round) {
+        return of(round.getPlayedAt(), round.getGameId(), round.getRound());
+    }
+}
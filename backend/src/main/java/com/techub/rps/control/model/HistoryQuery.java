@@ -0,0 +1,16 @@
+package com.techub.rps.control.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A validated request for one page of a user's game history. {@code before} is {@code null}
+ * for the first page.
+ */
+@Value
+@Builder
+public class HistoryQuery {
+    String username;
+    HistoryCursor before;
+    int limit;
+}
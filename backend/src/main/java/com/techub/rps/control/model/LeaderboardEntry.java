@@ -0,0 +1,14 @@
+package com.techub.rps.control.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class LeaderboardEntry {
+    int rank;
+    String username;
+    int wins;
+    int gamesPlayed;
+    double winRate;
+}
@@ -0,0 +1,21 @@
+package com.techub.rps.control.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * One round from a user's game history, seen from that user's side. Rounds of a batch share
+ * the game id and are told apart by {@code round}.
+ */
+@Value
+@Builder
+public class PlayedRound {
+    long gameId;
+    int round;
+    Hand playerHand;
+    Hand opponentHand;
+    GameResult result;
+    Instant playedAt;
+}
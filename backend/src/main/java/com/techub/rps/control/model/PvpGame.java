@@ -0,0 +1,37 @@
+package com.techub.rps.control.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * One player's view of a player-vs-player round. Both players share the game id; each gets
+ * the {@link GameRecord} from their own side, with the opponent's hand in the computer slot.
+ * When no opponent turned up in time the computer plays instead and {@code opponent} is {@code null}.
+ */
+@Value(staticConstructor = "of")
+public class PvpGame {
+    long gameId;
+    long record;
+    String opponent;
+
+    public Hand getPlayerHand() {
+        return GameRecord.playerHand(record);
+    }
+
+    public Hand getOpponentHand() {
+        return GameRecord.computerHand(record);
+    }
+
+    public GameResult getResult() {
+        return GameRecord.result(record);
+    }
+
+    public Instant getTimestamp() {
+        return GameRecord.timestamp(record);
+    }
+
+    public boolean isAgainstComputer() {
+        return opponent == null;
+    }
+}
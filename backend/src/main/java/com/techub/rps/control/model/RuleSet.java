@@ -0,0 +1,76 @@
+package com.techub.rps.control.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Game variants, each given as a cycle of an odd number of hands in which every hand beats the
+ * hands an odd number of steps ahead of it. For three hands that is plain Rock Paper Scissors,
+ * for five it is Rock Paper Scissors Lizard Spock.
+ * <p>
+ * The cycle is compiled once into a flat {@code byte[N*N]} table indexed by hand ordinals,
+ * so scoring a round is a single array lookup.
+ */
+public enum RuleSet {
+    CLASSIC(Hand.SCISSORS, Hand.PAPER, Hand.ROCK),
+    LIZARD_SPOCK(Hand.SCISSORS, Hand.PAPER, Hand.ROCK, Hand.LIZARD, Hand.SPOCK);
+
+    // the last slot marks a pair that is not part of the rule set
+    private static final GameResult[] RESULTS = {GameResult.WIN, GameResult.LOSE, GameResult.DRAW, null};
+    private static final byte NOT_PLAYABLE = 3;
+
+    // enum constants are constructed before the static fields above, so sizes are kept per instance
+    private final int size;
+    private final List<Hand> hands;
+    private final boolean[] playable;
+    private final byte[] outcomes;
+
+    RuleSet(Hand... cycle) {
+        if (cycle.length % 2 == 0) {
+            throw new IllegalArgumentException("A rule set needs an odd number of hands, got " + cycle.length);
+        }
+        this.size = Hand.values().length;
+        this.hands = Arrays.stream(cycle).sorted().toList();
+        this.playable = new boolean[size];
+        for (Hand hand : cycle) {
+            playable[hand.ordinal()] = true;
+        }
+        this.outcomes = compile(cycle, size);
+    }
+
+    private static byte[] compile(Hand[] cycle, int size) {
+        byte[] table = new byte[size * size];
+        Arrays.fill(table, NOT_PLAYABLE);
+
+        int n = cycle.length;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int distance = Math.floorMod(j - i, n);
+                GameResult result = distance == 0
+                        ? GameResult.DRAW
+                        : distance % 2 == 1 ? GameResult.WIN : GameResult.LOSE;
+                table[cycle[i].ordinal() * size + cycle[j].ordinal()] = (byte) result.ordinal();
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Result from the player's perspective, or {@code null} when either hand is not part of
+     * this rule set. Callers validate the hands with {@link #contains(Hand)} first.
+     */
+    public GameResult play(Hand player, Hand opponent) {
+        return RESULTS[outcomes[player.ordinal() * size + opponent.ordinal()]];
+    }
+
+    public boolean contains(Hand hand) {
+        return playable[hand.ordinal()];
+    }
+
+    /**
+     * Playable hands in declaration order of {@link Hand}.
+     */
+    public List<Hand> getHands() {
+        return hands;
+    }
+}
@@ -12,6 +12,6 @@ public class UserStatistics {
     Integer wins;
     Integer losses;
     Integer draws;
-    String lastGameId;
+    Long lastGameId;
     Instant lastGamePlayedAt;
 }
@@ -0,0 +1,15 @@
+package com.techub.rps.control.ports;
+
+import com.techub.rps.control.model.GameBatch;
+
+/**
+ * Append-only record of every played round. Implementations are expected to return quickly;
+ * the rounds may be written asynchronously.
+ */
+public interface GameHistoryPort {
+    /**
+     * @param record the round packed by {@link com.techub.rps.control.model.GameRecord}, from the user's side
+     */
+    void recordGame(String username, long gameId, long record);
+    void recordBatch(String username, GameBatch batch);
+}
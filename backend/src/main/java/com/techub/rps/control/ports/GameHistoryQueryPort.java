@@ -0,0 +1,23 @@
+package com.techub.rps.control.ports;
+
+import com.techub.rps.control.model.HistoryCursor;
+import com.techub.rps.control.model.PlayedRound;
+
+import java.util.function.Consumer;
+
+public interface GameHistoryQueryPort {
+
+    boolean userExists(String username);
+
+    /**
+     * Streams up to {@code limit} rounds of the user, newest first, starting right after
+     * {@code before} or at the newest round when it is {@code null}.
+     */
+    void findRounds(String username, HistoryCursor before, int limit, Consumer<PlayedRound> consumer);
+
+    /**
+     * Rounds the user played that are missing from the history, because the history writer had
+     * to drop them.
+     */
+    long countLostRounds(String username);
+}
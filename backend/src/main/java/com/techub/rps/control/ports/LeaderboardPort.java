@@ -0,0 +1,14 @@
+package com.techub.rps.control.ports;
+
+import com.techub.rps.control.model.UserStatistics;
+
+import java.util.function.Consumer;
+
+public interface LeaderboardPort {
+    /**
+     * Streams the totals of every player, used to rebuild the in-memory leaderboard, including
+     * games the statistics store has acknowledged but not written yet. Only username, wins and
+     * games played are filled in.
+     */
+    void loadStandings(Consumer<UserStatistics> consumer);
+}
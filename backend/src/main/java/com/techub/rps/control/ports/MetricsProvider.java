@@ -1,12 +1,17 @@
 package com.techub.rps.control.ports;
 
-import com.techub.rps.control.model.Game;
-import io.micrometer.core.instrument.Timer;
+import com.techub.rps.control.model.GameBatch;
 
 public interface MetricsProvider {
 
-    void recordGamePlayed(Game game);
-    Timer.Sample startTimer();
-    void stopTimer(Timer.Sample sample);
+    void recordGamePlayed(long record);
+    void recordGamesPlayed(GameBatch batch);
+    long startTimer();
+    void stopTimer(long startNanos);
     void recordError(String errorType);
+
+    /**
+     * Time a player-vs-player ticket waited, either until an opponent took it or until its timeout.
+     */
+    void recordMatchWait(long waitNanos, boolean paired);
 }
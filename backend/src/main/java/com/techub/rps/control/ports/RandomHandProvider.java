@@ -4,4 +4,17 @@ import com.techub.rps.control.model.Hand;
 
 public interface RandomHandProvider {
     Hand getRandomHand();
+
+    /**
+     * Computer hand for the next round of the given player. Stateless providers ignore the player.
+     */
+    default Hand chooseHand(String username) {
+        return getRandomHand();
+    }
+
+    /**
+     * Called after every round with the hand the player actually played.
+     */
+    default void observe(String username, Hand playerHand) {
+    }
 }
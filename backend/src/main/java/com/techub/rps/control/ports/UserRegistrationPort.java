@@ -2,7 +2,13 @@ package com.techub.rps.control.ports;
 
 import com.techub.rps.control.model.User;
 
+import java.util.Optional;
+
 public interface UserRegistrationPort {
-    User registerUser(String username);
-    boolean usernameExists(String username);
+    /**
+     * Creates the user together with zeroed statistics.
+     *
+     * @return the new user, or empty when the username is already taken
+     */
+    Optional<User> registerUser(String username);
 }
@@ -1,10 +1,19 @@
 package com.techub.rps.control.ports;
 
-import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameBatch;
 import com.techub.rps.control.model.UserStatistics;
 
 public interface UserStatisticsPort {
-    void updateStatistics(String username, Game game);
+    /**
+     * @param record the round packed by {@link com.techub.rps.control.model.GameRecord}
+     */
+    void updateStatistics(String username, long gameId, long record);
+    void updateStatistics(String username, GameBatch batch);
+
+    /**
+     * Records one round for both players of a match: either both players' statistics are
+     * updated or neither.
+     */
+    void updateStatistics(String username, long record, String opponent, long opponentRecord, long gameId);
     UserStatistics getStatistics(String username);
-    void initializeStatistics(String username);
 }
@@ -0,0 +1,20 @@
+package com.techub.rps.control.tournament;
+
+import com.techub.rps.control.model.Hand;
+
+import java.util.SplittableRandom;
+
+/**
+ * One side of a simulated match. Instances are created per fork/join leaf and are only ever
+ * used by a single thread, so implementations may keep plain mutable state.
+ */
+public interface Strategy {
+
+    Hand next(SplittableRandom random);
+
+    /**
+     * Called after every round with both hands, seen from this strategy's side.
+     */
+    default void observe(Hand own, Hand opponent) {
+    }
+}
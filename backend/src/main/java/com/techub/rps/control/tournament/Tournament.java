@@ -0,0 +1,102 @@
+package com.techub.rps.control.tournament;
+
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * In-process tournament engine. The rounds are split into fork/join leaves of at most
+ * {@link #LEAF_ROUNDS}; every leaf plays its share as one continuous match with fresh strategy
+ * instances and its own {@link SplittableRandom}, counts into a flat {@code long[]}, and the
+ * arrays are summed on the way back up. Nothing is shared between threads while playing.
+ * <p>
+ * The random streams are split deterministically from the seed, so a seed reproduces the same
+ * counts regardless of how many threads run the leaves.
+ */
+public class Tournament {
+
+    static final int LEAF_ROUNDS = 1 << 20;
+
+    // counter layout: results by GameResult ordinal, then player hands, then opponent hands
+    static final int WIN = 0;
+    static final int LOSE = 1;
+    static final int DRAW = 2;
+    static final int PLAYER_HANDS = 3;
+    static final int OPPONENT_HANDS = PLAYER_HANDS + Hand.values().length;
+    private static final int COUNTERS = OPPONENT_HANDS + Hand.values().length;
+
+    private final ForkJoinPool pool;
+    private final RuleSet ruleSet;
+
+    public Tournament(ForkJoinPool pool, RuleSet ruleSet) {
+        this.pool = pool;
+        this.ruleSet = ruleSet;
+    }
+
+    public TournamentResult run(TournamentStrategy player, TournamentStrategy opponent, long rounds, long seed) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("A tournament needs at least one round, got " + rounds);
+        }
+
+        long startNanos = System.nanoTime();
+        long[] counters = pool.invoke(new Match(player, opponent, rounds, new SplittableRandom(seed)));
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        return TournamentResult.of(ruleSet, player, opponent, counters, seed, pool.getParallelism(), elapsedNanos);
+    }
+
+    private final class Match extends RecursiveTask<long[]> {
+
+        private final TournamentStrategy player;
+        private final TournamentStrategy opponent;
+        private final long rounds;
+        private final SplittableRandom random;
+
+        Match(TournamentStrategy player, TournamentStrategy opponent, long rounds, SplittableRandom random) {
+            this.player = player;
+            this.opponent = opponent;
+            this.rounds = rounds;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (rounds <= LEAF_ROUNDS) {
+                return play();
+            }
+
+            long half = rounds >>> 1;
+            Match left = new Match(player, opponent, half, random.split());
+            Match right = new Match(player, opponent, rounds - half, random.split());
+            left.fork();
+            long[] counters = right.compute();
+            long[] leftCounters = left.join();
+            for (int i = 0; i < COUNTERS; i++) {
+                counters[i] += leftCounters[i];
+            }
+            return counters;
+        }
+
+        private long[] play() {
+            Strategy a = player.create(ruleSet);
+            Strategy b = opponent.create(ruleSet);
+            long[] counters = new long[COUNTERS];
+
+            for (long i = 0; i < rounds; i++) {
+                Hand playerHand = a.next(random);
+                Hand opponentHand = b.next(random);
+
+                counters[playerHand.playAgainst(opponentHand).ordinal()]++;
+                counters[PLAYER_HANDS + playerHand.ordinal()]++;
+                counters[OPPONENT_HANDS + opponentHand.ordinal()]++;
+
+                a.observe(playerHand, opponentHand);
+                b.observe(opponentHand, playerHand);
+            }
+            return counters;
+        }
+    }
+}
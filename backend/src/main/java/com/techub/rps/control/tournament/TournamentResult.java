@@ -0,0 +1,53 @@
+package com.techub.rps.control.tournament;
+
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of a tournament, counted from the player's side, together with its throughput.
+ */
+public record TournamentResult(
+        RuleSet ruleSet,
+        TournamentStrategy player,
+        TournamentStrategy opponent,
+        long rounds,
+        long wins,
+        long losses,
+        long draws,
+        Map<Hand, Long> playerHands,
+        Map<Hand, Long> opponentHands,
+        long seed,
+        int parallelism,
+        Duration elapsed,
+        double roundsPerSecond,
+        double roundsPerSecondPerCore) {
+
+    static TournamentResult of(RuleSet ruleSet, TournamentStrategy player, TournamentStrategy opponent,
+                               long[] counters, long seed, int parallelism, long elapsedNanos) {
+        long rounds = counters[Tournament.WIN] + counters[Tournament.LOSE] + counters[Tournament.DRAW];
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        double roundsPerSecond = rounds / seconds;
+        return new TournamentResult(ruleSet, player, opponent, rounds,
+                counters[Tournament.WIN], counters[Tournament.LOSE], counters[Tournament.DRAW],
+                handCounts(ruleSet, counters, Tournament.PLAYER_HANDS),
+                handCounts(ruleSet, counters, Tournament.OPPONENT_HANDS),
+                seed, parallelism, Duration.ofNanos(elapsedNanos),
+                roundsPerSecond, roundsPerSecond / parallelism);
+    }
+
+    private static Map<Hand, Long> handCounts(RuleSet ruleSet, long[] counters, int offset) {
+        Map<Hand, Long> counts = new EnumMap<>(Hand.class);
+        for (Hand hand : ruleSet.getHands()) {
+            counts.put(hand, counters[offset + hand.ordinal()]);
+        }
+        return counts;
+    }
+
+    public double winRate() {
+        return rounds == 0 ? 0.0 : (wins * 100.0) / rounds;
+    }
+}
@@ -0,0 +1,121 @@
+package com.techub.rps.control.tournament;
+
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+
+import java.util.SplittableRandom;
+
+/**
+ * Built-in strategies that can be paired in a tournament. Every strategy only plays hands of
+ * the rule set it is created for.
+ */
+public enum TournamentStrategy {
+
+    /** Uniformly random, the baseline every other strategy is measured against. */
+    RANDOM {
+        @Override
+        public Strategy create(RuleSet ruleSet) {
+            Hand[] hands = hands(ruleSet);
+            return random -> hands[random.nextInt(hands.length)];
+        }
+    },
+
+    /** Always the first hand of the rule set. */
+    CONSTANT {
+        @Override
+        public Strategy create(RuleSet ruleSet) {
+            Hand hand = hands(ruleSet)[0];
+            return random -> hand;
+        }
+    },
+
+    /** Walks through the hands of the rule set in order. */
+    CYCLE {
+        @Override
+        public Strategy create(RuleSet ruleSet) {
+            Hand[] hands = hands(ruleSet);
+            return new Strategy() {
+                private int next;
+
+                @Override
+                public Hand next(SplittableRandom random) {
+                    Hand hand = hands[next];
+                    next = next + 1 == hands.length ? 0 : next + 1;
+                    return hand;
+                }
+            };
+        }
+    },
+
+    /** Repeats the opponent's previous hand. */
+    COPYCAT {
+        @Override
+        public Strategy create(RuleSet ruleSet) {
+            Hand[] hands = hands(ruleSet);
+            return new Strategy() {
+                private Hand last;
+
+                @Override
+                public Hand next(SplittableRandom random) {
+                    return last != null ? last : hands[random.nextInt(hands.length)];
+                }
+
+                @Override
+                public void observe(Hand own, Hand opponent) {
+                    last = opponent;
+                }
+            };
+        }
+    },
+
+    /** Plays a hand that beats the opponent's most frequent hand so far. */
+    FREQUENCY {
+        @Override
+        public Strategy create(RuleSet ruleSet) {
+            Hand[] hands = hands(ruleSet);
+            Hand[] counters = counters(hands);
+            return new Strategy() {
+                private final long[] counts = new long[Hand.values().length];
+                private Hand favourite;
+
+                @Override
+                public Hand next(SplittableRandom random) {
+                    return favourite != null
+                            ? counters[favourite.ordinal()]
+                            : hands[random.nextInt(hands.length)];
+                }
+
+                @Override
+                public void observe(Hand own, Hand opponent) {
+                    long count = ++counts[opponent.ordinal()];
+                    if (favourite == null || count > counts[favourite.ordinal()]) {
+                        favourite = opponent;
+                    }
+                }
+            };
+        }
+    };
+
+    public abstract Strategy create(RuleSet ruleSet);
+
+    private static Hand[] hands(RuleSet ruleSet) {
+        return ruleSet.getHands().toArray(Hand[]::new);
+    }
+
+    /**
+     * For every hand of the rule set, the first hand of the rule set that beats it, indexed by ordinal.
+     */
+    private static Hand[] counters(Hand[] hands) {
+        Hand[] counters = new Hand[Hand.values().length];
+        for (Hand theirs : hands) {
+            for (Hand mine : hands) {
+                if (mine.playAgainst(theirs) == GameResult.WIN) {
+                    counters[theirs.ordinal()] = mine;
+                    break;
+                }
+            }
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,10 @@
+-- Rounds that never made it into game_history, per user. The history writer drops rounds when
+-- its buffer is full or the user stays unknown; consumers that treat game_history as the full
+-- record (history pages, the statistics rebuild) check here. Keyed by username, since rounds of
+-- users that are not in the database yet are lost as well.
+CREATE TABLE game_history_losses (
+    username VARCHAR(50) PRIMARY KEY,
+    rounds BIGINT NOT NULL,
+    first_lost_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_lost_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
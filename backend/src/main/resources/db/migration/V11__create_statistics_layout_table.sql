@@ -0,0 +1,8 @@
+-- Which table held the live statistics counters when the application last started: users for
+-- app.statistics.store=single-row, user_statistics for every other store. On startup the
+-- counters are copied across when the store was switched between the two (StatisticsLayout).
+CREATE TABLE statistics_layout (
+    id INTEGER PRIMARY KEY,
+    live_table VARCHAR(30) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
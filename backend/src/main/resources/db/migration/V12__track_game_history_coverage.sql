@@ -0,0 +1,20 @@
+-- What game_history does not cover, for consumers that treat it as the full record (the
+-- statistics rebuild). Games played before the history was introduced are not in it.
+-- started_at is set when this migration runs: on a database that had the history table
+-- already it is later than the real start, which only makes the rebuild skip more users.
+CREATE TABLE game_history_coverage (
+    id INTEGER PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO game_history_coverage (id, started_at) VALUES (1, CURRENT_TIMESTAMP);
+
+-- Monthly partitions that were dropped, either after being moved into the history archive
+-- (archived) or at the end of their retention without it. The rounds of an unarchived month
+-- are also added per user to game_history_losses when it is dropped.
+CREATE TABLE game_history_dropped_months (
+    month DATE PRIMARY KEY,
+    archived BOOLEAN NOT NULL,
+    rounds BIGINT NOT NULL,
+    dropped_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
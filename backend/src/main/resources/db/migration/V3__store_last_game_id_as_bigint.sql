@@ -0,0 +1,4 @@
+-- Game ids are now 64-bit time-ordered numbers. The old UUID values cannot be converted,
+-- so the column is recreated; it is filled again by the next game of each user.
+ALTER TABLE user_statistics DROP COLUMN last_game_id;
+ALTER TABLE user_statistics ADD COLUMN last_game_id BIGINT;
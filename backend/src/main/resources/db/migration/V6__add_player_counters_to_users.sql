@@ -0,0 +1,21 @@
+-- UNIQUE already creates an index on users.username and user_statistics.user_id, these second
+-- indexes only had to be maintained on every write.
+DROP INDEX IF EXISTS idx_users_username;
+DROP INDEX IF EXISTS idx_user_statistics_user_id;
+
+-- Counters for the single-row layout (app.statistics.store=single-row): a play updates one users
+-- row found through the username index instead of joining user_statistics on user_id.
+ALTER TABLE users ADD COLUMN games_played INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN wins INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN losses INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN draws INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN last_game_id BIGINT;
+ALTER TABLE users ADD COLUMN last_game_played_at TIMESTAMP;
+
+UPDATE users
+SET (games_played, wins, losses, draws, last_game_id, last_game_played_at) = (
+    SELECT s.games_played, s.wins, s.losses, s.draws, s.last_game_id, s.last_game_played_at
+    FROM user_statistics s
+    WHERE s.user_id = users.id
+)
+WHERE EXISTS (SELECT 1 FROM user_statistics s WHERE s.user_id = users.id);
@@ -0,0 +1,16 @@
+-- Extra counter rows for users with a very high write rate (app.statistics.store=striped). Each
+-- write of such a user lands on one of a few slots, so concurrent games no longer queue on the
+-- single user_statistics row lock; reads add the slots on top of user_statistics.
+CREATE TABLE user_statistics_slots (
+    user_id BIGINT NOT NULL,
+    slot SMALLINT NOT NULL,
+    games_played INTEGER NOT NULL DEFAULT 0,
+    wins INTEGER NOT NULL DEFAULT 0,
+    losses INTEGER NOT NULL DEFAULT 0,
+    draws INTEGER NOT NULL DEFAULT 0,
+    last_game_id BIGINT,
+    last_game_played_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_user_statistics_slots PRIMARY KEY (user_id, slot),
+    CONSTRAINT fk_user_statistics_slots_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
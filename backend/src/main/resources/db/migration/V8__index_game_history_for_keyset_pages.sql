@@ -0,0 +1,8 @@
+-- Keyset index for paging through a user's history, newest first. It matches the ORDER BY of
+-- the history queries column for column, so every page is one index range scan starting at the
+-- cursor, and it replaces the narrower (user_id, played_at) index.
+-- On PostgreSQL an index on the partitioned table is created on every partition, including the
+-- ones added later by GameHistoryPartitionMaintainer.
+DROP INDEX idx_game_history_user_played_at;
+
+CREATE INDEX idx_game_history_user_keyset ON game_history (user_id, played_at DESC, game_id DESC, round_no DESC);
@@ -0,0 +1,8 @@
+-- Position up to which each node's game journal has been applied to user_statistics
+-- (app.statistics.store=journal). It is written in the same transaction as the projected
+-- statistics, so a restart replays exactly the entries that are not in the database yet.
+CREATE TABLE journal_checkpoint (
+    node_id INTEGER PRIMARY KEY,
+    position BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
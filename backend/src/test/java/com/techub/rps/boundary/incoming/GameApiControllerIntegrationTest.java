@@ -4,10 +4,15 @@ import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -18,8 +23,12 @@ import static org.hamcrest.Matchers.*;
 class GameApiControllerIntegrationTest {
 
     private static final String GAME_API_PATH = "/api/v1/game/play";
+    private static final String BATCH_API_PATH = "/api/v1/game/play/batch";
+    private static final String PVP_API_PATH = "/api/v1/game/pvp/play";
     private static final String USER_API_PATH = "/api/v1/game/user";
     private static final String STATISTICS_API_PATH = "/api/v1/game/statistics";
+    private static final String LEADERBOARD_API_PATH = "/api/v1/game/leaderboard";
+    private static final String HISTORY_API_PATH = "/api/v1/game/history";
     private static final String[] VALID_HANDS = {"ROCK", "PAPER", "SCISSORS"};
     private static final String[] VALID_RESULTS = {"WIN", "LOSE", "DRAW"};
     private static final String TIMESTAMP_PATTERN = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}.*";
@@ -28,6 +37,9 @@ class GameApiControllerIntegrationTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         RestAssured.port = port;
@@ -203,6 +215,97 @@ class GameApiControllerIntegrationTest {
         assertThat(gameId1).isNotEqualTo(gameId2);
     }
 
+    @Test
+    @DisplayName("POST /play should append the round to the game history")
+    void playGame_shouldWriteGameHistory() throws InterruptedException {
+        String username = "historyuser" + System.currentTimeMillis();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(createBody("PAPER", username))
+                .when()
+                .post(GAME_API_PATH)
+                .then()
+                .statusCode(200);
+
+        // rounds are written asynchronously, at the latest after app.history.max-delay
+        long deadline = System.currentTimeMillis() + 5_000;
+        Integer rows = 0;
+        while (rows == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            rows = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM game_history h JOIN users u ON u.id = h.user_id
+                    WHERE u.username = ? AND h.player_hand = 1
+                    """, Integer.class, username);
+        }
+        assertThat(rows).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /play/batch should play every round and record them together")
+    void playGameBatch_shouldReturnResultsAndUpdateStatistics() {
+        String username = "batchuser" + System.currentTimeMillis();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(createBatchBody(username, "ROCK", "PAPER", "SCISSORS", "ROCK"))
+                .when()
+                .post(BATCH_API_PATH)
+                .then()
+                .statusCode(200)
+                .body("gameId", notNullValue())
+                .body("computerHands", hasSize(4))
+                .body("computerHands", everyItem(in(VALID_HANDS)))
+                .body("results", hasSize(4))
+                .body("results", everyItem(in(VALID_RESULTS)))
+                .body("timestamp", notNullValue());
+
+        given()
+                .when()
+                .get(STATISTICS_API_PATH + "/" + username)
+                .then()
+                .statusCode(200)
+                .body("gamesPlayed", equalTo(4));
+
+        given()
+                .when()
+                .get(LEADERBOARD_API_PATH + "?limit=100")
+                .then()
+                .statusCode(200)
+                .body("ranking", equalTo("WINS"))
+                .body("entries.find { it.username == '%s' }.gamesPlayed".formatted(username), equalTo(4));
+    }
+
+    @Test
+    @DisplayName("POST /play/batch without hands should return 400")
+    void playGameBatch_withoutHands_shouldReturn400() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(createBatchBody(TEST_USERNAME))
+                .when()
+                .post(BATCH_API_PATH)
+                .then()
+                .statusCode(400)
+                .body("status", equalTo(400));
+    }
+
+    @Test
+    @DisplayName("POST /pvp/play without an opponent should fall back to the computer")
+    void playPvpGame_withoutOpponent_shouldPlayComputer() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(createBody("ROCK", "lonelyuser" + System.currentTimeMillis()))
+                .when()
+                .post(PVP_API_PATH)
+                .then()
+                .statusCode(200)
+                .body("gameId", notNullValue())
+                .body("playerHand", equalTo("ROCK"))
+                .body("opponentHand", in(VALID_HANDS))
+                .body("opponent", nullValue())
+                .body("result", in(VALID_RESULTS));
+    }
+
     @Test
     @DisplayName("POST /user should register new user")
     void registerUser_shouldReturn201() {
@@ -288,6 +391,17 @@ class GameApiControllerIntegrationTest {
                 .statusCode(404);
     }
 
+    @Test
+    @DisplayName("GET /history/{username} for non-existent user should return 404 before streaming")
+    void getHistory_withNonExistentUser_shouldReturn404() {
+        given()
+                .when()
+                .get(HISTORY_API_PATH + "/nonexistentuser")
+                .then()
+                .statusCode(404)
+                .body("errorCode", equalTo("USER_NOT_FOUND"));
+    }
+
     private String createBody(String value) {
         return createBody(value, null);
     }
@@ -302,6 +416,18 @@ class GameApiControllerIntegrationTest {
                 """, value, actualUsername);
     }
 
+    private String createBatchBody(String username, String... hands) {
+        String playerHands = Arrays.stream(hands)
+                .map(hand -> "\"" + hand + "\"")
+                .collect(Collectors.joining(", "));
+        return String.format("""
+                {
+                  "playerHands": [%s],
+                  "username": "%s"
+                }
+                """, playerHands, username);
+    }
+
     private String createUserBody(String username) {
         return String.format("""
                 {
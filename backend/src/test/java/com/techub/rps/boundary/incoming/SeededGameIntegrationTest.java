@@ -0,0 +1,59 @@
+package com.techub.rps.boundary.incoming;
+
+import com.techub.rps.boundary.outgoing.SeededHandAdapter;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.game.seeded.seed=" + SeededGameIntegrationTest.SEED)
+@ActiveProfiles({"test", "seeded"})
+@DisplayName("Seeded Game Integration Tests")
+class SeededGameIntegrationTest {
+
+    static final long SEED = 20250101L;
+
+    private static final String GAME_API_PATH = "/api/v1/game/play";
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+    }
+
+    @Test
+    @DisplayName("POST /play should return the computer hands predicted from the pinned seed")
+    void playGame_shouldReplayPinnedSeed() {
+        String username = "replayuser";
+        Hand[] hands = RuleSet.CLASSIC.getHands().toArray(Hand[]::new);
+
+        for (int round = 0; round < 5; round++) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(String.format("""
+                            {
+                              "playerHand": "ROCK",
+                              "username": "%s"
+                            }
+                            """, username))
+                    .when()
+                    .post(GAME_API_PATH)
+                    .then()
+                    .statusCode(200)
+                    .body("computerHand", equalTo(SeededHandAdapter.handFor(SEED, username, round, hands).name()));
+        }
+    }
+}
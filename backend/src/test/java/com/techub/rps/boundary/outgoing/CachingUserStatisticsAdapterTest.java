@@ -0,0 +1,160 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingUserStatisticsAdapter Tests")
+class CachingUserStatisticsAdapterTest {
+
+    @Mock
+    private UserStatisticsAdapter delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingUserStatisticsAdapter adapter;
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingUserStatisticsAdapter(delegate, meterRegistry, 1000, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("getStatistics should load from the store only once")
+    void getStatistics_shouldServeRepeatedReadsFromCache() {
+        when(delegate.getStatistics(TEST_USERNAME)).thenReturn(statistics(3));
+
+        assertThat(adapter.getStatistics(TEST_USERNAME).getGamesPlayed()).isEqualTo(3);
+        assertThat(adapter.getStatistics(TEST_USERNAME).getGamesPlayed()).isEqualTo(3);
+
+        verify(delegate, times(1)).getStatistics(TEST_USERNAME);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "statistics").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("updateStatistics should evict the cached statistics")
+    void updateStatistics_shouldEvict() {
+        when(delegate.getStatistics(TEST_USERNAME)).thenReturn(statistics(3), statistics(4));
+        adapter.getStatistics(TEST_USERNAME);
+
+        adapter.updateStatistics(TEST_USERNAME, 1L, 0L);
+
+        verify(delegate).updateStatistics(TEST_USERNAME, 1L, 0L);
+        assertThat(adapter.getStatistics(TEST_USERNAME).getGamesPlayed()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("updateStatistics should only evict once the transaction commits")
+    void updateStatistics_shouldEvictAfterCommit() {
+        when(delegate.getStatistics(TEST_USERNAME)).thenReturn(statistics(3), statistics(4));
+        adapter.getStatistics(TEST_USERNAME);
+        TransactionSynchronizationManager.initSynchronization();
+
+        adapter.updateStatistics(TEST_USERNAME, 1L, 0L);
+        assertThat(adapter.getStatistics(TEST_USERNAME).getGamesPlayed()).isEqualTo(3);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(adapter.getStatistics(TEST_USERNAME).getGamesPlayed()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("a background flush of the store should evict the users it wrote")
+    @SuppressWarnings("unchecked")
+    void flush_shouldEvictWrittenUsers() {
+        ArgumentCaptor<Consumer<Collection<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(delegate).addFlushListener(listener.capture());
+        when(delegate.getStatistics(TEST_USERNAME)).thenReturn(statistics(3), statistics(4));
+        adapter.getStatistics(TEST_USERNAME);
+
+        listener.getValue().accept(List.of(TEST_USERNAME));
+
+        assertThat(adapter.getStatistics(TEST_USERNAME).getGamesPlayed()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("getStatistics should not cache a missing user")
+    void getStatistics_shouldNotCacheFailures() {
+        when(delegate.getStatistics(TEST_USERNAME))
+                .thenThrow(DomainException.userNotFound("User not found: " + TEST_USERNAME))
+                .thenReturn(statistics(0));
+
+        assertThatThrownBy(() -> adapter.getStatistics(TEST_USERNAME)).isInstanceOf(DomainException.class);
+        assertThat(adapter.getStatistics(TEST_USERNAME).getGamesPlayed()).isZero();
+    }
+
+    @Test
+    @DisplayName("concurrent reads of a cold key should share one load")
+    void getStatistics_shouldCoalesceConcurrentLoads() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getStatistics(TEST_USERNAME)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return statistics(3);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserStatistics>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(() -> adapter.getStatistics(TEST_USERNAME)));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<UserStatistics> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS).getGamesPlayed()).isEqualTo(3);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).getStatistics(TEST_USERNAME);
+    }
+
+    private static UserStatistics statistics(int gamesPlayed) {
+        return UserStatistics.builder()
+                .username(TEST_USERNAME)
+                .gamesPlayed(gamesPlayed)
+                .wins(gamesPlayed)
+                .losses(0)
+                .draws(0)
+                .build();
+    }
+}
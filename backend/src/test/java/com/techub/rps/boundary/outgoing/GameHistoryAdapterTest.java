@@ -0,0 +1,250 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.GameHistoryEntry;
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameHistoryAdapter Tests")
+class GameHistoryAdapterTest {
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @Mock
+    private GameHistoryRepository historyRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GameHistoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = newAdapter(100, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        adapter.shutdown();
+    }
+
+    @Test
+    @DisplayName("recordGame should only queue the round")
+    void recordGame_shouldOnlyQueue() {
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+
+        verifyNoInteractions(historyRepository);
+        assertThat(meterRegistry.get("history.buffer.rounds").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("flush should write all queued rounds with one id lookup and one batch")
+    @SuppressWarnings("unchecked")
+    void flush_shouldWriteOneBatch() {
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of(TEST_USERNAME, 7L, "otheruser", 8L));
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+        adapter.recordGame("otheruser", 1L, record(GameResult.LOSE));
+        adapter.recordGame(TEST_USERNAME, 2L, record(GameResult.DRAW));
+
+        adapter.flush();
+
+        ArgumentCaptor<List<GameHistoryEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(historyRepository, times(1)).findUserIds(any());
+        verify(historyRepository, times(1)).insertAll(captor.capture(), anyMap());
+        assertThat(captor.getValue()).extracting(GameHistoryEntry::gameId).containsExactly(1L, 1L, 2L);
+        assertThat(meterRegistry.get("history.buffer.rounds").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("flush should only look up users whose id is not cached yet")
+    void flush_shouldReuseCachedUserIds() {
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of(TEST_USERNAME, 7L));
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+        adapter.flush();
+
+        adapter.recordGame(TEST_USERNAME, 2L, record(GameResult.LOSE));
+        adapter.flush();
+
+        verify(historyRepository, times(1)).findUserIds(any());
+        verify(historyRepository, times(2)).insertAll(anyList(), anyMap());
+    }
+
+    @Test
+    @DisplayName("recordBatch should queue one row per round")
+    @SuppressWarnings("unchecked")
+    void recordBatch_shouldQueueEveryRound() {
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of(TEST_USERNAME, 7L));
+        GameBatch batch = GameBatch.play(5L, RuleSet.CLASSIC,
+                new Hand[]{Hand.ROCK, Hand.PAPER, Hand.SCISSORS},
+                new Hand[]{Hand.SCISSORS, Hand.SCISSORS, Hand.SCISSORS});
+
+        adapter.recordBatch(TEST_USERNAME, batch);
+        adapter.flush();
+
+        ArgumentCaptor<List<GameHistoryEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(historyRepository).insertAll(captor.capture(), anyMap());
+        assertThat(captor.getValue()).extracting(GameHistoryEntry::round).containsExactly(0, 1, 2);
+        assertThat(captor.getValue()).extracting(entry -> GameRecord.result(entry.record()))
+                .containsExactly(GameResult.WIN, GameResult.LOSE, GameResult.DRAW);
+    }
+
+    @Test
+    @DisplayName("rounds of users not in the database yet should be retried")
+    void flush_shouldRetryUnknownUsers() {
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of());
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+
+        adapter.flush();
+
+        verify(historyRepository, never()).insertAll(anyList(), anyMap());
+        assertThat(meterRegistry.get("history.buffer.rounds").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("rounds of unknown users should be dropped once they are too old")
+    void flush_shouldDropStaleUnknownUsers() throws InterruptedException {
+        adapter.shutdown();
+        adapter = newAdapter(100, Duration.ZERO);
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of());
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+
+        adapter.flush();
+
+        assertThat(meterRegistry.get("history.buffer.rounds").gauge().value()).isZero();
+        assertThat(meterRegistry.get("history.dropped").counter().count()).isEqualTo(1.0);
+        verify(historyRepository).recordLosses(Map.of(TEST_USERNAME, 1L));
+    }
+
+    @Test
+    @DisplayName("a failed batch should stay queued")
+    void flush_shouldKeepRounds_whenBatchFails() {
+        when(historyRepository.findUserIds(any())).thenThrow(new RuntimeException("database down"));
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+
+        adapter.flush();
+
+        assertThat(meterRegistry.get("history.buffer.rounds").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("rounds of a failed batch should be dropped once they are too old")
+    void flush_shouldDropStaleRounds_whenBatchFails() throws InterruptedException {
+        adapter.shutdown();
+        adapter = newAdapter(100, Duration.ZERO);
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of(TEST_USERNAME, 7L));
+        doThrow(new CannotGetJdbcConnectionException("database down"))
+                .when(historyRepository).insertAll(anyList(), anyMap());
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+
+        adapter.flush();
+
+        assertThat(meterRegistry.get("history.buffer.rounds").gauge().value()).isZero();
+        assertThat(meterRegistry.get("history.dropped").counter().count()).isEqualTo(1.0);
+        verify(historyRepository).recordLosses(Map.of(TEST_USERNAME, 1L));
+    }
+
+    @Test
+    @DisplayName("a rejected batch should be split so only the offending round is dropped")
+    @SuppressWarnings("unchecked")
+    void flush_shouldIsolateRejectedRound() {
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of(TEST_USERNAME, 7L));
+        doAnswer(invocation -> {
+            List<GameHistoryEntry> entries = invocation.getArgument(0);
+            if (entries.stream().anyMatch(entry -> entry.gameId() == 2L)) {
+                throw new DataIntegrityViolationException("no partition for played_at");
+            }
+            return null;
+        }).when(historyRepository).insertAll(anyList(), anyMap());
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+        adapter.recordGame(TEST_USERNAME, 2L, record(GameResult.WIN));
+        adapter.recordGame(TEST_USERNAME, 3L, record(GameResult.WIN));
+
+        adapter.flush();
+
+        assertThat(meterRegistry.get("history.buffer.rounds").gauge().value()).isZero();
+        assertThat(meterRegistry.get("history.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("history.flush.rows").summary().totalAmount()).isEqualTo(2.0);
+        verify(historyRepository).recordLosses(Map.of(TEST_USERNAME, 1L));
+    }
+
+    @Test
+    @DisplayName("rounds beyond the capacity should be dropped instead of queued")
+    void recordGame_shouldDropRounds_whenFull() throws InterruptedException {
+        adapter.shutdown();
+        adapter = newAdapter(2, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            adapter.recordGame(TEST_USERNAME, i, record(GameResult.WIN));
+        }
+
+        assertThat(meterRegistry.get("history.buffer.rounds").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("history.dropped").counter().count()).isEqualTo(3.0);
+
+        adapter.flush();
+
+        verify(historyRepository).recordLosses(Map.of(TEST_USERNAME, 3L));
+    }
+
+    @Test
+    @DisplayName("losses that could not be recorded should be retried with the next flush")
+    void flush_shouldRetryLosses_whenRecordingFails() throws InterruptedException {
+        adapter.shutdown();
+        adapter = newAdapter(1, Duration.ofMinutes(1));
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of(TEST_USERNAME, 7L));
+        doThrow(new RuntimeException("database down")).doNothing().when(historyRepository).recordLosses(anyMap());
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+        adapter.recordGame(TEST_USERNAME, 2L, record(GameResult.WIN));
+        adapter.recordGame(TEST_USERNAME, 3L, record(GameResult.WIN));
+
+        adapter.flush();
+        adapter.flush();
+
+        verify(historyRepository, times(2)).recordLosses(Map.of(TEST_USERNAME, 2L));
+    }
+
+    @Test
+    @DisplayName("flush should not touch the losses table when nothing was dropped")
+    void flush_shouldNotRecordLosses_whenNothingDropped() {
+        when(historyRepository.findUserIds(any())).thenReturn(Map.of(TEST_USERNAME, 7L));
+        adapter.recordGame(TEST_USERNAME, 1L, record(GameResult.WIN));
+
+        adapter.flush();
+
+        verify(historyRepository, never()).recordLosses(anyMap());
+    }
+
+    private GameHistoryAdapter newAdapter(int capacity, Duration maxAge) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new GameHistoryAdapter(historyRepository, new UserIdCache(userRepository, meterRegistry, 1000), meterRegistry, 1000, Duration.ofHours(1), capacity, maxAge);
+    }
+
+    private static long record(GameResult result) {
+        return GameRecord.pack(Hand.ROCK, Hand.SCISSORS, result, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,130 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.archive.HistoryArchive;
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameHistoryArchiver Tests")
+class GameHistoryArchiverTest {
+
+    @Mock
+    private GameHistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HistoryArchive historyArchive;
+    private GameHistoryArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        historyArchive = new HistoryArchive(directory);
+        Clock clock = Clock.fixed(Instant.parse("2026-10-17T10:00:00Z"), ZoneOffset.UTC);
+        archiver = new GameHistoryArchiver(historyRepository, historyArchive,
+                new TransactionTemplate(transactionManager), meterRegistry, 3, 1000, clock);
+    }
+
+    @Test
+    @DisplayName("archive should move only months older than after-months and then drop them")
+    void archive_shouldArchiveAndDropOldPartitions() {
+        when(historyRepository.isPartitioned()).thenReturn(true);
+        when(historyRepository.findPartitions()).thenReturn(List.of(
+                "game_history_2026_06", "game_history_2026_07", "game_history_2026_10", "game_history_archive"));
+        stubPartition("game_history_2026_06",
+                row(1, 100, GameResult.WIN, "2026-06-01T10:00:00Z"),
+                row(1, 101, GameResult.DRAW, "2026-06-02T10:00:00Z"),
+                row(2, 102, GameResult.LOSE, "2026-06-03T10:00:00Z"));
+        when(historyRepository.countPartition("game_history_2026_06")).thenReturn(3L);
+
+        archiver.archive();
+
+        verify(historyRepository).recordDroppedMonth(LocalDate.of(2026, 6, 1), true, 3L);
+        verify(historyRepository).dropPartition("game_history_2026_06");
+        verify(historyRepository, never()).recordPartitionLosses(anyString());
+        verify(historyRepository, never()).streamPartition(eq("game_history_2026_07"), anyInt(), any());
+        verify(historyRepository, never()).streamPartition(eq("game_history_archive"), anyInt(), any());
+        assertThat(historyArchive.months()).containsExactly(YearMonth.of(2026, 6));
+        List<Long> gameIds = new ArrayList<>();
+        historyArchive.scan(YearMonth.of(2026, 6), (userId, gameId, round, playerHand, opponentHand, result, playedAt) ->
+                gameIds.add(gameId));
+        assertThat(gameIds).containsExactly(100L, 101L, 102L);
+        assertThat(meterRegistry.get("history.archive.rounds").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("archive should keep the partition when the row counts differ")
+    void archive_shouldKeepPartition_whenCountsDiffer() {
+        when(historyRepository.isPartitioned()).thenReturn(true);
+        when(historyRepository.findPartitions()).thenReturn(List.of("game_history_2026_06"));
+        stubPartition("game_history_2026_06", row(1, 100, GameResult.WIN, "2026-06-01T10:00:00Z"));
+        when(historyRepository.countPartition("game_history_2026_06")).thenReturn(2L);
+
+        archiver.archive();
+
+        verify(historyRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("archive should do nothing when the table is not partitioned")
+    void archive_shouldSkipUnpartitionedTable() {
+        when(historyRepository.isPartitioned()).thenReturn(false);
+
+        archiver.archive();
+
+        verify(historyRepository, never()).findPartitions();
+        assertThat(historyArchive.months()).isEmpty();
+    }
+
+    private void stubPartition(String partition, Object[]... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Object[] row : rows) {
+                handler.processRow(mock(ResultSet.class, column -> column.getArguments().length > 0
+                        && column.getArgument(0) instanceof Integer index
+                        ? row[index - 1]
+                        : RETURNS_DEFAULTS.answer(column)));
+            }
+            return null;
+        }).when(historyRepository).streamPartition(eq(partition), eq(1000), any());
+    }
+
+    private static Object[] row(long userId, long gameId, GameResult result, String playedAt) {
+        return new Object[]{userId, gameId, (short) 0, (short) Hand.ROCK.ordinal(), (short) Hand.PAPER.ordinal(),
+                (short) result.ordinal(), GameHistoryRepository.toPlayedAt(Instant.parse(playedAt))};
+    }
+}
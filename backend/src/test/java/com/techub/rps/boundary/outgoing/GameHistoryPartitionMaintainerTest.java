@@ -0,0 +1,123 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameHistoryPartitionMaintainer Tests")
+class GameHistoryPartitionMaintainerTest {
+
+    @Mock
+    private GameHistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GameHistoryPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-17T10:00:00Z"), ZoneOffset.UTC);
+        maintainer = new GameHistoryPartitionMaintainer(historyRepository,
+                new TransactionTemplate(transactionManager), 2, 3, clock);
+    }
+
+    @Test
+    @DisplayName("maintain should create the current and the coming partitions")
+    void maintain_shouldCreateUpcomingPartitions() {
+        when(historyRepository.isPartitioned()).thenReturn(true);
+        when(historyRepository.findPartitions()).thenReturn(List.of());
+
+        maintainer.maintain();
+
+        verify(historyRepository).createPartition("game_history_2026_10",
+                LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1));
+        verify(historyRepository).createPartition("game_history_2026_11",
+                LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1));
+        verify(historyRepository).createPartition("game_history_2026_12",
+                LocalDate.of(2026, 12, 1), LocalDate.of(2027, 1, 1));
+        verify(historyRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("the upcoming partitions should be created before the first write, without dropping any")
+    void createPartitions_shouldCreateUpcomingPartitions() {
+        when(historyRepository.isPartitioned()).thenReturn(true);
+
+        maintainer.createPartitions();
+
+        verify(historyRepository).createPartition("game_history_2026_10",
+                LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1));
+        verify(historyRepository, times(3)).createPartition(anyString(), any(), any());
+        verify(historyRepository, never()).findPartitions();
+    }
+
+    @Test
+    @DisplayName("maintain should drop only partitions older than the retention")
+    void maintain_shouldDropExpiredPartitions() {
+        when(historyRepository.isPartitioned()).thenReturn(true);
+        when(historyRepository.findPartitions()).thenReturn(List.of(
+                "game_history_2026_06", "game_history_2026_07", "game_history_2026_10", "game_history_archive"));
+
+        maintainer.maintain();
+
+        verify(historyRepository).dropPartition("game_history_2026_06");
+        verify(historyRepository, times(1)).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("maintain should record the rounds of an unarchived partition as losses before dropping it")
+    void maintain_shouldRecordLosses_beforeDroppingPartition() {
+        when(historyRepository.isPartitioned()).thenReturn(true);
+        when(historyRepository.findPartitions()).thenReturn(List.of("game_history_2026_06"));
+        when(historyRepository.countPartition("game_history_2026_06")).thenReturn(42L);
+
+        maintainer.maintain();
+
+        InOrder inOrder = inOrder(historyRepository);
+        inOrder.verify(historyRepository).recordPartitionLosses("game_history_2026_06");
+        inOrder.verify(historyRepository).recordDroppedMonth(LocalDate.of(2026, 6, 1), false, 42L);
+        inOrder.verify(historyRepository).dropPartition("game_history_2026_06");
+    }
+
+    @Test
+    @DisplayName("maintain should do nothing when the table is not partitioned")
+    void maintain_shouldSkipUnpartitionedTable() {
+        when(historyRepository.isPartitioned()).thenReturn(false);
+
+        maintainer.maintain();
+
+        verify(historyRepository, never()).createPartition(anyString(), any(), any());
+        verify(historyRepository, never()).findPartitions();
+    }
+
+    @Test
+    @DisplayName("partition names should round-trip to their month")
+    void partitionName_shouldRoundTrip() {
+        YearMonth month = YearMonth.of(2027, 1);
+
+        assertThat(GameHistoryPartitionMaintainer.monthOf(GameHistoryPartitionMaintainer.partitionName(month)))
+                .isEqualTo(month);
+        assertThat(GameHistoryPartitionMaintainer.monthOf("game_history_default")).isNull();
+    }
+}
@@ -0,0 +1,115 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import com.techub.rps.boundary.outgoing.db.UserEntity;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.HistoryCursor;
+import com.techub.rps.control.model.PlayedRound;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameHistoryQueryAdapter Tests")
+class GameHistoryQueryAdapterTest {
+
+    private static final String TEST_USERNAME = "testuser";
+    private static final Long TEST_USER_ID = 1L;
+
+    @Mock
+    private GameHistoryRepository historyRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private GameHistoryQueryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new GameHistoryQueryAdapter(historyRepository,
+                new UserIdCache(userRepository, new SimpleMeterRegistry(), 1000));
+    }
+
+    @Test
+    @DisplayName("findRounds should map the stored ordinals back to rounds")
+    void findRounds_shouldMapRows() throws Exception {
+        givenUser();
+        HistoryCursor before = HistoryCursor.of(Instant.ofEpochMilli(10_000), 7L, 0);
+        when(resultSet.getLong("game_id")).thenReturn(5L);
+        when(resultSet.getShort("round_no")).thenReturn((short) 2);
+        when(resultSet.getShort("player_hand")).thenReturn((short) Hand.PAPER.ordinal());
+        when(resultSet.getShort("opponent_hand")).thenReturn((short) Hand.ROCK.ordinal());
+        when(resultSet.getShort("result")).thenReturn((short) GameResult.WIN.ordinal());
+        when(resultSet.getObject("played_at", LocalDateTime.class))
+                .thenReturn(GameHistoryRepository.toPlayedAt(Instant.ofEpochMilli(9_000)));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(3);
+            handler.processRow(resultSet);
+            return null;
+        }).when(historyRepository).findPage(eq(TEST_USER_ID), eq(before), eq(20), any());
+
+        List<PlayedRound> rounds = new ArrayList<>();
+        adapter.findRounds(TEST_USERNAME, before, 20, rounds::add);
+
+        assertThat(rounds).containsExactly(PlayedRound.builder()
+                .gameId(5L)
+                .round(2)
+                .playerHand(Hand.PAPER)
+                .opponentHand(Hand.ROCK)
+                .result(GameResult.WIN)
+                .playedAt(Instant.ofEpochMilli(9_000))
+                .build());
+    }
+
+    @Test
+    @DisplayName("findRounds should not query the history of unknown users")
+    void findRounds_shouldSkipUnknownUser() {
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
+
+        List<PlayedRound> rounds = new ArrayList<>();
+        adapter.findRounds(TEST_USERNAME, null, 20, rounds::add);
+
+        assertThat(rounds).isEmpty();
+        verify(historyRepository, never()).findPage(anyLong(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("userExists should reuse the cached user id")
+    void userExists_shouldUseCachedId() {
+        givenUser();
+
+        assertThat(adapter.userExists(TEST_USERNAME)).isTrue();
+        assertThat(adapter.userExists(TEST_USERNAME)).isTrue();
+
+        verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
+    }
+
+    private void givenUser() {
+        UserEntity user = UserEntity.builder().id(TEST_USER_ID).username(TEST_USERNAME).build();
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(user));
+    }
+}
@@ -0,0 +1,94 @@
+package com.techub.rps.boundary.outgoing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.security.SecureRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("HandSampler Tests")
+class HandSamplerTest {
+
+    @Test
+    @DisplayName("should extract five hands per byte for three hands and three for five")
+    void shouldPackSeveralHandsPerByte() {
+        HandSampler classic = new HandSampler(new CountingRandom(), 3);
+        HandSampler lizardSpock = new HandSampler(new CountingRandom(), 5);
+
+        assertThat(classic.digitsPerByte()).isEqualTo(5);
+        assertThat(classic.acceptLimit()).isEqualTo(243);
+        assertThat(lizardSpock.digitsPerByte()).isEqualTo(3);
+        assertThat(lizardSpock.acceptLimit()).isEqualTo(250);
+    }
+
+    @ParameterizedTest(name = "radix {0}")
+    @ValueSource(ints = {2, 3, 5, 7, 255})
+    @DisplayName("every value should occur equally often over all 256 byte values")
+    void shouldBeExactlyUniformOverAllBytes(int radix) {
+        HandSampler sampler = new HandSampler(new CountingRandom(), radix);
+        int samples = sampler.acceptLimit() * sampler.digitsPerByte();
+
+        int[] counts = new int[radix];
+        for (int i = 0; i < samples; i++) {
+            counts[sampler.next()]++;
+        }
+
+        assertThat(counts).containsOnly(samples / radix);
+    }
+
+    @Test
+    @DisplayName("should skip rejected bytes")
+    void shouldSkipRejectedBytes() {
+        // 243..255 are rejected for three hands, so the first byte used after them is 0
+        HandSampler sampler = new HandSampler(new FixedRandom(250, 0), 3);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(sampler.next()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("should reject radixes that do not fit into a byte")
+    void shouldRejectInvalidRadix() {
+        assertThatThrownBy(() -> new HandSampler(new CountingRandom(), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HandSampler(new CountingRandom(), 257))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Emits 0, 1, ..., 255 and wraps around, so one buffer covers every byte value once.
+     */
+    private static class CountingRandom extends SecureRandom {
+        private int next;
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) next++;
+            }
+        }
+    }
+
+    private static class FixedRandom extends SecureRandom {
+        private final int first;
+        private final int rest;
+
+        FixedRandom(int first, int rest) {
+            this.first = first;
+            this.rest = rest;
+        }
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            bytes[0] = (byte) first;
+            for (int i = 1; i < bytes.length; i++) {
+                bytes[i] = (byte) rest;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.JournalCheckpointRepository;
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.boundary.outgoing.journal.GameJournal;
+import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JournalUserStatisticsAdapter Tests")
+class JournalUserStatisticsAdapterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatisticsRepository statisticsRepository;
+
+    @Mock
+    private UserStatisticsUpsertRepository upsertRepository;
+
+    @Mock
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private static final String TEST_USERNAME = "testuser";
+    private static final int NODE_ID = 7;
+
+    @Test
+    @DisplayName("updateStatistics should only append to the journal")
+    void updateStatistics_shouldOnlyAppend() throws InterruptedException {
+        JournalUserStatisticsAdapter adapter = open(10);
+
+        recordGame(adapter, TEST_USERNAME, GameResult.WIN);
+
+        verifyNoInteractions(upsertRepository, userRepository, statisticsRepository);
+        assertThat(meterRegistry.get("statistics.journal.appended").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("statistics.journal.lag").gauge().value()).isEqualTo(GameJournal.RECORD_SIZE);
+        adapter.shutdown();
+    }
+
+    @Test
+    @DisplayName("project should upsert merged deltas and save the checkpoint per batch")
+    @SuppressWarnings("unchecked")
+    void project_shouldUpsertAndCheckpointPerBatch() throws InterruptedException {
+        JournalUserStatisticsAdapter adapter = open(2);
+        recordGame(adapter, TEST_USERNAME, GameResult.WIN);
+        recordGame(adapter, TEST_USERNAME, GameResult.LOSE);
+        recordGame(adapter, "otheruser", GameResult.DRAW);
+
+        adapter.project();
+
+        ArgumentCaptor<List<StatisticsDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(upsertRepository, times(2)).upsertAll(captor.capture());
+        assertThat(captor.getAllValues().get(0)).singleElement().satisfies(delta -> {
+            assertThat(delta.username()).isEqualTo(TEST_USERNAME);
+            assertThat(delta.gamesPlayed()).isEqualTo(2);
+            assertThat(delta.wins()).isEqualTo(1);
+            assertThat(delta.losses()).isEqualTo(1);
+        });
+        assertThat(captor.getAllValues().get(1)).extracting(StatisticsDelta::username).containsExactly("otheruser");
+        verify(checkpointRepository).savePosition(NODE_ID, 2L * GameJournal.RECORD_SIZE);
+        verify(checkpointRepository).savePosition(NODE_ID, 3L * GameJournal.RECORD_SIZE);
+        assertThat(meterRegistry.get("statistics.journal.lag").gauge().value()).isZero();
+        adapter.shutdown();
+    }
+
+    @Test
+    @DisplayName("project should tell the flush listeners which users it wrote")
+    void project_shouldNotifyFlushListeners() throws InterruptedException {
+        JournalUserStatisticsAdapter adapter = open(10);
+        List<String> flushed = new ArrayList<>();
+        adapter.addFlushListener(flushed::addAll);
+        recordGame(adapter, TEST_USERNAME, GameResult.WIN);
+        recordGame(adapter, "otheruser", GameResult.DRAW);
+
+        adapter.project();
+
+        assertThat(flushed).containsExactlyInAnyOrder(TEST_USERNAME, "otheruser");
+        adapter.shutdown();
+    }
+
+    @Test
+    @DisplayName("project should keep the checkpoint when the database write fails")
+    void project_shouldRetryFromCheckpoint_whenUpsertFails() throws InterruptedException {
+        JournalUserStatisticsAdapter adapter = open(10);
+        recordGame(adapter, TEST_USERNAME, GameResult.WIN);
+        when(upsertRepository.upsertAll(anyList()))
+                .thenThrow(new RuntimeException("database down"))
+                .thenReturn(new int[]{1});
+
+        assertThatThrownBy(adapter::project).hasMessage("database down");
+        verify(checkpointRepository, never()).savePosition(anyInt(), anyLong());
+
+        adapter.project();
+        verify(upsertRepository, times(2)).upsertAll(anyList());
+        verify(checkpointRepository).savePosition(NODE_ID, GameJournal.RECORD_SIZE);
+        adapter.shutdown();
+    }
+
+    @Test
+    @DisplayName("getStatistics should include games that are not projected yet")
+    void getStatistics_shouldIncludeUnprojectedGames() throws InterruptedException {
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
+        JournalUserStatisticsAdapter adapter = open(10);
+        Game last = recordGame(adapter, TEST_USERNAME, GameResult.WIN);
+
+        UserStatistics result = adapter.getStatistics(TEST_USERNAME);
+
+        assertThat(result.getGamesPlayed()).isEqualTo(1);
+        assertThat(result.getWins()).isEqualTo(1);
+        assertThat(result.getLastGameId()).isEqualTo(last.getGameId());
+        adapter.shutdown();
+    }
+
+    @Test
+    @DisplayName("a restart should replay and project the games after the checkpoint")
+    @SuppressWarnings("unchecked")
+    void open_shouldReplayGamesAfterCheckpoint() throws InterruptedException {
+        JournalUserStatisticsAdapter crashed = open(10);
+        recordGame(crashed, TEST_USERNAME, GameResult.WIN);
+        recordGame(crashed, TEST_USERNAME, GameResult.DRAW);
+        crashed.shutdown();
+        // the database only saw the first entry before the node went down
+        reset(upsertRepository, checkpointRepository);
+        when(checkpointRepository.findPosition(NODE_ID)).thenReturn((long) GameJournal.RECORD_SIZE);
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
+
+        JournalUserStatisticsAdapter restarted = open(10);
+
+        assertThat(restarted.getStatistics(TEST_USERNAME).getDraws()).isEqualTo(1);
+        assertThat(restarted.getStatistics(TEST_USERNAME).getGamesPlayed()).isEqualTo(1);
+
+        restarted.shutdown();
+        ArgumentCaptor<List<StatisticsDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(upsertRepository).upsertAll(captor.capture());
+        assertThat(captor.getValue()).singleElement().extracting(StatisticsDelta::draws).isEqualTo(1);
+        verify(checkpointRepository).savePosition(NODE_ID, 2L * GameJournal.RECORD_SIZE);
+    }
+
+    private JournalUserStatisticsAdapter open(int batchSize) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new JournalUserStatisticsAdapter(userRepository, statisticsRepository,
+                new UserIdCache(userRepository, meterRegistry, 1000), upsertRepository, checkpointRepository,
+                new TransactionTemplate(transactionManager), meterRegistry, directory, DataSize.ofKilobytes(64),
+                false, batchSize, Duration.ofHours(1), NODE_ID);
+    }
+
+    private Game recordGame(JournalUserStatisticsAdapter adapter, String username, GameResult result) {
+        Game game = Game.of(System.nanoTime(),
+                GameRecord.pack(Hand.ROCK, Hand.SCISSORS, result, System.currentTimeMillis()));
+        adapter.updateStatistics(username, game.getGameId(), game.getRecord());
+        return game;
+    }
+}
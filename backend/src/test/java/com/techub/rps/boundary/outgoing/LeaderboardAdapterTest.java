@@ -0,0 +1,75 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.control.model.UserStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaderboardAdapter Tests")
+class LeaderboardAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StatisticsLayout statisticsLayout;
+
+    @Mock
+    private UserStatisticsAdapter statisticsStore;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private LeaderboardAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new LeaderboardAdapter(jdbcTemplate, statisticsLayout, statisticsStore);
+    }
+
+    @Test
+    @DisplayName("loadStandings should add the games the store has not written yet")
+    @SuppressWarnings("unchecked")
+    void loadStandings_shouldAddPendingGames() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Map<String, StatisticsDelta>> reader = invocation.getArgument(0);
+            reader.accept(Map.of(
+                    "alice", new StatisticsDelta("alice", 3, 2, 1, 0, 9L, null),
+                    "bob", new StatisticsDelta("bob", 1, 1, 0, 0, 10L, null)));
+            return null;
+        }).when(statisticsStore).readWithPending(any());
+        when(resultSet.getString("username")).thenReturn("alice");
+        when(resultSet.getInt("wins")).thenReturn(5);
+        when(resultSet.getInt("games_played")).thenReturn(10);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        List<UserStatistics> standings = new ArrayList<>();
+        adapter.loadStandings(standings::add);
+
+        assertThat(standings).extracting(UserStatistics::getUsername, UserStatistics::getWins, UserStatistics::getGamesPlayed)
+                .containsExactly(tuple("alice", 7, 13), tuple("bob", 1, 1));
+    }
+}
@@ -0,0 +1,94 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MarkovHandAdapter Tests")
+class MarkovHandAdapterTest {
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @Test
+    @DisplayName("chooseHand should counter a player that repeats a cycle")
+    void chooseHand_shouldCounterRepeatingCycle() {
+        MarkovHandAdapter adapter = newAdapter(RuleSet.CLASSIC, 2, 1000, 0.0);
+        Hand[] cycle = {Hand.ROCK, Hand.ROCK, Hand.PAPER, Hand.SCISSORS};
+
+        for (int i = 0; i < 100; i++) {
+            adapter.observe(TEST_USERNAME, cycle[i % cycle.length]);
+        }
+
+        int wins = 0;
+        for (int i = 100; i < 200; i++) {
+            Hand playerHand = cycle[i % cycle.length];
+            if (RuleSet.CLASSIC.play(adapter.chooseHand(TEST_USERNAME), playerHand) == GameResult.WIN) {
+                wins++;
+            }
+            adapter.observe(TEST_USERNAME, playerHand);
+        }
+
+        assertThat(wins).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("chooseHand should only use hands of the rule set")
+    void chooseHand_shouldStayWithinRuleSet() {
+        MarkovHandAdapter adapter = newAdapter(RuleSet.LIZARD_SPOCK, 1, 1000, 0.1);
+
+        for (int i = 0; i < 500; i++) {
+            Hand hand = adapter.chooseHand(TEST_USERNAME);
+            assertThat(RuleSet.LIZARD_SPOCK.contains(hand)).isTrue();
+            adapter.observe(TEST_USERNAME, Hand.SPOCK);
+        }
+    }
+
+    @Test
+    @DisplayName("chooseHand should play randomly for unknown players")
+    void chooseHand_shouldFallBackToRandom_forUnknownPlayer() {
+        MarkovHandAdapter adapter = newAdapter(RuleSet.CLASSIC, 2, 1000, 0.0);
+
+        assertThat(adapter.chooseHand("newplayer")).isIn(Hand.ROCK, Hand.PAPER, Hand.SCISSORS);
+        assertThat(adapter.modelCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("observe should ignore hands outside the rule set")
+    void observe_shouldIgnoreUnknownHands() {
+        MarkovHandAdapter adapter = newAdapter(RuleSet.CLASSIC, 1, 1000, 0.0);
+
+        adapter.observe(TEST_USERNAME, Hand.LIZARD);
+
+        assertThat(adapter.modelCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("models should be evicted once the user limit is reached")
+    void models_shouldBeBounded() {
+        MarkovHandAdapter adapter = newAdapter(RuleSet.CLASSIC, 2, 100, 0.0);
+
+        for (int i = 0; i < 1_000; i++) {
+            adapter.observe("player" + i, Hand.ROCK);
+        }
+
+        assertThat(adapter.modelCount()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("constructor should reject unsupported orders")
+    void constructor_shouldRejectInvalidOrder() {
+        assertThatThrownBy(() -> newAdapter(RuleSet.CLASSIC, 0, 1000, 0.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private MarkovHandAdapter newAdapter(RuleSet ruleSet, int order, long maxUsers, double exploration) {
+        return new MarkovHandAdapter(ruleSet, order, maxUsers, Duration.ofHours(1), exploration);
+    }
+}
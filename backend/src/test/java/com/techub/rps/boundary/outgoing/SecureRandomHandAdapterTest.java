@@ -1,13 +1,23 @@
 package com.techub.rps.boundary.outgoing;
 
 import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -19,7 +29,7 @@ class SecureRandomHandAdapterTest {
 
     @BeforeEach
     void setUp() {
-        adapter = new SecureRandomHandAdapter();
+        adapter = new SecureRandomHandAdapter(RuleSet.CLASSIC);
     }
 
     @Test
@@ -60,4 +70,60 @@ class SecureRandomHandAdapterTest {
                 () -> assertThat(generatedHands).hasSize(3)
         );
     }
+
+    @Test
+    @DisplayName("getRandomHand should only produce hands of the configured rule set")
+    void getRandomHand_shouldStayWithinRuleSet() {
+        SecureRandomHandAdapter lizardSpockAdapter = new SecureRandomHandAdapter(RuleSet.LIZARD_SPOCK);
+        Set<Hand> generatedHands = new HashSet<>();
+
+        for (int i = 0; i < 500; i++) {
+            generatedHands.add(lizardSpockAdapter.getRandomHand());
+        }
+
+        assertThat(generatedHands).containsExactlyInAnyOrderElementsOf(RuleSet.LIZARD_SPOCK.getHands());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(RuleSet.class)
+    @DisplayName("getRandomHand should be uniformly distributed (chi-square)")
+    void getRandomHand_shouldBeUniform(RuleSet ruleSet) {
+        SecureRandomHandAdapter ruleSetAdapter = new SecureRandomHandAdapter(ruleSet);
+        List<Hand> hands = ruleSet.getHands();
+        int samples = 300_000;
+
+        Map<Hand, Integer> counts = new EnumMap<>(Hand.class);
+        for (int i = 0; i < samples; i++) {
+            counts.merge(ruleSetAdapter.getRandomHand(), 1, Integer::sum);
+        }
+
+        double expected = (double) samples / hands.size();
+        double chiSquare = hands.stream()
+                .mapToDouble(hand -> Math.pow(counts.getOrDefault(hand, 0) - expected, 2) / expected)
+                .sum();
+
+        // critical values at p = 1e-6 for 2 and 4 degrees of freedom
+        double criticalValue = hands.size() == 3 ? 27.63 : 33.38;
+        assertThat(chiSquare).isLessThan(criticalValue);
+    }
+
+    @Test
+    @DisplayName("getRandomHand should be safe to call from many threads")
+    void getRandomHand_shouldWorkConcurrently() throws InterruptedException {
+        int threads = 8;
+        Set<Hand> generatedHands = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    generatedHands.add(adapter.getRandomHand());
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(generatedHands).containsExactlyInAnyOrder(Hand.ROCK, Hand.PAPER, Hand.SCISSORS);
+    }
 }
@@ -0,0 +1,80 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SeededHandAdapter Tests")
+class SeededHandAdapterTest {
+
+    private static final long SEED = 42L;
+
+    @Test
+    @DisplayName("the same seed should replay the same hands")
+    void chooseHand_shouldReplaySameSequence() {
+        assertThat(play(new SeededHandAdapter(RuleSet.CLASSIC, SEED, 1000), "alice", 100))
+                .isEqualTo(play(new SeededHandAdapter(RuleSet.CLASSIC, SEED, 1000), "alice", 100));
+    }
+
+    @Test
+    @DisplayName("a different seed should give a different sequence")
+    void chooseHand_shouldDependOnSeed() {
+        assertThat(play(new SeededHandAdapter(RuleSet.CLASSIC, SEED, 1000), "alice", 100))
+                .isNotEqualTo(play(new SeededHandAdapter(RuleSet.CLASSIC, SEED + 1, 1000), "alice", 100));
+    }
+
+    @Test
+    @DisplayName("other players' rounds should not shift a player's sequence")
+    void chooseHand_shouldNotDependOnInterleaving() {
+        SeededHandAdapter adapter = new SeededHandAdapter(RuleSet.CLASSIC, SEED, 1000);
+        List<Hand> interleaved = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            adapter.chooseHand("bob");
+            interleaved.add(adapter.chooseHand("alice"));
+        }
+
+        assertThat(interleaved).isEqualTo(play(new SeededHandAdapter(RuleSet.CLASSIC, SEED, 1000), "alice", 100));
+    }
+
+    @Test
+    @DisplayName("handFor should predict the hands the adapter plays")
+    void handFor_shouldMatchAdapter() {
+        SeededHandAdapter adapter = new SeededHandAdapter(RuleSet.LIZARD_SPOCK, SEED, 1000);
+        Hand[] hands = RuleSet.LIZARD_SPOCK.getHands().toArray(Hand[]::new);
+
+        for (int round = 0; round < 50; round++) {
+            assertThat(adapter.chooseHand("alice")).isEqualTo(SeededHandAdapter.handFor(SEED, "alice", round, hands));
+        }
+    }
+
+    @Test
+    @DisplayName("hands should be roughly uniform over the rule set")
+    void chooseHand_shouldBeRoughlyUniform() {
+        SeededHandAdapter adapter = new SeededHandAdapter(RuleSet.CLASSIC, SEED, 1000);
+        Map<Hand, Integer> counts = new EnumMap<>(Hand.class);
+        int samples = 30_000;
+
+        for (int i = 0; i < samples; i++) {
+            counts.merge(adapter.chooseHand("player" + (i % 100)), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys(RuleSet.CLASSIC.getHands());
+        counts.values().forEach(count -> assertThat(count).isBetween(9_400, 10_600));
+    }
+
+    private static List<Hand> play(SeededHandAdapter adapter, String username, int rounds) {
+        List<Hand> hands = new ArrayList<>();
+        for (int i = 0; i < rounds; i++) {
+            hands.add(adapter.chooseHand(username));
+        }
+        return hands;
+    }
+}
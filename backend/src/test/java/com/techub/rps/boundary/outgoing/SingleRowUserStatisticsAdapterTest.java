@@ -0,0 +1,113 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserCountersRepository;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SingleRowUserStatisticsAdapter Tests")
+class SingleRowUserStatisticsAdapterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatisticsRepository statisticsRepository;
+
+    @Mock
+    private UserCountersRepository countersRepository;
+
+    private SingleRowUserStatisticsAdapter adapter;
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @BeforeEach
+    void setUp() {
+        adapter = new SingleRowUserStatisticsAdapter(userRepository, statisticsRepository,
+                new UserIdCache(userRepository, new SimpleMeterRegistry(), 1000), countersRepository);
+    }
+
+    @Test
+    @DisplayName("updateStatistics should apply one delta to the users row only")
+    void updateStatistics_shouldTouchUsersRowOnly() {
+        Game game = createTestGame(GameResult.LOSE);
+
+        adapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
+
+        ArgumentCaptor<StatisticsDelta> captor = ArgumentCaptor.forClass(StatisticsDelta.class);
+        verify(countersRepository, times(1)).apply(captor.capture());
+        assertThat(captor.getValue().losses()).isEqualTo(1);
+        assertThat(captor.getValue().lastGameId()).isEqualTo(game.getGameId());
+        verifyNoInteractions(userRepository, statisticsRepository);
+    }
+
+    @Test
+    @DisplayName("updateStatistics should apply a whole batch as one delta")
+    void updateStatistics_shouldApplyBatchAsOneDelta() {
+        GameBatch batch = GameBatch.play(43L, RuleSet.CLASSIC,
+                new Hand[]{Hand.ROCK, Hand.PAPER},
+                new Hand[]{Hand.SCISSORS, Hand.SCISSORS});
+
+        adapter.updateStatistics(TEST_USERNAME, batch);
+
+        ArgumentCaptor<StatisticsDelta> captor = ArgumentCaptor.forClass(StatisticsDelta.class);
+        verify(countersRepository, times(1)).apply(captor.capture());
+        assertThat(captor.getValue().gamesPlayed()).isEqualTo(2);
+        assertThat(captor.getValue().wins()).isEqualTo(1);
+        assertThat(captor.getValue().losses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getStatistics should read the counters from the users row")
+    void getStatistics_shouldReadUsersRow() {
+        UserStatistics stored = UserStatistics.builder()
+                .username(TEST_USERNAME)
+                .gamesPlayed(4)
+                .wins(2)
+                .losses(1)
+                .draws(1)
+                .build();
+        when(countersRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(stored));
+
+        assertThat(adapter.getStatistics(TEST_USERNAME)).isEqualTo(stored);
+        verifyNoInteractions(statisticsRepository);
+    }
+
+    @Test
+    @DisplayName("getStatistics should throw when the user does not exist")
+    void getStatistics_shouldThrow_whenUserDoesNotExist() {
+        when(countersRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> adapter.getStatistics(TEST_USERNAME))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("USER_NOT_FOUND");
+    }
+
+    private Game createTestGame(GameResult result) {
+        return Game.of(42L,
+                GameRecord.pack(Hand.ROCK, Hand.SCISSORS, result, System.currentTimeMillis()));
+    }
+}
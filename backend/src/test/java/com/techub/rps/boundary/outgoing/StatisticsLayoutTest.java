@@ -0,0 +1,77 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsLayoutRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatisticsLayout Tests")
+class StatisticsLayoutTest {
+
+    @Mock
+    private StatisticsLayoutRepository layoutRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("the first start should only record the live table")
+    void start_shouldRecordLayout_whenNoneIsRecorded() {
+        when(layoutRepository.findLiveTable()).thenReturn(Optional.empty());
+
+        StatisticsLayout layout = start("upsert");
+
+        assertThat(layout.isSingleRow()).isFalse();
+        verify(layoutRepository).saveLiveTable(StatisticsLayout.USER_STATISTICS);
+        verify(layoutRepository, never()).copyToUsers();
+        verify(layoutRepository, never()).copyToStatistics();
+    }
+
+    @Test
+    @DisplayName("an unchanged layout should leave the counters alone")
+    void start_shouldDoNothing_whenLayoutIsUnchanged() {
+        when(layoutRepository.findLiveTable()).thenReturn(Optional.of(StatisticsLayout.USER_STATISTICS));
+
+        start("journal");
+
+        verify(layoutRepository, never()).saveLiveTable(any());
+        verify(layoutRepository, never()).copyToUsers();
+    }
+
+    @Test
+    @DisplayName("switching to single-row should copy the counters to users")
+    void start_shouldCopyToUsers_whenSwitchedToSingleRow() {
+        when(layoutRepository.findLiveTable()).thenReturn(Optional.of(StatisticsLayout.USER_STATISTICS));
+
+        StatisticsLayout layout = start("single-row");
+
+        assertThat(layout.isSingleRow()).isTrue();
+        verify(layoutRepository).copyToUsers();
+        verify(layoutRepository).saveLiveTable(StatisticsLayout.USERS);
+    }
+
+    @Test
+    @DisplayName("switching away from single-row should copy the counters back")
+    void start_shouldCopyToStatistics_whenSwitchedAwayFromSingleRow() {
+        when(layoutRepository.findLiveTable()).thenReturn(Optional.of(StatisticsLayout.USERS));
+
+        start("striped");
+
+        verify(layoutRepository).copyToStatistics();
+        verify(layoutRepository).saveLiveTable(StatisticsLayout.USER_STATISTICS);
+    }
+
+    private StatisticsLayout start(String store) {
+        return new StatisticsLayout(layoutRepository, new TransactionTemplate(transactionManager), store);
+    }
+}
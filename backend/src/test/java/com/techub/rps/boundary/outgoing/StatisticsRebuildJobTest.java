@@ -0,0 +1,223 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.archive.ArchivedRoundVisitor;
+import com.techub.rps.boundary.outgoing.archive.HistoryArchive;
+import com.techub.rps.boundary.outgoing.db.GameHistoryRepository;
+import com.techub.rps.boundary.outgoing.db.RebuiltStatistics;
+import com.techub.rps.boundary.outgoing.db.StatisticsRebuildRepository;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatisticsRebuildJob Tests")
+class StatisticsRebuildJobTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-15T12:00:00Z");
+    private static final Instant CUTOFF = NOW.minus(Duration.ofMinutes(1));
+
+    @Mock
+    private StatisticsRebuildRepository rebuildRepository;
+
+    @Mock
+    private GameHistoryRepository historyRepository;
+
+    @Mock
+    private HistoryArchive historyArchive;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentLinkedQueue<RebuiltStatistics> written = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            written.addAll(List.copyOf(invocation.<List<RebuiltStatistics>>getArgument(0)));
+            return null;
+        }).when(rebuildRepository).writeAll(anyList(), eq(CUTOFF));
+    }
+
+    @Test
+    @DisplayName("every bucket should be scanned once and its users written with their totals")
+    void runNow_shouldRebuildEveryBucket() {
+        // bucket 0 holds the even user ids, bucket 1 the odd ones
+        stubBucket(0, round(2, GameResult.WIN, 10, 1_000), round(2, GameResult.DRAW, 11, 2_000));
+        stubBucket(1, round(1, GameResult.LOSE, 12, 3_000), round(3, GameResult.WIN, 13, 4_000),
+                round(1, GameResult.WIN, 14, 5_000));
+        StatisticsRebuildJob job = job(2, 2, 100);
+
+        StatisticsRebuildJob.Progress progress = job.runNow();
+
+        assertThat(written).containsExactlyInAnyOrder(
+                new RebuiltStatistics(2, 2, 1, 0, 1, 11, Instant.ofEpochMilli(2_000)),
+                new RebuiltStatistics(1, 2, 1, 1, 0, 14, Instant.ofEpochMilli(5_000)),
+                new RebuiltStatistics(3, 1, 1, 0, 0, 13, Instant.ofEpochMilli(4_000)));
+        assertThat(progress.state()).isEqualTo(StatisticsRebuildJob.State.COMPLETED);
+        assertThat(progress.cutoff()).isEqualTo(CUTOFF);
+        assertThat(progress.bucketsDone()).isEqualTo(2);
+        assertThat(progress.roundsScanned()).isEqualTo(5);
+        assertThat(progress.usersWritten()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("users should be written in batches of batch-size")
+    void runNow_shouldWriteInBatches() {
+        List<Object[]> rounds = new ArrayList<>();
+        for (long userId = 1; userId <= 5; userId++) {
+            rounds.add(round(userId, GameResult.WIN, userId, userId));
+        }
+        stubBucket(0, rounds.toArray(Object[][]::new));
+        StatisticsRebuildJob job = job(1, 1, 2);
+
+        job.runNow();
+
+        verify(rebuildRepository, times(3)).writeAll(anyList(), eq(CUTOFF));
+        assertThat(written).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("archived months should be added, except those still in the database")
+    void runNow_shouldIncludeArchivedMonths() {
+        YearMonth dropped = YearMonth.of(2025, 10);
+        YearMonth notDroppedYet = YearMonth.of(2025, 11);
+        when(historyArchive.months()).thenReturn(List.of(dropped, notDroppedYet));
+        when(historyRepository.isPartitioned()).thenReturn(true);
+        when(historyRepository.findPartitions()).thenReturn(List.of("game_history_2025_11", "game_history_2025_12"));
+        when(historyArchive.scan(eq(dropped), any())).thenAnswer(invocation -> {
+            ArchivedRoundVisitor visitor = invocation.getArgument(1);
+            visitor.accept(1, 5, 0, Hand.ROCK, Hand.PAPER, GameResult.LOSE, 500);
+            visitor.accept(2, 6, 0, Hand.ROCK, Hand.SCISSORS, GameResult.WIN, 600);
+            return 2L;
+        });
+        stubBucket(0, round(1, GameResult.WIN, 10, 1_000));
+        StatisticsRebuildJob job = job(1, 1, 100);
+
+        StatisticsRebuildJob.Progress progress = job.runNow();
+
+        assertThat(written).containsExactlyInAnyOrder(
+                new RebuiltStatistics(1, 2, 1, 1, 0, 10, Instant.ofEpochMilli(1_000)),
+                new RebuiltStatistics(2, 1, 1, 0, 0, 6, Instant.ofEpochMilli(600)));
+        assertThat(progress.roundsScanned()).isEqualTo(3);
+        verify(historyArchive, never()).scan(eq(notDroppedYet), any());
+    }
+
+    @Test
+    @DisplayName("users whose history lost rounds should be skipped and reported")
+    void runNow_shouldSkipUsersWithLostHistory() {
+        when(rebuildRepository.findUsersWithLostHistory()).thenReturn(Map.of(3L, "carol"));
+        stubBucket(0, round(1, GameResult.WIN, 10, 1_000), round(3, GameResult.LOSE, 11, 2_000));
+        StatisticsRebuildJob job = job(1, 1, 100);
+
+        StatisticsRebuildJob.Progress progress = job.runNow();
+
+        assertThat(written).containsExactly(new RebuiltStatistics(1, 1, 1, 0, 0, 10, Instant.ofEpochMilli(1_000)));
+        assertThat(progress.usersWritten()).isEqualTo(1);
+        assertThat(progress.usersSkipped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a store that keeps unwritten games should refuse the rebuild")
+    void start_shouldRefuse_forBufferingStore() {
+        StatisticsRebuildJob job = job(1, 1, 100, "journal");
+
+        StatisticsRebuildJob.Progress progress = job.start();
+
+        assertThat(progress.state()).isEqualTo(StatisticsRebuildJob.State.FAILED);
+        assertThat(progress.error()).contains("journal");
+        verifyNoInteractions(rebuildRepository);
+    }
+
+    @Test
+    @DisplayName("a month archived outside the local archive should refuse the rebuild")
+    void start_shouldRefuse_whenArchivedMonthIsMissing() {
+        when(rebuildRepository.findArchivedMonths()).thenReturn(List.of(YearMonth.of(2025, 10)));
+        when(historyArchive.months()).thenReturn(List.of());
+        StatisticsRebuildJob job = job(1, 1, 100);
+
+        StatisticsRebuildJob.Progress progress = job.start();
+
+        assertThat(progress.state()).isEqualTo(StatisticsRebuildJob.State.FAILED);
+        assertThat(progress.error()).contains("2025-10");
+        verify(rebuildRepository, never()).scan(anyInt(), anyInt(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("a failing bucket should fail the rebuild")
+    void runNow_shouldReportFailure() {
+        doThrow(new IllegalStateException("cursor closed"))
+                .when(rebuildRepository).scan(anyInt(), anyInt(), any(), anyInt(), any());
+        StatisticsRebuildJob job = job(1, 1, 100);
+
+        StatisticsRebuildJob.Progress progress = job.runNow();
+
+        assertThat(progress.state()).isEqualTo(StatisticsRebuildJob.State.FAILED);
+        assertThat(progress.error()).isEqualTo("cursor closed");
+        assertThat(job.progress()).isEqualTo(progress);
+    }
+
+    @Test
+    @DisplayName("progress should be idle before the first rebuild")
+    void progress_shouldBeIdleInitially() {
+        assertThat(job(2, 4, 100).progress().state()).isEqualTo(StatisticsRebuildJob.State.IDLE);
+    }
+
+    private StatisticsRebuildJob job(int parallelism, int buckets, int batchSize) {
+        return job(parallelism, buckets, batchSize, "upsert");
+    }
+
+    private StatisticsRebuildJob job(int parallelism, int buckets, int batchSize, String store) {
+        return new StatisticsRebuildJob(rebuildRepository, historyRepository, historyArchive,
+                new TransactionTemplate(transactionManager),
+                parallelism, buckets, 1000, batchSize, Duration.ofMinutes(1), Duration.ofSeconds(10),
+                store, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private void stubBucket(int bucket, Object[]... rounds) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(4);
+            for (Object[] round : rounds) {
+                handler.processRow(row(round));
+            }
+            return null;
+        }).when(rebuildRepository).scan(anyInt(), eq(bucket), eq(CUTOFF), anyInt(), any());
+    }
+
+    // a result set positioned on one row, every getter returns the column by index
+    private static ResultSet row(Object[] columns) {
+        return mock(ResultSet.class, invocation -> invocation.getArguments().length > 0
+                && invocation.getArgument(0) instanceof Integer column
+                ? columns[column - 1]
+                : RETURNS_DEFAULTS.answer(invocation));
+    }
+
+    private static Object[] round(long userId, GameResult result, long gameId, long playedAt) {
+        return new Object[]{userId, gameId, (short) result.ordinal(), GameHistoryRepository.toPlayedAt(Instant.ofEpochMilli(playedAt))};
+    }
+}
@@ -0,0 +1,136 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserEntity;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsEntity;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsSlotRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StripedUserStatisticsAdapter Tests")
+class StripedUserStatisticsAdapterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatisticsRepository statisticsRepository;
+
+    @Mock
+    private UserStatisticsUpsertRepository upsertRepository;
+
+    @Mock
+    private UserStatisticsSlotRepository slotRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StripedUserStatisticsAdapter adapter;
+
+    private static final String TEST_USERNAME = "testuser";
+    private static final long TEST_USER_ID = 7L;
+    private static final int PROMOTE_WRITES = 3;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new StripedUserStatisticsAdapter(userRepository, statisticsRepository,
+                new UserIdCache(userRepository, meterRegistry, 1000), upsertRepository, slotRepository,
+                meterRegistry, 4, PROMOTE_WRITES, Duration.ofMinutes(1), Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("updateStatistics should upsert the single row while the user is not hot")
+    void updateStatistics_shouldUseSingleRow_belowThreshold() {
+        for (int i = 0; i < PROMOTE_WRITES; i++) {
+            adapter.updateStatistics(TEST_USERNAME, i, record(GameResult.WIN));
+        }
+
+        verify(upsertRepository, times(PROMOTE_WRITES)).upsert(any(StatisticsDelta.class));
+        verifyNoInteractions(slotRepository);
+        assertThat(meterRegistry.get("statistics.striped.promotions").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("updateStatistics should write to a slot once the user is hot")
+    void updateStatistics_shouldUseSlots_afterPromotion() {
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(user()));
+        for (int i = 0; i < PROMOTE_WRITES; i++) {
+            adapter.updateStatistics(TEST_USERNAME, i, record(GameResult.WIN));
+        }
+
+        adapter.updateStatistics(TEST_USERNAME, 100L, record(GameResult.LOSE));
+
+        verify(slotRepository).upsert(eq(TEST_USER_ID), eq(StripedUserStatisticsAdapter.slotFor(100L, 4)),
+                any(StatisticsDelta.class));
+        verify(upsertRepository, times(PROMOTE_WRITES)).upsert(any(StatisticsDelta.class));
+        assertThat(meterRegistry.get("statistics.striped.hot.users").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("getStatistics should add the slots to the stored row")
+    void getStatistics_shouldSumSlots() {
+        Instant stored = Instant.parse("2026-03-01T12:00:00Z");
+        Instant newest = stored.plusSeconds(5);
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(user()));
+        when(statisticsRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(UserStatisticsEntity.builder()
+                .userId(TEST_USER_ID)
+                .gamesPlayed(10).wins(5).losses(3).draws(2)
+                .lastGameId(1L).lastGamePlayedAt(stored)
+                .build()));
+        when(slotRepository.findByUserId(TEST_USERNAME, TEST_USER_ID)).thenReturn(List.of(
+                new StatisticsDelta(TEST_USERNAME, 4, 4, 0, 0, 3L, newest),
+                new StatisticsDelta(TEST_USERNAME, 2, 0, 1, 1, 2L, stored.plusSeconds(1))));
+
+        UserStatistics statistics = adapter.getStatistics(TEST_USERNAME);
+
+        assertThat(statistics.getGamesPlayed()).isEqualTo(16);
+        assertThat(statistics.getWins()).isEqualTo(9);
+        assertThat(statistics.getLosses()).isEqualTo(4);
+        assertThat(statistics.getDraws()).isEqualTo(3);
+        assertThat(statistics.getLastGameId()).isEqualTo(3L);
+        assertThat(statistics.getLastGamePlayedAt()).isEqualTo(newest);
+    }
+
+    @Test
+    @DisplayName("slotFor should spread consecutive game ids over every slot")
+    void slotFor_shouldUseEverySlot() {
+        Set<Integer> used = new HashSet<>();
+        for (long gameId = 0; gameId < 64; gameId++) {
+            used.add(StripedUserStatisticsAdapter.slotFor(gameId << 22, 8));
+        }
+
+        assertThat(used).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+
+    private static UserEntity user() {
+        return UserEntity.builder().id(TEST_USER_ID).username(TEST_USERNAME).build();
+    }
+
+    private static long record(GameResult result) {
+        return GameRecord.pack(Hand.ROCK, Hand.SCISSORS, result, System.currentTimeMillis());
+    }
+}
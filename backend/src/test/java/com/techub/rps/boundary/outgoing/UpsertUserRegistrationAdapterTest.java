@@ -0,0 +1,72 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.UserEntity;
+import com.techub.rps.boundary.outgoing.db.UserRegistrationRepository;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.control.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UpsertUserRegistrationAdapter Tests")
+class UpsertUserRegistrationAdapterTest {
+
+    @Mock
+    private UserRegistrationRepository registrationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdCache userIdCache;
+    private UpsertUserRegistrationAdapter adapter;
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @BeforeEach
+    void setUp() {
+        userIdCache = new UserIdCache(userRepository, new SimpleMeterRegistry(), 1000);
+        adapter = new UpsertUserRegistrationAdapter(registrationRepository, userIdCache);
+    }
+
+    @Test
+    @DisplayName("registerUser should return the created user and cache its id")
+    void registerUser_shouldReturnCreatedUser() {
+        Instant createdAt = Instant.parse("2025-12-10T10:00:00Z");
+        when(registrationRepository.register(TEST_USERNAME)).thenReturn(Optional.of(UserEntity.builder()
+                .id(42L)
+                .username(TEST_USERNAME)
+                .createdAt(createdAt)
+                .build()));
+
+        Optional<User> result = adapter.registerUser(TEST_USERNAME);
+
+        assertThat(result).hasValueSatisfying(user -> {
+            assertThat(user.getUsername()).isEqualTo(TEST_USERNAME);
+            assertThat(user.getCreatedAt()).isEqualTo(createdAt);
+        });
+        assertThat(userIdCache.findUserId(TEST_USERNAME)).contains(42L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("registerUser should return empty when the username is taken")
+    void registerUser_shouldReturnEmpty_whenUsernameIsTaken() {
+        when(registrationRepository.register(TEST_USERNAME)).thenReturn(Optional.empty());
+
+        Optional<User> result = adapter.registerUser(TEST_USERNAME);
+
+        assertThat(result).isEmpty();
+        assertThat(userIdCache.contains(TEST_USERNAME)).isFalse();
+    }
+}
@@ -0,0 +1,104 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UpsertUserStatisticsAdapter Tests")
+class UpsertUserStatisticsAdapterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatisticsRepository statisticsRepository;
+
+    @Mock
+    private UserStatisticsUpsertRepository upsertRepository;
+
+    private UpsertUserStatisticsAdapter adapter;
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @BeforeEach
+    void setUp() {
+        adapter = new UpsertUserStatisticsAdapter(userRepository, statisticsRepository,
+                new UserIdCache(userRepository, new SimpleMeterRegistry(), 1000), upsertRepository);
+    }
+
+    @Test
+    @DisplayName("updateStatistics should issue a single upsert without JPA lookups")
+    void updateStatistics_shouldIssueSingleUpsert() {
+        Game game = createTestGame(GameResult.WIN);
+
+        adapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
+
+        verify(upsertRepository, times(1)).upsert(any(StatisticsDelta.class));
+        verifyNoInteractions(userRepository, statisticsRepository);
+    }
+
+    @Test
+    @DisplayName("updateStatistics should send one game and the matching result increment")
+    void updateStatistics_shouldSendMatchingIncrements() {
+        Game game = createTestGame(GameResult.DRAW);
+
+        adapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
+
+        ArgumentCaptor<StatisticsDelta> captor = ArgumentCaptor.forClass(StatisticsDelta.class);
+        verify(upsertRepository).upsert(captor.capture());
+
+        StatisticsDelta delta = captor.getValue();
+        assertThat(delta.username()).isEqualTo(TEST_USERNAME);
+        assertThat(delta.gamesPlayed()).isEqualTo(1);
+        assertThat(delta.wins()).isZero();
+        assertThat(delta.losses()).isZero();
+        assertThat(delta.draws()).isEqualTo(1);
+        assertThat(delta.lastGameId()).isEqualTo(game.getGameId());
+        assertThat(delta.lastGamePlayedAt()).isEqualTo(game.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("updateStatistics should apply a whole batch as one upsert")
+    void updateStatistics_shouldApplyBatchAsOneUpsert() {
+        GameBatch batch = GameBatch.play(43L, RuleSet.CLASSIC,
+                new Hand[]{Hand.ROCK, Hand.ROCK, Hand.PAPER},
+                new Hand[]{Hand.SCISSORS, Hand.PAPER, Hand.PAPER});
+
+        adapter.updateStatistics(TEST_USERNAME, batch);
+
+        ArgumentCaptor<StatisticsDelta> captor = ArgumentCaptor.forClass(StatisticsDelta.class);
+        verify(upsertRepository, times(1)).upsert(captor.capture());
+
+        StatisticsDelta delta = captor.getValue();
+        assertThat(delta.gamesPlayed()).isEqualTo(3);
+        assertThat(delta.wins()).isEqualTo(1);
+        assertThat(delta.losses()).isEqualTo(1);
+        assertThat(delta.draws()).isEqualTo(1);
+        assertThat(delta.lastGameId()).isEqualTo(batch.getGameId());
+        verifyNoInteractions(userRepository, statisticsRepository);
+    }
+
+    private Game createTestGame(GameResult result) {
+        return Game.of(42L,
+                GameRecord.pack(Hand.ROCK, Hand.SCISSORS, result, System.currentTimeMillis()));
+    }
+}
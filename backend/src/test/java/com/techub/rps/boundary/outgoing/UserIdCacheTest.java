@@ -0,0 +1,112 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.UserEntity;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserIdCache Tests")
+class UserIdCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserIdCache cache;
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserIdCache(userRepository, meterRegistry, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("findUserId should query the database only on the first lookup")
+    void findUserId_shouldCacheFoundUsers() {
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(user(7L)));
+
+        assertThat(cache.findUserId(TEST_USERNAME)).contains(7L);
+        assertThat(cache.findUserId(TEST_USERNAME)).contains(7L);
+
+        verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users.id").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users.id").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("findUserId should not cache missing users")
+    void findUserId_shouldNotCacheMissingUsers() {
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
+
+        assertThat(cache.findUserId(TEST_USERNAME)).isEmpty();
+        assertThat(cache.findUserId(TEST_USERNAME)).isEmpty();
+
+        verify(userRepository, times(2)).findByUsername(TEST_USERNAME);
+        assertThat(cache.contains(TEST_USERNAME)).isFalse();
+    }
+
+    @Test
+    @DisplayName("put should cache the id right away outside a transaction")
+    void put_shouldCacheImmediately() {
+        cache.put(TEST_USERNAME, 7L);
+
+        assertThat(cache.contains(TEST_USERNAME)).isTrue();
+        assertThat(cache.findUserId(TEST_USERNAME)).contains(7L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("put should only cache the id once the transaction commits")
+    void put_shouldWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.put(TEST_USERNAME, 7L);
+        assertThat(cache.contains(TEST_USERNAME)).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.contains(TEST_USERNAME)).isTrue();
+    }
+
+    @Test
+    @DisplayName("findCachedUserIds should return only the cached users")
+    void findCachedUserIds_shouldSkipMisses() {
+        cache.putAll(Map.of(TEST_USERNAME, 7L));
+
+        assertThat(cache.findCachedUserIds(List.of(TEST_USERNAME, "otheruser")))
+                .containsExactly(Map.entry(TEST_USERNAME, 7L));
+    }
+
+    private static UserEntity user(Long id) {
+        return UserEntity.builder()
+                .id(id)
+                .username(TEST_USERNAME)
+                .build();
+    }
+}
@@ -2,14 +2,22 @@ package com.techub.rps.boundary.outgoing;
 
 import com.techub.rps.boundary.outgoing.db.UserEntity;
 import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsEntity;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
 import com.techub.rps.control.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.Instant;
+import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -21,13 +29,21 @@ class UserRegistrationAdapterTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatisticsRepository statisticsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private UserRegistrationAdapter userRegistrationAdapter;
 
     private static final String TEST_USERNAME = "testuser";
 
     @BeforeEach
     void setUp() {
-        userRegistrationAdapter = new UserRegistrationAdapter(userRepository);
+        userRegistrationAdapter = new UserRegistrationAdapter(userRepository, statisticsRepository,
+                new UserIdCache(userRepository, new SimpleMeterRegistry(), 1000),
+                new TransactionTemplate(transactionManager));
     }
 
     @Test
@@ -39,13 +55,13 @@ class UserRegistrationAdapterTest {
                 .createdAt(now)
                 .build();
 
-        when(userRepository.save(any(UserEntity.class))).thenReturn(savedEntity);
-        User result = userRegistrationAdapter.registerUser(TEST_USERNAME);
+        when(userRepository.saveAndFlush(any(UserEntity.class))).thenReturn(savedEntity);
+        Optional<User> result = userRegistrationAdapter.registerUser(TEST_USERNAME);
 
-        assertThat(result).isNotNull();
-        assertThat(result.getUsername()).isEqualTo(TEST_USERNAME);
-        assertThat(result.getCreatedAt()).isEqualTo(now);
-        verify(userRepository, times(1)).save(any(UserEntity.class));
+        assertThat(result).isPresent();
+        assertThat(result.get().getUsername()).isEqualTo(TEST_USERNAME);
+        assertThat(result.get().getCreatedAt()).isEqualTo(now);
+        verify(userRepository, times(1)).saveAndFlush(any(UserEntity.class));
     }
 
     @Test
@@ -56,36 +72,75 @@ class UserRegistrationAdapterTest {
                 .createdAt(Instant.now())
                 .build();
 
-        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(any(UserEntity.class))).thenAnswer(invocation -> {
             UserEntity entity = invocation.getArgument(0);
             assertThat(entity.getUsername()).isEqualTo(TEST_USERNAME);
             return capturedEntity;
         });
 
         userRegistrationAdapter.registerUser(TEST_USERNAME);
-        verify(userRepository, times(1)).save(any(UserEntity.class));
+        verify(userRepository, times(1)).saveAndFlush(any(UserEntity.class));
     }
 
     @Test
-    @DisplayName("usernameExists should return true when username exists")
-    void usernameExists_shouldReturnTrue_whenUsernameExists() {
+    @DisplayName("registerUser should create zeroed statistics for the new user")
+    void registerUser_shouldInitializeStatistics() {
+        when(userRepository.saveAndFlush(any(UserEntity.class))).thenReturn(UserEntity.builder()
+                .id(7L)
+                .username(TEST_USERNAME)
+                .build());
+
+        userRegistrationAdapter.registerUser(TEST_USERNAME);
+
+        ArgumentCaptor<UserStatisticsEntity> captor = ArgumentCaptor.forClass(UserStatisticsEntity.class);
+        verify(statisticsRepository).save(captor.capture());
+        assertThat(captor.getValue().getUserId()).isEqualTo(7L);
+        assertThat(captor.getValue().getGamesPlayed()).isZero();
+        assertThat(captor.getValue().getWins()).isZero();
+        assertThat(captor.getValue().getLosses()).isZero();
+        assertThat(captor.getValue().getDraws()).isZero();
+    }
+
+    @Test
+    @DisplayName("registerUser should return empty when username exists")
+    void registerUser_shouldReturnEmpty_whenUsernameExists() {
         when(userRepository.existsByUsername(TEST_USERNAME)).thenReturn(true);
 
-        boolean result = userRegistrationAdapter.usernameExists(TEST_USERNAME);
+        Optional<User> result = userRegistrationAdapter.registerUser(TEST_USERNAME);
 
-        assertThat(result).isTrue();
-        verify(userRepository, times(1)).existsByUsername(TEST_USERNAME);
+        assertThat(result).isEmpty();
+        verify(userRepository, never()).saveAndFlush(any());
+        verify(statisticsRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("usernameExists should return false when username does not exist")
-    void usernameExists_shouldReturnFalse_whenUsernameDoesNotExist() {
-        when(userRepository.existsByUsername(TEST_USERNAME)).thenReturn(false);
+    @DisplayName("registerUser should return empty when a concurrent registration takes the username")
+    void registerUser_shouldReturnEmpty_whenRegisteredConcurrently() {
+        when(userRepository.saveAndFlush(any(UserEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        Optional<User> result = userRegistrationAdapter.registerUser(TEST_USERNAME);
+
+        assertThat(result).isEmpty();
+        verify(statisticsRepository, never()).save(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("registerUser should not query the database for a just registered user")
+    void registerUser_shouldUseCache_afterRegistration() {
+        when(userRepository.saveAndFlush(any(UserEntity.class))).thenReturn(UserEntity.builder()
+                .id(1L)
+                .username(TEST_USERNAME)
+                .build());
+        userRegistrationAdapter.registerUser(TEST_USERNAME);
+        clearInvocations(userRepository);
 
-        boolean result = userRegistrationAdapter.usernameExists(TEST_USERNAME);
+        Optional<User> result = userRegistrationAdapter.registerUser(TEST_USERNAME);
 
-        assertThat(result).isFalse();
-        verify(userRepository, times(1)).existsByUsername(TEST_USERNAME);
+        assertThat(result).isEmpty();
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -97,9 +152,9 @@ class UserRegistrationAdapterTest {
                 .createdAt(createdAt)
                 .build();
 
-        when(userRepository.save(any(UserEntity.class))).thenReturn(entity);
+        when(userRepository.saveAndFlush(any(UserEntity.class))).thenReturn(entity);
 
-        User result = userRegistrationAdapter.registerUser(TEST_USERNAME);
+        User result = userRegistrationAdapter.registerUser(TEST_USERNAME).orElseThrow();
 
         assertThat(result.getUsername()).isEqualTo(TEST_USERNAME);
         assertThat(result.getCreatedAt()).isEqualTo(createdAt);
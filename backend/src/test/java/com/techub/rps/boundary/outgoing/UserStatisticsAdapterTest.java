@@ -6,9 +6,11 @@ import com.techub.rps.boundary.outgoing.db.UserStatisticsEntity;
 import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
 import com.techub.rps.control.exception.DomainException;
 import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameRecord;
 import com.techub.rps.control.model.GameResult;
 import com.techub.rps.control.model.Hand;
 import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,7 +42,8 @@ class UserStatisticsAdapterTest {
 
     @BeforeEach
     void setUp() {
-        userStatisticsAdapter = new UserStatisticsAdapter(userRepository, statisticsRepository);
+        userStatisticsAdapter = new UserStatisticsAdapter(userRepository, statisticsRepository,
+                new UserIdCache(userRepository, new SimpleMeterRegistry(), 1000));
     }
 
     @Test
@@ -58,7 +61,7 @@ class UserStatisticsAdapterTest {
         });
         when(statisticsRepository.findByUserId(any())).thenReturn(Optional.empty());
 
-        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game);
+        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
 
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
         verify(userRepository, times(1)).save(any(UserEntity.class));
@@ -75,13 +78,28 @@ class UserStatisticsAdapterTest {
         when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(existingUser));
         when(statisticsRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(existingStats));
 
-        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game);
+        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
 
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
         verify(userRepository, never()).save(any());
         verify(statisticsRepository, times(1)).save(any(UserStatisticsEntity.class));
     }
 
+    @Test
+    @DisplayName("updateStatistics should look the user up only once across games")
+    void updateStatistics_shouldReuseCachedUserId() {
+        Game game = createTestGame(GameResult.WIN);
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(createTestUserEntity()));
+        when(statisticsRepository.findByUserId(TEST_USER_ID))
+                .thenReturn(Optional.of(createTestStatisticsEntity(0, 0, 0, 0)));
+
+        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
+        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game.getGameId() + 1, game.getRecord());
+
+        verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
+        verify(statisticsRepository, times(2)).save(any(UserStatisticsEntity.class));
+    }
+
     @Test
     @DisplayName("updateStatistics should increment wins when game result is WIN")
     void updateStatistics_shouldIncrementWins_whenGameResultIsWin() {
@@ -92,7 +110,7 @@ class UserStatisticsAdapterTest {
         when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(existingUser));
         when(statisticsRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(existingStats));
 
-        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game);
+        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
 
         ArgumentCaptor<UserStatisticsEntity> captor = ArgumentCaptor.forClass(UserStatisticsEntity.class);
         verify(statisticsRepository).save(captor.capture());
@@ -114,7 +132,7 @@ class UserStatisticsAdapterTest {
         when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(existingUser));
         when(statisticsRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(existingStats));
 
-        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game);
+        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
 
         ArgumentCaptor<UserStatisticsEntity> captor = ArgumentCaptor.forClass(UserStatisticsEntity.class);
         verify(statisticsRepository).save(captor.capture());
@@ -136,7 +154,7 @@ class UserStatisticsAdapterTest {
         when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(existingUser));
         when(statisticsRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(existingStats));
 
-        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game);
+        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
 
         ArgumentCaptor<UserStatisticsEntity> captor = ArgumentCaptor.forClass(UserStatisticsEntity.class);
         verify(statisticsRepository).save(captor.capture());
@@ -158,7 +176,7 @@ class UserStatisticsAdapterTest {
         when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(existingUser));
         when(statisticsRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(existingStats));
 
-        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game);
+        userStatisticsAdapter.updateStatistics(TEST_USERNAME, game.getGameId(), game.getRecord());
 
         ArgumentCaptor<UserStatisticsEntity> captor = ArgumentCaptor.forClass(UserStatisticsEntity.class);
         verify(statisticsRepository).save(captor.capture());
@@ -222,13 +240,8 @@ class UserStatisticsAdapterTest {
     }
 
     private Game createTestGame(GameResult result) {
-        return Game.builder()
-                .gameId("test-game-id")
-                .playerHand(Hand.ROCK)
-                .computerHand(Hand.SCISSORS)
-                .result(result)
-                .timestamp(Instant.now())
-                .build();
+        return Game.of(42L,
+                GameRecord.pack(Hand.ROCK, Hand.SCISSORS, result, System.currentTimeMillis()));
     }
 
     private UserEntity createTestUserEntity() {
@@ -248,57 +261,10 @@ class UserStatisticsAdapterTest {
                 .wins(wins)
                 .losses(losses)
                 .draws(draws)
-                .lastGameId("previous-game-id")
+                .lastGameId(41L)
                 .lastGamePlayedAt(Instant.now().minusSeconds(3600))
                 .createdAt(Instant.now())
                 .updatedAt(Instant.now())
                 .build();
     }
-
-    @Test
-    @DisplayName("initializeStatistics should create statistics for new user")
-    void initializeStatistics_shouldCreateStatistics_forNewUser() {
-        UserEntity userEntity = createTestUserEntity();
-
-        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(userEntity));
-        when(statisticsRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.empty());
-
-        userStatisticsAdapter.initializeStatistics(TEST_USERNAME);
-
-        ArgumentCaptor<UserStatisticsEntity> captor = ArgumentCaptor.forClass(UserStatisticsEntity.class);
-        verify(statisticsRepository).save(captor.capture());
-
-        UserStatisticsEntity savedStats = captor.getValue();
-        assertThat(savedStats.getUserId()).isEqualTo(TEST_USER_ID);
-        assertThat(savedStats.getGamesPlayed()).isZero();
-        assertThat(savedStats.getWins()).isZero();
-        assertThat(savedStats.getLosses()).isZero();
-        assertThat(savedStats.getDraws()).isZero();
-    }
-
-    @Test
-    @DisplayName("initializeStatistics should not create statistics if they already exist")
-    void initializeStatistics_shouldNotCreateStatistics_ifTheyAlreadyExist() {
-        UserEntity userEntity = createTestUserEntity();
-        UserStatisticsEntity existingStats = createTestStatisticsEntity(10, 5, 3, 2);
-
-        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(userEntity));
-        when(statisticsRepository.findByUserId(TEST_USER_ID)).thenReturn(Optional.of(existingStats));
-
-        userStatisticsAdapter.initializeStatistics(TEST_USERNAME);
-
-        verify(statisticsRepository, never()).save(any());
-    }
-
-    @Test
-    @DisplayName("initializeStatistics should throw exception when user does not exist")
-    void initializeStatistics_shouldThrowException_whenUserDoesNotExist() {
-        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
-
-        assertThatThrownBy(() -> userStatisticsAdapter.initializeStatistics(TEST_USERNAME))
-                .isInstanceOf(DomainException.class)
-                .hasMessageContaining("User not found");
-
-        verify(statisticsRepository, never()).save(any());
-    }
 }
@@ -0,0 +1,233 @@
+package com.techub.rps.boundary.outgoing;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import com.techub.rps.boundary.outgoing.db.UserRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsRepository;
+import com.techub.rps.boundary.outgoing.db.UserStatisticsUpsertRepository;
+import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.UserStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WriteBehindUserStatisticsAdapter Tests")
+class WriteBehindUserStatisticsAdapterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatisticsRepository statisticsRepository;
+
+    @Mock
+    private UserStatisticsUpsertRepository upsertRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock();
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindUserStatisticsAdapter adapter;
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new WriteBehindUserStatisticsAdapter(userRepository, statisticsRepository,
+                new UserIdCache(userRepository, meterRegistry, 1000), upsertRepository,
+                new TransactionTemplate(transactionManager), meterRegistry, 1000, Duration.ofHours(1),
+                Duration.ofSeconds(30), 2, clock);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        adapter.shutdown();
+    }
+
+    @Test
+    @DisplayName("updateStatistics should not touch the database before a flush")
+    void updateStatistics_shouldOnlyBuffer() {
+        recordGame(TEST_USERNAME, GameResult.WIN);
+
+        verifyNoInteractions(upsertRepository, userRepository, statisticsRepository);
+        assertThat(meterRegistry.get("statistics.buffer.games").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("flush should coalesce all games of a user into one delta")
+    @SuppressWarnings("unchecked")
+    void flush_shouldCoalesceGamesPerUser() {
+        recordGame(TEST_USERNAME, GameResult.WIN);
+        recordGame(TEST_USERNAME, GameResult.WIN);
+        Game last = recordGame(TEST_USERNAME, GameResult.DRAW);
+        recordGame("otheruser", GameResult.LOSE);
+
+        adapter.flush();
+
+        ArgumentCaptor<List<StatisticsDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(upsertRepository, times(1)).upsertAll(captor.capture());
+
+        List<StatisticsDelta> batch = captor.getValue();
+        assertThat(batch).hasSize(2);
+        StatisticsDelta delta = batch.stream()
+                .filter(d -> d.username().equals(TEST_USERNAME))
+                .findFirst()
+                .orElseThrow();
+        assertThat(delta.gamesPlayed()).isEqualTo(3);
+        assertThat(delta.wins()).isEqualTo(2);
+        assertThat(delta.draws()).isEqualTo(1);
+        assertThat(delta.losses()).isZero();
+        assertThat(delta.lastGameId()).isEqualTo(last.getGameId());
+        assertThat(meterRegistry.get("statistics.buffer.games").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("flush should keep the deltas buffered when the batch fails")
+    void flush_shouldKeepDeltas_whenBatchFails() {
+        recordGame(TEST_USERNAME, GameResult.WIN);
+        when(upsertRepository.upsertAll(anyList())).thenThrow(new RuntimeException("database down"));
+
+        adapter.flush();
+
+        assertThat(meterRegistry.get("statistics.buffer.games").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("flush should write the other rows when the database rejects one, and drop it after max-row-attempts")
+    void flush_shouldIsolateRejectedRow() {
+        recordGame(TEST_USERNAME, GameResult.WIN);
+        recordGame("otheruser", GameResult.LOSE);
+        List<String> written = new ArrayList<>();
+        when(upsertRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<StatisticsDelta> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(delta -> delta.username().equals("otheruser"))) {
+                throw new DataIntegrityViolationException("value out of range");
+            }
+            rows.forEach(delta -> written.add(delta.username()));
+            return new int[]{1};
+        });
+
+        adapter.flush();
+
+        assertThat(written).containsExactly(TEST_USERNAME);
+        assertThat(meterRegistry.get("statistics.buffer.games").gauge().value()).isEqualTo(1.0);
+
+        adapter.flush();
+
+        assertThat(meterRegistry.get("statistics.buffer.games").gauge().value()).isZero();
+        assertThat(meterRegistry.get("statistics.flush.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("updateStatistics should refuse games once the oldest unwritten game is older than max-unwritten")
+    void updateStatistics_shouldRefuse_whenBacklogIsTooOld() {
+        recordGame(TEST_USERNAME, GameResult.WIN);
+        when(upsertRepository.upsertAll(anyList())).thenThrow(new CannotGetJdbcConnectionException("database down"));
+        clock.advance(Duration.ofSeconds(31));
+        adapter.flush();
+
+        assertThat(meterRegistry.get("statistics.buffer.oldest.age").gauge().value()).isEqualTo(31.0);
+        assertThatThrownBy(() -> recordGame("otheruser", GameResult.WIN))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("flush should notify listeners of the users it wrote")
+    void flush_shouldNotifyFlushListeners() {
+        List<String> flushed = new ArrayList<>();
+        adapter.addFlushListener(flushed::addAll);
+        recordGame(TEST_USERNAME, GameResult.WIN);
+        recordGame("otheruser", GameResult.LOSE);
+
+        adapter.flush();
+
+        assertThat(flushed).containsExactlyInAnyOrder(TEST_USERNAME, "otheruser");
+    }
+
+    @Test
+    @DisplayName("readWithPending should hand out the games not flushed yet")
+    void readWithPending_shouldIncludeBufferedGames() {
+        recordGame(TEST_USERNAME, GameResult.WIN);
+        recordGame(TEST_USERNAME, GameResult.LOSE);
+
+        adapter.readWithPending(pending -> {
+            assertThat(pending).containsOnlyKeys(TEST_USERNAME);
+            assertThat(pending.get(TEST_USERNAME).gamesPlayed()).isEqualTo(2);
+            assertThat(pending.get(TEST_USERNAME).wins()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("getStatistics should include games that are not flushed yet")
+    void getStatistics_shouldIncludePendingGames() {
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
+        recordGame(TEST_USERNAME, GameResult.WIN);
+
+        UserStatistics result = adapter.getStatistics(TEST_USERNAME);
+
+        assertThat(result.getGamesPlayed()).isEqualTo(1);
+        assertThat(result.getWins()).isEqualTo(1);
+        verify(statisticsRepository, never()).findByUserId(any());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-03-15T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private Game recordGame(String username, GameResult result) {
+        Game game = Game.of(System.nanoTime(),
+                GameRecord.pack(Hand.ROCK, Hand.SCISSORS, result, System.currentTimeMillis()));
+        adapter.updateStatistics(username, game.getGameId(), game.getRecord());
+        return game;
+    }
+}
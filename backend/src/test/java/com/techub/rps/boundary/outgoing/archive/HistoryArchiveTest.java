@@ -0,0 +1,123 @@
+package com.techub.rps.boundary.outgoing.archive;
+
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("HistoryArchive Tests")
+class HistoryArchiveTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 1);
+
+    private record Round(long userId, long gameId, int round, Hand playerHand, Hand opponentHand,
+                         GameResult result, long playedAt) {
+    }
+
+    @TempDir
+    Path directory;
+
+    private HistoryArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new HistoryArchive(directory);
+    }
+
+    @Test
+    @DisplayName("rounds spanning several blocks should be read back unchanged and in order")
+    void write_shouldRoundTripRounds() {
+        List<Round> rounds = rounds(HistorySegmentWriter.BLOCK_ROWS * 2 + 123);
+
+        long written = archive.write(MONTH, writer -> {
+            for (Round round : rounds) {
+                writer.add(round.userId(), round.gameId(), round.round(), round.playerHand(),
+                        round.opponentHand(), round.result(), round.playedAt());
+            }
+        });
+        List<Round> read = new ArrayList<>();
+        long scanned = archive.scan(MONTH, (userId, gameId, round, playerHand, opponentHand, result, playedAt) ->
+                read.add(new Round(userId, gameId, round, playerHand, opponentHand, result, playedAt)));
+
+        assertThat(written).isEqualTo(rounds.size());
+        assertThat(scanned).isEqualTo(rounds.size());
+        assertThat(read).isEqualTo(rounds);
+        assertThat(archive.size(MONTH)).isLessThan(rounds.size() * 8L);
+    }
+
+    @Test
+    @DisplayName("months should list archived segments only, oldest first")
+    void months_shouldListArchivedMonths() throws IOException {
+        archive.write(YearMonth.of(2026, 2), writer -> { });
+        archive.write(MONTH, writer -> { });
+        Files.writeString(directory.resolve("notes.txt"), "not a segment");
+
+        assertThat(archive.months()).containsExactly(MONTH, YearMonth.of(2026, 2));
+        assertThat(archive.scan(MONTH, YearMonth.of(2026, 3), (userId, gameId, round, playerHand, opponentHand,
+                result, playedAt) -> { })).isZero();
+    }
+
+    @Test
+    @DisplayName("a failed write should leave neither a segment nor a temporary file")
+    void write_shouldNotLeavePartialSegment() throws IOException {
+        assertThatThrownBy(() -> archive.write(MONTH, writer -> {
+            writer.add(1, 1, 0, Hand.ROCK, Hand.PAPER, GameResult.LOSE, 1_000);
+            throw new IOException("cursor lost");
+        })).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(archive.contains(MONTH)).isFalse();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("a corrupted segment should fail the scan")
+    void scan_shouldRejectCorruptSegment() throws IOException {
+        archive.write(MONTH, writer -> {
+            for (Round round : rounds(1000)) {
+                writer.add(round.userId(), round.gameId(), round.round(), round.playerHand(),
+                        round.opponentHand(), round.result(), round.playedAt());
+            }
+        });
+        Path segment = directory.resolve("history-2026-01.seg");
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(segment, bytes);
+
+        assertThatThrownBy(() -> archive.scan(MONTH, (userId, gameId, round, playerHand, opponentHand,
+                result, playedAt) -> { })).isInstanceOf(UncheckedIOException.class);
+    }
+
+    // sorted by user and time, as the archiver writes them
+    private static List<Round> rounds(int count) {
+        Random random = new Random(42);
+        List<Round> rounds = new ArrayList<>(count);
+        long gameId = 1L << 40;
+        long playedAt = 1_767_225_600_000L;
+        for (int i = 0; i < count; i++) {
+            long userId = 1 + i / 50;
+            gameId += 1 + random.nextInt(1000);
+            playedAt += random.nextInt(60_000);
+            rounds.add(new Round(userId, gameId, random.nextInt(3),
+                    Hand.values()[random.nextInt(Hand.values().length)],
+                    Hand.values()[random.nextInt(Hand.values().length)],
+                    GameResult.values()[random.nextInt(GameResult.values().length)], playedAt));
+        }
+        return rounds;
+    }
+}
@@ -0,0 +1,106 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ConnectionPoolMonitor Tests")
+class ConnectionPoolMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionPoolMonitor monitor;
+    private InstrumentedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ConnectionPoolMonitor(meterRegistry);
+        JdbcDataSource pool = new JdbcDataSource();
+        pool.setURL("jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1");
+        dataSource = new InstrumentedDataSource(pool, "primary", monitor);
+    }
+
+    @Test
+    @DisplayName("connections should be measured under the current port method")
+    void getConnection_shouldTagCurrentOperation() throws SQLException {
+        String outer = ConnectionPoolMonitor.enter("getStatistics");
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(monitor.holders()).singleElement().satisfies(holder -> {
+                assertThat(holder.operation()).isEqualTo("getStatistics");
+                assertThat(holder.pool()).isEqualTo("primary");
+                assertThat(holder.thread()).isEqualTo(Thread.currentThread().getName());
+            });
+            assertThat(gauge("db.pool.active", "getStatistics")).isEqualTo(1);
+            assertThat(connection.isValid(1)).isTrue();
+        } finally {
+            ConnectionPoolMonitor.exit(outer);
+        }
+
+        assertThat(monitor.holders()).isEmpty();
+        assertThat(gauge("db.pool.active", "getStatistics")).isZero();
+        assertThat(meterRegistry.get("db.pool.acquire").tag("operation", "getStatistics").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.pool.hold").tag("operation", "getStatistics").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("nested port calls should keep the outer operation")
+    void enter_shouldKeepOuterOperation() throws SQLException {
+        String outer = ConnectionPoolMonitor.enter("registerUser");
+        String inner = ConnectionPoolMonitor.enter("usernameExists");
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThat(monitor.holders()).singleElement()
+                    .extracting(ConnectionPoolMonitor.Holder::operation).isEqualTo("registerUser");
+        } finally {
+            ConnectionPoolMonitor.exit(inner);
+            assertThat(ConnectionPoolMonitor.currentOperation()).isEqualTo("registerUser");
+            ConnectionPoolMonitor.exit(outer);
+        }
+
+        assertThat(ConnectionPoolMonitor.currentOperation()).isEqualTo(ConnectionPoolMonitor.UNTAGGED);
+    }
+
+    @Test
+    @DisplayName("closing a connection twice should release it once")
+    void close_shouldReleaseOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(meterRegistry.get("db.pool.hold").tag("operation", ConnectionPoolMonitor.UNTAGGED).timer().count()).isEqualTo(1);
+        assertThat(gauge("db.pool.active", ConnectionPoolMonitor.UNTAGGED)).isZero();
+    }
+
+    @Test
+    @DisplayName("failed waits should be timed and leave no holder behind")
+    void getConnection_shouldTimeFailedWaits() throws SQLException {
+        DataSource exhausted = mock(DataSource.class);
+        when(exhausted.getConnection()).thenThrow(new SQLException("Connection is not available, request timed out"));
+        InstrumentedDataSource instrumented = new InstrumentedDataSource(exhausted, "primary", monitor);
+
+        String outer = ConnectionPoolMonitor.enter("updateStatistics");
+        try {
+            assertThatThrownBy(instrumented::getConnection).isInstanceOf(SQLException.class);
+        } finally {
+            ConnectionPoolMonitor.exit(outer);
+        }
+
+        assertThat(meterRegistry.get("db.pool.acquire").tag("operation", "updateStatistics").timer().count()).isEqualTo(1);
+        assertThat(gauge("db.pool.pending", "updateStatistics")).isZero();
+        assertThat(monitor.holders()).isEmpty();
+    }
+
+    private double gauge(String name, String operation) {
+        return meterRegistry.get(name).tag("operation", operation).gauge().value();
+    }
+}
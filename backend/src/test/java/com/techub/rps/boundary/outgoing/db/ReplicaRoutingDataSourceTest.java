@@ -0,0 +1,149 @@
+package com.techub.rps.boundary.outgoing.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Uses in-memory H2 databases as stand-ins for the primary and its replicas; each one knows
+ * its own name, so a query shows where a connection was routed to.
+ */
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    @Test
+    @DisplayName("read-write connections should go to the primary")
+    void getConnection_shouldUsePrimary_forReadWrite() throws SQLException {
+        routingDataSource = newRoutingDataSource("SELECT 0", Map.of("replica-0", database("replica0")));
+        routingDataSource.checkReplicas();
+
+        assertThat(targetOf(routingDataSource)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("read-only connections should go to the replicas in turn")
+    void getConnection_shouldUseReplicas_forReadOnly() throws SQLException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", database("replica0"));
+        replicas.put("replica-1", database("replica1"));
+        routingDataSource = newRoutingDataSource("SELECT 0", replicas);
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(targetOf(routingDataSource)).isEqualTo("replica0");
+        assertThat(targetOf(routingDataSource)).isEqualTo("replica1");
+        assertThat(meterRegistry.get("datasource.routing.usage").tag("target", "replica-0").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.routing.acquire").tag("target", "replica-1").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("read-only connections should go to the primary when the replica lags too far behind")
+    void getConnection_shouldUsePrimary_whenReplicaIsStale() throws SQLException {
+        routingDataSource = newRoutingDataSource("SELECT 30", Map.of("replica-0", database("replica0")));
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(targetOf(routingDataSource)).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("target", "replica-0").gauge().value()).isEqualTo(30);
+        assertThat(meterRegistry.get("datasource.routing.fallbacks").tag("reason", "no-replica").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("read-only connections should go to the primary when the replica cannot report its lag")
+    void getConnection_shouldUsePrimary_whenLagIsUnknown() throws SQLException {
+        routingDataSource = newRoutingDataSource("SELECT CAST(NULL AS DOUBLE)", Map.of("replica-0", database("replica0")));
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(targetOf(routingDataSource)).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.replica.available").tag("target", "replica-0").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("read-only connections should go to the primary inside readFromPrimary")
+    void getConnection_shouldUsePrimary_insideReadFromPrimary() throws SQLException {
+        routingDataSource = newRoutingDataSource("SELECT 0", Map.of("replica-0", database("replica0")));
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        String target = ReplicaRoutingDataSource.readFromPrimary(() -> {
+            try {
+                return targetOf(routingDataSource);
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        assertThat(target).isEqualTo("primary");
+        assertThat(targetOf(routingDataSource)).isEqualTo("replica0");
+    }
+
+    @Test
+    @DisplayName("read-only connections should fall back to the primary when the replica is down")
+    void getConnection_shouldFallBack_whenReplicaIsDown() throws SQLException {
+        JdbcDataSource replica = spy(database("replica0"));
+        routingDataSource = newRoutingDataSource("SELECT 0", Map.of("replica-0", replica));
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        doThrow(new SQLException("Connection refused")).when(replica).getConnection();
+
+        assertThat(targetOf(routingDataSource)).isEqualTo("primary");
+        assertThat(targetOf(routingDataSource)).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.routing.fallbacks").tag("reason", "connect-failed").counter().count()).isEqualTo(1);
+
+        routingDataSource.checkReplicas();
+        assertThat(meterRegistry.get("datasource.replica.available").tag("target", "replica-0").gauge().value()).isZero();
+    }
+
+    private ReplicaRoutingDataSource newRoutingDataSource(String lagQuery, Map<String, DataSource> replicas) throws SQLException {
+        return new ReplicaRoutingDataSource(database("primary"), replicas, lagQuery,
+                Duration.ofSeconds(5), Duration.ofHours(1), meterRegistry);
+    }
+
+    private static JdbcDataSource database(String name) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS target (name VARCHAR(20))");
+            statement.execute("DELETE FROM target");
+            statement.execute("INSERT INTO target VALUES ('" + name + "')");
+        }
+        return dataSource;
+    }
+
+    private static String targetOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT name FROM target")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
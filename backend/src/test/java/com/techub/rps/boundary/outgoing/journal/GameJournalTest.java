@@ -0,0 +1,201 @@
+package com.techub.rps.boundary.outgoing.journal;
+
+import com.techub.rps.boundary.outgoing.db.StatisticsDelta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GameJournal Tests")
+class GameJournalTest {
+
+    private static final int SEGMENT_SIZE = 4 * GameJournal.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("appended entries should be read back unchanged")
+    void append_shouldReadBackEntries() throws InterruptedException {
+        StatisticsDelta first = delta("alice", 1, 1L);
+        StatisticsDelta second = new StatisticsDelta("bob", 3, 1, 1, 1, null, null);
+
+        GameJournal journal = open(0, new ArrayList<>());
+        long end = journal.append(first);
+        journal.append(second);
+
+        List<StatisticsDelta> read = new ArrayList<>();
+        journal.read(0, journal.durablePosition(), read::add);
+        journal.close();
+
+        assertThat(end).isEqualTo(GameJournal.RECORD_SIZE);
+        assertThat(read).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("reopening should replay the entries after the checkpoint and continue behind them")
+    void open_shouldReplayFromCheckpoint() throws InterruptedException {
+        GameJournal journal = open(0, new ArrayList<>());
+        journal.append(delta("alice", 1, 1L));
+        long checkpoint = journal.append(delta("alice", 1, 2L));
+        journal.append(delta("bob", 1, 3L));
+        journal.close();
+
+        List<StatisticsDelta> replayed = new ArrayList<>();
+        GameJournal reopened = open(checkpoint, replayed);
+        long end = reopened.append(delta("carol", 1, 4L));
+        reopened.close();
+
+        assertThat(replayed).extracting(StatisticsDelta::lastGameId).containsExactly(3L);
+        assertThat(end).isEqualTo(4L * GameJournal.RECORD_SIZE);
+    }
+
+    @Test
+    @DisplayName("a torn entry should end the journal on replay")
+    void open_shouldStopAtTornEntry() throws InterruptedException, IOException {
+        GameJournal journal = open(0, new ArrayList<>());
+        journal.append(delta("alice", 1, 1L));
+        journal.append(delta("alice", 1, 2L));
+        journal.append(delta("alice", 1, 3L));
+        journal.close();
+        // half-written second entry: the tail of the record never reached the disk
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-000000000000.seg"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(GameJournal.RECORD_SIZE / 2),
+                    GameJournal.RECORD_SIZE + GameJournal.RECORD_SIZE / 2);
+        }
+
+        List<StatisticsDelta> replayed = new ArrayList<>();
+        GameJournal reopened = open(0, replayed);
+        long end = reopened.append(delta("bob", 1, 4L));
+        List<StatisticsDelta> read = new ArrayList<>();
+        reopened.read(0, reopened.durablePosition(), read::add);
+        reopened.close();
+
+        assertThat(replayed).extracting(StatisticsDelta::lastGameId).containsExactly(1L);
+        assertThat(end).isEqualTo(2L * GameJournal.RECORD_SIZE);
+        assertThat(read).extracting(StatisticsDelta::lastGameId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("entries should roll over into new segments that can be released")
+    void releaseBefore_shouldDeleteProjectedSegments() throws InterruptedException, IOException {
+        GameJournal journal = open(0, new ArrayList<>());
+        long position = 0;
+        for (long gameId = 1; gameId <= 10; gameId++) {
+            position = journal.append(delta("alice", 1, gameId));
+        }
+        // the committer may already have allocated the next segment
+        assertThat(segmentFiles()).contains(
+                "journal-000000000000.seg", "journal-000000000001.seg", "journal-000000000002.seg");
+
+        journal.releaseBefore(SEGMENT_SIZE * 2L);
+        List<StatisticsDelta> read = new ArrayList<>();
+        journal.read(SEGMENT_SIZE * 2L, position, read::add);
+        journal.close();
+
+        assertThat(segmentFiles()).contains("journal-000000000002.seg")
+                .doesNotContain("journal-000000000000.seg", "journal-000000000001.seg");
+        assertThat(read).extracting(StatisticsDelta::lastGameId).containsExactly(9L, 10L);
+    }
+
+    @Test
+    @DisplayName("concurrent appends should all be durable once they have returned")
+    void append_shouldGroupCommitConcurrentAppends() throws InterruptedException {
+        GameJournal journal = open(0, new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String username = "player" + t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (long gameId = 1; gameId <= 25; gameId++) {
+                    journal.append(delta(username, 1, gameId));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long durable = journal.durablePosition();
+        List<StatisticsDelta> read = new ArrayList<>();
+        journal.read(0, durable, read::add);
+        journal.close();
+
+        assertThat(durable).isEqualTo(100L * GameJournal.RECORD_SIZE);
+        assertThat(read).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("a new segment should be allocated in full before the first record goes into it")
+    void append_shouldPreallocateSegments() throws InterruptedException, IOException {
+        GameJournal journal = open(0, new ArrayList<>());
+        journal.append(delta("alice", 1, 1L));
+        journal.close();
+
+        assertThat(Files.size(directory.resolve("journal-000000000000.seg"))).isEqualTo(SEGMENT_SIZE);
+        assertThat(segmentFiles()).allMatch(name -> name.endsWith(".seg"));
+    }
+
+    @Test
+    @DisplayName("once the journal keeps failing to force, waiting appends are accepted, new ones rejected until it recovers")
+    void append_shouldRejectNewEntries_whenForceKeepsFailing() throws InterruptedException {
+        AtomicBoolean diskFailing = new AtomicBoolean(true);
+        GameJournal journal = new GameJournal(directory, SEGMENT_SIZE, true, 0, delta -> { }) {
+            @Override
+            void force(long from, long to) {
+                if (diskFailing.get()) {
+                    throw new UncheckedIOException(new IOException("Input/output error"));
+                }
+                super.force(from, to);
+            }
+        };
+
+        // written before the forces started failing, so it is accepted rather than failed
+        long first = journal.append(delta("alice", 1, 1L));
+        assertThat(first).isEqualTo(GameJournal.RECORD_SIZE);
+        assertThat(journal.durablePosition()).isZero();
+
+        assertThatThrownBy(() -> journal.append(delta("bob", 1, 2L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cannot be forced");
+
+        diskFailing.set(false);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.durablePosition() < first && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        long end = journal.append(delta("bob", 1, 2L));
+        journal.close();
+
+        assertThat(end).isEqualTo(2L * GameJournal.RECORD_SIZE);
+    }
+
+    private GameJournal open(long checkpoint, List<StatisticsDelta> replayed) {
+        return new GameJournal(directory, SEGMENT_SIZE, true, checkpoint, replayed::add);
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static StatisticsDelta delta(String username, int wins, long gameId) {
+        return new StatisticsDelta(username, 1, wins, 0, 0, gameId, Instant.ofEpochMilli(gameId * 1000));
+    }
+}
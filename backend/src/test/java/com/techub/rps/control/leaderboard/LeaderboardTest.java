@@ -0,0 +1,112 @@
+package com.techub.rps.control.leaderboard;
+
+import com.techub.rps.control.model.LeaderboardEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Leaderboard Tests")
+class LeaderboardTest {
+
+    @Test
+    @DisplayName("top should rank by wins, fewer games first on ties")
+    void top_shouldRankByWins() {
+        Leaderboard leaderboard = new Leaderboard(1);
+        leaderboard.load("alice", 5, 10);
+        leaderboard.load("bob", 7, 20);
+        leaderboard.load("carol", 5, 8);
+
+        List<LeaderboardEntry> top = leaderboard.top(Ranking.WINS, 10);
+
+        assertThat(top).extracting(LeaderboardEntry::getUsername).containsExactly("bob", "carol", "alice");
+        assertThat(top).extracting(LeaderboardEntry::getRank).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("top by win rate should skip players below the minimum number of games")
+    void top_shouldRankByWinRate() {
+        Leaderboard leaderboard = new Leaderboard(5);
+        leaderboard.load("alice", 5, 10);
+        leaderboard.load("bob", 7, 20);
+        leaderboard.load("lucky", 1, 1);
+
+        List<LeaderboardEntry> top = leaderboard.top(Ranking.WIN_RATE, 10);
+
+        assertThat(top).extracting(LeaderboardEntry::getUsername).containsExactly("alice", "bob");
+        assertThat(top.get(0).getWinRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("record should move a player in both rankings")
+    void record_shouldReplaceStanding() {
+        Leaderboard leaderboard = new Leaderboard(1);
+        leaderboard.load("alice", 3, 3);
+        leaderboard.load("bob", 2, 10);
+
+        leaderboard.record("bob", 2, 2);
+        leaderboard.record("bob", 0, 1);
+
+        assertThat(leaderboard.top(Ranking.WINS, 1).get(0).getUsername()).isEqualTo("bob");
+        assertThat(leaderboard.top(Ranking.WINS, 10)).hasSize(2);
+        assertThat(leaderboard.top(Ranking.WIN_RATE, 10)).extracting(LeaderboardEntry::getUsername)
+                .containsExactly("alice", "bob");
+        assertThat(leaderboard.top(Ranking.WIN_RATE, 10).get(1).getGamesPlayed()).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("losses of a player without wins should not drop them from the win rate ranking")
+    void record_shouldKeepPlayerWithoutWins() {
+        Leaderboard leaderboard = new Leaderboard(1);
+
+        leaderboard.record("alice", 0, 1);
+        leaderboard.record("alice", 0, 1);
+
+        assertThat(leaderboard.top(Ranking.WIN_RATE, 10)).singleElement()
+                .extracting(LeaderboardEntry::getGamesPlayed).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("load with unchanged totals should keep the player ranked")
+    void load_shouldKeepUnchangedStanding() {
+        Leaderboard leaderboard = new Leaderboard(1);
+        leaderboard.load("alice", 3, 5);
+
+        leaderboard.load("alice", 3, 5);
+
+        assertThat(leaderboard.top(Ranking.WINS, 10)).hasSize(1);
+        assertThat(leaderboard.top(Ranking.WIN_RATE, 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("concurrent updates should count every game exactly once")
+    void record_shouldBeThreadSafe() throws InterruptedException {
+        Leaderboard leaderboard = new Leaderboard(1);
+        int threads = 8;
+        int gamesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < gamesPerThread; i++) {
+                    leaderboard.record("player" + (i % 50), i % 2, 1);
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        List<LeaderboardEntry> all = leaderboard.top(Ranking.WINS, 100);
+        assertThat(all).hasSize(50);
+        assertThat(all).allSatisfy(entry -> assertThat(entry.getGamesPlayed()).isEqualTo(threads * gamesPerThread / 50));
+        assertThat(leaderboard.top(Ranking.WIN_RATE, 100)).hasSize(50);
+    }
+}
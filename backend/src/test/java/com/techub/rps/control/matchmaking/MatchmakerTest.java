@@ -0,0 +1,141 @@
+package com.techub.rps.control.matchmaking;
+
+import com.techub.rps.control.model.Hand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Matchmaker Tests")
+class MatchmakerTest {
+
+    private final Matchmaker matchmaker = new Matchmaker();
+
+    @Test
+    @DisplayName("the first player should wait and the second should pair with them")
+    void pairOrEnqueue_shouldPairSecondPlayerWithFirst() {
+        MatchTicket first = new MatchTicket("alice", Hand.ROCK);
+        MatchTicket second = new MatchTicket("bob", Hand.PAPER);
+
+        assertThat(matchmaker.pairOrEnqueue(first)).isNull();
+        assertThat(matchmaker.pairOrEnqueue(second)).isSameAs(first);
+        assertThat(matchmaker.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("players should be paired in arrival order")
+    void pairOrEnqueue_shouldPairOldestFirst() {
+        MatchTicket alice = new MatchTicket("alice", Hand.ROCK);
+        MatchTicket bob = new MatchTicket("bob", Hand.ROCK);
+        matchmaker.pairOrEnqueue(alice);
+
+        assertThat(matchmaker.pairOrEnqueue(new MatchTicket("carol", Hand.PAPER))).isSameAs(alice);
+        matchmaker.pairOrEnqueue(bob);
+        assertThat(matchmaker.pairOrEnqueue(new MatchTicket("dave", Hand.PAPER))).isSameAs(bob);
+    }
+
+    @Test
+    @DisplayName("a player should never be paired with themselves")
+    void pairOrEnqueue_shouldNotPairSameUser() {
+        matchmaker.pairOrEnqueue(new MatchTicket("alice", Hand.ROCK));
+
+        assertThat(matchmaker.pairOrEnqueue(new MatchTicket("alice", Hand.PAPER))).isNull();
+        assertThat(matchmaker.queued()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a player playing again should be paired with the others already waiting")
+    void pairOrEnqueue_shouldSkipOwnTicket() {
+        MatchTicket alice = new MatchTicket("alice", Hand.ROCK);
+        MatchTicket bob = new MatchTicket("bob", Hand.ROCK);
+        matchmaker.enqueue(alice);
+        matchmaker.enqueue(bob);
+
+        assertThat(matchmaker.pairOrEnqueue(new MatchTicket("alice", Hand.PAPER))).isSameAs(bob);
+        // the skipped ticket keeps its place ahead of later arrivals
+        assertThat(matchmaker.pairOrEnqueue(new MatchTicket("carol", Hand.PAPER))).isSameAs(alice);
+        assertThat(matchmaker.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("an expired ticket should be skipped by later players")
+    void expire_shouldRemoveTicketFromPairing() {
+        MatchTicket alice = new MatchTicket("alice", Hand.ROCK);
+        matchmaker.pairOrEnqueue(alice);
+
+        assertThat(matchmaker.expire(alice)).isTrue();
+        assertThat(matchmaker.pairOrEnqueue(new MatchTicket("bob", Hand.PAPER))).isNull();
+    }
+
+    @Test
+    @DisplayName("a paired ticket should not expire")
+    void expire_shouldFail_whenAlreadyPaired() {
+        MatchTicket alice = new MatchTicket("alice", Hand.ROCK);
+        matchmaker.pairOrEnqueue(alice);
+        matchmaker.pairOrEnqueue(new MatchTicket("bob", Hand.PAPER));
+
+        assertThat(matchmaker.expire(alice)).isFalse();
+    }
+
+    @Test
+    @DisplayName("concurrent players should each end up either paired once or expired")
+    void pairOrEnqueue_shouldClaimEveryTicketExactlyOnce() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        Set<MatchTicket> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger pairs = new AtomicInteger();
+        AtomicInteger expired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String username = "player" + t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<MatchTicket> own = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        MatchTicket ticket = new MatchTicket(username, Hand.ROCK);
+                        MatchTicket opponent = matchmaker.pairOrEnqueue(ticket);
+                        if (opponent != null) {
+                            assertThat(claimed.add(opponent)).isTrue();
+                            assertThat(opponent.getUsername()).isNotEqualTo(username);
+                            pairs.incrementAndGet();
+                        } else {
+                            own.add(ticket);
+                        }
+                    }
+                    for (MatchTicket ticket : own) {
+                        if (matchmaker.expire(ticket)) {
+                            assertThat(claimed.add(ticket)).isTrue();
+                            expired.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // every ticket was either the arriving side of a pair, the claimed side, or expired
+        assertThat(2 * pairs.get() + expired.get()).isEqualTo(threads * perThread);
+        assertThat(pairs.get()).isPositive();
+    }
+}
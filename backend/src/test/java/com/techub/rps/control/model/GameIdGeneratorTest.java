@@ -0,0 +1,96 @@
+package com.techub.rps.control.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GameIdGenerator Tests")
+class GameIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+
+    @Test
+    @DisplayName("nextId should encode timestamp and node id")
+    void nextId_shouldEncodeTimestampAndNode() {
+        GameIdGenerator generator = new GameIdGenerator(7, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertThat(id).isPositive();
+        assertThat(GameIdGenerator.timestampOf(id)).isEqualTo(Instant.ofEpochMilli(NOW));
+        assertThat(GameIdGenerator.nodeIdOf(id)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("nextId should keep increasing within one millisecond and past the sequence limit")
+    void nextId_shouldIncreaseWithinSameMillisecond() {
+        GameIdGenerator generator = new GameIdGenerator(1, () -> NOW);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            assertThat(GameIdGenerator.nodeIdOf(next)).isEqualTo(1);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("nextId should not go backwards when the clock does")
+    void nextId_shouldBeMonotonic_whenClockMovesBackwards() {
+        AtomicLong clock = new AtomicLong(NOW);
+        GameIdGenerator generator = new GameIdGenerator(0, clock::get);
+
+        long first = generator.nextId();
+        clock.set(NOW - 5_000);
+        long second = generator.nextId();
+
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("ids of later milliseconds should sort after earlier ones across nodes")
+    void nextId_shouldSortByTime() {
+        long earlier = new GameIdGenerator(GameIdGenerator.MAX_NODE_ID, () -> NOW).nextId();
+        long later = new GameIdGenerator(0, () -> NOW + 1).nextId();
+
+        assertThat(later).isGreaterThan(earlier);
+    }
+
+    @Test
+    @DisplayName("nextId should be unique across threads")
+    void nextId_shouldBeUniqueAcrossThreads() throws InterruptedException {
+        GameIdGenerator generator = new GameIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    @DisplayName("constructor should reject node ids outside the 10 bit range")
+    void constructor_shouldRejectInvalidNodeId() {
+        assertThatThrownBy(() -> new GameIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GameIdGenerator(GameIdGenerator.MAX_NODE_ID + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
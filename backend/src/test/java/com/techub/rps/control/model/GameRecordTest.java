@@ -0,0 +1,64 @@
+package com.techub.rps.control.model;
+
+import com.techub.rps.control.exception.DomainException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GameRecord Tests")
+class GameRecordTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T12:00:00.123Z").toEpochMilli();
+
+    @Test
+    @DisplayName("pack should round-trip every hand and result combination")
+    void pack_shouldRoundTripAllCombinations() {
+        for (Hand player : Hand.values()) {
+            for (Hand computer : Hand.values()) {
+                for (GameResult result : GameResult.values()) {
+                    long record = GameRecord.pack(player, computer, result, NOW);
+
+                    assertThat(GameRecord.playerHand(record)).isEqualTo(player);
+                    assertThat(GameRecord.computerHand(record)).isEqualTo(computer);
+                    assertThat(GameRecord.result(record)).isEqualTo(result);
+                    assertThat(GameRecord.epochMillis(record)).isEqualTo(NOW);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("play should score the round with the given rule set")
+    void play_shouldScoreRound() {
+        long record = GameRecord.play(RuleSet.LIZARD_SPOCK, Hand.SPOCK, Hand.SCISSORS, NOW);
+
+        assertThat(GameRecord.result(record)).isEqualTo(GameResult.WIN);
+        assertThat(GameRecord.timestamp(record)).isEqualTo(Instant.ofEpochMilli(NOW));
+    }
+
+    @Test
+    @DisplayName("play should reject hands outside the rule set")
+    void play_shouldRejectHandOutsideRuleSet() {
+        assertThatThrownBy(() -> GameRecord.play(RuleSet.CLASSIC, Hand.LIZARD, Hand.ROCK, NOW))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("INVALID_HAND");
+    }
+
+    @Test
+    @DisplayName("mirror should swap the hands and invert the result")
+    void mirror_shouldSwapSides() {
+        long record = GameRecord.play(RuleSet.CLASSIC, Hand.ROCK, Hand.SCISSORS, NOW);
+
+        long mirrored = GameRecord.mirror(record);
+
+        assertThat(GameRecord.playerHand(mirrored)).isEqualTo(Hand.SCISSORS);
+        assertThat(GameRecord.computerHand(mirrored)).isEqualTo(Hand.ROCK);
+        assertThat(GameRecord.result(mirrored)).isEqualTo(GameResult.LOSE);
+        assertThat(GameRecord.epochMillis(mirrored)).isEqualTo(NOW);
+        assertThat(GameRecord.mirror(mirrored)).isEqualTo(record);
+    }
+}
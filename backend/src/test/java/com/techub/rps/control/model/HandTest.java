@@ -16,13 +16,13 @@ import static org.junit.jupiter.api.Assertions.*;
 class HandTest {
 
     @Test
-    @DisplayName("getAllHands should return all three hand options")
-    void getAllHands_shouldReturnAllThreeOptions() {
+    @DisplayName("getAllHands should return every known hand")
+    void getAllHands_shouldReturnEveryKnownHand() {
         List<Hand> allHands = Hand.getAllHands();
 
         assertThat(allHands)
-                .hasSize(3)
-                .containsExactlyInAnyOrder(Hand.ROCK, Hand.PAPER, Hand.SCISSORS);
+                .hasSize(5)
+                .containsExactlyInAnyOrder(Hand.ROCK, Hand.PAPER, Hand.SCISSORS, Hand.LIZARD, Hand.SPOCK);
     }
 
     @ParameterizedTest(name = "{0} vs {1} should result in {2}")
@@ -0,0 +1,81 @@
+package com.techub.rps.control.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RuleSet Domain Model Tests")
+class RuleSetTest {
+
+    @ParameterizedTest(name = "{0} beats {1}")
+    @MethodSource("provideLizardSpockWins")
+    @DisplayName("LIZARD_SPOCK should follow the Rock Paper Scissors Lizard Spock rules")
+    void lizardSpock_shouldFollowRules(Hand winner, Hand loser) {
+        assertThat(RuleSet.LIZARD_SPOCK.play(winner, loser)).isEqualTo(GameResult.WIN);
+        assertThat(RuleSet.LIZARD_SPOCK.play(loser, winner)).isEqualTo(GameResult.LOSE);
+    }
+
+    private static Stream<Arguments> provideLizardSpockWins() {
+        return Stream.of(
+                Arguments.of(Hand.SCISSORS, Hand.PAPER),
+                Arguments.of(Hand.PAPER, Hand.ROCK),
+                Arguments.of(Hand.ROCK, Hand.LIZARD),
+                Arguments.of(Hand.LIZARD, Hand.SPOCK),
+                Arguments.of(Hand.SPOCK, Hand.SCISSORS),
+                Arguments.of(Hand.SCISSORS, Hand.LIZARD),
+                Arguments.of(Hand.LIZARD, Hand.PAPER),
+                Arguments.of(Hand.PAPER, Hand.SPOCK),
+                Arguments.of(Hand.SPOCK, Hand.ROCK),
+                Arguments.of(Hand.ROCK, Hand.SCISSORS)
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(RuleSet.class)
+    @DisplayName("every hand should draw against itself and beat exactly half of the others")
+    void everyHand_shouldBeBalanced(RuleSet ruleSet) {
+        int others = ruleSet.getHands().size() - 1;
+
+        for (Hand hand : ruleSet.getHands()) {
+            long wins = ruleSet.getHands().stream()
+                    .filter(opponent -> ruleSet.play(hand, opponent) == GameResult.WIN)
+                    .count();
+
+            assertThat(ruleSet.play(hand, hand)).isEqualTo(GameResult.DRAW);
+            assertThat(wins).isEqualTo(others / 2);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(RuleSet.class)
+    @DisplayName("results should be symmetric from both players' perspective")
+    void play_shouldBeAntisymmetric(RuleSet ruleSet) {
+        for (Hand player : ruleSet.getHands()) {
+            for (Hand opponent : ruleSet.getHands()) {
+                GameResult result = ruleSet.play(player, opponent);
+                GameResult mirrored = ruleSet.play(opponent, player);
+
+                switch (result) {
+                    case WIN -> assertThat(mirrored).isEqualTo(GameResult.LOSE);
+                    case LOSE -> assertThat(mirrored).isEqualTo(GameResult.WIN);
+                    case DRAW -> assertThat(mirrored).isEqualTo(GameResult.DRAW);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("CLASSIC should not contain LIZARD or SPOCK")
+    void classic_shouldNotContainExtendedHands() {
+        assertThat(RuleSet.CLASSIC.getHands()).containsExactly(Hand.ROCK, Hand.PAPER, Hand.SCISSORS);
+        assertThat(RuleSet.CLASSIC.contains(Hand.LIZARD)).isFalse();
+        assertThat(RuleSet.CLASSIC.play(Hand.ROCK, Hand.SPOCK)).isNull();
+    }
+}
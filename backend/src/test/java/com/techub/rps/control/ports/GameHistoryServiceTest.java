@@ -0,0 +1,129 @@
+package com.techub.rps.control.ports;
+
+import com.techub.rps.control.GameHistoryService;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.HistoryCursor;
+import com.techub.rps.control.model.HistoryQuery;
+import com.techub.rps.control.model.PlayedRound;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameHistoryService Tests")
+class GameHistoryServiceTest {
+
+    private static final String TEST_USERNAME = "testuser";
+
+    @Mock
+    private GameHistoryQueryPort gameHistoryQueryPort;
+
+    private GameHistoryService gameHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        gameHistoryService = new GameHistoryService(gameHistoryQueryPort, 500);
+    }
+
+    @Test
+    @DisplayName("prepareQuery should reject limits outside the allowed range")
+    void prepareQuery_shouldRejectInvalidLimit() {
+        assertThatThrownBy(() -> gameHistoryService.prepareQuery(TEST_USERNAME, null, 0))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("INVALID_HISTORY_QUERY");
+        assertThatThrownBy(() -> gameHistoryService.prepareQuery(TEST_USERNAME, null, 501))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("INVALID_HISTORY_QUERY");
+
+        verifyNoInteractions(gameHistoryQueryPort);
+    }
+
+    @Test
+    @DisplayName("prepareQuery should throw USER_NOT_FOUND for unknown users")
+    void prepareQuery_shouldThrow_whenUserNotFound() {
+        when(gameHistoryQueryPort.userExists(TEST_USERNAME)).thenReturn(false);
+
+        assertThatThrownBy(() -> gameHistoryService.prepareQuery(TEST_USERNAME, null, 10))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("USER_NOT_FOUND");
+    }
+
+    @Test
+    @DisplayName("streamPage should return the key of the last round after a full page")
+    void streamPage_shouldReturnNextCursor_whenPageIsFull() {
+        HistoryCursor before = HistoryCursor.of(Instant.ofEpochMilli(5_000), 9L, 0);
+        HistoryQuery query = prepare(before, 2);
+        PlayedRound newer = round(8L, 1, 4_000);
+        PlayedRound older = round(8L, 0, 4_000);
+        doAnswer(invocation -> {
+            Consumer<PlayedRound> consumer = invocation.getArgument(3);
+            consumer.accept(newer);
+            consumer.accept(older);
+            return null;
+        }).when(gameHistoryQueryPort).findRounds(eq(TEST_USERNAME), eq(before), eq(2), any());
+
+        List<PlayedRound> rounds = new ArrayList<>();
+        HistoryCursor next = gameHistoryService.streamPage(query, rounds::add);
+
+        assertThat(rounds).containsExactly(newer, older);
+        assertThat(next).isEqualTo(HistoryCursor.of(Instant.ofEpochMilli(4_000), 8L, 0));
+    }
+
+    @Test
+    @DisplayName("streamPage should return no cursor after the last page")
+    void streamPage_shouldReturnNoCursor_whenPageIsNotFull() {
+        HistoryQuery query = prepare(null, 10);
+        doAnswer(invocation -> {
+            Consumer<PlayedRound> consumer = invocation.getArgument(3);
+            consumer.accept(round(1L, 0, 1_000));
+            return null;
+        }).when(gameHistoryQueryPort).findRounds(eq(TEST_USERNAME), isNull(), anyInt(), any());
+
+        List<PlayedRound> rounds = new ArrayList<>();
+        assertThat(gameHistoryService.streamPage(query, rounds::add)).isNull();
+        assertThat(rounds).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("countLostRounds should report the rounds missing from the user's history")
+    void countLostRounds_shouldAskThePort() {
+        HistoryQuery query = prepare(null, 10);
+        when(gameHistoryQueryPort.countLostRounds(TEST_USERNAME)).thenReturn(3L);
+
+        assertThat(gameHistoryService.countLostRounds(query)).isEqualTo(3L);
+    }
+
+    private HistoryQuery prepare(HistoryCursor before, int limit) {
+        when(gameHistoryQueryPort.userExists(TEST_USERNAME)).thenReturn(true);
+        return gameHistoryService.prepareQuery(TEST_USERNAME, before, limit);
+    }
+
+    private static PlayedRound round(long gameId, int round, long epochMillis) {
+        return PlayedRound.builder()
+                .gameId(gameId)
+                .round(round)
+                .playerHand(Hand.ROCK)
+                .opponentHand(Hand.SCISSORS)
+                .result(GameResult.WIN)
+                .playedAt(Instant.ofEpochMilli(epochMillis))
+                .build();
+    }
+}
@@ -1,10 +1,14 @@
 package com.techub.rps.control.ports;
 
 import com.techub.rps.control.GameService;
+import com.techub.rps.control.LeaderboardService;
 import com.techub.rps.control.exception.DomainException;
 import com.techub.rps.control.model.Game;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameIdGenerator;
 import com.techub.rps.control.model.GameResult;
 import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +16,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -27,6 +34,10 @@ class GameServiceTest {
     private MetricsProvider metricsPort;
     @Mock
     private UserStatisticsPort userStatisticsPort;
+    @Mock
+    private GameHistoryPort gameHistoryPort;
+    @Mock
+    private LeaderboardService leaderboardService;
 
     private GameService gameService;
 
@@ -34,20 +45,21 @@ class GameServiceTest {
 
     @BeforeEach
     void setUp() {
-        gameService = new GameService(randomHandProvider, metricsPort, userStatisticsPort);
+        gameService = new GameService(randomHandProvider, metricsPort, userStatisticsPort, RuleSet.CLASSIC,
+                new GameIdGenerator(0), gameHistoryPort, leaderboardService);
     }
 
     @Test
     @DisplayName("play should create a game when player wins")
     void play_shouldCreateGame_whenPlayerWins() {
-        when(randomHandProvider.getRandomHand()).thenReturn(Hand.SCISSORS);
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.SCISSORS);
 
         Game game = gameService.play(TEST_USERNAME, Hand.ROCK);
 
         assertAll(
                 () -> {
                     assert game != null;
-                    assertThat(game.getGameId()).isNotNull();
+                    assertThat(game.getGameId()).isPositive();
                     assertThat(game.getPlayerHand()).isEqualTo(Hand.ROCK);
                     assertThat(game.getComputerHand()).isEqualTo(Hand.SCISSORS);
                     assertThat(game.getResult()).isEqualTo(GameResult.WIN);
@@ -55,14 +67,16 @@ class GameServiceTest {
                 }
         );
 
-        verify(randomHandProvider, times(1)).getRandomHand();
-        verify(userStatisticsPort, times(1)).updateStatistics(eq(TEST_USERNAME), any(Game.class));
+        verify(randomHandProvider, times(1)).chooseHand(TEST_USERNAME);
+        verify(userStatisticsPort, times(1)).updateStatistics(eq(TEST_USERNAME), anyLong(), anyLong());
+        verify(gameHistoryPort, times(1)).recordGame(TEST_USERNAME, game.getGameId(), game.getRecord());
+        verify(leaderboardService, times(1)).recordGame(TEST_USERNAME, game.getRecord());
     }
 
     @Test
     @DisplayName("play should create a game when player loses")
     void play_shouldCreateGame_whenPlayerLoses() {
-        when(randomHandProvider.getRandomHand()).thenReturn(Hand.PAPER);
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.PAPER);
 
         Game game = gameService.play(TEST_USERNAME, Hand.ROCK);
 
@@ -75,14 +89,14 @@ class GameServiceTest {
                 }
         );
 
-        verify(randomHandProvider, times(1)).getRandomHand();
-        verify(userStatisticsPort, times(1)).updateStatistics(eq(TEST_USERNAME), any(Game.class));
+        verify(randomHandProvider, times(1)).chooseHand(TEST_USERNAME);
+        verify(userStatisticsPort, times(1)).updateStatistics(eq(TEST_USERNAME), anyLong(), anyLong());
     }
 
     @Test
     @DisplayName("play should create a game when result is draw")
     void play_shouldCreateGame_whenDraw() {
-        when(randomHandProvider.getRandomHand()).thenReturn(Hand.ROCK);
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.ROCK);
 
         Game game = gameService.play(TEST_USERNAME, Hand.ROCK);
 
@@ -95,14 +109,14 @@ class GameServiceTest {
                 }
         );
 
-        verify(randomHandProvider, times(1)).getRandomHand();
-        verify(userStatisticsPort, times(1)).updateStatistics(eq(TEST_USERNAME), any(Game.class));
+        verify(randomHandProvider, times(1)).chooseHand(TEST_USERNAME);
+        verify(userStatisticsPort, times(1)).updateStatistics(eq(TEST_USERNAME), anyLong(), anyLong());
     }
 
     @Test
     @DisplayName("play should work correctly for PAPER player hand")
     void play_shouldWorkCorrectly_forPaper() {
-        when(randomHandProvider.getRandomHand()).thenReturn(Hand.ROCK);
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.ROCK);
 
         Game game = gameService.play(TEST_USERNAME, Hand.PAPER);
 
@@ -116,7 +130,7 @@ class GameServiceTest {
     @Test
     @DisplayName("play should work correctly for SCISSORS player hand")
     void play_shouldWorkCorrectly_forScissors() {
-        when(randomHandProvider.getRandomHand()).thenReturn(Hand.PAPER);
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.PAPER);
 
         Game game = gameService.play(TEST_USERNAME, Hand.SCISSORS);
 
@@ -135,8 +149,8 @@ class GameServiceTest {
                 .hasMessage("Username cannot be null or empty")
                 .extracting("errorCode").isEqualTo("INVALID_USERNAME");
 
-        verify(randomHandProvider, never()).getRandomHand();
-        verify(userStatisticsPort, never()).updateStatistics(any(), any());
+        verify(randomHandProvider, never()).chooseHand(any());
+        verify(userStatisticsPort, never()).updateStatistics(any(), anyLong(), anyLong());
     }
 
     @Test
@@ -147,8 +161,8 @@ class GameServiceTest {
                 .hasMessage("Username must be between 3 and 50 characters")
                 .extracting("errorCode").isEqualTo("INVALID_USERNAME");
 
-        verify(randomHandProvider, never()).getRandomHand();
-        verify(userStatisticsPort, never()).updateStatistics(any(), any());
+        verify(randomHandProvider, never()).chooseHand(any());
+        verify(userStatisticsPort, never()).updateStatistics(any(), anyLong(), anyLong());
     }
 
     @Test
@@ -159,27 +173,52 @@ class GameServiceTest {
                 .hasMessage("Player hand cannot be null")
                 .extracting("errorCode").isEqualTo("INVALID_HAND");
 
-        verify(randomHandProvider, never()).getRandomHand();
-        verify(userStatisticsPort, never()).updateStatistics(any(), any());
+        verify(randomHandProvider, never()).chooseHand(any());
+        verify(userStatisticsPort, never()).updateStatistics(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("play should reject hands outside the active rule set")
+    void play_shouldRejectHandOutsideRuleSet() {
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.ROCK);
+
+        assertThatThrownBy(() -> gameService.play(TEST_USERNAME, Hand.LIZARD))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("INVALID_HAND");
+
+        verify(userStatisticsPort, never()).updateStatistics(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("play should score LIZARD and SPOCK with the LIZARD_SPOCK rule set")
+    void play_shouldScoreExtendedHands_withLizardSpockRuleSet() {
+        GameService lizardSpockService =
+                new GameService(randomHandProvider, metricsPort, userStatisticsPort, RuleSet.LIZARD_SPOCK,
+                        new GameIdGenerator(0), gameHistoryPort, leaderboardService);
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.SPOCK);
+
+        Game game = lizardSpockService.play(TEST_USERNAME, Hand.LIZARD);
+
+        assertThat(game.getResult()).isEqualTo(GameResult.WIN);
     }
 
     @Test
     @DisplayName("play should throw DomainException when RandomHandProvider fails")
     void play_shouldThrowDomainException_whenRandomHandProviderFails() {
-        when(randomHandProvider.getRandomHand())
+        when(randomHandProvider.chooseHand(TEST_USERNAME))
                 .thenThrow(DomainException.randomGenerationError("Random generation failed"));
 
         assertThatThrownBy(() -> gameService.play(TEST_USERNAME, Hand.ROCK))
                 .isInstanceOf(DomainException.class)
                 .extracting("errorCode").isEqualTo("RANDOM_GENERATION_ERROR");
 
-        verify(randomHandProvider, times(1)).getRandomHand();
+        verify(randomHandProvider, times(1)).chooseHand(TEST_USERNAME);
     }
 
     @Test
     @DisplayName("play should wrap runtime exceptions in DomainException")
     void play_shouldWrapRuntimeExceptions() {
-        when(randomHandProvider.getRandomHand())
+        when(randomHandProvider.chooseHand(TEST_USERNAME))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         assertThatThrownBy(() -> gameService.play(TEST_USERNAME, Hand.ROCK))
@@ -192,30 +231,31 @@ class GameServiceTest {
     @Test
     @DisplayName("play should call RandomHandProvider exactly once per game")
     void play_shouldCallRandomHandProviderOnce() {
-        when(randomHandProvider.getRandomHand()).thenReturn(Hand.ROCK);
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.ROCK);
 
         gameService.play(TEST_USERNAME, Hand.PAPER);
 
-        verify(randomHandProvider, times(1)).getRandomHand();
+        verify(randomHandProvider, times(1)).chooseHand(TEST_USERNAME);
+        verify(randomHandProvider, times(1)).observe(TEST_USERNAME, Hand.PAPER);
         verifyNoMoreInteractions(randomHandProvider);
     }
 
     @Test
     @DisplayName("play should generate unique game IDs for consecutive games")
     void play_shouldGenerateUniqueGameIds() {
-        when(randomHandProvider.getRandomHand()).thenReturn(Hand.ROCK);
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.ROCK);
 
         Game game1 = gameService.play(TEST_USERNAME, Hand.PAPER);
         Game game2 = gameService.play(TEST_USERNAME, Hand.PAPER);
 
         assertThat(game1.getGameId()).isNotEqualTo(game2.getGameId());
-        verify(randomHandProvider, times(2)).getRandomHand();
+        verify(randomHandProvider, times(2)).chooseHand(TEST_USERNAME);
     }
 
     @Test
     @DisplayName("play should handle all computer hand options")
     void play_shouldHandleAllComputerHandOptions() {
-        when(randomHandProvider.getRandomHand())
+        when(randomHandProvider.chooseHand(TEST_USERNAME))
                 .thenReturn(Hand.ROCK)
                 .thenReturn(Hand.PAPER)
                 .thenReturn(Hand.SCISSORS);
@@ -230,4 +270,51 @@ class GameServiceTest {
                 () -> assertThat(game3.getComputerHand()).isEqualTo(Hand.SCISSORS)
         );
     }
+
+    @Test
+    @DisplayName("playBatch should score every round and update statistics once")
+    void playBatch_shouldScoreRoundsAndUpdateStatisticsOnce() {
+        when(randomHandProvider.chooseHand(TEST_USERNAME))
+                .thenReturn(Hand.SCISSORS)
+                .thenReturn(Hand.SCISSORS)
+                .thenReturn(Hand.SCISSORS);
+
+        GameBatch batch = gameService.playBatch(TEST_USERNAME, List.of(Hand.ROCK, Hand.PAPER, Hand.SCISSORS));
+
+        assertAll(
+                () -> assertThat(batch.getResults()).containsExactly(GameResult.WIN, GameResult.LOSE, GameResult.DRAW),
+                () -> assertThat(batch.getComputerHands()).containsOnly(Hand.SCISSORS),
+                () -> assertThat(batch.getWins()).isEqualTo(1),
+                () -> assertThat(batch.getLosses()).isEqualTo(1),
+                () -> assertThat(batch.getDraws()).isEqualTo(1)
+        );
+        verify(userStatisticsPort, times(1)).updateStatistics(TEST_USERNAME, batch);
+        verify(userStatisticsPort, never()).updateStatistics(any(), anyLong(), anyLong());
+        verify(metricsPort, times(1)).recordGamesPlayed(batch);
+    }
+
+    @Test
+    @DisplayName("playBatch should reject batches larger than the maximum size")
+    void playBatch_shouldRejectOversizedBatch() {
+        List<Hand> hands = Collections.nCopies(GameService.MAX_BATCH_SIZE + 1, Hand.ROCK);
+
+        assertThatThrownBy(() -> gameService.playBatch(TEST_USERNAME, hands))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("INVALID_BATCH");
+
+        verify(randomHandProvider, never()).chooseHand(any());
+        verify(metricsPort).recordError("invalid_batch");
+    }
+
+    @Test
+    @DisplayName("playBatch should reject a batch containing a hand outside the rule set")
+    void playBatch_shouldRejectHandOutsideRuleSet() {
+        when(randomHandProvider.chooseHand(TEST_USERNAME)).thenReturn(Hand.ROCK);
+
+        assertThatThrownBy(() -> gameService.playBatch(TEST_USERNAME, List.of(Hand.ROCK, Hand.SPOCK)))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("INVALID_HAND");
+
+        verify(userStatisticsPort, never()).updateStatistics(any(), any(GameBatch.class));
+    }
 }
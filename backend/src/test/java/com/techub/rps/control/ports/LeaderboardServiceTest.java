@@ -0,0 +1,85 @@
+package com.techub.rps.control.ports;
+
+import com.techub.rps.control.LeaderboardService;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.leaderboard.Ranking;
+import com.techub.rps.control.model.GameBatch;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.LeaderboardEntry;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.model.UserStatistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LeaderboardService Tests")
+class LeaderboardServiceTest {
+
+    @Test
+    @DisplayName("rebuild should load the stored totals")
+    void rebuild_shouldLoadStoredTotals() {
+        LeaderboardService service = new LeaderboardService(consumer -> {
+            consumer.accept(standing("alice", 3, 10));
+            consumer.accept(standing("bob", 6, 10));
+        }, 1, 100);
+
+        service.rebuild();
+
+        assertThat(service.getLeaderboard(Ranking.WINS, 10)).extracting(LeaderboardEntry::getUsername)
+                .containsExactly("bob", "alice");
+    }
+
+    @Test
+    @DisplayName("rebuild should start empty when the statistics cannot be read")
+    void rebuild_shouldStartEmpty_whenLoadFails() {
+        LeaderboardService service = new LeaderboardService(consumer -> {
+            throw new IllegalStateException("database down");
+        }, 1, 100);
+
+        service.rebuild();
+
+        assertThat(service.getLeaderboard(Ranking.WINS, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("recordGame and recordBatch should update the standing incrementally")
+    void record_shouldUpdateStanding() {
+        LeaderboardService service = new LeaderboardService(consumer -> consumer.accept(standing("alice", 1, 1)), 1, 100);
+        service.rebuild();
+
+        service.recordGame("alice", GameRecord.pack(Hand.ROCK, Hand.SCISSORS, GameResult.WIN, 0L));
+        service.recordBatch("alice", GameBatch.play(1L, RuleSet.CLASSIC,
+                new Hand[]{Hand.ROCK, Hand.ROCK},
+                new Hand[]{Hand.SCISSORS, Hand.PAPER}));
+
+        List<LeaderboardEntry> top = service.getLeaderboard(Ranking.WINS, 1);
+        assertThat(top.get(0).getWins()).isEqualTo(3);
+        assertThat(top.get(0).getGamesPlayed()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("getLeaderboard should reject limits outside the allowed range")
+    void getLeaderboard_shouldRejectInvalidLimit() {
+        LeaderboardService service = new LeaderboardService(consumer -> { }, 1, 100);
+
+        assertThatThrownBy(() -> service.getLeaderboard(Ranking.WINS, 0))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode").isEqualTo("INVALID_LEADERBOARD");
+        assertThatThrownBy(() -> service.getLeaderboard(Ranking.WINS, 101))
+                .isInstanceOf(DomainException.class);
+    }
+
+    private static UserStatistics standing(String username, int wins, int gamesPlayed) {
+        return UserStatistics.builder()
+                .username(username)
+                .wins(wins)
+                .gamesPlayed(gamesPlayed)
+                .build();
+    }
+}
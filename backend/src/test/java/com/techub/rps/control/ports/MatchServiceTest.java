@@ -0,0 +1,138 @@
+package com.techub.rps.control.ports;
+
+import com.techub.rps.control.LeaderboardService;
+import com.techub.rps.control.MatchService;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.GameIdGenerator;
+import com.techub.rps.control.model.GameRecord;
+import com.techub.rps.control.model.GameResult;
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.PvpGame;
+import com.techub.rps.control.model.RuleSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchService Tests")
+class MatchServiceTest {
+
+    @Mock
+    private RandomHandProvider randomHandProvider;
+    @Mock
+    private MetricsProvider metricsPort;
+    @Mock
+    private UserStatisticsPort userStatisticsPort;
+    @Mock
+    private GameHistoryPort gameHistoryPort;
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private MatchService matchService;
+
+    @AfterEach
+    void tearDown() {
+        matchService.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        matchService = new MatchService(randomHandProvider, metricsPort, userStatisticsPort, RuleSet.CLASSIC,
+                new GameIdGenerator(0), gameHistoryPort, leaderboardService, Duration.ofSeconds(5), 1);
+    }
+
+    @Test
+    @DisplayName("two players should be paired and both statistics updated from the same game")
+    void play_shouldPairTwoPlayers() throws Exception {
+        CompletableFuture<PvpGame> alice = matchService.play("alice", Hand.ROCK);
+        assertThat(alice).isNotDone();
+
+        PvpGame bob = matchService.play("bob", Hand.PAPER).get(5, TimeUnit.SECONDS);
+        PvpGame aliceGame = alice.get(5, TimeUnit.SECONDS);
+
+        assertThat(bob.getOpponent()).isEqualTo("alice");
+        assertThat(bob.getResult()).isEqualTo(GameResult.WIN);
+        assertThat(bob.getOpponentHand()).isEqualTo(Hand.ROCK);
+        assertThat(aliceGame.getOpponent()).isEqualTo("bob");
+        assertThat(aliceGame.getResult()).isEqualTo(GameResult.LOSE);
+        assertThat(aliceGame.getGameId()).isEqualTo(bob.getGameId());
+
+        ArgumentCaptor<Long> records = ArgumentCaptor.forClass(Long.class);
+        verify(userStatisticsPort).updateStatistics(eq("bob"), records.capture(), eq("alice"), records.capture(),
+                eq(bob.getGameId()));
+        assertThat(records.getAllValues().get(1)).isEqualTo(GameRecord.mirror(records.getAllValues().get(0)));
+        verify(leaderboardService).recordGame("bob", records.getAllValues().get(0));
+        verify(leaderboardService).recordGame("alice", records.getAllValues().get(1));
+        verify(metricsPort).recordMatchWait(anyLong(), eq(true));
+        verifyNoInteractions(randomHandProvider);
+    }
+
+    @Test
+    @DisplayName("a player without an opponent should play the computer after the timeout")
+    void play_shouldFallBackToComputer_afterTimeout() throws Exception {
+        matchService = new MatchService(randomHandProvider, metricsPort, userStatisticsPort, RuleSet.CLASSIC,
+                new GameIdGenerator(0), gameHistoryPort, leaderboardService, Duration.ofMillis(50), 1);
+        when(randomHandProvider.chooseHand("alice")).thenReturn(Hand.SCISSORS);
+
+        PvpGame game = matchService.play("alice", Hand.ROCK).get(5, TimeUnit.SECONDS);
+
+        assertThat(game.isAgainstComputer()).isTrue();
+        assertThat(game.getOpponentHand()).isEqualTo(Hand.SCISSORS);
+        assertThat(game.getResult()).isEqualTo(GameResult.WIN);
+        verify(userStatisticsPort).updateStatistics(eq("alice"), eq(game.getGameId()), anyLong());
+        verify(metricsPort).recordMatchWait(anyLong(), eq(false));
+        verify(metricsPort).stopTimer(anyLong());
+    }
+
+    @Test
+    @DisplayName("both players should get the error when the round cannot be recorded")
+    void play_shouldFailBothPlayers_whenStatisticsUpdateFails() {
+        doThrow(new IllegalStateException("database down"))
+                .when(userStatisticsPort).updateStatistics(anyString(), anyLong(), anyString(), anyLong(), anyLong());
+
+        CompletableFuture<PvpGame> alice = matchService.play("alice", Hand.ROCK);
+
+        assertThatThrownBy(() -> matchService.play("bob", Hand.PAPER))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode")
+                .isEqualTo("GAME_ERROR");
+        assertThatThrownBy(() -> alice.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DomainException.class);
+        verifyNoInteractions(gameHistoryPort, leaderboardService);
+    }
+
+    @Test
+    @DisplayName("a hand outside the rule set should be rejected before queueing")
+    void play_shouldRejectHandOutsideRuleSet() {
+        assertThatThrownBy(() -> matchService.play("alice", Hand.SPOCK))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode")
+                .isEqualTo("INVALID_HAND");
+
+        verifyNoInteractions(userStatisticsPort);
+    }
+
+    @Test
+    @DisplayName("an invalid username should be rejected")
+    void play_shouldRejectInvalidUsername() {
+        assertThatThrownBy(() -> matchService.play("ab", Hand.ROCK))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode")
+                .isEqualTo("INVALID_USERNAME");
+    }
+}
@@ -37,7 +37,7 @@ class StatisticsServiceTest {
                 .wins(5)
                 .losses(3)
                 .draws(2)
-                .lastGameId("game-123")
+                .lastGameId(123L)
                 .lastGamePlayedAt(Instant.now())
                 .build();
 
@@ -51,7 +51,7 @@ class StatisticsServiceTest {
         assertThat(result.getWins()).isEqualTo(5);
         assertThat(result.getLosses()).isEqualTo(3);
         assertThat(result.getDraws()).isEqualTo(2);
-        assertThat(result.getLastGameId()).isEqualTo("game-123");
+        assertThat(result.getLastGameId()).isEqualTo(123L);
         assertThat(result.getLastGamePlayedAt()).isNotNull();
 
         verify(userStatisticsPort, times(1)).getStatistics(TEST_USERNAME);
@@ -95,7 +95,7 @@ class StatisticsServiceTest {
                 .wins(1)
                 .losses(0)
                 .draws(0)
-                .lastGameId("game-789")
+                .lastGameId(789L)
                 .lastGamePlayedAt(Instant.now())
                 .build();
 
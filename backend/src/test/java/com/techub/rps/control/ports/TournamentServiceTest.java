@@ -0,0 +1,60 @@
+package com.techub.rps.control.ports;
+
+import com.techub.rps.control.TournamentService;
+import com.techub.rps.control.exception.DomainException;
+import com.techub.rps.control.model.RuleSet;
+import com.techub.rps.control.tournament.TournamentResult;
+import com.techub.rps.control.tournament.TournamentStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TournamentService Tests")
+class TournamentServiceTest {
+
+    private TournamentService tournamentService;
+
+    @BeforeEach
+    void setUp() {
+        tournamentService = new TournamentService(RuleSet.CLASSIC, 2, 1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tournamentService.shutdown();
+    }
+
+    @Test
+    @DisplayName("run should report the seed it used")
+    void run_shouldReportSeed() {
+        TournamentResult result = tournamentService.run(
+                TournamentStrategy.RANDOM, TournamentStrategy.CYCLE, 10_000, 99L);
+
+        assertThat(result.seed()).isEqualTo(99L);
+        assertThat(result.rounds()).isEqualTo(10_000);
+        assertThat(result.parallelism()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("run should reject more rounds than configured")
+    void run_shouldRejectTooManyRounds() {
+        assertThatThrownBy(() -> tournamentService.run(
+                TournamentStrategy.RANDOM, TournamentStrategy.RANDOM, 1_000_001, null))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode")
+                .isEqualTo("INVALID_TOURNAMENT");
+    }
+
+    @Test
+    @DisplayName("run should reject missing strategies")
+    void run_shouldRejectMissingStrategy() {
+        assertThatThrownBy(() -> tournamentService.run(null, TournamentStrategy.RANDOM, 10, null))
+                .isInstanceOf(DomainException.class)
+                .extracting("errorCode")
+                .isEqualTo("INVALID_TOURNAMENT");
+    }
+}
@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -23,28 +24,24 @@ class UserRegistrationServiceTest {
     @Mock
     private UserRegistrationPort userRegistrationPort;
 
-    @Mock
-    private UserStatisticsPort userStatisticsPort;
-
     private UserRegistrationService userRegistrationService;
 
     private static final String VALID_USERNAME = "testuser";
 
     @BeforeEach
     void setUp() {
-        userRegistrationService = new UserRegistrationService(userRegistrationPort, userStatisticsPort);
+        userRegistrationService = new UserRegistrationService(userRegistrationPort);
     }
 
     @Test
-    @DisplayName("registerUser should create user and initialize statistics when username is valid and unique")
+    @DisplayName("registerUser should create user when username is valid and unique")
     void registerUser_shouldCreateUser_whenUsernameIsValidAndUnique() {
         User expectedUser = User.builder()
                 .username(VALID_USERNAME)
                 .createdAt(Instant.now())
                 .build();
 
-        when(userRegistrationPort.usernameExists(VALID_USERNAME)).thenReturn(false);
-        when(userRegistrationPort.registerUser(VALID_USERNAME)).thenReturn(expectedUser);
+        when(userRegistrationPort.registerUser(VALID_USERNAME)).thenReturn(Optional.of(expectedUser));
 
         User result = userRegistrationService.registerUser(VALID_USERNAME);
 
@@ -52,9 +49,7 @@ class UserRegistrationServiceTest {
         assertThat(result.getUsername()).isEqualTo(VALID_USERNAME);
         assertThat(result.getCreatedAt()).isNotNull();
 
-        verify(userRegistrationPort, times(1)).usernameExists(VALID_USERNAME);
         verify(userRegistrationPort, times(1)).registerUser(VALID_USERNAME);
-        verify(userStatisticsPort, times(1)).initializeStatistics(VALID_USERNAME);
     }
 
     @Test
@@ -65,9 +60,7 @@ class UserRegistrationServiceTest {
                 .hasMessage("Username cannot be null or empty")
                 .extracting("errorCode").isEqualTo("INVALID_USERNAME");
 
-        verify(userRegistrationPort, never()).usernameExists(any());
         verify(userRegistrationPort, never()).registerUser(any());
-        verify(userStatisticsPort, never()).initializeStatistics(any());
     }
 
     @Test
@@ -78,9 +71,7 @@ class UserRegistrationServiceTest {
                 .hasMessage("Username cannot be null or empty")
                 .extracting("errorCode").isEqualTo("INVALID_USERNAME");
 
-        verify(userRegistrationPort, never()).usernameExists(any());
         verify(userRegistrationPort, never()).registerUser(any());
-        verify(userStatisticsPort, never()).initializeStatistics(any());
     }
 
     @Test
@@ -91,9 +82,7 @@ class UserRegistrationServiceTest {
                 .hasMessage("Username cannot be null or empty")
                 .extracting("errorCode").isEqualTo("INVALID_USERNAME");
 
-        verify(userRegistrationPort, never()).usernameExists(any());
         verify(userRegistrationPort, never()).registerUser(any());
-        verify(userStatisticsPort, never()).initializeStatistics(any());
     }
 
     @Test
@@ -104,9 +93,7 @@ class UserRegistrationServiceTest {
                 .hasMessage("Username must be between 3 and 50 characters")
                 .extracting("errorCode").isEqualTo("INVALID_USERNAME");
 
-        verify(userRegistrationPort, never()).usernameExists(any());
         verify(userRegistrationPort, never()).registerUser(any());
-        verify(userStatisticsPort, never()).initializeStatistics(any());
     }
 
     @Test
@@ -119,24 +106,20 @@ class UserRegistrationServiceTest {
                 .hasMessage("Username must be between 3 and 50 characters")
                 .extracting("errorCode").isEqualTo("INVALID_USERNAME");
 
-        verify(userRegistrationPort, never()).usernameExists(any());
         verify(userRegistrationPort, never()).registerUser(any());
-        verify(userStatisticsPort, never()).initializeStatistics(any());
     }
 
     @Test
-    @DisplayName("registerUser should throw DomainException when username already exists")
+    @DisplayName("registerUser should throw DomainException when username is already taken")
     void registerUser_shouldThrowDomainException_whenUsernameAlreadyExists() {
-        when(userRegistrationPort.usernameExists(VALID_USERNAME)).thenReturn(true);
+        when(userRegistrationPort.registerUser(VALID_USERNAME)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userRegistrationService.registerUser(VALID_USERNAME))
                 .isInstanceOf(DomainException.class)
                 .hasMessage("Username already exists: " + VALID_USERNAME)
                 .extracting("errorCode").isEqualTo("INVALID_USERNAME");
 
-        verify(userRegistrationPort, times(1)).usernameExists(VALID_USERNAME);
-        verify(userRegistrationPort, never()).registerUser(any());
-        verify(userStatisticsPort, never()).initializeStatistics(any());
+        verify(userRegistrationPort, times(1)).registerUser(VALID_USERNAME);
     }
 
     @Test
@@ -148,17 +131,14 @@ class UserRegistrationServiceTest {
                 .createdAt(Instant.now())
                 .build();
 
-        when(userRegistrationPort.usernameExists(minUsername)).thenReturn(false);
-        when(userRegistrationPort.registerUser(minUsername)).thenReturn(expectedUser);
+        when(userRegistrationPort.registerUser(minUsername)).thenReturn(Optional.of(expectedUser));
 
         User result = userRegistrationService.registerUser(minUsername);
 
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo(minUsername);
 
-        verify(userRegistrationPort, times(1)).usernameExists(minUsername);
         verify(userRegistrationPort, times(1)).registerUser(minUsername);
-        verify(userStatisticsPort, times(1)).initializeStatistics(minUsername);
     }
 
     @Test
@@ -170,16 +150,13 @@ class UserRegistrationServiceTest {
                 .createdAt(Instant.now())
                 .build();
 
-        when(userRegistrationPort.usernameExists(maxUsername)).thenReturn(false);
-        when(userRegistrationPort.registerUser(maxUsername)).thenReturn(expectedUser);
+        when(userRegistrationPort.registerUser(maxUsername)).thenReturn(Optional.of(expectedUser));
 
         User result = userRegistrationService.registerUser(maxUsername);
 
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo(maxUsername);
 
-        verify(userRegistrationPort, times(1)).usernameExists(maxUsername);
         verify(userRegistrationPort, times(1)).registerUser(maxUsername);
-        verify(userStatisticsPort, times(1)).initializeStatistics(maxUsername);
     }
 }
@@ -0,0 +1,81 @@
+package com.techub.rps.control.rebuild;
+
+import com.techub.rps.control.model.GameResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UserTotals Tests")
+class UserTotalsTest {
+
+    private record Totals(int gamesPlayed, int wins, int losses, int draws, long lastGameId, long lastGamePlayedAt) {
+    }
+
+    @Test
+    @DisplayName("rounds should be counted per user and result")
+    void add_shouldCountPerUserAndResult() {
+        UserTotals totals = new UserTotals(4);
+        totals.add(1, GameResult.WIN, 10, 1_000);
+        totals.add(1, GameResult.LOSE, 11, 2_000);
+        totals.add(1, GameResult.DRAW, 12, 3_000);
+        totals.add(1, GameResult.WIN, 13, 4_000);
+        totals.add(2, GameResult.LOSE, 14, 5_000);
+
+        Map<Long, Totals> result = collect(totals);
+
+        assertThat(totals.size()).isEqualTo(2);
+        assertThat(result.get(1L)).isEqualTo(new Totals(4, 2, 1, 1, 13, 4_000));
+        assertThat(result.get(2L)).isEqualTo(new Totals(1, 0, 1, 0, 14, 5_000));
+    }
+
+    @Test
+    @DisplayName("the last game should be the newest one, whatever order the rounds come in")
+    void add_shouldKeepNewestGame() {
+        UserTotals totals = new UserTotals(1);
+        totals.add(1, GameResult.WIN, 20, 2_000);
+        totals.add(1, GameResult.WIN, 10, 1_000);
+        totals.add(1, GameResult.WIN, 21, 2_000);
+        totals.add(1, GameResult.WIN, 19, 2_000);
+
+        assertThat(collect(totals).get(1L).lastGameId()).isEqualTo(21);
+    }
+
+    @Test
+    @DisplayName("the table should grow without losing counts")
+    void add_shouldGrow() {
+        UserTotals totals = new UserTotals(0);
+        for (long userId = 1; userId <= 10_000; userId++) {
+            for (int round = 0; round < 3; round++) {
+                totals.add(userId, GameResult.values()[round], userId * 10 + round, userId);
+            }
+        }
+
+        Map<Long, Totals> result = collect(totals);
+
+        assertThat(totals.size()).isEqualTo(10_000);
+        assertThat(result).hasSize(10_000);
+        assertThat(result.values()).allMatch(user -> user.gamesPlayed() == 3
+                && user.wins() == 1 && user.losses() == 1 && user.draws() == 1);
+        assertThat(result.get(777L).lastGameId()).isEqualTo(7772);
+    }
+
+    @Test
+    @DisplayName("user id 0 should be rejected")
+    void add_shouldRejectUserIdZero() {
+        UserTotals totals = new UserTotals(1);
+
+        assertThatThrownBy(() -> totals.add(0, GameResult.WIN, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<Long, Totals> collect(UserTotals totals) {
+        Map<Long, Totals> result = new HashMap<>();
+        totals.forEach((userId, gamesPlayed, wins, losses, draws, lastGameId, lastGamePlayedAt) ->
+                result.put(userId, new Totals(gamesPlayed, wins, losses, draws, lastGameId, lastGamePlayedAt)));
+        return result;
+    }
+}
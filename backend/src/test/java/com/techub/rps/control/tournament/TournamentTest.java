@@ -0,0 +1,99 @@
+package com.techub.rps.control.tournament;
+
+import com.techub.rps.control.model.Hand;
+import com.techub.rps.control.model.RuleSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tournament Tests")
+class TournamentTest {
+
+    private static final long ROUNDS = 3L * Tournament.LEAF_ROUNDS + 17;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("run should play every round and count it once")
+    void run_shouldCountEveryRound() {
+        TournamentResult result = new Tournament(pool, RuleSet.CLASSIC)
+                .run(TournamentStrategy.RANDOM, TournamentStrategy.RANDOM, ROUNDS, 42L);
+
+        assertThat(result.rounds()).isEqualTo(ROUNDS);
+        assertThat(result.wins() + result.losses() + result.draws()).isEqualTo(ROUNDS);
+        assertThat(result.playerHands().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(ROUNDS);
+        assertThat(result.opponentHands().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(ROUNDS);
+        assertThat(result.parallelism()).isEqualTo(4);
+        assertThat(result.roundsPerSecondPerCore()).isPositive();
+    }
+
+    @Test
+    @DisplayName("run should give the same counts for the same seed on any number of threads")
+    void run_shouldBeReproducible() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            TournamentResult parallel = new Tournament(pool, RuleSet.CLASSIC)
+                    .run(TournamentStrategy.RANDOM, TournamentStrategy.COPYCAT, ROUNDS, 7L);
+            TournamentResult sequential = new Tournament(single, RuleSet.CLASSIC)
+                    .run(TournamentStrategy.RANDOM, TournamentStrategy.COPYCAT, ROUNDS, 7L);
+
+            assertThat(parallel.wins()).isEqualTo(sequential.wins());
+            assertThat(parallel.losses()).isEqualTo(sequential.losses());
+            assertThat(parallel.playerHands()).isEqualTo(sequential.playerHands());
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("identical deterministic strategies should only draw")
+    void run_shouldOnlyDraw_forMirroredCycles() {
+        TournamentResult result = new Tournament(pool, RuleSet.LIZARD_SPOCK)
+                .run(TournamentStrategy.CYCLE, TournamentStrategy.CYCLE, 1_000, 1L);
+
+        assertThat(result.draws()).isEqualTo(1_000);
+        assertThat(result.playerHands()).containsOnlyKeys(RuleSet.LIZARD_SPOCK.getHands());
+    }
+
+    @Test
+    @DisplayName("FREQUENCY should beat a constant opponent almost every round")
+    void run_frequencyShouldExploitConstant() {
+        TournamentResult result = new Tournament(pool, RuleSet.CLASSIC)
+                .run(TournamentStrategy.FREQUENCY, TournamentStrategy.CONSTANT, 100_000, 3L);
+
+        // only the first round of a leaf is played blind
+        assertThat(result.wins()).isGreaterThanOrEqualTo(99_999);
+        assertThat(result.opponentHands().get(Hand.ROCK)).isEqualTo(100_000);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TournamentStrategy.class)
+    @DisplayName("every strategy should stay within the classic rule set")
+    void run_strategiesShouldStayWithinRuleSet(TournamentStrategy strategy) {
+        TournamentResult result = new Tournament(pool, RuleSet.CLASSIC)
+                .run(strategy, TournamentStrategy.RANDOM, 10_000, 5L);
+
+        assertThat(result.playerHands().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("run should reject non-positive round counts")
+    void run_shouldRejectZeroRounds() {
+        Tournament tournament = new Tournament(pool, RuleSet.CLASSIC);
+
+        assertThatThrownBy(() -> tournament.run(TournamentStrategy.RANDOM, TournamentStrategy.RANDOM, 0, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}